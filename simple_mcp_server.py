@@ -263,6 +263,23 @@ TOOLS = [
 # MANEJADOR DE PETICIONES JSON-RPC
 # ============================================================================
 
+PROTOCOL_VERSION = "2024-11-05"
+
+
+def handle_initialize(params: Dict[str, Any]) -> Dict[str, Any]:
+    """Maneja el handshake initialize del protocolo MCP"""
+    return {
+        "protocolVersion": params.get("protocolVersion", PROTOCOL_VERSION),
+        "capabilities": {
+            "tools": {}
+        },
+        "serverInfo": {
+            "name": "simple-mcp-server",
+            "version": "1.0.0"
+        }
+    }
+
+
 def handle_tools_list() -> Dict[str, Any]:
     """Maneja la petición tools/list"""
     return {
@@ -317,7 +334,7 @@ def create_error_response(request_id: Any, code: int, message: str) -> Dict[str,
     }
 
 
-def process_request(request: Dict[str, Any]) -> Dict[str, Any]:
+def process_request(request: Dict[str, Any]) -> Optional[Dict[str, Any]]:
     """
     Procesa una petición JSON-RPC.
     
@@ -325,16 +342,27 @@ def process_request(request: Dict[str, Any]) -> Dict[str, Any]:
         request: Petición JSON-RPC
     
     Returns:
-        Respuesta JSON-RPC
+        Respuesta JSON-RPC, o None si el mensaje es una notificación
     """
     request_id = request.get("id")
     method = request.get("method")
     params = request.get("params", {})
     
+    # Las notificaciones (p. ej. notifications/initialized) no llevan id ni respuesta
+    if "id" not in request:
+        logger.info(f"Notification received - Method: {method}")
+        return None
+    
     logger.info(f"Processing request - Method: {method}, ID: {request_id}")
     
     try:
-        if method == "tools/list":
+        if method == "initialize":
+            return create_response(request_id, handle_initialize(params))
+        
+        elif method == "ping":
+            return create_response(request_id, {})
+        
+        elif method == "tools/list":
             result = handle_tools_list()
             return create_response(request_id, result)
         
@@ -401,6 +429,8 @@ def main():
                 
                 # Process request
                 response = process_request(request)
+                if response is None:
+                    continue
                 
                 # Send response
                 response_json = json.dumps(response)
@@ -0,0 +1,62 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyModelTests {
+
+	private static final List<Duration> RECORDED = List.of(Duration.ofMillis(100), Duration.ofMillis(250),
+			Duration.ofMillis(900));
+
+	@Test
+	void sameSeedGivesTheSameSequence() {
+		assertThat(samples("lognormal:200:0.5", 1.0, 42)).isEqualTo(samples("lognormal:200:0.5", 1.0, 42));
+		assertThat(samples("empirical", 1.0, 42)).isEqualTo(samples("empirical", 1.0, 42));
+		assertThat(samples("lognormal:200:0.5", 1.0, 7)).isNotEqualTo(samples("lognormal:200:0.5", 1.0, 42));
+	}
+
+	@Test
+	void lognormalIsCentredOnTheMedian() {
+		var sorted = samples("lognormal:200:0.5", 1.0, 42).stream().mapToLong(Duration::toMillis).sorted().toArray();
+
+		assertThat((double) sorted[sorted.length / 2]).isCloseTo(200, within(20.0));
+		assertThat(sorted[sorted.length * 99 / 100]).isGreaterThan(400);
+	}
+
+	@Test
+	void empiricalOnlyReturnsRecordedLatencies() {
+		assertThat(samples("empirical", 1.0, 42)).isSubsetOf(RECORDED).containsAll(RECORDED);
+
+		assertThatThrownBy(() -> LatencyModel.parse("empirical", List.of(), 1.0, 42))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void scaleMultipliesEveryModel() {
+		var recorded = Duration.ofMillis(300);
+
+		assertThat(LatencyModel.parse("recorded", RECORDED, 2.0, 42).sample(recorded)).isEqualTo(Duration.ofMillis(600));
+		assertThat(LatencyModel.parse("fixed:50", RECORDED, 0.5, 42).sample(recorded)).isEqualTo(Duration.ofMillis(25));
+		assertThat(samples("empirical", 2.0, 42)).isSubsetOf(Duration.ofMillis(200), Duration.ofMillis(500),
+				Duration.ofMillis(1_800));
+	}
+
+	@Test
+	void rejectsUnknownModels() {
+		assertThatThrownBy(() -> LatencyModel.parse("uniform:10:20", RECORDED, 1.0, 42))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("uniform");
+	}
+
+	private static List<Duration> samples(String spec, double scale, long seed) {
+		var model = LatencyModel.parse(spec, RECORDED, scale, seed);
+		return IntStream.range(0, 1_000).mapToObj(i -> model.sample(Duration.ZERO)).toList();
+	}
+}
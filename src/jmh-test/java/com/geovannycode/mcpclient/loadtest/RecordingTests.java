@@ -0,0 +1,84 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void modelKeyIgnoresToolCallIdsAndTheChosenModel() {
+		var recorded = request("gpt-4o", "call_abc", false);
+		var replayed = request("gpt-4o-mini", "call_xyz", false);
+
+		assertThat(Recording.modelKey(replayed)).isEqualTo(Recording.modelKey(recorded));
+		assertThat(Recording.modelKey(request("gpt-4o", "call_abc", true))).isNotEqualTo(Recording.modelKey(recorded));
+	}
+
+	@Test
+	void modelKeyChangesWithTheConversation() {
+		var request = request("gpt-4o", "call_abc", false);
+		var other = request("gpt-4o", "call_abc", false);
+		((ObjectNode) other.path("messages").get(0)).put("content", "¿Y EMP002?");
+
+		assertThat(Recording.modelKey(other)).isNotEqualTo(Recording.modelKey(request));
+	}
+
+	@Test
+	void turnIsTheRoleOfTheLastMessage() {
+		assertThat(Recording.turn(request("gpt-4o", "call_abc", false))).isEqualTo("tool");
+		assertThat(Recording.turn(FakeOpenAiServer.read("{\"messages\":[]}"))).isEqualTo("user");
+	}
+
+	@Test
+	void canonicalArgumentsDoNotDependOnKeyOrder() {
+		var written = new LinkedHashMap<String, Object>();
+		written.put("employeeId", "EMP001");
+		written.put("days", 5);
+
+		assertThat(Recording.canonicalArguments(written))
+				.isEqualTo(Recording.canonicalArguments(Map.of("days", 5, "employeeId", "EMP001")))
+				.isEqualTo("{\"days\":5,\"employeeId\":\"EMP001\"}");
+		assertThat(Recording.canonicalArguments(null)).isEqualTo("{}");
+	}
+
+	@Test
+	void savesAndLoadsEveryEntryType() throws Exception {
+		var recording = new Recording();
+		var tool = FakeOpenAiServer.read("{\"name\":\"get_employee_info\"}");
+		recording.add(new Recording.ModelExchange("clave", false, "user", 200, "application/json", "{}", 10, 20));
+		recording.add(new Recording.ToolDefinition(tool));
+		recording.add(new Recording.ToolCall("get_employee_info", "{}", tool, 30));
+
+		var file = directory.resolve("grabacion.jsonl.gz");
+		recording.save(file);
+		var loaded = Recording.load(file);
+
+		assertThat(loaded.modelExchanges()).containsExactlyElementsOf(recording.modelExchanges());
+		assertThat(loaded.tools()).containsExactlyElementsOf(recording.tools());
+		assertThat(loaded.toolCalls()).containsExactlyElementsOf(recording.toolCalls());
+	}
+
+	/**
+	 * Segunda vuelta de una conversación: pregunta, llamada a herramienta y su resultado.
+	 */
+	static JsonNode request(String model, String toolCallId, boolean stream) {
+		return FakeOpenAiServer.read("""
+				{"model":"%s","stream":%s,"messages":[
+				  {"role":"user","content":"¿Cuántos días de vacaciones tiene EMP001?"},
+				  {"role":"assistant","content":null,"tool_calls":[{"id":"%s","type":"function",
+				    "function":{"name":"get_vacation_balance","arguments":"{\\"employeeId\\":\\"EMP001\\"}"}}]},
+				  {"role":"tool","tool_call_id":"%s","content":"15 días"}
+				]}""".formatted(model, stream, toolCallId, toolCallId));
+	}
+}
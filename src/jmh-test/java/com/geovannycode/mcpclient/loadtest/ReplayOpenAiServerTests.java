@@ -0,0 +1,50 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayOpenAiServerTests {
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void repliesWithTheRecordedExchangeAndFallsBackToTheSameShape() throws Exception {
+		var recording = new Recording();
+		recording.add(exchange(RecordingTests.request("gpt-4o", "call_abc", false).toString(), "tool", "grabada"));
+		recording.add(exchange("{\"messages\":[{\"role\":\"user\",\"content\":\"hola\"}]}", "user", "saludo"));
+
+		try (var server = new ReplayOpenAiServer(recording, LatencyModel.parse("fixed:0", null, 1.0, 42))) {
+			assertThat(post(server, RecordingTests.request("gpt-4o-mini", "call_xyz", false).toString()).body())
+					.isEqualTo("grabada");
+			assertThat(server.hits()).isEqualTo(1);
+
+			var unrecorded = RecordingTests.request("gpt-4o", "call_abc", false).toString().replace("15 días", "20 días");
+			assertThat(post(server, unrecorded).body()).isEqualTo("grabada");
+			assertThat(post(server, "{\"messages\":[{\"role\":\"user\",\"content\":\"adiós\"}]}").body())
+					.isEqualTo("saludo");
+			assertThat(server.misses()).isEqualTo(2);
+
+			assertThat(post(server, "{\"stream\":true,\"messages\":[]}").statusCode()).isEqualTo(502);
+		}
+	}
+
+	private static Recording.ModelExchange exchange(String request, String turn, String body) {
+		var key = Recording.modelKey(FakeOpenAiServer.read(request));
+		return new Recording.ModelExchange(key, false, turn, 200, "application/json", body, 0, 0);
+	}
+
+	private HttpResponse<String> post(ReplayOpenAiServer server, String body) throws Exception {
+		var request = HttpRequest.newBuilder(URI.create(server.baseUrl() + "/v1/chat/completions"))
+				.timeout(Duration.ofSeconds(5))
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+}
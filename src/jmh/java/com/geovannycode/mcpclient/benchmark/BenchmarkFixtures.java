@@ -0,0 +1,169 @@
+package com.geovannycode.mcpclient.benchmark;
+
+import com.geovannycode.mcpclient.cache.ResponseCache;
+import com.geovannycode.mcpclient.cache.ResponseCacheProperties;
+import com.geovannycode.mcpclient.concurrency.CoalescingProperties;
+import com.geovannycode.mcpclient.concurrency.ConcurrencyProperties;
+import com.geovannycode.mcpclient.concurrency.HedgedExecutor;
+import com.geovannycode.mcpclient.concurrency.HedgingProperties;
+import com.geovannycode.mcpclient.concurrency.LlmConcurrencyLimiter;
+import com.geovannycode.mcpclient.concurrency.RequestCoalescer;
+import com.geovannycode.mcpclient.logging.PayloadLogger;
+import com.geovannycode.mcpclient.logging.PayloadLoggingProperties;
+import com.geovannycode.mcpclient.memory.ConversationMemoryProperties;
+import com.geovannycode.mcpclient.memory.InMemorySessionRepository;
+import com.geovannycode.mcpclient.memory.TokenBudgetChatMemory;
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import com.geovannycode.mcpclient.policy.PolicyIndex;
+import com.geovannycode.mcpclient.policy.PolicyIndexProperties;
+import com.geovannycode.mcpclient.prompt.PromptContextAssembler;
+import com.geovannycode.mcpclient.prompt.PromptProperties;
+import com.geovannycode.mcpclient.ratelimit.RateLimitProperties;
+import com.geovannycode.mcpclient.ratelimit.UserRateLimiter;
+import com.geovannycode.mcpclient.routing.ModelRouter;
+import com.geovannycode.mcpclient.routing.RoutingProperties;
+import com.geovannycode.mcpclient.service.BatchProperties;
+import com.geovannycode.mcpclient.service.ChatService;
+import com.geovannycode.mcpclient.service.HRAssistantService;
+import com.geovannycode.mcpclient.tool.CachingToolCallback;
+import com.geovannycode.mcpclient.tool.ObservedToolCallback;
+import com.geovannycode.mcpclient.tool.ParallelToolCallingManager;
+import com.geovannycode.mcpclient.tool.ToolCacheProperties;
+import com.geovannycode.mcpclient.tool.ToolExecutionProperties;
+import com.geovannycode.mcpclient.tool.ToolResultCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.model.tool.DefaultToolCallingManager;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Monta el grafo de servicios de la aplicación sin contexto de Spring, con el modelo y
+ * las herramientas MCP sustituidos por stubs locales. Las cachés y el coalescing quedan
+ * desactivados para que cada invocación recorra el camino completo.
+ */
+public final class BenchmarkFixtures {
+
+    private static final TokenCountEstimator TOKEN_COUNT_ESTIMATOR = new JTokkitTokenCountEstimator();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ChatService chatService(Duration modelLatency, Duration toolLatency, boolean useTools) {
+        var meterRegistry = new SimpleMeterRegistry();
+        var model = new StubChatModel(modelLatency, toolCallingManager(meterRegistry), useTools);
+        var concurrencyLimiter = concurrencyLimiter(meterRegistry);
+
+        var builder = ChatClient.builder(model);
+        if (useTools) {
+            builder.defaultToolCallbacks(toolCallbacks(toolLatency, meterRegistry));
+        }
+
+        return new ChatService(builder, meterRegistry, concurrencyLimiter, responseCache(meterRegistry),
+                ObservationRegistry.NOOP, chatMemory(meterRegistry), contextAssembler(meterRegistry),
+                modelRouter(meterRegistry), hedgedExecutor(concurrencyLimiter, meterRegistry), rateLimiter(meterRegistry),
+                new PayloadLogger(new PayloadLoggingProperties(0.0, 0)));
+    }
+
+    public static HRAssistantService hrAssistantService(Duration modelLatency, Duration toolLatency, boolean useTools) {
+        return hrAssistantService(modelLatency, toolLatency, useTools, false);
+    }
+
+    public static HRAssistantService hrAssistantService(Duration modelLatency, Duration toolLatency, boolean useTools,
+                                                        boolean usePolicyIndex) {
+        var chatService = chatService(modelLatency, toolLatency, useTools);
+        var coalescer = new RequestCoalescer(new CoalescingProperties(false, null), new SimpleMeterRegistry());
+        return new HRAssistantService(chatService, coalescer, new BatchProperties(0, 0),
+                policyIndex(toolLatency, usePolicyIndex), new StandardEnvironment());
+    }
+
+    /**
+     * Índice construido con la herramienta {@code get_company_policy} del stub; vacío si
+     * {@code enabled} es falso, con lo que todas las consultas llegan al modelo.
+     */
+    public static PolicyIndex policyIndex(Duration toolLatency, boolean enabled) {
+        var properties = new PolicyIndexProperties(enabled, null, null,
+                List.of("vacation", "remote_work", "sick_leave", "benefits"), null, 0, 0, 0);
+        var policyTool = StubMcpTools.callbacks(toolLatency).stream()
+                .filter(callback -> callback.getToolDefinition().name().equals(properties.toolName()))
+                .findFirst()
+                .orElseThrow();
+
+        var index = new PolicyIndex(properties,
+                policyName -> Optional.of(policyTool.call("{\"policy_name\":\"" + policyName + "\"}")),
+                new ObjectMapper(), new SimpleMeterRegistry());
+        index.refresh();
+        return index;
+    }
+
+    private static ParallelToolCallingManager toolCallingManager(MeterRegistry meterRegistry) {
+        var executor = new SimpleAsyncTaskExecutor("bench-tool-");
+        executor.setTaskDecorator(RequestTimings::propagate);
+        return new ParallelToolCallingManager(
+                DefaultToolCallingManager.builder().build(),
+                executor,
+                new ToolExecutionProperties(true, 16, Duration.ofSeconds(15), null),
+                meterRegistry);
+    }
+
+    private static List<ToolCallback> toolCallbacks(Duration toolLatency, MeterRegistry meterRegistry) {
+        var cache = new ToolResultCache(new ToolCacheProperties(false, null, Map.of()), meterRegistry);
+        return StubMcpTools.callbacks(toolLatency).stream()
+                .<ToolCallback>map(callback -> {
+                    var toolName = callback.getToolDefinition().name();
+                    var observed = new ObservedToolCallback(callback, toolName, ObservationRegistry.NOOP);
+                    return new CachingToolCallback(observed, toolName, cache);
+                })
+                .toList();
+    }
+
+    private static LlmConcurrencyLimiter concurrencyLimiter(MeterRegistry meterRegistry) {
+        var limit = new ConcurrencyProperties.Limit(1_024, Duration.ofSeconds(30));
+        return new LlmConcurrencyLimiter(new ConcurrencyProperties(limit, null), meterRegistry);
+    }
+
+    private static ChatMemory chatMemory(MeterRegistry meterRegistry) {
+        var properties = new ConversationMemoryProperties(null, null, 0, 0, 0, null);
+        var repository = new InMemorySessionRepository(properties, meterRegistry);
+        return new TokenBudgetChatMemory(repository, TOKEN_COUNT_ESTIMATOR, properties, meterRegistry);
+    }
+
+    private static PromptContextAssembler contextAssembler(MeterRegistry meterRegistry) {
+        var properties = new PromptProperties(0, 0, List.of("employeeId"));
+        return new PromptContextAssembler(properties, TOKEN_COUNT_ESTIMATOR, meterRegistry);
+    }
+
+    private static ModelRouter modelRouter(MeterRegistry meterRegistry) {
+        var properties = new RoutingProperties(false, null, null, null, null);
+        return new ModelRouter(properties, TOKEN_COUNT_ESTIMATOR, new SimpleAsyncTaskExecutor("bench-route-"),
+                meterRegistry);
+    }
+
+    private static HedgedExecutor hedgedExecutor(LlmConcurrencyLimiter concurrencyLimiter,
+                                                 MeterRegistry meterRegistry) {
+        var noDeadline = new HedgingProperties.Policy(null, null, false, 0, null, null);
+        var properties = new HedgingProperties(false, 0, 0, 0, 0, noDeadline, null);
+        return new HedgedExecutor(properties, new SimpleAsyncTaskExecutor("bench-attempt-"), meterRegistry,
+                concurrencyLimiter);
+    }
+
+    private static UserRateLimiter rateLimiter(MeterRegistry meterRegistry) {
+        return new UserRateLimiter(new RateLimitProperties(false, null, 0, 0, 0, 0, 0, null), meterRegistry);
+    }
+
+    private static ResponseCache responseCache(MeterRegistry meterRegistry) {
+        return new ResponseCache(new ResponseCacheProperties(false, 0, null, null, null), meterRegistry);
+    }
+}
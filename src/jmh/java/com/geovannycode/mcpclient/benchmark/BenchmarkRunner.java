@@ -0,0 +1,226 @@
+package com.geovannycode.mcpclient.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ejecuta los benchmarks en modo throughput y latencia (percentiles) para cada nivel de
+ * concurrencia y compara el resultado con una línea base. Termina con código 1 si algún
+ * benchmark empeora más de la tolerancia configurada.
+ * <p>
+ * Propiedades: {@code jmh.include}, {@code jmh.threads} (p. ej. {@code 1,4,16}),
+ * {@code jmh.baseline}, {@code jmh.baseline.update}, {@code jmh.regression.tolerance},
+ * {@code jmh.quick} y {@code jmh.profilers} (p. ej. {@code gc}). Con el profiler
+ * {@code gc} se guardan también los bytes asignados por operación y un aumento por
+ * encima de la tolerancia cuenta como regresión.
+ * <p>
+ * Si no existe la línea base ({@code src/jmh/resources/jmh-baseline.json}) la primera
+ * ejecución la crea, y debe hacerse en el equipo de CI con Java 21 y sin {@code jmh.quick}.
+ * Guarda el equipo en que se midió y si fue en modo rápido: en otro equipo o con otro
+ * modo sólo se comprueba la asignación.
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULT_FILE = Path.of("target", "jmh-result.json");
+
+    /**
+     * Bytes asignados por operación, normalizados por el profiler {@code gc}.
+     */
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /**
+     * Por debajo de este aumento (bytes por operación) la diferencia es ruido del TLAB.
+     */
+    private static final double ALLOCATION_NOISE_BYTES = 64;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        var include = System.getProperty("jmh.include", ".*");
+        var threads = Arrays.stream(System.getProperty("jmh.threads", "1,4,16").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        var baselineFile = Path.of(System.getProperty("jmh.baseline", "src/jmh/resources/jmh-baseline.json"));
+        var updateBaseline = Boolean.getBoolean("jmh.baseline.update");
+        var tolerance = Double.parseDouble(System.getProperty("jmh.regression.tolerance", "0.25"));
+        var quick = Boolean.getBoolean("jmh.quick");
+        var profilers = Arrays.stream(System.getProperty("jmh.profilers", "").split(","))
+                .map(String::trim)
+                .filter(profiler -> !profiler.isEmpty())
+                .toList();
+
+        var results = new TreeMap<String, Measurement>();
+        for (int threadCount : threads) {
+            var options = new OptionsBuilder()
+                    .include(include)
+                    .mode(Mode.Throughput)
+                    .mode(Mode.SampleTime)
+                    .timeUnit(TimeUnit.MICROSECONDS)
+                    .threads(threadCount)
+                    .forks(1)
+                    .warmupIterations(quick ? 1 : 3)
+                    .warmupTime(TimeValue.seconds(quick ? 1 : 3))
+                    .measurementIterations(quick ? 2 : 5)
+                    .measurementTime(TimeValue.seconds(quick ? 1 : 3))
+                    .shouldFailOnError(true);
+            profilers.forEach(options::addProfiler);
+
+            collect(new Runner(options.build()).run(), threadCount, results);
+        }
+
+        Files.createDirectories(RESULT_FILE.getParent());
+        MAPPER.writeValue(RESULT_FILE.toFile(), results);
+        System.out.println("Resultados escritos en " + RESULT_FILE.toAbsolutePath());
+
+        var host = Host.current();
+        if (updateBaseline || Files.notExists(baselineFile)) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            MAPPER.writeValue(baselineFile.toFile(), new Baseline(host, quick, results));
+            System.out.println("Línea base actualizada en " + baselineFile.toAbsolutePath());
+            return;
+        }
+
+        var baseline = MAPPER.readValue(baselineFile.toFile(), Baseline.class);
+        var timings = host.equals(baseline.host()) && quick == baseline.quick();
+        if (!host.equals(baseline.host())) {
+            System.out.println("La línea base se midió en " + baseline.host() + " y este equipo es " + host
+                    + ": sólo se compara la asignación por operación (-Djmh.baseline.update=true para medir aquí)");
+        } else if (!timings) {
+            System.out.println("La línea base se midió con jmh.quick=" + baseline.quick()
+                    + ": sólo se compara la asignación por operación");
+        }
+        var regressions = compare(baseline.results(), results, tolerance, timings);
+        if (!regressions.isEmpty()) {
+            System.err.println("Regresiones de rendimiento (tolerancia " + Math.round(tolerance * 100) + "%):");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("Sin regresiones respecto a " + baselineFile);
+    }
+
+    private static void collect(Collection<RunResult> runResults, int threads, Map<String, Measurement> results) {
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            var primary = runResult.getPrimaryResult();
+            var statistics = primary.getStatistics();
+
+            var paramValues = params.getParamsKeys().stream()
+                    .map(key -> key + "=" + params.getParam(key))
+                    .collect(Collectors.joining(",", "[", "]"));
+            var key = params.getBenchmark() + paramValues
+                    + " mode=" + params.getMode().shortLabel() + " threads=" + threads;
+
+            var percentiles = new LinkedHashMap<String, Double>();
+            if (params.getMode() == Mode.SampleTime) {
+                percentiles.put("p50", statistics.getPercentile(50));
+                percentiles.put("p90", statistics.getPercentile(90));
+                percentiles.put("p99", statistics.getPercentile(99));
+                percentiles.put("p99.9", statistics.getPercentile(99.9));
+            }
+
+            var allocation = runResult.getSecondaryResults().get(ALLOCATION_METRIC);
+
+            results.put(key, new Measurement(params.getMode().shortLabel(), primary.getScore(),
+                    primary.getScoreError(), primary.getScoreUnit(), percentiles,
+                    allocation != null ? allocation.getScore() : null));
+        }
+    }
+
+    /**
+     * En throughput empeora si baja; en tiempo de muestra, si sube la media o el p99. Los
+     * tiempos sólo se comparan con una línea base del mismo equipo; la asignación por
+     * operación no depende de él.
+     */
+    private static List<String> compare(Map<String, Measurement> baseline,
+                                        Map<String, Measurement> current,
+                                        double tolerance,
+                                        boolean timings) {
+        var regressions = new ArrayList<String>();
+
+        current.forEach((key, measurement) -> {
+            var reference = baseline.get(key);
+            if (reference == null) {
+                return;
+            }
+
+            if (reference.allocatedBytes() != null && measurement.allocatedBytes() != null
+                    && measurement.allocatedBytes() > reference.allocatedBytes() * (1 + tolerance)
+                    && measurement.allocatedBytes() - reference.allocatedBytes() > ALLOCATION_NOISE_BYTES) {
+                regressions.add(describe(key, "asignación", reference.allocatedBytes(), measurement.allocatedBytes(),
+                        "B/op"));
+            }
+
+            if (!timings) {
+                return;
+            }
+
+            if (Mode.Throughput.shortLabel().equals(measurement.mode())) {
+                if (measurement.score() < reference.score() * (1 - tolerance)) {
+                    regressions.add(describe(key, "score", reference.score(), measurement.score(), measurement.unit()));
+                }
+                return;
+            }
+
+            if (measurement.score() > reference.score() * (1 + tolerance)) {
+                regressions.add(describe(key, "media", reference.score(), measurement.score(), measurement.unit()));
+            }
+            var referenceP99 = reference.percentiles().get("p99");
+            var currentP99 = measurement.percentiles().get("p99");
+            if (referenceP99 != null && currentP99 != null && currentP99 > referenceP99 * (1 + tolerance)) {
+                regressions.add(describe(key, "p99", referenceP99, currentP99, measurement.unit()));
+            }
+        });
+
+        return regressions;
+    }
+
+    private static String describe(String key, String metric, double reference, double current, String unit) {
+        return "%s %s: %.3f -> %.3f %s".formatted(key, metric, reference, current, unit);
+    }
+
+    record Measurement(String mode, double score, double error, String unit, Map<String, Double> percentiles,
+                       Double allocatedBytes) {
+    }
+
+    record Baseline(Host host, boolean quick, Map<String, Measurement> results) {
+    }
+
+    /**
+     * Lo que determina si dos mediciones de tiempo son comparables.
+     */
+    record Host(int processors, String arch, String jvm) {
+
+        static Host current() {
+            return new Host(Runtime.getRuntime().availableProcessors(), System.getProperty("os.arch"),
+                    System.getProperty("java.vm.name") + " " + Runtime.version().feature());
+        }
+
+        @Override
+        public String toString() {
+            return processors + " CPU " + arch + ", " + jvm;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.geovannycode.mcpclient.benchmark;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link ChatModel} local con latencia fija. Si hay herramientas registradas, el primer
+ * turno pide {@code get_employee_info} y {@code get_time_off_balance} a la vez y el
+ * segundo responde con texto, reproduciendo el bucle de tool calling de OpenAI.
+ */
+public class StubChatModel implements ChatModel {
+
+    static final String ANSWER = "Según la política de la empresa tienes 15 días de vacaciones disponibles. "
+            + "Para solicitarlos debes registrar la solicitud con al menos dos semanas de antelación.";
+
+    static final int PROMPT_TOKENS = 180;
+    static final int COMPLETION_TOKENS = 40;
+
+    private final Duration latency;
+    private final ToolCallingManager toolCallingManager;
+    private final boolean useTools;
+
+    public StubChatModel(Duration latency, ToolCallingManager toolCallingManager, boolean useTools) {
+        this.latency = latency;
+        this.toolCallingManager = toolCallingManager;
+        this.useTools = useTools;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        if (!latency.isZero()) {
+            LockSupport.parkNanos(latency.toNanos());
+        }
+
+        if (shouldCallTools(prompt)) {
+            var toolCalls = new ChatResponse(List.of(new Generation(AssistantMessage.builder()
+                    .content("")
+                    .toolCalls(List.of(
+                            new AssistantMessage.ToolCall("call_1", "function", "get_employee_info", "{\"employee_id\":\"EMP001\"}"),
+                            new AssistantMessage.ToolCall("call_2", "function", "get_time_off_balance", "{\"employee_id\":\"EMP001\"}")))
+                    .build())));
+            var result = toolCallingManager.executeToolCalls(prompt, toolCalls);
+            return call(new Prompt(result.conversationHistory(), prompt.getOptions()));
+        }
+
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(ANSWER))),
+                ChatResponseMetadata.builder().usage(new DefaultUsage(PROMPT_TOKENS, COMPLETION_TOKENS)).build());
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return ToolCallingChatOptions.builder().build();
+    }
+
+    private boolean shouldCallTools(Prompt prompt) {
+        return useTools
+                && prompt.getOptions() instanceof ToolCallingChatOptions options
+                && !options.getToolCallbacks().isEmpty()
+                && prompt.getInstructions().stream().noneMatch(ToolResponseMessage.class::isInstance);
+    }
+}
@@ -0,0 +1,120 @@
+package com.geovannycode.mcpclient.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Servidor MCP en proceso con las mismas herramientas y datos que
+ * {@code simple_mcp_server.py}. Devuelve el resultado con el formato de contenido MCP
+ * ({@code [{"type":"text","text":...}]}) que producen los callbacks de Spring AI.
+ */
+public final class StubMcpTools {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<String, Map<String, Object>> EMPLOYEES = Map.of(
+            "EMP001", Map.of("name", "Juan Pérez", "employee_id", "EMP001", "department", "Engineering",
+                    "position", "Senior Software Engineer", "hire_date", "2020-01-15",
+                    "email", "juan.perez@company.com", "manager", "Maria García",
+                    "vacation_days", 15, "sick_days", 10),
+            "EMP002", Map.of("name", "María García", "employee_id", "EMP002", "department", "Human Resources",
+                    "position", "HR Manager", "hire_date", "2018-03-20",
+                    "email", "maria.garcia@company.com", "manager", "Carlos López",
+                    "vacation_days", 20, "sick_days", 12),
+            "EMP003", Map.of("name", "Carlos López", "employee_id", "EMP003", "department", "Management",
+                    "position", "Director", "hire_date", "2015-06-10",
+                    "email", "carlos.lopez@company.com", "manager", "CEO",
+                    "vacation_days", 25, "sick_days", 15)
+    );
+
+    private static final Map<String, Map<String, Object>> POLICIES = Map.of(
+            "vacation", Map.of("name", "Política de Vacaciones",
+                    "description", "Los empleados tienen derecho a días de vacaciones pagadas según su antigüedad",
+                    "rules", List.of("0-2 años: 15 días por año", "3-5 años: 20 días por año", "5+ años: 25 días por año")),
+            "remote_work", Map.of("name", "Política de Trabajo Remoto",
+                    "description", "Los empleados pueden trabajar remotamente con aprobación",
+                    "rules", List.of("Máximo 3 días por semana", "Requiere aprobación del manager")),
+            "sick_leave", Map.of("name", "Política de Licencia por Enfermedad",
+                    "description", "Días de enfermedad pagados para todos los empleados",
+                    "rules", List.of("10 días por año", "Certificado médico después de 3 días consecutivos")),
+            "benefits", Map.of("name", "Beneficios para Empleados",
+                    "description", "Paquete de beneficios integral",
+                    "rules", List.of("Seguro médico", "Plan de retiro", "Bono anual"))
+    );
+
+    private StubMcpTools() {
+    }
+
+    public static List<ToolCallback> callbacks(Duration latency) {
+        return List.of(
+                tool("get_employee_info", "Obtiene información de un empleado", "employee_id", latency,
+                        args -> employee(args.get("employee_id"))),
+                tool("get_time_off_balance", "Consulta saldo de días de vacaciones y enfermedad", "employee_id", latency,
+                        args -> timeOff(args.get("employee_id"))),
+                tool("get_company_policy", "Obtiene políticas de la empresa", "policy_name", latency,
+                        args -> policy(args.get("policy_name")))
+        );
+    }
+
+    private static Map<String, Object> employee(Object employeeId) {
+        var employee = EMPLOYEES.get(String.valueOf(employeeId));
+        return employee != null ? employee : Map.of("error", "Employee not found", "employee_id", String.valueOf(employeeId));
+    }
+
+    private static Map<String, Object> timeOff(Object employeeId) {
+        var employee = EMPLOYEES.get(String.valueOf(employeeId));
+        if (employee == null) {
+            return Map.of("error", "Employee not found", "employee_id", String.valueOf(employeeId));
+        }
+        return Map.of("employee_id", employeeId, "name", employee.get("name"),
+                "vacation_days_available", employee.get("vacation_days"),
+                "sick_days_available", employee.get("sick_days"));
+    }
+
+    private static Map<String, Object> policy(Object policyName) {
+        var policy = POLICIES.get(String.valueOf(policyName));
+        return policy != null ? policy : Map.of("error", "Policy not found", "available_policies", POLICIES.keySet());
+    }
+
+    private static ToolCallback tool(String name, String description, String argument, Duration latency,
+                                     Function<Map<String, Object>, Map<String, Object>> handler) {
+        var definition = DefaultToolDefinition.builder()
+                .name(name)
+                .description(description)
+                .inputSchema("""
+                        {"type":"object","properties":{"%s":{"type":"string"}},"required":["%s"]}
+                        """.formatted(argument, argument))
+                .build();
+
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public String call(String toolInput) {
+                if (!latency.isZero()) {
+                    LockSupport.parkNanos(latency.toNanos());
+                }
+                try {
+                    var arguments = MAPPER.readValue(toolInput, Map.class);
+                    var text = MAPPER.writeValueAsString(handler.apply(arguments));
+                    return MAPPER.writeValueAsString(List.of(Map.of("type", "text", "text", text)));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            }
+        };
+    }
+}
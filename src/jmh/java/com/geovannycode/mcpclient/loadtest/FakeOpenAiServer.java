@@ -0,0 +1,199 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Servidor local que imita {@code /v1/chat/completions} de OpenAI con una latencia fija,
+ * tanto en modo completo como en streaming (SSE). Las esperas no ocupan hilos, de modo
+ * que el servidor falso no limita el throughput de la pila que se mide.
+ * <p>
+ * Si la petición ofrece {@code get_employee_info} y el mensaje del usuario menciona un
+ * empleado ({@code EMP001}), la primera vuelta pide esa herramienta, como haría el modelo
+ * real; así {@code ReplayLoadTest} puede grabar sesiones completas sin gastar en OpenAI.
+ */
+public final class FakeOpenAiServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> TOKENS = List.of("La ", "política ", "de ", "vacaciones ", "es ", "de ", "22 ", "días.");
+    private static final Pattern EMPLOYEE_ID = Pattern.compile("\\bEMP\\d{3,}\\b");
+    private static final String EMPLOYEE_TOOL = "get_employee_info";
+
+    private final Duration latency;
+    private final LoopResources loops = LoopResources.create("fake-openai", 2, true);
+    private final DisposableServer server;
+
+    public FakeOpenAiServer(Duration latency) {
+        this.latency = latency;
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(loops)
+                .route(routes -> routes.post("/v1/chat/completions", this::completions))
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    private Mono<Void> completions(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .map(FakeOpenAiServer::read)
+                .flatMap(body -> {
+                    var model = body.path("model").asText("gpt-4");
+                    var toolCall = toolCall(body);
+                    return body.path("stream").asBoolean(false)
+                            ? stream(response, model, toolCall)
+                            : complete(response, model, toolCall);
+                });
+    }
+
+    private Mono<Void> complete(HttpServerResponse response, String model, Optional<Map<String, Object>> toolCall) {
+        var message = toolCall
+                .<Map<String, Object>>map(call -> Map.of("role", "assistant", "tool_calls", List.of(call)))
+                .orElseGet(() -> Map.of("role", "assistant", "content", String.join("", TOKENS)));
+        var body = Map.of(
+                "id", "chatcmpl-load",
+                "object", "chat.completion",
+                "created", 0,
+                "model", model,
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", message,
+                        "finish_reason", toolCall.isPresent() ? "tool_calls" : "stop")),
+                "usage", usage());
+
+        return Mono.delay(latency)
+                .then(response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just(write(body)), StandardCharsets.UTF_8)
+                        .then());
+    }
+
+    /**
+     * La latencia se reparte entre los fragmentos: la mitad hasta el primer token y el
+     * resto entre los siguientes.
+     */
+    private Mono<Void> stream(HttpServerResponse response, String model, Optional<Map<String, Object>> toolCall) {
+        var firstToken = latency.dividedBy(2);
+        var interval = latency.minus(firstToken).dividedBy(TOKENS.size());
+
+        var deltas = toolCall
+                .map(call -> Flux.<Map<String, Object>>just(Map.of("role", "assistant", "tool_calls",
+                        List.of(withIndex(call)))).delayElements(latency.minus(firstToken)))
+                .orElseGet(() -> Flux.fromIterable(TOKENS)
+                        .delayElements(interval)
+                        .map(token -> Map.of("role", "assistant", "content", token)));
+
+        var chunks = deltas
+                .map(delta -> chunk(model, delta, null, null))
+                .concatWith(Flux.just(
+                        chunk(model, Map.of(), toolCall.isPresent() ? "tool_calls" : "stop", null),
+                        chunk(model, null, null, usage())))
+                .map(chunk -> "data: " + write(chunk) + "\n\n")
+                .concatWith(Mono.just("data: [DONE]\n\n"));
+
+        return response.header(HttpHeaderNames.CONTENT_TYPE, "text/event-stream")
+                .sendString(Mono.delay(firstToken).thenMany(chunks), StandardCharsets.UTF_8)
+                .then();
+    }
+
+    private static Map<String, Object> chunk(String model, Map<String, Object> delta, String finishReason,
+                                             Map<String, Object> usage) {
+        var chunk = new LinkedHashMap<String, Object>();
+        chunk.put("id", "chatcmpl-load");
+        chunk.put("object", "chat.completion.chunk");
+        chunk.put("created", 0);
+        chunk.put("model", model);
+        if (delta != null) {
+            var choice = new LinkedHashMap<String, Object>();
+            choice.put("index", 0);
+            choice.put("delta", delta);
+            choice.put("finish_reason", finishReason);
+            chunk.put("choices", List.of(choice));
+        } else {
+            chunk.put("choices", List.of());
+        }
+        if (usage != null) {
+            chunk.put("usage", usage);
+        }
+        return chunk;
+    }
+
+    /**
+     * Llamada a {@code get_employee_info} si la primera vuelta la ofrece y el usuario
+     * menciona un empleado. El nombre se toma de la definición, que puede llevar prefijo.
+     */
+    private static Optional<Map<String, Object>> toolCall(JsonNode body) {
+        var messages = body.path("messages");
+        if (messages.isEmpty() || !"user".equals(messages.get(messages.size() - 1).path("role").asText())) {
+            return Optional.empty();
+        }
+
+        var employee = EMPLOYEE_ID.matcher(messages.get(messages.size() - 1).path("content").asText());
+        if (!employee.find()) {
+            return Optional.empty();
+        }
+
+        for (var tool : body.path("tools")) {
+            var name = tool.path("function").path("name").asText();
+            if (name.endsWith(EMPLOYEE_TOOL)) {
+                return Optional.of(Map.of(
+                        "id", "call_load_" + employee.group(),
+                        "type", "function",
+                        "function", Map.of(
+                                "name", name,
+                                "arguments", write(Map.of("employee_id", employee.group())))));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Map<String, Object> withIndex(Map<String, Object> toolCall) {
+        var indexed = new LinkedHashMap<String, Object>(toolCall);
+        indexed.put("index", 0);
+        return indexed;
+    }
+
+    private static Map<String, Object> usage() {
+        return Map.of("prompt_tokens", 42, "completion_tokens", TOKENS.size(), "total_tokens", 42 + TOKENS.size());
+    }
+
+    static JsonNode read(String body) {
+        try {
+            return MAPPER.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Petición no válida", e);
+        }
+    }
+
+    private static String write(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        loops.dispose();
+    }
+}
@@ -0,0 +1,54 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Latencia que añaden los servidores falsos a cada respuesta. Se configura con una
+ * cadena:
+ * <ul>
+ *   <li>{@code recorded}: la grabada en el propio intercambio.</li>
+ *   <li>{@code empirical}: una muestra al azar de todas las grabadas del mismo tipo.</li>
+ *   <li>{@code fixed:<ms>}: siempre la misma.</li>
+ *   <li>{@code lognormal:<mediana ms>:<sigma>}: distribución sintética con cola larga.</li>
+ * </ul>
+ * Todas se multiplican por {@code scale} (p. ej. 2 para simular un modelo el doble de
+ * lento). Las muestras salen de un {@link Random} con semilla, así que dos ejecuciones
+ * con la misma configuración ven la misma secuencia.
+ */
+@FunctionalInterface
+interface LatencyModel {
+
+    Duration sample(Duration recorded);
+
+    static LatencyModel parse(String spec, List<Duration> recordedSamples, double scale, long seed) {
+        var random = new Random(seed);
+        var parts = spec.trim().split(":");
+
+        LatencyModel model = switch (parts[0]) {
+            case "recorded" -> recorded -> recorded;
+            case "empirical" -> {
+                if (recordedSamples.isEmpty()) {
+                    throw new IllegalArgumentException("La grabación no tiene latencias para el modelo empirical");
+                }
+                yield recorded -> recordedSamples.get(random.nextInt(recordedSamples.size()));
+            }
+            case "fixed" -> {
+                var fixed = Duration.ofMillis(Long.parseLong(parts[1]));
+                yield recorded -> fixed;
+            }
+            case "lognormal" -> {
+                var mu = Math.log(Double.parseDouble(parts[1]));
+                var sigma = Double.parseDouble(parts[2]);
+                yield recorded -> Duration.ofNanos(Math.round(Math.exp(mu + sigma * random.nextGaussian()) * 1_000_000));
+            }
+            default -> throw new IllegalArgumentException("Modelo de latencia desconocido: " + spec);
+        };
+
+        if (scale == 1.0) {
+            return model;
+        }
+        return recorded -> Duration.ofNanos(Math.round(model.sample(recorded).toNanos() * scale));
+    }
+}
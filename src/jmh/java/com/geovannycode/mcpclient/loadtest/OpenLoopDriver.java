@@ -0,0 +1,239 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga en lazo abierto: las peticiones salen a su hora (ritmo constante o
+ * llegadas de Poisson) aunque las anteriores no hayan terminado, como el tráfico real.
+ * La latencia se mide desde la hora prevista y no desde el envío, de modo que una pausa
+ * del propio generador no oculta la cola (coordinated omission).
+ * <p>
+ * El escenario de cada llegada y los intervalos salen de un {@link Random} con semilla:
+ * dos ejecuciones con la misma configuración envían la misma secuencia.
+ */
+final class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final List<Scenario> scenarios;
+    private final double[] cumulativeWeights;
+    private final Random random;
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final AtomicLong pending = new AtomicLong();
+
+    OpenLoopDriver(HttpClient client, List<Scenario> scenarios, long seed) {
+        this.client = client;
+        this.scenarios = List.copyOf(scenarios);
+        this.random = new Random(seed);
+        this.cumulativeWeights = new double[scenarios.size()];
+
+        var total = 0.0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += scenarios.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new Stats()));
+    }
+
+    /**
+     * Lanza llegadas a {@code rate} por segundo durante {@code warmup + duration} y espera
+     * a que terminen las pendientes. Sólo se miden las llegadas posteriores al warmup.
+     */
+    Map<String, ScenarioResult> run(double rate, boolean poisson, Duration warmup, Duration duration,
+                                    Duration drainTimeout) {
+        var meanInterval = 1_000_000_000d / rate;
+        var start = System.nanoTime();
+        var measureFrom = start + warmup.toNanos();
+        var end = measureFrom + duration.toNanos();
+
+        var next = (double) start;
+        while (true) {
+            next += poisson ? -Math.log(1 - random.nextDouble()) * meanInterval : meanInterval;
+            var scheduledAt = (long) next;
+            if (scheduledAt >= end) {
+                break;
+            }
+
+            long wait;
+            while ((wait = scheduledAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(pick(), scheduledAt, scheduledAt >= measureFrom);
+        }
+
+        drain(drainTimeout);
+        return results(Duration.ofNanos(Math.max(end, lastCompletion()) - measureFrom));
+    }
+
+    /**
+     * Recorre los escenarios en orden, uno tras otro, {@code repeats} veces. Es el modo
+     * de grabación: cada petición ve el sistema en reposo y deja su intercambio completo.
+     */
+    Map<String, ScenarioResult> sequential(int repeats, Duration timeout) {
+        var start = System.nanoTime();
+        for (int i = 0; i < repeats; i++) {
+            for (var scenario : scenarios) {
+                fire(scenario, System.nanoTime(), true);
+                drain(timeout);
+            }
+        }
+        return results(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private Scenario pick() {
+        var point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private void fire(Scenario scenario, long scheduledAt, boolean measured) {
+        pending.incrementAndGet();
+
+        var method = HttpMethod.valueOf(scenario.method());
+        HttpClient.ResponseReceiver<?> receiver = scenario.body() == null || scenario.body().isNull()
+                ? client.request(method).uri(scenario.path())
+                : client.headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/json"))
+                        .request(method)
+                        .uri(scenario.path())
+                        .send(ByteBufFlux.fromString(Mono.just(scenario.body().toString()), StandardCharsets.UTF_8,
+                                ByteBufAllocator.DEFAULT));
+
+        receiver.responseSingle((response, body) -> body.asString()
+                        .defaultIfEmpty("")
+                        .map(text -> response.status().code()))
+                .onErrorReturn(0)
+                .subscribe(status -> complete(scenario, scheduledAt, measured, status));
+    }
+
+    private void complete(Scenario scenario, long scheduledAt, boolean measured, int status) {
+        var now = System.nanoTime();
+        if (measured) {
+            stats.get(scenario.name()).record(now - scheduledAt, status, now);
+        }
+        pending.decrementAndGet();
+    }
+
+    private void drain(Duration timeout) {
+        var deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(Duration.ofMillis(5).toNanos());
+        }
+    }
+
+    private long lastCompletion() {
+        return stats.values().stream().mapToLong(stat -> stat.lastCompletion.get()).max().orElse(0);
+    }
+
+    private Map<String, ScenarioResult> results(Duration elapsed) {
+        var results = new LinkedHashMap<String, ScenarioResult>();
+        var total = new Histogram(3);
+        var totalStatuses = new TreeMap<String, Long>();
+
+        stats.forEach((name, stat) -> {
+            var histogram = stat.latencies.copy();
+            total.add(histogram);
+            stat.statuses.forEach((status, count) -> totalStatuses.merge(status, count.sum(), Long::sum));
+            results.put(name, ScenarioResult.of(histogram, stat.statuses(), elapsed));
+        });
+        results.put("total", ScenarioResult.of(total, totalStatuses, elapsed));
+        return results;
+    }
+
+    /**
+     * @param path ruta ya codificada, con la query string
+     * @param body JSON de la petición o {@code null}
+     */
+    record Scenario(String name, String method, String path, JsonNode body, double weight) {
+    }
+
+    /**
+     * @param histogram número de peticiones por intervalo de latencia; cada intervalo
+     *                  dobla al anterior y {@code upToMs} es su límite superior
+     */
+    record ScenarioResult(long requests, long errors, Map<String, Long> statuses, double throughput,
+                          Map<String, Double> latencyMs, List<Bucket> histogram) {
+
+        static ScenarioResult of(Histogram latencies, Map<String, Long> statuses, Duration elapsed) {
+            var requests = latencies.getTotalCount();
+            var succeeded = statuses.entrySet().stream()
+                    .filter(status -> status.getKey().startsWith("2"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+
+            var percentiles = new LinkedHashMap<String, Double>();
+            percentiles.put("p50", millis(latencies.getValueAtPercentile(50)));
+            percentiles.put("p90", millis(latencies.getValueAtPercentile(90)));
+            percentiles.put("p99", millis(latencies.getValueAtPercentile(99)));
+            percentiles.put("p99.9", millis(latencies.getValueAtPercentile(99.9)));
+            percentiles.put("max", millis(latencies.getMaxValue()));
+
+            var buckets = new ArrayList<Bucket>();
+            if (requests > 0) {
+                for (var value : latencies.logarithmicBucketValues(1_000, 2)) {
+                    var count = value.getCountAddedInThisIterationStep();
+                    if (count > 0 || !buckets.isEmpty()) {
+                        buckets.add(new Bucket(Math.ceil(millis(value.getValueIteratedTo())), count));
+                    }
+                }
+            }
+
+            return new ScenarioResult(requests, requests - succeeded, statuses,
+                    elapsed.isZero() ? 0 : succeeded / (elapsed.toNanos() / 1_000_000_000d),
+                    percentiles, buckets);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1_000d;
+        }
+    }
+
+    record Bucket(double upToMs, long count) {
+    }
+
+    /**
+     * Latencias en microsegundos; el estado {@code 0} es un error de conexión o timeout.
+     */
+    private static final class Stats {
+
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final AtomicLong lastCompletion = new AtomicLong();
+
+        void record(long latencyNanos, int status, long now) {
+            latencies.recordValue(latencyNanos / 1_000);
+            statuses.computeIfAbsent(status == 0 ? "error" : String.valueOf(status), key -> new LongAdder())
+                    .increment();
+            lastCompletion.accumulateAndGet(now, Math::max);
+        }
+
+        Map<String, Long> statuses() {
+            var snapshot = new TreeMap<String, Long>();
+            statuses.forEach((status, count) -> snapshot.put(status, count.sum()));
+            return snapshot;
+        }
+    }
+}
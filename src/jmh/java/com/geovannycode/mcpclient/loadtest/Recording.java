@@ -0,0 +1,173 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Intercambios grabados con OpenAI y con el servidor MCP. En disco es JSON Lines
+ * comprimido con gzip, una entrada por línea con su {@code type}: {@code model} (petición
+ * a {@code /v1/chat/completions} y su respuesta tal cual, SSE incluido), {@code tool}
+ * (definición de una herramienta MCP) y {@code call} (llamada a una herramienta).
+ * <p>
+ * Las peticiones al modelo se identifican por {@link #modelKey}: los mensajes sin los
+ * identificadores de las llamadas a herramientas ni el modelo elegido, de modo que una
+ * grabación sigue sirviendo si cambia el enrutado de modelos.
+ */
+public final class Recording {
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    public static Recording load(Path file) throws IOException {
+        var recording = new Recording();
+        try (var reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    recording.add(MAPPER.readValue(line, Entry.class));
+                }
+            }
+        }
+        return recording;
+    }
+
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (var writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            for (var entry : entries) {
+                writer.write(MAPPER.writerFor(Entry.class).writeValueAsString(entry));
+                writer.newLine();
+            }
+        }
+    }
+
+    public void add(Entry entry) {
+        entries.add(entry);
+    }
+
+    public List<ModelExchange> modelExchanges() {
+        return entries(ModelExchange.class);
+    }
+
+    public List<ToolDefinition> tools() {
+        return entries(ToolDefinition.class);
+    }
+
+    public List<ToolCall> toolCalls() {
+        return entries(ToolCall.class);
+    }
+
+    private <T extends Entry> List<T> entries(Class<T> type) {
+        return entries.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    /**
+     * Resumen SHA-256 de los mensajes (rol, contenido y llamadas a herramientas) y del
+     * modo streaming de una petición de chat completions.
+     */
+    static String modelKey(JsonNode request) {
+        var canonical = MAPPER.createObjectNode();
+        canonical.put("stream", request.path("stream").asBoolean(false));
+        var messages = canonical.putArray("messages");
+        for (var message : request.path("messages")) {
+            var normalized = messages.addObject();
+            normalized.put("role", message.path("role").asText());
+            normalized.set("content", message.path("content"));
+            var calls = normalized.putArray("tool_calls");
+            for (var call : message.path("tool_calls")) {
+                calls.addObject()
+                        .put("name", call.path("function").path("name").asText())
+                        .put("arguments", call.path("function").path("arguments").asText());
+            }
+        }
+        return digest(canonical.toString());
+    }
+
+    /**
+     * Rol del último mensaje: {@code user} en la primera vuelta y {@code tool} cuando el
+     * modelo recibe resultados de herramientas. Sirve para elegir una respuesta de la
+     * misma forma cuando una petición no se grabó.
+     */
+    static String turn(JsonNode request) {
+        var messages = request.path("messages");
+        return messages.isEmpty() ? "user" : messages.get(messages.size() - 1).path("role").asText("user");
+    }
+
+    /**
+     * Argumentos de una herramienta con las claves ordenadas, para que el orden en que
+     * los escribió el modelo no cambie la clave.
+     */
+    static String canonicalArguments(Map<String, Object> arguments) {
+        try {
+            return MAPPER.writeValueAsString(arguments == null ? Map.of() : arguments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String digest(String value) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = ModelExchange.class, name = "model"),
+            @JsonSubTypes.Type(value = ToolDefinition.class, name = "tool"),
+            @JsonSubTypes.Type(value = ToolCall.class, name = "call")
+    })
+    public sealed interface Entry permits ModelExchange, ToolDefinition, ToolCall {
+    }
+
+    /**
+     * @param turn           rol del último mensaje de la petición (ver {@link #turn})
+     * @param body           cuerpo de la respuesta; en streaming, los eventos SSE
+     * @param firstByteMicros tiempo hasta el primer byte de la respuesta
+     * @param latencyMicros  tiempo hasta el último byte
+     */
+    public record ModelExchange(String key, boolean stream, String turn, int status, String contentType,
+                                String body, long firstByteMicros, long latencyMicros) implements Entry {
+    }
+
+    /**
+     * Herramienta tal como la anunció el servidor MCP ({@code McpSchema.Tool} en JSON).
+     */
+    public record ToolDefinition(JsonNode tool) implements Entry {
+    }
+
+    /**
+     * @param arguments argumentos canónicos (ver {@link #canonicalArguments})
+     * @param result    {@code McpSchema.CallToolResult} en JSON
+     */
+    public record ToolCall(String name, String arguments, JsonNode result, long latencyMicros) implements Entry {
+    }
+}
@@ -0,0 +1,106 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.geovannycode.mcpclient.loadtest.Recording.ModelExchange;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Proxy hacia la API real de OpenAI que graba cada {@code /v1/chat/completions}. La
+ * respuesta se reenvía a la aplicación según llega (el streaming no se altera) y se
+ * guarda con el tiempo hasta el primer byte y hasta el último. La clave de API la pone
+ * el proxy: la aplicación arranca con una falsa y la real no llega a la grabación.
+ */
+public final class RecordingOpenAiProxy implements AutoCloseable {
+
+    private static final String COMPLETIONS_PATH = "/v1/chat/completions";
+
+    private final Recording recording;
+    private final HttpClient upstream;
+
+    private final LoopResources loops = LoopResources.create("recording-openai", 2, true);
+    private final DisposableServer server;
+
+    public RecordingOpenAiProxy(String upstreamBaseUrl, String apiKey, Recording recording) {
+        this.recording = recording;
+        this.upstream = HttpClient.create()
+                .runOn(loops)
+                .baseUrl(upstreamBaseUrl)
+                .responseTimeout(Duration.ofMinutes(2))
+                .headers(headers -> headers
+                        .set(HttpHeaderNames.AUTHORIZATION, "Bearer " + apiKey)
+                        .set(HttpHeaderNames.CONTENT_TYPE, "application/json"));
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(loops)
+                .route(routes -> routes.post(COMPLETIONS_PATH, this::completions))
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    private Mono<Void> completions(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .flatMap(body -> {
+                    var json = FakeOpenAiServer.read(body);
+                    var start = System.nanoTime();
+                    var firstByte = new AtomicLong();
+                    var buffer = new ByteArrayOutputStream();
+
+                    return upstream.post()
+                            .uri(COMPLETIONS_PATH)
+                            .send(ByteBufFlux.fromString(Mono.just(body), StandardCharsets.UTF_8,
+                                    ByteBufAllocator.DEFAULT))
+                            .response((upstreamResponse, bytes) -> {
+                                var contentType = upstreamResponse.responseHeaders()
+                                        .get(HttpHeaderNames.CONTENT_TYPE, "application/json");
+                                response.status(upstreamResponse.status())
+                                        .header(HttpHeaderNames.CONTENT_TYPE, contentType);
+
+                                var chunks = bytes.asByteArray().doOnNext(chunk -> {
+                                    firstByte.compareAndSet(0, System.nanoTime());
+                                    synchronized (buffer) {
+                                        buffer.writeBytes(chunk);
+                                    }
+                                });
+
+                                return response.sendByteArray(chunks)
+                                        .then(Mono.fromRunnable(() -> recording.add(new ModelExchange(
+                                                Recording.modelKey(json),
+                                                json.path("stream").asBoolean(false),
+                                                Recording.turn(json),
+                                                upstreamResponse.status().code(),
+                                                contentType,
+                                                buffer.toString(StandardCharsets.UTF_8),
+                                                micros(firstByte.get() > 0 ? firstByte.get() - start : 0),
+                                                micros(System.nanoTime() - start)))));
+                            })
+                            .then();
+                });
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        loops.dispose();
+    }
+}
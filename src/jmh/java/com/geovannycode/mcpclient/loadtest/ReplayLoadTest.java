@@ -0,0 +1,355 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.geovannycode.McpClientExampleApplication;
+import com.geovannycode.mcpclient.loadtest.OpenLoopDriver.Scenario;
+import com.geovannycode.mcpclient.loadtest.OpenLoopDriver.ScenarioResult;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de carga sin red ni coste de OpenAI. Funciona en dos fases:
+ * <ul>
+ *   <li>{@code replay.mode=record}: arranca la aplicación contra un proxy de OpenAI
+ *   ({@link RecordingOpenAiProxy}) y contra {@code simple_mcp_server.py} a través de
+ *   {@link StubMcpServer}, recorre los escenarios {@code replay.repeat} veces uno tras
+ *   otro y guarda los intercambios en {@code replay.recording}. Las cachés, el
+ *   agrupado y el hedging se desactivan para que cada repetición llegue a los upstream.
+ *   Con {@code replay.openai.upstream=fake} el modelo es {@link FakeOpenAiServer}, útil
+ *   para generar una grabación de prueba sin clave.</li>
+ *   <li>{@code replay.mode=replay}: sirve la grabación con {@link ReplayOpenAiServer} y
+ *   {@link StubMcpServer} y lanza llegadas en lazo abierto ({@link OpenLoopDriver}) a
+ *   {@code /chat} y {@code /hr-assistant/*}. Informa de throughput, percentiles e
+ *   histograma por escenario y compara con una línea base como {@code BenchmarkRunner}.</li>
+ * </ul>
+ * Propiedades: {@code replay.mode}, {@code replay.recording}, {@code replay.stack}
+ * ({@code servlet}, {@code servlet-virtual} o {@code reactive}), {@code replay.rate}
+ * (llegadas/s), {@code replay.arrivals} ({@code poisson} o {@code constant}),
+ * {@code replay.warmup} y {@code replay.duration} (s), {@code replay.seed},
+ * {@code replay.latency} y {@code replay.mcp.latency} (ver {@link LatencyModel}),
+ * {@code replay.latency.scale}, {@code replay.scenarios} (JSON con la lista de
+ * {@link Scenario}), {@code replay.repeat}, {@code replay.openai.upstream},
+ * {@code replay.mcp.command}, {@code replay.baseline}, {@code replay.baseline.update},
+ * {@code replay.regression.tolerance} y {@code replay.app} (propiedades de la
+ * aplicación, {@code clave=valor} separadas por {@code ;}). La clave de OpenAI para
+ * grabar se lee de {@code OPENAI_API_KEY}.
+ * <p>
+ * Una grabación sirve para la pila con la que se hizo: la reactiva pide al modelo en
+ * streaming también las respuestas completas, así que sus peticiones no coinciden con
+ * las de la servlet. Las que no coinciden se cuentan en {@code upstreams.misses}.
+ */
+public final class ReplayLoadTest {
+
+    private static final Path RESULT_FILE = Path.of("target", "replay-load-test.json");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String USER = "load";
+    private static final String PASSWORD = "load";
+
+    private static final String STDIO_AUTO_CONFIGURATION =
+            "org.springframework.ai.mcp.client.common.autoconfigure.StdioTransportAutoConfiguration";
+
+    private ReplayLoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        var record = System.getProperty("replay.mode", "replay").equals("record");
+        var recordingFile = Path.of(System.getProperty("replay.recording",
+                "src/jmh/resources/loadtest/hr-assistant.jsonl.gz"));
+        var stack = System.getProperty("replay.stack", "servlet-virtual");
+        var seed = Long.getLong("replay.seed", 42);
+        var scenarios = scenarios(System.getProperty("replay.scenarios", ""));
+
+        if (record) {
+            record(recordingFile, stack, scenarios);
+        } else {
+            replay(recordingFile, stack, scenarios, seed);
+        }
+    }
+
+    private static void record(Path recordingFile, String stack, List<Scenario> scenarios) throws IOException {
+        var upstream = System.getProperty("replay.openai.upstream", "https://api.openai.com");
+        var repeats = Integer.getInteger("replay.repeat", 5);
+        var command = Arrays.asList(System.getProperty("replay.mcp.command", "python3 simple_mcp_server.py")
+                .trim().split("\\s+"));
+
+        var recording = new Recording();
+        var overrides = new LinkedHashMap<String, Object>();
+        overrides.put("assistant.cache.enabled", false);
+        overrides.put("assistant.tool-cache.enabled", false);
+        overrides.put("assistant.coalescing.enabled", false);
+        overrides.put("assistant.hedging.enabled", false);
+
+        Map<String, ScenarioResult> results;
+        try (var fake = upstream.equals("fake") ? new FakeOpenAiServer(Duration.ofMillis(200)) : null;
+             var openAi = new RecordingOpenAiProxy(fake != null ? fake.baseUrl() : upstream,
+                     fake != null ? "fake" : requiredApiKey(), recording);
+             var mcp = StubMcpServer.recording(command, recording)) {
+            results = withApplication(stack, openAi.baseUrl(), mcp.baseUrl(), overrides,
+                    client -> new OpenLoopDriver(client, scenarios, 0).sequential(repeats, Duration.ofMinutes(2)));
+        }
+
+        recording.save(recordingFile);
+        print(results);
+        System.out.printf("Grabados %d intercambios con el modelo y %d llamadas a herramientas en %s%n",
+                recording.modelExchanges().size(), recording.toolCalls().size(), recordingFile);
+    }
+
+    private static void replay(Path recordingFile, String stack, List<Scenario> scenarios, long seed)
+            throws IOException {
+        if (Files.notExists(recordingFile)) {
+            throw new IllegalStateException("No existe la grabación " + recordingFile
+                    + "; genérala antes con -Dreplay.mode=record");
+        }
+
+        var rate = Double.parseDouble(System.getProperty("replay.rate", "20"));
+        var poisson = !System.getProperty("replay.arrivals", "poisson").equals("constant");
+        var warmup = Duration.ofSeconds(Long.getLong("replay.warmup", 10));
+        var duration = Duration.ofSeconds(Long.getLong("replay.duration", 60));
+        var scale = Double.parseDouble(System.getProperty("replay.latency.scale", "1"));
+
+        var recording = Recording.load(recordingFile);
+        var modelLatency = LatencyModel.parse(System.getProperty("replay.latency", "recorded"),
+                recording.modelExchanges().stream().map(exchange -> micros(exchange.latencyMicros())).toList(),
+                scale, seed);
+        var toolLatency = LatencyModel.parse(System.getProperty("replay.mcp.latency", "recorded"),
+                recording.toolCalls().stream().map(call -> micros(call.latencyMicros())).toList(),
+                scale, seed + 1);
+
+        Map<String, ScenarioResult> results;
+        var upstreams = new LinkedHashMap<String, Object>();
+        try (var openAi = new ReplayOpenAiServer(recording, modelLatency);
+             var mcp = StubMcpServer.replaying(recording, toolLatency)) {
+            results = withApplication(stack, openAi.baseUrl(), mcp.baseUrl(), Map.of(),
+                    client -> new OpenLoopDriver(client, scenarios, seed)
+                            .run(rate, poisson, warmup, duration, Duration.ofMinutes(2)));
+            upstreams.put("openai", Map.of("hits", openAi.hits(), "misses", openAi.misses()));
+            upstreams.put("mcp", Map.of("hits", mcp.hits(), "misses", mcp.misses()));
+        }
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("stack", stack);
+        report.put("rate", rate);
+        report.put("arrivals", poisson ? "poisson" : "constant");
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("latency", System.getProperty("replay.latency", "recorded"));
+        report.put("latencyScale", scale);
+        report.put("upstreams", upstreams);
+        report.put("scenarios", results);
+
+        Files.createDirectories(RESULT_FILE.getParent());
+        MAPPER.writeValue(RESULT_FILE.toFile(), report);
+
+        print(results);
+        System.out.println("Peticiones no grabadas: " + upstreams);
+        System.out.println("Resultados en " + RESULT_FILE);
+
+        compareWithBaseline(results);
+    }
+
+    private static Map<String, ScenarioResult> withApplication(String stack, String openAiUrl, String mcpUrl,
+                                                               Map<String, Object> overrides,
+                                                               Driver driver) {
+        var builder = new SpringApplicationBuilder(McpClientExampleApplication.class);
+        if (stack.equals("reactive")) {
+            builder.profiles("reactive");
+        }
+
+        var properties = properties(stack, openAiUrl, mcpUrl);
+        properties.putAll(overrides);
+        properties.putAll(appOverrides(System.getProperty("replay.app", "")));
+        var args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+
+        try (var context = builder.run(args)) {
+            var port = context.getEnvironment().getRequiredProperty("local.server.port");
+            var loops = LoopResources.create("replay-client", 4, true);
+            var connections = ConnectionProvider.builder("replay-client")
+                    .maxConnections(2_000)
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            var credentials = Base64.getEncoder()
+                    .encodeToString((USER + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+            var client = HttpClient.create(connections)
+                    .runOn(loops)
+                    .baseUrl("http://localhost:" + port)
+                    .headers(headers -> headers.set(HttpHeaderNames.AUTHORIZATION, "Basic " + credentials))
+                    .responseTimeout(Duration.ofSeconds(Long.getLong("replay.timeout", 60)));
+
+            try {
+                return driver.drive(client);
+            } finally {
+                connections.disposeLater().block();
+                loops.disposeLater().block();
+            }
+        }
+    }
+
+    /**
+     * MCP por Streamable HTTP contra {@link StubMcpServer} con el mismo nombre de conexión
+     * que la STDIO ({@code localTool}), para que apliquen su circuito y su límite; la
+     * autoconfiguración STDIO se excluye porque un mapa de conexiones no se puede vaciar
+     * desde la línea de comandos. El descubrimiento de herramientas se hace antes de abrir
+     * el puerto y el límite por usuario se desactiva: toda la carga llega con un usuario.
+     */
+    private static Map<String, Object> properties(String stack, String openAiUrl, String mcpUrl) {
+        var properties = new LinkedHashMap<String, Object>();
+        properties.put("server.port", 0);
+        properties.put("spring.devtools.livereload.enabled", false);
+        properties.put("spring.threads.virtual.enabled", stack.equals("servlet-virtual"));
+        properties.put("spring.autoconfigure.exclude", STDIO_AUTO_CONFIGURATION);
+        properties.put("spring.ai.openai.api-key", "replay");
+        properties.put("spring.ai.openai.base-url", openAiUrl);
+        properties.put("spring.ai.mcp.client.streamable-http.connections.localTool.url", mcpUrl);
+        properties.put("spring.ai.mcp.client.streamable-http.connections.localTool.endpoint", StubMcpServer.ENDPOINT);
+        properties.put("spring.security.user.name", USER);
+        properties.put("spring.security.user.password", PASSWORD);
+        properties.put("assistant.mcp.startup.background", false);
+        properties.put("assistant.rate-limit.enabled", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.geovannycode", "ERROR");
+        properties.put("logging.level.org.springframework.ai", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        // Al parar la aplicación el cliente MCP cierra su sesión cuando los recursos de
+        // Reactor Netty ya se han liberado; el aviso no afecta a la medida
+        properties.put("logging.level.io.modelcontextprotocol", "ERROR");
+        properties.put("logging.level.reactor.netty", "ERROR");
+        properties.put("logging.level.io.netty.channel", "ERROR");
+        return properties;
+    }
+
+    private static Map<String, String> appOverrides(String overrides) {
+        var properties = new LinkedHashMap<String, String>();
+        Arrays.stream(overrides.split(";"))
+                .map(String::trim)
+                .filter(override -> override.contains("="))
+                .forEach(override -> properties.put(override.substring(0, override.indexOf('=')).trim(),
+                        override.substring(override.indexOf('=') + 1).trim()));
+        return properties;
+    }
+
+    /**
+     * Mezcla por defecto: chat (también en streaming), consulta libre con herramienta,
+     * políticas, ficha de empleado y beneficios.
+     */
+    private static List<Scenario> scenarios(String file) throws IOException {
+        if (!file.isBlank()) {
+            return MAPPER.readValue(Path.of(file).toFile(), new TypeReference<List<Scenario>>() {
+            });
+        }
+
+        var query = MAPPER.createObjectNode()
+                .put("query", "¿Cuántos días de vacaciones le quedan a EMP001?")
+                .put("employeeId", "EMP001");
+        return List.of(
+                new Scenario("chat", "GET", "/chat?message=" + encode("¿Cuál es la política de trabajo remoto?"),
+                        null, 3),
+                new Scenario("chat-stream", "GET", "/chat/stream?message=" + encode("Resume la política de vacaciones"),
+                        null, 1),
+                new Scenario("hr-query", "POST", "/hr-assistant/query", query, 3),
+                new Scenario("hr-policies", "GET", "/hr-assistant/policies?policyName=vacation", null, 2),
+                new Scenario("hr-employee", "GET", "/hr-assistant/employee/EMP002", null, 1),
+                new Scenario("hr-benefits", "GET", "/hr-assistant/benefits?employeeId=EMP003", null, 1));
+    }
+
+    /**
+     * Empeora si baja el throughput, sube el p99 o aumenta la tasa de error de algún
+     * escenario más allá de la tolerancia. Sin línea base, la ejecución la crea.
+     */
+    private static void compareWithBaseline(Map<String, ScenarioResult> results) throws IOException {
+        var baselineFile = Path.of(System.getProperty("replay.baseline", "src/jmh/resources/replay-baseline.json"));
+        var tolerance = Double.parseDouble(System.getProperty("replay.regression.tolerance", "0.25"));
+
+        if (Boolean.getBoolean("replay.baseline.update") || Files.notExists(baselineFile)) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            MAPPER.writeValue(baselineFile.toFile(), results);
+            System.out.println("Línea base actualizada en " + baselineFile.toAbsolutePath());
+            return;
+        }
+
+        var baseline = MAPPER.readValue(baselineFile.toFile(), new TypeReference<Map<String, ScenarioResult>>() {
+        });
+        var regressions = new ArrayList<String>();
+        results.forEach((scenario, current) -> {
+            var reference = baseline.get(scenario);
+            if (reference == null || reference.requests() == 0 || current.requests() == 0) {
+                return;
+            }
+            if (current.throughput() < reference.throughput() * (1 - tolerance)) {
+                regressions.add("%s throughput: %.1f -> %.1f req/s".formatted(scenario,
+                        reference.throughput(), current.throughput()));
+            }
+            var referenceP99 = reference.latencyMs().get("p99");
+            var currentP99 = current.latencyMs().get("p99");
+            if (currentP99 > referenceP99 * (1 + tolerance)) {
+                regressions.add("%s p99: %.1f -> %.1f ms".formatted(scenario, referenceP99, currentP99));
+            }
+            var referenceErrors = (double) reference.errors() / reference.requests();
+            var currentErrors = (double) current.errors() / current.requests();
+            if (currentErrors > referenceErrors + tolerance / 10) {
+                regressions.add("%s errores: %.1f%% -> %.1f%%".formatted(scenario,
+                        referenceErrors * 100, currentErrors * 100));
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Regresiones de carga (tolerancia " + Math.round(tolerance * 100) + "%):");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("Sin regresiones respecto a " + baselineFile);
+    }
+
+    private static void print(Map<String, ScenarioResult> results) {
+        System.out.printf("%n%-14s %8s %7s %9s %8s %8s %8s %8s %8s%n",
+                "scenario", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        results.forEach((scenario, result) -> System.out.printf("%-14s %8d %7d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                scenario, result.requests(), result.errors(), result.throughput(),
+                result.latencyMs().get("p50"), result.latencyMs().get("p90"), result.latencyMs().get("p99"),
+                result.latencyMs().get("p99.9"), result.latencyMs().get("max")));
+    }
+
+    private static String requiredApiKey() {
+        var apiKey = System.getenv("OPENAI_API_KEY");
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new IllegalStateException("Define OPENAI_API_KEY o usa -Dreplay.openai.upstream=fake");
+        }
+        return apiKey;
+    }
+
+    private static Duration micros(long micros) {
+        return Duration.ofNanos(micros * 1_000);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Driver {
+
+        Map<String, ScenarioResult> drive(HttpClient client);
+    }
+}
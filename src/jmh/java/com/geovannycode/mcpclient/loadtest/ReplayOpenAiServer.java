@@ -0,0 +1,138 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.geovannycode.mcpclient.loadtest.Recording.ModelExchange;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * OpenAI falso que responde a {@code /v1/chat/completions} con los intercambios de una
+ * {@link Recording}. Si la petición no se grabó (p. ej. porque cambió el prompt) se
+ * responde con otra grabada de la misma forma (streaming y vuelta) y se cuenta como
+ * fallo de reproducción. En streaming, los eventos SSE grabados se reparten en el
+ * tiempo respetando la proporción entre el primer byte y el total.
+ */
+public final class ReplayOpenAiServer implements AutoCloseable {
+
+    private final Map<String, RoundRobin<ModelExchange>> byKey;
+    private final Map<String, RoundRobin<ModelExchange>> byShape;
+    private final LatencyModel latency;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final LoopResources loops = LoopResources.create("replay-openai", 2, true);
+    private final DisposableServer server;
+
+    public ReplayOpenAiServer(Recording recording, LatencyModel latency) {
+        var exchanges = recording.modelExchanges();
+        this.byKey = exchanges.stream().collect(Collectors.groupingBy(ModelExchange::key,
+                Collectors.collectingAndThen(Collectors.toList(), RoundRobin::new)));
+        this.byShape = exchanges.stream().collect(Collectors.groupingBy(
+                exchange -> shape(exchange.stream(), exchange.turn()),
+                Collectors.collectingAndThen(Collectors.toList(), RoundRobin::new)));
+        this.latency = latency;
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(loops)
+                .route(routes -> routes.post("/v1/chat/completions", this::completions))
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private Mono<Void> completions(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .map(FakeOpenAiServer::read)
+                .flatMap(body -> {
+                    var exchange = lookup(body);
+                    if (exchange == null) {
+                        return response.status(HttpResponseStatus.BAD_GATEWAY)
+                                .sendString(Mono.just("{\"error\":{\"message\":\"Petición no grabada\"}}"), StandardCharsets.UTF_8)
+                                .then();
+                    }
+                    var delay = latency.sample(Duration.ofNanos(exchange.latencyMicros() * 1_000));
+                    return exchange.stream() ? stream(response, exchange, delay) : complete(response, exchange, delay);
+                });
+    }
+
+    private ModelExchange lookup(JsonNode body) {
+        var exact = byKey.get(Recording.modelKey(body));
+        if (exact != null) {
+            hits.incrementAndGet();
+            return exact.next();
+        }
+        misses.incrementAndGet();
+        var similar = byShape.get(shape(body.path("stream").asBoolean(false), Recording.turn(body)));
+        return similar != null ? similar.next() : null;
+    }
+
+    private Mono<Void> complete(HttpServerResponse response, ModelExchange exchange, Duration delay) {
+        return Mono.delay(delay)
+                .then(headers(response, exchange)
+                        .sendString(Mono.just(exchange.body()), StandardCharsets.UTF_8)
+                        .then());
+    }
+
+    private Mono<Void> stream(HttpServerResponse response, ModelExchange exchange, Duration delay) {
+        var events = Arrays.stream(exchange.body().split("\n\n"))
+                .filter(event -> !event.isBlank())
+                .map(event -> event + "\n\n")
+                .toList();
+
+        var firstByteRatio = exchange.latencyMicros() > 0
+                ? Math.min(1.0, (double) exchange.firstByteMicros() / exchange.latencyMicros())
+                : 0.5;
+        var firstByte = Duration.ofNanos(Math.round(delay.toNanos() * firstByteRatio));
+        var interval = events.size() > 1 ? delay.minus(firstByte).dividedBy(events.size() - 1) : Duration.ZERO;
+
+        var chunks = Flux.fromIterable(events)
+                .index()
+                .concatMap(indexed -> indexed.getT1() == 0
+                        ? Mono.just(indexed.getT2())
+                        : Mono.delay(interval).thenReturn(indexed.getT2()));
+
+        return headers(response, exchange)
+                .sendString(Mono.delay(firstByte).thenMany(chunks), StandardCharsets.UTF_8)
+                .then();
+    }
+
+    private static HttpServerResponse headers(HttpServerResponse response, ModelExchange exchange) {
+        return response.status(exchange.status())
+                .header(HttpHeaderNames.CONTENT_TYPE, exchange.contentType());
+    }
+
+    private static String shape(boolean stream, String turn) {
+        return stream + ":" + turn;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        loops.dispose();
+    }
+}
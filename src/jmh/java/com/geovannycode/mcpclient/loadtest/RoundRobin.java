@@ -0,0 +1,22 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparte en orden las respuestas grabadas para una misma petición, de modo que la
+ * reproducción conserva la variedad (y las latencias) de todas las grabaciones.
+ */
+final class RoundRobin<T> {
+
+    private final List<T> items;
+    private final AtomicInteger position = new AtomicInteger();
+
+    RoundRobin(List<T> items) {
+        this.items = List.copyOf(items);
+    }
+
+    T next() {
+        return items.get(Math.floorMod(position.getAndIncrement(), items.size()));
+    }
+}
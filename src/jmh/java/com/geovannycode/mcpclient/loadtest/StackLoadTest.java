@@ -0,0 +1,194 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.geovannycode.McpClientExampleApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compara la pila servlet (hilos de plataforma y virtuales) con la reactiva bajo la
+ * misma carga: {@code load.requests} peticiones {@code GET /chat} con
+ * {@code load.concurrency} en vuelo contra un OpenAI falso con {@code load.latency} de
+ * latencia. Se arranca la aplicación completa para cada pila y las llamadas al modelo
+ * pasan por ChatClient y el limitador; rutas, hedging y guardas de upstream se
+ * desactivan para que la diferencia medida sea sólo la de la pila web.
+ * <p>
+ * Propiedades: {@code load.stacks} (p. ej. {@code servlet,servlet-virtual,reactive}),
+ * {@code load.requests}, {@code load.concurrency}, {@code load.latency} (ms) y
+ * {@code load.warmup}. El resultado se escribe en {@code target/load-test.json}.
+ */
+public final class StackLoadTest {
+
+    private static final Path RESULT_FILE = Path.of("target", "load-test.json");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private StackLoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        var stacks = Arrays.stream(System.getProperty("load.stacks", "servlet,servlet-virtual,reactive").split(","))
+                .map(String::trim)
+                .toList();
+        var requests = Integer.getInteger("load.requests", 2_000);
+        var concurrency = Integer.getInteger("load.concurrency", 500);
+        var latency = Duration.ofMillis(Long.getLong("load.latency", 200));
+        var warmup = Integer.getInteger("load.warmup", 200);
+
+        var results = new LinkedHashMap<String, Result>();
+        try (var openAi = new FakeOpenAiServer(latency)) {
+            for (var stack : stacks) {
+                results.put(stack, run(stack, openAi.baseUrl(), requests, concurrency, warmup));
+            }
+        }
+
+        Files.createDirectories(RESULT_FILE.getParent());
+        MAPPER.writeValue(RESULT_FILE.toFile(), Map.of(
+                "requests", requests,
+                "concurrency", concurrency,
+                "latencyMs", latency.toMillis(),
+                "stacks", results));
+
+        System.out.printf("%n%-16s %10s %8s %8s %8s %7s %8s%n",
+                "stack", "req/s", "p50", "p95", "p99", "errors", "threads");
+        results.forEach((stack, result) -> System.out.printf("%-16s %10.1f %8d %8d %8d %7d %8d%n",
+                stack, result.throughput(), result.p50Ms(), result.p95Ms(), result.p99Ms(),
+                result.errors(), result.peakThreads()));
+        System.out.println("Resultados en " + RESULT_FILE);
+    }
+
+    private static Result run(String stack, String openAiUrl, int requests, int concurrency, int warmup) {
+        var builder = new SpringApplicationBuilder(McpClientExampleApplication.class);
+        if (stack.equals("reactive")) {
+            builder.profiles("reactive");
+        }
+
+        var args = properties(stack, openAiUrl, concurrency).entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+
+        try (var context = builder.run(args)) {
+            var port = context.getEnvironment().getRequiredProperty("local.server.port");
+            var loops = LoopResources.create("load-client", 4, true);
+            var connections = ConnectionProvider.builder("load-client")
+                    .maxConnections(concurrency)
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            var client = HttpClient.create(connections)
+                    .runOn(loops)
+                    .baseUrl("http://localhost:" + port)
+                    .responseTimeout(Duration.ofSeconds(60));
+
+            try {
+                fire(client, warmup, concurrency);
+
+                var threads = ManagementFactory.getThreadMXBean();
+                threads.resetPeakThreadCount();
+                var start = System.nanoTime();
+                var outcome = fire(client, requests, concurrency);
+                var elapsed = System.nanoTime() - start;
+
+                return Result.of(outcome, requests, elapsed, threads.getPeakThreadCount());
+            } finally {
+                connections.disposeLater().block();
+                loops.disposeLater().block();
+            }
+        }
+    }
+
+    private static Outcome fire(HttpClient client, int requests, int concurrency) {
+        var errors = new AtomicInteger();
+
+        var latencies = Flux.range(0, requests)
+                .flatMap(i -> {
+                    var start = System.nanoTime();
+                    return client.get()
+                            .uri("/chat?message=" + URLEncoder.encode("¿Cuántos días de vacaciones tengo? " + i,
+                                    StandardCharsets.UTF_8))
+                            .responseSingle((response, body) -> body.asString()
+                                    .defaultIfEmpty("")
+                                    .map(text -> response.status().code()))
+                            .map(status -> {
+                                if (status != 200) {
+                                    errors.incrementAndGet();
+                                }
+                                return System.nanoTime() - start;
+                            })
+                            .onErrorResume(e -> {
+                                errors.incrementAndGet();
+                                return Mono.just(System.nanoTime() - start);
+                            });
+                }, concurrency)
+                .sort()
+                .collectList()
+                .block();
+
+        return new Outcome(latencies, errors.get());
+    }
+
+    private static Map<String, Object> properties(String stack, String openAiUrl, int concurrency) {
+        var properties = new LinkedHashMap<String, Object>();
+        properties.put("server.port", 0);
+        properties.put("spring.devtools.livereload.enabled", false);
+        properties.put("spring.threads.virtual.enabled", stack.equals("servlet-virtual"));
+        properties.put("spring.ai.openai.api-key", "load-test");
+        properties.put("spring.ai.openai.base-url", openAiUrl);
+        properties.put("spring.ai.mcp.client.enabled", false);
+        properties.put("spring.ai.mcp.client.annotation-scanner.enabled", false);
+        properties.put("spring.ai.mcp.client.initialized", false);
+        properties.put("assistant.routing.enabled", false);
+        properties.put("assistant.hedging.enabled", false);
+        properties.put("assistant.resilience.enabled", false);
+        properties.put("assistant.concurrency.endpoints.chat.max-concurrent", concurrency);
+        properties.put("assistant.concurrency.endpoints.chat.max-wait", "60s");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.geovannycode", "ERROR");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        return properties;
+    }
+
+    private record Outcome(List<Long> sortedLatencies, int errors) {
+    }
+
+    record Result(double throughput, long p50Ms, long p95Ms, long p99Ms, int errors, int peakThreads) {
+
+        static Result of(Outcome outcome, int requests, long elapsedNanos, int peakThreads) {
+            var latencies = outcome.sortedLatencies();
+            return new Result(
+                    requests / (elapsedNanos / 1_000_000_000.0),
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.95),
+                    percentile(latencies, 0.99),
+                    outcome.errors(),
+                    peakThreads);
+        }
+
+        private static long percentile(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            var index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return Duration.ofNanos(sorted.get(Math.max(0, index))).toMillis();
+        }
+    }
+}
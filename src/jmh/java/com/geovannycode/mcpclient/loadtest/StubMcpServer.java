@@ -0,0 +1,169 @@
+package com.geovannycode.mcpclient.loadtest;
+
+import com.geovannycode.mcpclient.loadtest.Recording.ToolCall;
+import com.geovannycode.mcpclient.loadtest.Recording.ToolDefinition;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.client.transport.StdioClientTransport;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.transport.WebFluxStreamableServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Servidor MCP local sobre Streamable HTTP ({@code /mcp}) con las herramientas de
+ * {@code simple_mcp_server.py}. Tiene dos modos:
+ * <ul>
+ *   <li>{@link #recording}: arranca el servidor real por STDIO, le reenvía las llamadas
+ *   y graba definiciones, resultados y latencias.</li>
+ *   <li>{@link #replaying}: responde con lo grabado tras la latencia del
+ *   {@link LatencyModel}, sin procesos ni hilos bloqueados.</li>
+ * </ul>
+ */
+public final class StubMcpServer implements AutoCloseable {
+
+    static final String ENDPOINT = "/mcp";
+
+    private final McpAsyncClient upstream;
+    private final McpAsyncServer server;
+    private final LoopResources loops = LoopResources.create("stub-mcp", 2, true);
+    private final DisposableServer httpServer;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    private StubMcpServer(McpAsyncClient upstream, List<McpServerFeatures.AsyncToolSpecification> tools,
+                          AtomicLong hits, AtomicLong misses) {
+        this.upstream = upstream;
+        this.hits = hits;
+        this.misses = misses;
+
+        var transport = WebFluxStreamableServerTransportProvider.builder()
+                .jsonMapper(McpJsonMapper.getDefault())
+                .messageEndpoint(ENDPOINT)
+                .build();
+        this.server = McpServer.async(transport)
+                .serverInfo("stub-mcp", "1.0.0")
+                .capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+                .tools(tools)
+                .build();
+
+        var handler = RouterFunctions.toHttpHandler(transport.getRouterFunction());
+        this.httpServer = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow();
+    }
+
+    /**
+     * @param command proceso del servidor MCP real, p. ej. {@code python3 simple_mcp_server.py}
+     */
+    public static StubMcpServer recording(List<String> command, Recording recording) {
+        var parameters = ServerParameters.builder(command.get(0))
+                .args(command.subList(1, command.size()))
+                .build();
+        var client = McpClient.async(new StdioClientTransport(parameters, McpJsonMapper.getDefault()))
+                .requestTimeout(Duration.ofSeconds(20))
+                .build();
+        client.initialize().block();
+
+        var tools = client.listTools().block().tools();
+        tools.forEach(tool -> recording.add(new ToolDefinition(Recording.MAPPER.valueToTree(tool))));
+
+        var specifications = tools.stream()
+                .map(tool -> specification(tool, (name, arguments) -> {
+                    var start = System.nanoTime();
+                    return client.callTool(new McpSchema.CallToolRequest(name, arguments))
+                            .doOnNext(result -> recording.add(new ToolCall(name,
+                                    Recording.canonicalArguments(arguments),
+                                    Recording.MAPPER.valueToTree(result),
+                                    (System.nanoTime() - start) / 1_000)));
+                }))
+                .toList();
+        return new StubMcpServer(client, specifications, new AtomicLong(), new AtomicLong());
+    }
+
+    /**
+     * Las llamadas con otros argumentos que los grabados reciben otro resultado grabado
+     * de la misma herramienta y cuentan como fallo de reproducción.
+     */
+    public static StubMcpServer replaying(Recording recording, LatencyModel latency) {
+        var calls = recording.toolCalls();
+        var byArguments = calls.stream().collect(Collectors.groupingBy(call -> call.name() + '\0' + call.arguments(),
+                Collectors.collectingAndThen(Collectors.toList(), RoundRobin::new)));
+        var byTool = calls.stream().collect(Collectors.groupingBy(ToolCall::name,
+                Collectors.collectingAndThen(Collectors.toList(), RoundRobin::new)));
+
+        var hits = new AtomicLong();
+        var misses = new AtomicLong();
+        var specifications = recording.tools().stream()
+                .map(definition -> Recording.MAPPER.convertValue(definition.tool(), McpSchema.Tool.class))
+                .map(tool -> specification(tool, (name, arguments) -> {
+                    var exact = byArguments.get(name + '\0' + Recording.canonicalArguments(arguments));
+                    (exact != null ? hits : misses).incrementAndGet();
+
+                    var candidates = exact != null ? exact : byTool.get(name);
+                    if (candidates == null) {
+                        return Mono.just(new McpSchema.CallToolResult("Llamada no grabada: " + name, true));
+                    }
+                    var call = candidates.next();
+                    return Mono.delay(latency.sample(Duration.ofNanos(call.latencyMicros() * 1_000)))
+                            .thenReturn(Recording.MAPPER.convertValue(call.result(), McpSchema.CallToolResult.class));
+                }))
+                .toList();
+
+        return new StubMcpServer(null, specifications, hits, misses);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + httpServer.port();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private static McpServerFeatures.AsyncToolSpecification specification(McpSchema.Tool tool, ToolHandler handler) {
+        return McpServerFeatures.AsyncToolSpecification.builder()
+                .tool(tool)
+                .callHandler((exchange, request) -> handler.call(request.name(), request.arguments()))
+                .build();
+    }
+
+    @Override
+    public void close() {
+        httpServer.disposeNow();
+        server.close();
+        if (upstream != null) {
+            upstream.closeGracefully().block(Duration.ofSeconds(5));
+        }
+        loops.dispose();
+    }
+
+    @FunctionalInterface
+    private interface ToolHandler {
+
+        Mono<McpSchema.CallToolResult> call(String name, Map<String, Object> arguments);
+    }
+}
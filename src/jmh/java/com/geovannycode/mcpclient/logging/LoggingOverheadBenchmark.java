@@ -0,0 +1,173 @@
+package com.geovannycode.mcpclient.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coste en el hilo de la petición de los logs que genera una consulta al asistente, con
+ * salida a fichero:
+ * <ul>
+ *   <li>{@code legacy}: configuración anterior, patrón de texto síncrono, el mensaje
+ *   completo en el log del controlador, prompt y respuesta completos y DEBUG de Spring
+ *   Security y Spring AI.</li>
+ *   <li>{@code sampled-sync}: niveles de producción y {@link PayloadLogger} al 1 %, pero
+ *   JSON escrito en el propio hilo.</li>
+ *   <li>{@code production}: lo mismo detrás de {@link CountingAsyncAppender} (perfil
+ *   {@code json-logs}).</li>
+ * </ul>
+ * <pre>
+ * ./mvnw -Pbenchmark verify -Djmh.include=LoggingOverheadBenchmark
+ * </pre>
+ * Con la cola asíncrona llena los eventos de INFO se descartan en lugar de esperar; el
+ * número de descartes se imprime al terminar.
+ */
+@State(Scope.Benchmark)
+public class LoggingOverheadBenchmark {
+
+    private static final String LEGACY_PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    private static final String QUERY = ("¿Cuántos días de vacaciones me quedan este año y puedo acumular los que no "
+            + "use para el siguiente? Estoy en el departamento de ingeniería desde hace tres años. ").repeat(4);
+    private static final String CONTEXT = ("{employeeId=EMP001, department=Engineering, position=Senior Developer, "
+            + "hireDate=2021-03-15, manager=EMP010, location=Madrid} ").repeat(6);
+    private static final String ANSWER = ("Según la política de vacaciones tienes 15 días disponibles. Puedes acumular "
+            + "hasta 5 días para el año siguiente si lo solicitas antes del 31 de diciembre. ").repeat(8);
+
+    @Param({"legacy", "sampled-sync", "production"})
+    String mode;
+
+    private Path file;
+    private LoggerContext context;
+    private CountingAsyncAppender async;
+    private PayloadLogger payloads;
+
+    private Logger controller;
+    private Logger service;
+    private Logger security;
+    private Logger ai;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("logging-overhead", ".log");
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        var legacy = mode.equals("legacy");
+        var appender = fileAppender(legacy ? patternEncoder() : jsonEncoder());
+        Appender<ILoggingEvent> root = appender;
+        if (mode.equals("production")) {
+            async = new CountingAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(appender);
+            async.start();
+            root = async;
+        }
+
+        var rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+        context.getLogger("org.springframework.security").setLevel(legacy ? Level.DEBUG : Level.WARN);
+        context.getLogger("org.springframework.ai").setLevel(legacy ? Level.DEBUG : Level.WARN);
+        context.getLogger("com.geovannycode.mcpclient.service").setLevel(legacy ? Level.DEBUG : Level.INFO);
+
+        controller = LoggerFactory.getLogger("com.geovannycode.mcpclient.controller.HRAssistantController");
+        service = LoggerFactory.getLogger("com.geovannycode.mcpclient.service.ChatService");
+        security = LoggerFactory.getLogger("org.springframework.security.web.FilterChainProxy");
+        ai = LoggerFactory.getLogger("org.springframework.ai.chat.client.DefaultChatClient");
+        payloads = new PayloadLogger(new PayloadLoggingProperties(0.01, 500));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (async != null) {
+            System.out.println("Eventos descartados: " + droppedCount());
+        }
+        context.reset();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void request() {
+        var ids = LogContext.resolve(null, null);
+        ids.forEach(MDC::put);
+        try {
+            security.debug("Securing POST /hr-assistant/query");
+            security.debug("Set SecurityContextHolder to UsernamePasswordAuthenticationToken [Principal=ana]");
+            security.debug("Secured POST /hr-assistant/query");
+
+            if (mode.equals("legacy")) {
+                controller.info("HR Query received - Employee: {}, Query: {}", "EMP001", QUERY);
+                service.debug("Procesando mensaje con contexto: {} - {}", QUERY, CONTEXT);
+                ai.debug("Prompt: {}", QUERY);
+                ai.debug("Response: {}", ANSWER);
+                service.debug("Respuesta generada ({}): {}", "hr-query", ANSWER);
+            } else {
+                controller.info("HR Query received - Employee: {}", "EMP001");
+                payloads.prompt("hr-query", QUERY, CONTEXT);
+                ai.debug("Prompt: {}", QUERY);
+                ai.debug("Response: {}", ANSWER);
+                payloads.response("hr-query", ANSWER);
+            }
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private long droppedCount() {
+        return ((LongAdder) context.getObject(
+                CountingAsyncAppender.droppedKey(async.getName()))).sum();
+    }
+
+    private FileAppender<ILoggingEvent> fileAppender(Encoder<ILoggingEvent> encoder) {
+        var appender = new FileAppender<ILoggingEvent>();
+        appender.setContext(context);
+        appender.setName("FILE");
+        appender.setFile(file.toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        var encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(LEGACY_PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        context.putObject(Environment.class.getName(),
+                new MockEnvironment().withProperty("spring.application.name", "mcp-client-example"));
+        var encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,45 @@
+package com.geovannycode.mcpclient.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * (De)serialización JSON de {@link QueryResponse} con la misma configuración de Jackson
+ * que usa Spring MVC, incluido {@link ResponseJsonModule}.
+ */
+@State(Scope.Benchmark)
+public class QueryResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private QueryResponse response;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ResponseJsonModule()).build();
+        response = new QueryResponse(
+                "Según la política de la empresa tienes 15 días de vacaciones disponibles. "
+                        + "Para solicitarlos debes registrar la solicitud con al menos dos semanas de antelación.",
+                LocalDateTime.of(2025, 1, 15, 10, 30),
+                List.of("get_employee_info", "get_time_off_balance", "get_company_policy"),
+                QueryMetadata.of("EMP001", "session-1"));
+        json = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public QueryResponse deserialize() throws Exception {
+        return objectMapper.readValue(json, QueryResponse.class);
+    }
+}
@@ -0,0 +1,136 @@
+package com.geovannycode.mcpclient.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Construcción y escritura de las respuestas de la API tal y como se hacían antes (mapas
+ * por petición y un bean Lombok con {@code Object metadata}) frente a los records con
+ * {@link ResponseJsonModule}. Con {@code -Djmh.profilers=gc} se comparan los bytes
+ * asignados por petición:
+ * <pre>
+ * ./mvnw -Pbenchmark verify -Djmh.include=ResponseAllocationBenchmark -Djmh.profilers=gc
+ * </pre>
+ * La salida se descarta para medir sólo lo que asigna la respuesta, no el buffer.
+ */
+@State(Scope.Benchmark)
+public class ResponseAllocationBenchmark {
+
+    private static final String ANSWER = "Según la política de la empresa tienes 15 días de vacaciones disponibles.";
+    private static final List<String> TOOLS = List.of("employeeData", "companyPolicies", "benefitsSystem");
+
+    /**
+     * Jackson cierra el destino al terminar; éste lo ignora y puede reutilizarse.
+     */
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ResponseJsonModule()).build();
+    }
+
+    @Benchmark
+    public void queryResponseLegacy() throws Exception {
+        var metadata = new HashMap<String, Object>();
+        metadata.put("employeeId", "EMP001");
+        metadata.put("sessionId", "session-1");
+        objectMapper.writeValue(sink, new LegacyQueryResponse(ANSWER, LocalDateTime.now(), TOOLS, metadata));
+    }
+
+    @Benchmark
+    public void queryResponseTyped() throws Exception {
+        objectMapper.writeValue(sink, QueryResponse.of(ANSWER, TOOLS, QueryMetadata.of("EMP001", "session-1")));
+    }
+
+    @Benchmark
+    public void policyLegacy() throws Exception {
+        var response = new HashMap<String, Object>();
+        response.put("policyName", "vacation");
+        response.put("information", ANSWER);
+        response.put("source", "model");
+        response.put("timestamp", LocalDateTime.now());
+        objectMapper.writeValue(sink, response);
+    }
+
+    @Benchmark
+    public void policyTyped() throws Exception {
+        objectMapper.writeValue(sink, PolicyInformation.of("vacation", ANSWER, "model"));
+    }
+
+    @Benchmark
+    public void chatReplyLegacy() throws Exception {
+        objectMapper.writeValue(sink, Map.of(
+                "response", ANSWER,
+                "status", "success",
+                "timestamp", System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public void chatReplyTyped() throws Exception {
+        objectMapper.writeValue(sink, ChatReply.of(ANSWER));
+    }
+
+    /**
+     * Forma anterior de {@link QueryResponse}: getters descubiertos por reflexión, los
+     * {@code Optional} incluidos.
+     */
+    public static final class LegacyQueryResponse {
+
+        private final String response;
+        private final LocalDateTime timestamp;
+        private final List<String> toolsUsed;
+        private final Object metadata;
+
+        LegacyQueryResponse(String response, LocalDateTime timestamp, List<String> toolsUsed, Object metadata) {
+            this.response = response;
+            this.timestamp = timestamp;
+            this.toolsUsed = toolsUsed;
+            this.metadata = metadata;
+        }
+
+        public String getResponse() {
+            return response;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public List<String> getToolsUsed() {
+            return toolsUsed;
+        }
+
+        public Object getMetadata() {
+            return metadata;
+        }
+
+        public Optional<List<String>> getToolsUsedOptional() {
+            return Optional.ofNullable(toolsUsed);
+        }
+
+        public Optional<Object> getMetadataOptional() {
+            return Optional.ofNullable(metadata);
+        }
+    }
+}
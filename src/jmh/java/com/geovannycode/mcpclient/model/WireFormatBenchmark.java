@@ -0,0 +1,133 @@
+package com.geovannycode.mcpclient.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.luben.zstd.Zstd;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tamaño en la red y coste de (de)serializar {@link QueryRequest} y {@link QueryResponse}
+ * en cada formato negociable ({@code json}, {@code cbor}, {@code smile}) y con cada
+ * {@code Content-Encoding} ({@code identity}, {@code gzip} con el nivel de Tomcat y Netty,
+ * {@code zstd} con el nivel 3). La respuesta es una típica de {@code /hr-assistant/query}:
+ * texto generado de ~1,5 KB, herramientas, metadatos y desglose de tiempos.
+ * <pre>
+ * ./mvnw -Pbenchmark verify -Djmh.include=WireFormatBenchmark
+ * </pre>
+ * Los tamaños se imprimen en el setup de cada combinación.
+ */
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"identity", "gzip", "zstd"})
+    String encoding;
+
+    private ObjectMapper objectMapper;
+    private QueryRequest request;
+    private QueryResponse response;
+    private byte[] requestBytes;
+    private byte[] responseBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new ResponseJsonModule())
+                .build();
+
+        request = new QueryRequest(
+                "¿Cuántos días de vacaciones me quedan este año y puedo acumular los que no use?",
+                "EMP001",
+                Map.of("department", "Engineering", "position", "Senior Developer", "location", "Madrid"),
+                "4f3c2a1b-session");
+        response = new QueryResponse(
+                ("Según la política de vacaciones tienes 15 días disponibles este año. Puedes acumular hasta "
+                        + "5 días para el año siguiente si lo solicitas a Recursos Humanos antes del 31 de "
+                        + "diciembre; el resto se pierde. ").repeat(6),
+                LocalDateTime.of(2025, 1, 15, 10, 30, 5),
+                List.of("get_employee_info", "get_time_off_balance", "get_company_policy"),
+                QueryMetadata.of("EMP001", "4f3c2a1b-session").withTimings(Map.of(
+                        "totalMs", 1834.2, "llmMs", 1502.7, "toolsMs", 291.4,
+                        "promptTokens", 1240, "completionTokens", 212)));
+
+        requestBytes = encode(objectMapper.writeValueAsBytes(request));
+        responseBytes = encode(objectMapper.writeValueAsBytes(response));
+        System.out.printf("%n%s + %s: petición %d bytes, respuesta %d bytes%n",
+                format, encoding, requestBytes.length, responseBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return encode(objectMapper.writeValueAsBytes(response));
+    }
+
+    @Benchmark
+    public QueryResponse readResponse() throws IOException {
+        return objectMapper.readValue(decode(responseBytes), QueryResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws IOException {
+        return encode(objectMapper.writeValueAsBytes(request));
+    }
+
+    @Benchmark
+    public QueryRequest readRequest() throws IOException {
+        return objectMapper.readValue(decode(requestBytes), QueryRequest.class);
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    private byte[] encode(byte[] body) throws IOException {
+        return switch (encoding) {
+            case "gzip" -> {
+                var out = new ByteArrayOutputStream(body.length);
+                try (var gzip = new GZIPOutputStream(out)) {
+                    gzip.write(body);
+                }
+                yield out.toByteArray();
+            }
+            case "zstd" -> Zstd.compress(body, 3);
+            default -> body;
+        };
+    }
+
+    private byte[] decode(byte[] body) throws IOException {
+        return switch (encoding) {
+            case "gzip" -> {
+                try (var gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                    yield gzip.readAllBytes();
+                }
+            }
+            case "zstd" -> Zstd.decompress(body, (int) Zstd.getFrameContentSize(body));
+            default -> body;
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.geovannycode.mcpclient.policy;
+
+import com.geovannycode.mcpclient.benchmark.BenchmarkFixtures;
+import com.geovannycode.mcpclient.model.PolicyInformation;
+import com.geovannycode.mcpclient.service.HRAssistantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * {@link HRAssistantService#getPolicyInformation} con y sin índice de políticas: una
+ * consulta por nombre exacto ({@code vacation}, sin modelo) y otra en lenguaje natural
+ * (fragmentos en el prompt en lugar del bucle de herramientas).
+ */
+@State(Scope.Benchmark)
+public class PolicyIndexBenchmark {
+
+    @Param({"0"})
+    long modelLatencyMillis;
+
+    @Param({"0"})
+    long toolLatencyMillis;
+
+    @Param({"false", "true"})
+    boolean policyIndex;
+
+    @Param({"vacation", "días de vacaciones por antigüedad"})
+    String policyName;
+
+    private HRAssistantService service;
+
+    @Setup
+    public void setUp() {
+        service = BenchmarkFixtures.hrAssistantService(
+                Duration.ofMillis(modelLatencyMillis), Duration.ofMillis(toolLatencyMillis), true, policyIndex);
+
+        if (service.getPolicyInformation(policyName).isEmpty()) {
+            throw new IllegalStateException("El stub no devolvió respuesta");
+        }
+    }
+
+    @Benchmark
+    public Optional<PolicyInformation> getPolicyInformation() {
+        return service.getPolicyInformation(policyName);
+    }
+}
@@ -0,0 +1,53 @@
+package com.geovannycode.mcpclient.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+/**
+ * Autenticación HTTP Basic de una credencial repetida con el codificador por defecto
+ * ({@code {bcrypt}}, coste 10), con y sin {@link AuthenticationCache}.
+ */
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    private AuthenticationManager manager;
+
+    @Setup
+    public void setUp() {
+        var encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        var users = new InMemoryUserDetailsManager(User.withUsername("ana")
+                .password(encoder.encode("secreto"))
+                .roles("USER")
+                .build());
+        var provider = new DaoAuthenticationProvider(users);
+        provider.setPasswordEncoder(encoder);
+        manager = new ProviderManager(provider);
+
+        if (cached) {
+            var properties = new AuthCacheProperties(true, Duration.ofMinutes(5), 10_000);
+            manager = new AuthenticationCache(properties, new SimpleMeterRegistry()).wrap(manager);
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("ana", "secreto"));
+    }
+}
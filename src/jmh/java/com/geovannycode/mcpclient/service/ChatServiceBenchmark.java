@@ -0,0 +1,42 @@
+package com.geovannycode.mcpclient.service;
+
+import com.geovannycode.mcpclient.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Coste de construir el mensaje enriquecido que se envía al modelo.
+ */
+@State(Scope.Benchmark)
+public class ChatServiceBenchmark {
+
+    @Param({"0", "3", "10", "40"})
+    int contextEntries;
+
+    private ChatService chatService;
+    private Map<String, Object> context;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        chatService = BenchmarkFixtures.chatService(Duration.ZERO, Duration.ZERO, false);
+        message = "¿Cuántos días de vacaciones me quedan este año y cómo los solicito?";
+
+        context = new LinkedHashMap<>();
+        for (int i = 0; i < contextEntries; i++) {
+            context.put("attribute" + i, "valor-" + i);
+        }
+    }
+
+    @Benchmark
+    public String buildEnrichedMessage() {
+        return chatService.buildEnrichedMessage(ChatOperation.HR_QUERY, message, context);
+    }
+}
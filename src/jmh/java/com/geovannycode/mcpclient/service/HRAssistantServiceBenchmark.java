@@ -0,0 +1,50 @@
+package com.geovannycode.mcpclient.service;
+
+import com.geovannycode.mcpclient.benchmark.BenchmarkFixtures;
+import com.geovannycode.mcpclient.model.QueryRequest;
+import com.geovannycode.mcpclient.model.QueryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Camino completo de {@link HRAssistantService#processQuery}: limitador, construcción del
+ * prompt, ChatClient, bucle de herramientas MCP y respuesta. Con latencias a cero se mide
+ * únicamente la sobrecarga que añade el cliente.
+ */
+@State(Scope.Benchmark)
+public class HRAssistantServiceBenchmark {
+
+    @Param({"0"})
+    long modelLatencyMillis;
+
+    @Param({"0"})
+    long toolLatencyMillis;
+
+    @Param({"false", "true"})
+    boolean tools;
+
+    private HRAssistantService service;
+    private QueryRequest request;
+
+    @Setup
+    public void setUp() {
+        service = BenchmarkFixtures.hrAssistantService(
+                Duration.ofMillis(modelLatencyMillis), Duration.ofMillis(toolLatencyMillis), tools);
+        request = QueryRequest.of("¿Cuántos días de vacaciones me quedan?", "EMP001");
+
+        if (service.processQuery(request).isEmpty()) {
+            throw new IllegalStateException("El stub no devolvió respuesta");
+        }
+    }
+
+    @Benchmark
+    public Optional<QueryResponse> processQuery() {
+        return service.processQuery(request);
+    }
+}
@@ -1,28 +1,47 @@
 package com.geovannycode;
 
+import com.geovannycode.mcpclient.mcp.McpToolsInitializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.StartupStep;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.StreamSupport;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class McpClientExampleApplication {
 
     private static final Logger logger = LoggerFactory.getLogger(McpClientExampleApplication.class);
 
     private static final String SEPARATOR = "=".repeat(60);
 
+    private static final int STARTUP_EVENTS_CAPACITY = 10_000;
+    private static final int SLOWEST_BEANS = 8;
+
 
     public static void main(String[] args) {
-        var context = SpringApplication.run(McpClientExampleApplication.class, args);
-        logApplicationInfo(context);
+        var application = new SpringApplication(McpClientExampleApplication.class);
+        var startup = new BufferingApplicationStartup(STARTUP_EVENTS_CAPACITY);
+        application.setApplicationStartup(startup);
+
+        var context = application.run(args);
+        logApplicationInfo(context, startup);
     }
 
-    private static void logApplicationInfo(ConfigurableApplicationContext context) {
+    private static void logApplicationInfo(ConfigurableApplicationContext context,
+                                           BufferingApplicationStartup startup) {
         var environment = context.getEnvironment();
 
         logger.info(SEPARATOR);
@@ -34,6 +53,46 @@ public class McpClientExampleApplication {
         logger.info(SEPARATOR);
 
         logEnabledFeatures(environment);
+        logStartupTimeline(context, startup);
+    }
+
+
+    /**
+     * Tiempo de arranque, los beans más lentos de instanciar y, cuando termina, el tiempo
+     * hasta tener las herramientas MCP. El detalle completo queda en {@code /actuator/startup}.
+     */
+    private static void logStartupTimeline(ConfigurableApplicationContext context,
+                                           BufferingApplicationStartup startup) {
+        var timeline = startup.getBufferedTimeline();
+        var uptime = Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+
+        logger.info("Arranque: {} ms de contexto, {} ms desde el inicio de la JVM",
+                Duration.between(timeline.getStartTime(), Instant.now()).toMillis(), uptime.toMillis());
+
+        timeline.getEvents().stream()
+                .filter(event -> event.getStartupStep().getName().equals("spring.beans.instantiate"))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .forEach(event -> logger.info("  {} ms  {}",
+                        event.getDuration().toMillis(), beanName(event.getStartupStep())));
+
+        context.getBeanProvider(McpToolsInitializer.class).ifAvailable(initializer -> {
+            if (!initializer.ready().isDone()) {
+                logger.info("MCP: inicializando en segundo plano; readiness pendiente");
+            }
+            initializer.ready().thenAccept(ready -> logger.info(
+                    "MCP listo: {} herramientas a los {} ms del inicio de la JVM (intentos: {})",
+                    ready.tools(), ready.sinceJvmStart().toMillis(), ready.attempts()));
+        });
+    }
+
+
+    private static String beanName(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> tag.getKey().equals("beanName"))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
     }
 
 
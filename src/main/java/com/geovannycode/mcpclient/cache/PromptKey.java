@@ -0,0 +1,55 @@
+package com.geovannycode.mcpclient.cache;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Clave normalizada de una petición al modelo: operación, system prompt, mensaje y
+ * contexto. Dos peticiones equivalentes (mayúsculas, espacios u orden del contexto
+ * distintos) producen la misma clave.
+ */
+public record PromptKey(
+        String operation,
+        String systemPrompt,
+        String message,
+        SortedMap<String, String> context
+) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public PromptKey {
+        Objects.requireNonNull(operation, "operation");
+        systemPrompt = normalize(systemPrompt);
+        message = normalize(message);
+        context = context == null ? new TreeMap<>() : context;
+    }
+
+    public static PromptKey of(String operation, String systemPrompt, String message, Map<String, ?> context) {
+        var normalizedContext = new TreeMap<String, String>();
+
+        if (context != null) {
+            context.forEach((key, value) -> normalizedContext.put(key, normalize(String.valueOf(value))));
+        }
+
+        return new PromptKey(operation, systemPrompt, message, normalizedContext);
+    }
+
+    /**
+     * Todo excepto el mensaje: dos claves con el mismo alcance sólo difieren en la
+     * pregunta del usuario, lo que permite compararlas por similitud.
+     */
+    public String scope() {
+        return operation + '\u0000' + systemPrompt + '\u0000' + context;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
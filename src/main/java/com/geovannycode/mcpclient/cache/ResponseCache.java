@@ -0,0 +1,224 @@
+package com.geovannycode.mcpclient.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caché de respuestas del modelo en dos niveles.
+ * <ul>
+ *   <li>Exacto: LRU acotado por tamaño y TTL, indexado por {@link PromptKey}.</li>
+ *   <li>Semántico (opcional): similitud coseno entre embeddings locales de preguntas
+ *   con el mismo alcance (operación, system prompt y contexto) y los mismos números e
+ *   identificadores.</li>
+ * </ul>
+ * Se usan {@link ReentrantLock} en lugar de {@code synchronized} para no fijar hilos
+ * virtuales a su carrier.
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    private static final String HITS_METRIC = "chat.cache.hits";
+    private static final String MISSES_METRIC = "chat.cache.misses";
+    private static final String EVICTIONS_METRIC = "chat.cache.evictions";
+    private static final String SIZE_METRIC = "chat.cache.size";
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<PromptKey, Entry> exact;
+    private final Deque<SemanticEntry> semantic = new ArrayDeque<>();
+
+    @Autowired
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.exact = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PromptKey, Entry> eldest) {
+                var evict = size() > properties.maxSize();
+                if (evict) {
+                    recordEviction(eldest.getKey().operation(), "size");
+                }
+                return evict;
+            }
+        };
+
+        Gauge.builder(SIZE_METRIC, this, ResponseCache::size)
+                .description("Respuestas almacenadas en la caché exacta")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabledFor(String operation) {
+        return properties.isEnabledFor(operation);
+    }
+
+    public Optional<String> getOrCompute(PromptKey key, Supplier<Optional<String>> loader) {
+        if (!isEnabledFor(key.operation())) {
+            return loader.get();
+        }
+
+        var cached = get(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        var response = loader.get();
+        response.ifPresent(value -> put(key, value));
+        return response;
+    }
+
+    public Mono<String> getOrCompute(PromptKey key, Mono<String> loader) {
+        if (!isEnabledFor(key.operation())) {
+            return loader;
+        }
+
+        return Mono.defer(() -> get(key)
+                .map(Mono::just)
+                .orElseGet(() -> loader.doOnNext(value -> put(key, value))));
+    }
+
+    public Optional<String> get(PromptKey key) {
+        var now = clock.millis();
+
+        lock.lock();
+        try {
+            var entry = exact.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(now)) {
+                    recordHit(key.operation(), "exact");
+                    return Optional.of(entry.response());
+                }
+                exact.remove(key);
+                recordEviction(key.operation(), "expired");
+            }
+
+            var similar = findSimilar(key, now);
+            if (similar.isPresent()) {
+                recordHit(key.operation(), "semantic");
+                return similar;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        meterRegistry.counter(MISSES_METRIC, "operation", key.operation()).increment();
+        return Optional.empty();
+    }
+
+    public void put(PromptKey key, String response) {
+        var entry = new Entry(response, clock.millis() + properties.ttl().toMillis());
+
+        lock.lock();
+        try {
+            exact.put(key, entry);
+
+            if (properties.semantic().enabled()) {
+                semantic.addFirst(new SemanticEntry(key.scope(), TextEmbedder.embed(key.message()),
+                        TextEmbedder.digitTokens(key.message()), entry));
+                while (semantic.size() > properties.semantic().maxSize()) {
+                    semantic.removeLast();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int invalidate(String operation) {
+        lock.lock();
+        try {
+            var before = exact.size();
+            exact.keySet().removeIf(key -> key.operation().equals(operation));
+            semantic.removeIf(entry -> entry.scope().startsWith(operation + '\u0000'));
+            var removed = before - exact.size();
+            logger.info("Caché de respuestas invalidada para {}: {} entradas", operation, removed);
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int invalidateAll() {
+        lock.lock();
+        try {
+            var removed = exact.size();
+            exact.clear();
+            semantic.clear();
+            logger.info("Caché de respuestas invalidada: {} entradas", removed);
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return exact.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<String> findSimilar(PromptKey key, long now) {
+        if (!properties.semantic().enabled() || semantic.isEmpty()) {
+            return Optional.empty();
+        }
+
+        var scope = key.scope();
+        var embedding = TextEmbedder.embed(key.message());
+        var digitTokens = TextEmbedder.digitTokens(key.message());
+        var threshold = properties.semantic().similarityThreshold();
+
+        semantic.removeIf(entry -> entry.entry().isExpired(now));
+
+        return semantic.stream()
+                .filter(entry -> entry.scope().equals(scope))
+                .filter(entry -> entry.digitTokens().equals(digitTokens))
+                .filter(entry -> TextEmbedder.cosine(embedding, entry.embedding()) >= threshold)
+                .findFirst()
+                .map(entry -> entry.entry().response());
+    }
+
+    private void recordHit(String operation, String tier) {
+        meterRegistry.counter(HITS_METRIC, "operation", operation, "tier", tier).increment();
+    }
+
+    private void recordEviction(String operation, String reason) {
+        meterRegistry.counter(EVICTIONS_METRIC, "operation", operation, "reason", reason).increment();
+    }
+
+    private record Entry(String response, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private record SemanticEntry(String scope, float[] embedding, Set<String> digitTokens, Entry entry) {
+    }
+}
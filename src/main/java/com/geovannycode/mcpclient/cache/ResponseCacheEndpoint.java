@@ -0,0 +1,35 @@
+package com.geovannycode.mcpclient.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheEndpoint(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("size", responseCache.size());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> invalidateAll() {
+        return Map.of("invalidated", responseCache.invalidateAll());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> invalidate(@Selector String operation) {
+        return Map.of("operation", operation, "invalidated", responseCache.invalidate(operation));
+    }
+}
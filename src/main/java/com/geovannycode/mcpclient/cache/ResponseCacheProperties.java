@@ -0,0 +1,36 @@
+package com.geovannycode.mcpclient.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "assistant.cache")
+public record ResponseCacheProperties(
+        boolean enabled,
+        int maxSize,
+        Duration ttl,
+        Set<String> operations,
+        Semantic semantic
+) {
+
+    public ResponseCacheProperties {
+        maxSize = maxSize > 0 ? maxSize : 1_000;
+        ttl = Optional.ofNullable(ttl).orElse(Duration.ofMinutes(30));
+        operations = Optional.ofNullable(operations).map(Set::copyOf).orElse(Set.of());
+        semantic = Optional.ofNullable(semantic).orElse(new Semantic(false, 0, 0));
+    }
+
+    public boolean isEnabledFor(String operation) {
+        return enabled && operations.contains(operation);
+    }
+
+    public record Semantic(boolean enabled, double similarityThreshold, int maxSize) {
+
+        public Semantic {
+            similarityThreshold = similarityThreshold > 0 ? similarityThreshold : 0.92;
+            maxSize = maxSize > 0 ? maxSize : 500;
+        }
+    }
+}
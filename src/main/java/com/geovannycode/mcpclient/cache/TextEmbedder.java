@@ -0,0 +1,72 @@
+package com.geovannycode.mcpclient.cache;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Embedding local y determinista basado en trigramas de caracteres con feature
+ * hashing. No necesita llamadas de red ni modelos adicionales; es suficiente para
+ * reconocer reformulaciones cercanas de la misma pregunta.
+ * <p>
+ * Los trigramas apenas distinguen preguntas que sólo difieren en un número o un
+ * identificador ("EMP001" y "EMP002", "5 días" y "15 días"); por eso
+ * {@link #digitTokens(String)} expone esas palabras para exigir que coincidan.
+ */
+public final class TextEmbedder {
+
+    public static final int DIMENSIONS = 512;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextEmbedder() {
+    }
+
+    public static float[] embed(String text) {
+        var vector = new float[DIMENSIONS];
+        var padded = " " + text + " ";
+
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            var hash = padded.substring(i, i + 3).hashCode();
+            var index = Math.floorMod(hash, DIMENSIONS);
+            vector[index] += (hash & 0x10000) == 0 ? 1f : -1f;
+        }
+
+        normalize(vector);
+        return vector;
+    }
+
+    /**
+     * Palabras del texto que contienen algún dígito, en minúsculas.
+     */
+    public static Set<String> digitTokens(String text) {
+        return Arrays.stream(WORD_SEPARATOR.split(text))
+                .filter(word -> word.chars().anyMatch(Character::isDigit))
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public static double cosine(float[] left, float[] right) {
+        double dot = 0;
+        for (int i = 0; i < left.length; i++) {
+            dot += left[i] * right[i];
+        }
+        return dot;
+    }
+
+    private static void normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return;
+        }
+        var inverse = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverse;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.geovannycode.mcpclient.compression;
+
+import com.github.luben.zstd.Zstd;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Equivalente WebFlux de {@link ZstdCompressionFilter}. Los cuerpos comprimibles se
+ * agregan antes de escribirse (en WebFlux son un único valor); los que se escriben con
+ * flush por elemento (SSE, NDJSON) pasan sin tocar. Tanto Tomcat como Netty respetan el
+ * {@code Content-Encoding} ya puesto y no vuelven a comprimir.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = {"server.compression.enabled", "assistant.compression.zstd.enabled"}, havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReactiveZstdCompressionFilter implements WebFilter {
+
+    private final ZstdCompression compression;
+
+    public ReactiveZstdCompressionFilter(ServerProperties serverProperties, ZstdCompressionProperties properties) {
+        this.compression = new ZstdCompression(serverProperties, properties);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!ZstdCompression.accepted(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING))) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new ZstdResponse(exchange.getResponse())).build());
+    }
+
+    private final class ZstdResponse extends ServerHttpResponseDecorator {
+
+        ZstdResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            var headers = getHeaders();
+            var contentType = headers.getContentType();
+            if (contentType == null || !compression.compressible(contentType.toString())
+                    || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body)
+                    .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                    .flatMap(joined -> {
+                        addVary(headers);
+                        if (joined.readableByteCount() < compression.threshold()) {
+                            return write(joined);
+                        }
+                        var bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        var compressed = Zstd.compress(bytes, compression.level());
+                        headers.set(HttpHeaders.CONTENT_ENCODING, "zstd");
+                        headers.setContentLength(compressed.length);
+                        return write(bufferFactory().wrap(compressed));
+                    });
+        }
+
+        private Mono<Void> write(DataBuffer buffer) {
+            return super.writeWith(Mono.just(buffer));
+        }
+
+        private static void addVary(HttpHeaders headers) {
+            var vary = headers.getVary();
+            if (vary.stream().noneMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+    }
+}
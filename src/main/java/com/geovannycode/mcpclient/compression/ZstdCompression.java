@@ -0,0 +1,74 @@
+package com.geovannycode.mcpclient.compression;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Criterios comunes a {@link ZstdCompressionFilter} y {@link ReactiveZstdCompressionFilter}:
+ * umbral y tipos MIME de {@code server.compression} (los mismos que gzip) y nivel de
+ * {@link ZstdCompressionProperties}.
+ */
+final class ZstdCompression {
+
+    private final int threshold;
+    private final List<MimeType> mimeTypes;
+    private final int level;
+
+    ZstdCompression(ServerProperties serverProperties, ZstdCompressionProperties properties) {
+        var compression = serverProperties.getCompression();
+        this.threshold = (int) compression.getMinResponseSize().toBytes();
+        this.mimeTypes = Arrays.stream(compression.getMimeTypes()).map(MimeType::valueOf).toList();
+        this.level = properties.level();
+    }
+
+    int threshold() {
+        return threshold;
+    }
+
+    int level() {
+        return level;
+    }
+
+    boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            var type = MimeType.valueOf(contentType);
+            return mimeTypes.stream().anyMatch(mimeType -> mimeType.isCompatibleWith(type));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@code zstd} en {@code Accept-Encoding}, sin {@code q=0}.
+     */
+    static boolean accepted(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (var coding : acceptEncoding.split(",")) {
+            var parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("zstd")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                var parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
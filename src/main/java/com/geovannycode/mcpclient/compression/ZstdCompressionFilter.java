@@ -0,0 +1,70 @@
+package com.geovannycode.mcpclient.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Comprime con zstd las respuestas de los clientes que lo anuncian en
+ * {@code Accept-Encoding}. El conector de Tomcat sólo sabe gzip: las respuestas que salen
+ * de aquí llevan ya {@code Content-Encoding} y no las vuelve a comprimir, y el resto
+ * (clientes sin zstd, cuerpos bajo el umbral) siguen su camino habitual.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = {"server.compression.enabled", "assistant.compression.zstd.enabled"}, havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ZstdCompressionFilter extends OncePerRequestFilter {
+
+    private static final String RESPONSE_ATTRIBUTE = ZstdCompressionFilter.class.getName() + ".response";
+
+    private final ZstdCompression compression;
+
+    public ZstdCompressionFilter(ServerProperties serverProperties, ZstdCompressionProperties properties) {
+        this.compression = new ZstdCompression(serverProperties, properties);
+    }
+
+    /**
+     * Las respuestas asíncronas ({@code CompletableFuture}, SSE) se escriben en otro
+     * despacho; el frame se cierra en el último.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        var compressing = (ZstdResponseWrapper) request.getAttribute(RESPONSE_ATTRIBUTE);
+        if (compressing != null) {
+            // La respuesta del despacho asíncrono ya envuelve la del despacho original
+            filterChain.doFilter(request, response);
+        } else if (!isAsyncDispatch(request)
+                && ZstdCompression.accepted(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            compressing = new ZstdResponseWrapper(request, response, compression.threshold(),
+                    compression::compressible, compression.level());
+            request.setAttribute(RESPONSE_ATTRIBUTE, compressing);
+            filterChain.doFilter(request, compressing);
+        } else {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!request.isAsyncStarted()) {
+            compressing.finish();
+        }
+    }
+}
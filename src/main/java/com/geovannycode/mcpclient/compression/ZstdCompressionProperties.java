@@ -0,0 +1,19 @@
+package com.geovannycode.mcpclient.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code Content-Encoding: zstd} para los clientes que lo aceptan. El umbral y los tipos
+ * MIME son los de {@code server.compression}, compartidos con gzip; {@code level} va de 1
+ * (más rápido) a 19 y 3 es el valor por defecto de zstd.
+ */
+@ConfigurationProperties(prefix = "assistant.compression.zstd")
+public record ZstdCompressionProperties(
+        boolean enabled,
+        int level
+) {
+
+    public ZstdCompressionProperties {
+        level = level > 0 ? Math.min(level, 19) : 3;
+    }
+}
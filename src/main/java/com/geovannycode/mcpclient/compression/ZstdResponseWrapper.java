@@ -0,0 +1,349 @@
+package com.geovannycode.mcpclient.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.function.Predicate;
+
+/**
+ * Respuesta que retiene el cuerpo hasta saber si comprimirlo: los tipos no comprimibles
+ * (SSE, NDJSON) pasan tal cual desde el primer byte; el resto se acumula hasta el umbral
+ * y, si lo alcanza, sale en un frame zstd sin {@code Content-Length}. Por debajo del
+ * umbral se envía sin comprimir y con su longitud exacta.
+ * <p>
+ * Con la petición en modo asíncrono (escrituras desde otros hilos o no bloqueantes) el
+ * cuerpo tampoco se comprime: sale directo al stream del contenedor.
+ */
+final class ZstdResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum State { BUFFERING, PLAIN, COMPRESSED }
+
+    private final HttpServletRequest request;
+    private final int threshold;
+    private final Predicate<String> compressible;
+    private final int level;
+
+    private State state = State.BUFFERING;
+    private ByteArrayOutputStream buffer;
+    private OutputStream target;
+    private long contentLength = -1;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ZstdResponseWrapper(HttpServletRequest request,
+                        HttpServletResponse response,
+                        int threshold,
+                        Predicate<String> compressible,
+                        int level) {
+        super(response);
+        this.request = request;
+        this.threshold = threshold;
+        this.compressible = compressible;
+        this.level = level;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new BodyOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (state == State.BUFFERING) {
+            contentLength = len;
+        } else if (state == State.PLAIN) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    /**
+     * Un flush explícito (streaming) no puede esperar al umbral: lo acumulado sale sin
+     * comprimir.
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (state == State.BUFFERING) {
+            startPlain(false);
+        }
+        target().flush();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        contentLength = -1;
+        super.reset();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        bypass();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        bypass();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        bypass();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Envía lo que quede retenido y cierra el frame zstd, sin cerrar el stream del
+     * contenedor.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (state == State.BUFFERING) {
+            startPlain(true);
+        }
+        if (state == State.COMPRESSED) {
+            target.close();
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (state == State.BUFFERING) {
+            if (!compressible.test(getContentType()) || request.isAsyncStarted()) {
+                startPlain(false);
+            } else if ((buffer == null ? 0 : buffer.size()) + length < threshold) {
+                if (buffer == null) {
+                    buffer = new ByteArrayOutputStream(threshold);
+                }
+                buffer.write(bytes, offset, length);
+                return;
+            } else {
+                startCompressed();
+            }
+        }
+        target().write(bytes, offset, length);
+    }
+
+    private void startCompressed() throws IOException {
+        if (getHeader(HttpHeaders.CONTENT_ENCODING) != null || getResponse().isCommitted()) {
+            startPlain(false);
+            return;
+        }
+        state = State.COMPRESSED;
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, "zstd");
+        addVary();
+        target = new ZstdOutputStream(new ContainerStream(getResponse().getOutputStream()), level);
+        drain();
+    }
+
+    private void startPlain(boolean complete) throws IOException {
+        state = State.PLAIN;
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        } else if (complete && buffer != null && !getResponse().isCommitted()) {
+            super.setContentLengthLong(buffer.size());
+        }
+        if (compressible.test(getContentType())) {
+            addVary();
+        }
+        drain();
+    }
+
+    private void bypass() {
+        state = State.PLAIN;
+        buffer = null;
+    }
+
+    private OutputStream target() throws IOException {
+        if (target == null) {
+            target = getResponse().getOutputStream();
+        }
+        return target;
+    }
+
+    private ServletOutputStream container() {
+        try {
+            return getResponse().getOutputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        if (buffer != null) {
+            buffer.writeTo(target());
+            buffer = null;
+        }
+    }
+
+    private void addVary() {
+        var vary = getHeaders(HttpHeaders.VARY);
+        if (vary.stream().noneMatch(value -> value.toLowerCase().contains("accept-encoding"))) {
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private final class BodyOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            ZstdResponseWrapper.this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ZstdResponseWrapper.this.write(b, off, len);
+        }
+
+        /**
+         * Jackson y los convertidores de Spring hacen flush al terminar cada cuerpo; sólo
+         * se propaga en modo directo para no partir el frame en bloques pequeños.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (state == State.PLAIN) {
+                target().flush();
+            }
+        }
+
+        /**
+         * Lo retenido en memoria siempre admite escritura; en modo directo decide el
+         * contenedor.
+         */
+        @Override
+        public boolean isReady() {
+            return state != State.PLAIN || container().isReady();
+        }
+
+        /**
+         * La escritura no bloqueante renuncia a comprimir: lo retenido sale sin comprimir y
+         * el listener se registra en el stream del contenedor.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (state == State.COMPRESSED) {
+                throw new IllegalStateException("El frame zstd ya empezó con escrituras bloqueantes");
+            }
+            if (state == State.BUFFERING) {
+                try {
+                    startPlain(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            container().setWriteListener(writeListener);
+        }
+    }
+
+    /**
+     * El contenedor cierra el stream de la respuesta al terminar la petición; cerrar el
+     * frame zstd no debe hacerlo antes.
+     */
+    private static final class ContainerStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        ContainerStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Optional;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "assistant.coalescing")
+public record CoalescingProperties(
+        boolean enabled,
+        Set<String> operations
+) {
+
+    public CoalescingProperties {
+        operations = Optional.ofNullable(operations).map(Set::copyOf).orElse(Set.of());
+    }
+
+    public boolean isEnabledFor(String operation) {
+        return enabled && operations.contains(operation);
+    }
+}
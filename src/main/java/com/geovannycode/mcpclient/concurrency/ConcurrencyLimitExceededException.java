@@ -0,0 +1,23 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import java.time.Duration;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final String endpoint;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(String endpoint, Duration retryAfter) {
+        super("Límite de concurrencia alcanzado para " + endpoint);
+        this.endpoint = endpoint;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
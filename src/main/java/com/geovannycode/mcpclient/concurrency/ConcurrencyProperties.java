@@ -0,0 +1,35 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "assistant.concurrency")
+public record ConcurrencyProperties(
+        Limit defaults,
+        Map<String, Limit> endpoints
+) {
+
+    private static final Limit DEFAULT_LIMIT = new Limit(32, Duration.ofSeconds(2));
+
+    public ConcurrencyProperties {
+        defaults = Optional.ofNullable(defaults).orElse(DEFAULT_LIMIT);
+        endpoints = Optional.ofNullable(endpoints).map(Map::copyOf).orElse(Map.of());
+    }
+
+    public Limit limitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    public record Limit(int maxConcurrent, Duration maxWait) {
+
+        public Limit {
+            if (maxConcurrent <= 0) {
+                throw new IllegalArgumentException("maxConcurrent debe ser mayor que 0");
+            }
+            maxWait = Optional.ofNullable(maxWait).orElse(Duration.ZERO);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import java.time.Duration;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String operation;
+    private final Duration deadline;
+
+    public DeadlineExceededException(String operation, Duration deadline) {
+        super("El modelo no respondió en " + deadline.toMillis() + " ms para " + operation);
+        this.operation = operation;
+        this.deadline = deadline;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+}
@@ -0,0 +1,43 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Presupuesto de hedges: cada llamada elegible deposita {@code ratio} y cada hedge
+ * consume uno, de modo que la carga extra no supera {@code ratio} de las llamadas
+ * salvo ráfagas de hasta {@code burst} hedges.
+ */
+final class HedgeBudget {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final double ratio;
+    private final double burst;
+    private double balance;
+
+    HedgeBudget(double ratio, int burst) {
+        this.ratio = ratio;
+        this.burst = burst;
+    }
+
+    void deposit() {
+        lock.lock();
+        try {
+            balance = Math.min(balance + ratio, burst);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (balance < 1) {
+                return false;
+            }
+            balance -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
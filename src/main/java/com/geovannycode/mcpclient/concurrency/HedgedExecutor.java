@@ -0,0 +1,373 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Aplica plazos máximos a las llamadas al modelo y, para las llamadas idempotentes,
+ * lanza una segunda petición (hedge) si la primera no ha respondido tras el percentil
+ * configurado de las latencias recientes. Gana la primera en responder y la otra se
+ * cancela. Un presupuesto global limita la carga extra que generan los hedges.
+ * <p>
+ * El intento original corre con el permiso que la llamada ya tiene en el
+ * {@link LlmConcurrencyLimiter}; el hedge necesita un permiso propio del mismo endpoint
+ * y sólo se lanza si hay uno libre, de modo que los hedges nunca superan
+ * {@code max-concurrent}.
+ */
+public class HedgedExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedExecutor.class);
+
+    private static final String CALLS_METRIC = "chat.hedge.calls";
+    private static final String FIRED_METRIC = "chat.hedge.fired";
+    private static final String BUDGET_EXHAUSTED_METRIC = "chat.hedge.budget-exhausted";
+    private static final String BULKHEAD_FULL_METRIC = "chat.hedge.bulkhead-full";
+    private static final String WINS_METRIC = "chat.hedge.wins";
+    private static final String DELAY_METRIC = "chat.hedge.delay";
+    private static final String DEADLINE_METRIC = "chat.deadline.exceeded";
+
+    private static final String PRIMARY = "primary";
+    private static final String HEDGE = "hedge";
+
+    private final HedgingProperties properties;
+    private final AsyncTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final LlmConcurrencyLimiter concurrencyLimiter;
+    private final HedgeBudget budget;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    public HedgedExecutor(HedgingProperties properties,
+                          AsyncTaskExecutor executor,
+                          MeterRegistry meterRegistry,
+                          LlmConcurrencyLimiter concurrencyLimiter) {
+        this.properties = properties;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.budget = new HedgeBudget(properties.budgetRatio(), properties.budgetBurst());
+    }
+
+    /**
+     * Ejecuta {@code attempt} con el plazo de la operación. Sin plazo ni hedge la
+     * llamada se hace en el hilo actual; en otro caso cada intento corre en el
+     * ejecutor para poder abandonarlo e interrumpirlo.
+     */
+    public <T> T call(String operation, boolean hedgeable, Supplier<T> attempt) {
+        var policy = properties.policyFor(operation);
+        var window = window(operation, "call", policy);
+        var hedgeDelay = hedgeable ? hedgeDelay(policy, window) : Optional.<Duration>empty();
+        var start = System.nanoTime();
+
+        meterRegistry.counter(CALLS_METRIC, "operation", operation, "mode", "call").increment();
+        if (hedgeable) {
+            budget.deposit();
+        }
+
+        if (policy.deadline() == null && hedgeDelay.isEmpty()) {
+            var result = attempt.get();
+            window.record(System.nanoTime() - start);
+            return result;
+        }
+
+        var race = new Race<T>();
+        var deadlineNanos = policy.deadline() != null ? start + policy.deadline().toNanos() : Long.MAX_VALUE;
+
+        try {
+            race.launch(executor, PRIMARY, attempt, () -> {
+            });
+
+            var winner = hedgeDelay.isPresent()
+                    ? race.await(Math.min(start + hedgeDelay.get().toNanos(), deadlineNanos))
+                    : Optional.<Won<T>>empty();
+
+            if (winner.isEmpty() && hedgeDelay.isPresent() && System.nanoTime() < deadlineNanos) {
+                var permit = tryHedge(operation, "call");
+                if (permit.isPresent()) {
+                    logger.debug("Hedge lanzado para {} tras {} ms", operation, hedgeDelay.get().toMillis());
+                    race.launch(executor, HEDGE, attempt, permit.get());
+                }
+            }
+            if (winner.isEmpty()) {
+                winner = race.await(deadlineNanos);
+            }
+
+            var won = winner.orElseThrow(() -> deadlineExceeded(operation, policy.deadline()));
+            window.record(System.nanoTime() - start);
+            if (race.hedged()) {
+                meterRegistry.counter(WINS_METRIC, "operation", operation, "winner", won.label()).increment();
+            }
+            return won.value();
+        } finally {
+            race.cancel();
+        }
+    }
+
+    /**
+     * En streaming el plazo y el hedge se refieren al primer token: si el hedge emite
+     * antes, el flujo original se cancela y viceversa.
+     */
+    public <T> Flux<T> stream(String operation, boolean hedgeable, Supplier<Flux<T>> attempt) {
+        var policy = properties.policyFor(operation);
+        var window = window(operation, "stream", policy);
+
+        return Flux.defer(() -> {
+            var hedgeDelay = hedgeable ? hedgeDelay(policy, window) : Optional.<Duration>empty();
+            var start = System.nanoTime();
+            var winner = new AtomicReference<String>();
+            var hedged = new AtomicBoolean(false);
+
+            meterRegistry.counter(CALLS_METRIC, "operation", operation, "mode", "stream").increment();
+            if (hedgeable) {
+                budget.deposit();
+            }
+
+            var primary = Flux.defer(attempt).doOnNext(value -> winner.compareAndSet(null, PRIMARY));
+            var source = hedgeDelay
+                    .map(delay -> Flux.firstWithValue(primary, Mono.delay(delay).flatMapMany(tick -> {
+                        var permit = tryHedge(operation, "stream");
+                        if (permit.isEmpty()) {
+                            return Flux.empty();
+                        }
+                        hedged.set(true);
+                        return Flux.defer(attempt)
+                                .doOnNext(value -> winner.compareAndSet(null, HEDGE))
+                                .doFinally(signal -> permit.get().run());
+                    })).onErrorMap(HedgedExecutor::unwrapRace))
+                    .orElse(primary);
+
+            var firstToken = new AtomicBoolean(false);
+            source = source.doOnNext(value -> {
+                if (firstToken.compareAndSet(false, true)) {
+                    window.record(System.nanoTime() - start);
+                    if (hedged.get()) {
+                        meterRegistry.counter(WINS_METRIC, "operation", operation, "winner", winner.get()).increment();
+                    }
+                }
+            });
+
+            var deadline = policy.firstTokenDeadline();
+            if (deadline == null) {
+                return source;
+            }
+            return source.timeout(Mono.delay(deadline), value -> Mono.never(),
+                    Flux.defer(() -> Flux.error(deadlineExceeded(operation, deadline))));
+        });
+    }
+
+    /**
+     * Variante no bloqueante de {@link #call}: mismo plazo, misma ventana de latencias y
+     * el intento perdedor se cancela al suscribirse el ganador, sin ocupar hilos.
+     */
+    public <T> Mono<T> mono(String operation, boolean hedgeable, Supplier<Mono<T>> attempt) {
+        var policy = properties.policyFor(operation);
+        var window = window(operation, "call", policy);
+
+        return Mono.defer(() -> {
+            var hedgeDelay = hedgeable ? hedgeDelay(policy, window) : Optional.<Duration>empty();
+            var start = System.nanoTime();
+            var winner = new AtomicReference<String>();
+            var hedged = new AtomicBoolean(false);
+
+            meterRegistry.counter(CALLS_METRIC, "operation", operation, "mode", "call").increment();
+            if (hedgeable) {
+                budget.deposit();
+            }
+
+            var primary = Mono.defer(attempt).doOnNext(value -> winner.compareAndSet(null, PRIMARY));
+            var source = hedgeDelay
+                    .map(delay -> Mono.firstWithValue(primary, Mono.delay(delay).flatMap(tick -> {
+                        var permit = tryHedge(operation, "call");
+                        if (permit.isEmpty()) {
+                            return Mono.<T>empty();
+                        }
+                        hedged.set(true);
+                        return Mono.defer(attempt)
+                                .doOnNext(value -> winner.compareAndSet(null, HEDGE))
+                                .doFinally(signal -> permit.get().run());
+                    })).onErrorMap(HedgedExecutor::unwrapRace))
+                    .orElse(primary)
+                    .doOnNext(value -> {
+                        window.record(System.nanoTime() - start);
+                        if (hedged.get()) {
+                            meterRegistry.counter(WINS_METRIC, "operation", operation, "winner", winner.get()).increment();
+                        }
+                    });
+
+            var deadline = policy.deadline();
+            if (deadline == null) {
+                return source;
+            }
+            return source.timeout(deadline, Mono.defer(() -> Mono.error(deadlineExceeded(operation, deadline))));
+        });
+    }
+
+    /**
+     * {@code firstWithValue} informa con un {@link NoSuchElementException} genérico cuando
+     * ningún intento emite; se propaga en su lugar el primer error real de los intentos.
+     */
+    private static Throwable unwrapRace(Throwable error) {
+        if (!(error instanceof NoSuchElementException) || error.getCause() == null) {
+            return error;
+        }
+        return Exceptions.unwrapMultiple(error.getCause()).stream()
+                .filter(cause -> !(cause instanceof NoSuchElementException))
+                .findFirst()
+                .orElse(error);
+    }
+
+    /**
+     * @return la liberación del permiso del hedge, o vacío si no hay permiso libre en el
+     * endpoint o el presupuesto está agotado
+     */
+    private Optional<Runnable> tryHedge(String operation, String mode) {
+        var permit = concurrencyLimiter.tryAcquire(operation);
+        if (permit.isEmpty()) {
+            meterRegistry.counter(BULKHEAD_FULL_METRIC, "operation", operation, "mode", mode).increment();
+            return permit;
+        }
+        if (budget.tryAcquire()) {
+            meterRegistry.counter(FIRED_METRIC, "operation", operation, "mode", mode).increment();
+            return permit;
+        }
+        permit.get().run();
+        meterRegistry.counter(BUDGET_EXHAUSTED_METRIC, "operation", operation, "mode", mode).increment();
+        return Optional.empty();
+    }
+
+    private DeadlineExceededException deadlineExceeded(String operation, Duration deadline) {
+        logger.warn("Plazo de {} ms excedido para {}", deadline.toMillis(), operation);
+        meterRegistry.counter(DEADLINE_METRIC, "operation", operation).increment();
+        return new DeadlineExceededException(operation, deadline);
+    }
+
+    private Optional<Duration> hedgeDelay(HedgingProperties.Policy policy, LatencyWindow window) {
+        if (!properties.enabled() || !policy.hedge() || window.count() < properties.minSamples()) {
+            return Optional.empty();
+        }
+
+        var delay = Duration.ofNanos(window.percentile(policy.percentile()));
+        if (delay.compareTo(policy.minDelay()) < 0) {
+            delay = policy.minDelay();
+        }
+        if (policy.maxDelay() != null && delay.compareTo(policy.maxDelay()) > 0) {
+            delay = policy.maxDelay();
+        }
+        if (policy.deadline() != null && delay.compareTo(policy.deadline()) >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(delay);
+    }
+
+    private LatencyWindow window(String operation, String mode, HedgingProperties.Policy policy) {
+        return windows.computeIfAbsent(operation + '/' + mode, key -> {
+            var window = new LatencyWindow(properties.windowSize());
+            Gauge.builder(DELAY_METRIC, window, w -> hedgeDelay(policy, w)
+                            .map(delay -> (double) delay.toMillis())
+                            .orElse(Double.NaN))
+                    .description("Retardo actual antes de lanzar un hedge")
+                    .baseUnit("milliseconds")
+                    .tag("operation", operation)
+                    .tag("mode", mode)
+                    .register(meterRegistry);
+            return window;
+        });
+    }
+
+    private record Won<T>(String label, T value) {
+    }
+
+    /**
+     * Intentos en curso de una llamada: el primero que termina bien completa el
+     * resultado y el error sólo se propaga cuando han fallado todos.
+     */
+    private static final class Race<T> {
+
+        private final CompletableFuture<Won<T>> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+
+        /**
+         * {@code onDone} se ejecuta una sola vez: al terminar el intento o, si se cancela
+         * antes de empezar, al cancelarlo.
+         */
+        void launch(AsyncTaskExecutor executor, String label, Supplier<T> attempt, Runnable onDone) {
+            pending.incrementAndGet();
+            var started = new AtomicBoolean(false);
+            var future = executor.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    result.complete(new Won<>(label, attempt.get()));
+                } catch (RuntimeException | Error e) {
+                    if (pending.decrementAndGet() == 0) {
+                        result.completeExceptionally(e);
+                    }
+                } finally {
+                    onDone.run();
+                }
+            });
+            attempts.add(new Attempt(future, started, onDone));
+        }
+
+        boolean hedged() {
+            return attempts.size() > 1;
+        }
+
+        Optional<Won<T>> await(long untilNanos) {
+            try {
+                if (untilNanos == Long.MAX_VALUE) {
+                    return Optional.of(result.get());
+                }
+                return Optional.of(result.get(Math.max(0, untilNanos - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                return Optional.empty();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Llamada al modelo interrumpida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        void cancel() {
+            attempts.forEach(Attempt::cancel);
+        }
+    }
+
+    private record Attempt(Future<?> future, AtomicBoolean started, Runnable onDone) {
+
+        void cancel() {
+            future.cancel(true);
+            if (started.compareAndSet(false, true)) {
+                onDone.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plazos máximos y peticiones de cobertura (hedging) por operación. La política de una
+ * operación sustituye por completo a {@code defaults}; {@code enabled} sólo controla el
+ * hedging, los plazos se aplican siempre.
+ */
+@ConfigurationProperties(prefix = "assistant.hedging")
+public record HedgingProperties(
+        boolean enabled,
+        int windowSize,
+        int minSamples,
+        double budgetRatio,
+        int budgetBurst,
+        Policy defaults,
+        Map<String, Policy> operations
+) {
+
+    private static final Policy DEFAULT_POLICY = new Policy(
+            Duration.ofSeconds(60), Duration.ofSeconds(20), true, 0.95, Duration.ofSeconds(1), Duration.ofSeconds(15));
+
+    public HedgingProperties {
+        windowSize = windowSize > 0 ? windowSize : 200;
+        minSamples = minSamples > 0 ? Math.min(minSamples, windowSize) : Math.min(20, windowSize);
+        budgetRatio = budgetRatio > 0 ? budgetRatio : 0.1;
+        budgetBurst = budgetBurst > 0 ? budgetBurst : 10;
+        defaults = Optional.ofNullable(defaults).orElse(DEFAULT_POLICY);
+        operations = Optional.ofNullable(operations).map(Map::copyOf).orElse(Map.of());
+    }
+
+    public Policy policyFor(String operation) {
+        return operations.getOrDefault(operation, defaults);
+    }
+
+    /**
+     * {@code deadline} limita la respuesta completa y {@code firstTokenDeadline} el
+     * primer token en streaming (sin límite si son nulos). El retardo del hedge es el
+     * percentil {@code percentile} de las latencias recientes, acotado entre
+     * {@code minDelay} y {@code maxDelay}.
+     */
+    public record Policy(
+            Duration deadline,
+            Duration firstTokenDeadline,
+            boolean hedge,
+            double percentile,
+            Duration minDelay,
+            Duration maxDelay
+    ) {
+
+        public Policy {
+            if (percentile <= 0 || percentile >= 1) {
+                percentile = 0.95;
+            }
+            minDelay = Optional.ofNullable(minDelay).orElse(Duration.ZERO);
+        }
+    }
+}
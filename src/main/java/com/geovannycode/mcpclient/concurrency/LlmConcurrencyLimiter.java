@@ -0,0 +1,295 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead por endpoint alrededor de las llamadas al modelo. Cada endpoint tiene su
+ * propio cupo de permisos, de modo que un endpoint saturado no consume los permisos de
+ * otro ni el rate limit del proveedor.
+ * <p>
+ * Las esperas forman una única cola FIFO por endpoint, compartida por las llamadas
+ * bloqueantes y las reactivas: el permiso que se libera pasa directamente a la espera
+ * más antigua, así que las que llegan tarde no adelantan a las que ya esperaban.
+ */
+@Component
+public class LlmConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmConcurrencyLimiter.class);
+
+    private static final String QUEUE_TIME_METRIC = "llm.concurrency.queue-time";
+    private static final String REJECTED_METRIC = "llm.concurrency.rejected";
+    private static final String IN_FLIGHT_METRIC = "llm.concurrency.in-flight";
+
+    private final ConcurrencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public LlmConcurrencyLimiter(ConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        var permit = acquire(endpoint);
+        try {
+            return call.get();
+        } finally {
+            permit.release();
+        }
+    }
+
+    /**
+     * La espera por el permiso no bloquea el hilo que se suscribe: la suscripción queda
+     * en la cola y {@link Bulkhead#release()} la completa, con un único temporizador por
+     * espera para {@code maxWait}, de modo que puede usarse desde los event loops de Netty.
+     */
+    public <T> Flux<T> executeStream(String endpoint, Supplier<Flux<T>> stream) {
+        return Flux.usingWhen(acquireAsync(endpoint), permit -> stream.get(), LlmConcurrencyLimiter::release);
+    }
+
+    public <T> Mono<T> executeMono(String endpoint, Supplier<Mono<T>> call) {
+        return Mono.usingWhen(acquireAsync(endpoint), permit -> call.get(), LlmConcurrencyLimiter::release);
+    }
+
+    /**
+     * Toma un permiso sólo si hay uno libre, sin esperar ni adelantarse a la cola. Lo
+     * devuelto libera el permiso y puede invocarse más de una vez.
+     */
+    public Optional<Runnable> tryAcquire(String endpoint) {
+        var limit = properties.limitFor(endpoint);
+        var bulkhead = bulkheads.computeIfAbsent(endpoint, key -> register(key, limit));
+        if (!bulkhead.tryAcquire()) {
+            return Optional.empty();
+        }
+        var released = new AtomicBoolean(false);
+        return Optional.of(() -> {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        });
+    }
+
+    private static Mono<Void> release(Bulkhead permit) {
+        return Mono.fromRunnable(permit::release);
+    }
+
+    private Mono<Bulkhead> acquireAsync(String endpoint) {
+        return Mono.defer(() -> {
+            var limit = properties.limitFor(endpoint);
+            var bulkhead = bulkheads.computeIfAbsent(endpoint, key -> register(key, limit));
+            var start = System.nanoTime();
+
+            return Mono.<Bulkhead>create(sink -> {
+                        var deadline = Disposables.swap();
+                        var waiter = new Waiter(() -> {
+                            deadline.dispose();
+                            sink.success(bulkhead);
+                        });
+                        if (bulkhead.acquireOrEnqueue(waiter)) {
+                            sink.success(bulkhead);
+                            return;
+                        }
+
+                        // Con la cancelación ganando a la entrega, el permiso concedido se descarta
+                        sink.onCancel(() -> {
+                            deadline.dispose();
+                            if (!bulkhead.abandon(waiter)) {
+                                bulkhead.release();
+                            }
+                        });
+                        deadline.update(Schedulers.parallel().schedule(() -> {
+                            if (bulkhead.abandon(waiter)) {
+                                sink.error(rejection(endpoint, limit));
+                            }
+                        }, limit.maxWait().toNanos(), TimeUnit.NANOSECONDS));
+                    })
+                    .doFinally(signal -> queueTimer(endpoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Bulkhead acquire(String endpoint) {
+        var limit = properties.limitFor(endpoint);
+        var bulkhead = bulkheads.computeIfAbsent(endpoint, key -> register(key, limit));
+        var start = System.nanoTime();
+
+        var granted = new CompletableFuture<Void>();
+        var waiter = new Waiter(() -> granted.complete(null));
+        try {
+            if (!bulkhead.acquireOrEnqueue(waiter)) {
+                granted.get(limit.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            // El permiso puede haber llegado justo al vencer el plazo
+            if (bulkhead.abandon(waiter)) {
+                reject(endpoint, limit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!bulkhead.abandon(waiter)) {
+                bulkhead.release();
+            }
+            reject(endpoint, limit);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            queueTimer(endpoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        return bulkhead;
+    }
+
+    private void reject(String endpoint, ConcurrencyProperties.Limit limit) {
+        throw rejection(endpoint, limit);
+    }
+
+    private ConcurrencyLimitExceededException rejection(String endpoint, ConcurrencyProperties.Limit limit) {
+        logger.warn("Llamada al modelo rechazada para {}: {} llamadas en curso",
+                endpoint, limit.maxConcurrent());
+        meterRegistry.counter(REJECTED_METRIC, "endpoint", endpoint).increment();
+        return new ConcurrencyLimitExceededException(endpoint, retryAfter(limit));
+    }
+
+    private Duration retryAfter(ConcurrencyProperties.Limit limit) {
+        return limit.maxWait().compareTo(Duration.ofSeconds(1)) < 0
+                ? Duration.ofSeconds(1)
+                : limit.maxWait();
+    }
+
+    private Bulkhead register(String endpoint, ConcurrencyProperties.Limit limit) {
+        var bulkhead = new Bulkhead(limit.maxConcurrent());
+
+        Gauge.builder(IN_FLIGHT_METRIC, bulkhead, Bulkhead::inFlight)
+                .description("Llamadas al modelo en curso")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+
+        return bulkhead;
+    }
+
+    private Timer queueTimer(String endpoint) {
+        return Timer.builder(QUEUE_TIME_METRIC)
+                .description("Tiempo de espera por un permiso de concurrencia")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Permisos de un endpoint y su cola de esperas. Mientras haya esperas en la cola todos
+     * los permisos están en uso, y {@link #release()} entrega el permiso a la primera que
+     * siga esperando en lugar de devolverlo.
+     */
+    private static final class Bulkhead {
+
+        private final int maxConcurrent;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int inFlight;
+
+        Bulkhead(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight < maxConcurrent) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean acquireOrEnqueue(Waiter waiter) {
+            if (inFlight < maxConcurrent) {
+                inFlight++;
+                return true;
+            }
+            waiters.addLast(waiter);
+            return false;
+        }
+
+        /**
+         * @return {@code false} si la espera ya había recibido el permiso
+         */
+        boolean abandon(Waiter waiter) {
+            if (!waiter.abandon()) {
+                return false;
+            }
+            synchronized (this) {
+                waiters.remove(waiter);
+            }
+            return true;
+        }
+
+        void release() {
+            while (true) {
+                Waiter next;
+                synchronized (this) {
+                    next = waiters.pollFirst();
+                    if (next == null) {
+                        inFlight--;
+                        return;
+                    }
+                }
+                if (next.grant()) {
+                    return;
+                }
+            }
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+    }
+
+    /**
+     * Una espera recibe el permiso o se abandona (plazo vencido, cancelación o
+     * interrupción), nunca ambas cosas.
+     */
+    private static final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int ABANDONED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final Runnable onGrant;
+
+        Waiter(Runnable onGrant) {
+            this.onGrant = onGrant;
+        }
+
+        boolean grant() {
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            onGrant.run();
+            return true;
+        }
+
+        boolean abandon() {
+            return state.compareAndSet(WAITING, ABANDONED);
+        }
+    }
+}
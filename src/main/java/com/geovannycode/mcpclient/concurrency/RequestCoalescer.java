@@ -0,0 +1,121 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import com.geovannycode.mcpclient.cache.PromptKey;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: las peticiones concurrentes con la misma {@link PromptKey} comparten
+ * una única llamada upstream. La primera (líder) ejecuta la llamada; las demás
+ * (seguidoras) esperan su resultado, incluido un posible error.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private static final String REQUESTS_METRIC = "hr.coalescing.requests";
+    private static final String IN_FLIGHT_METRIC = "hr.coalescing.in-flight";
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<PromptKey, CompletableFuture<Optional<String>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<PromptKey, Mono<String>> inFlightReactive = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder(IN_FLIGHT_METRIC, this, coalescer -> coalescer.inFlight.size() + coalescer.inFlightReactive.size())
+                .description("Llamadas upstream compartidas en curso")
+                .register(meterRegistry);
+    }
+
+    public Optional<String> execute(PromptKey key, Supplier<Optional<String>> call) {
+        if (!properties.isEnabledFor(key.operation())) {
+            return call.get();
+        }
+
+        var future = new CompletableFuture<Optional<String>>();
+        var existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            record(key.operation(), "follower");
+            logger.debug("Petición agrupada con una llamada en curso ({})", key.operation());
+            return await(existing);
+        }
+
+        record(key.operation(), "leader");
+        try {
+            var result = call.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Versión reactiva: las seguidoras se suscriben al mismo {@link Mono} compartido en
+     * lugar de bloquear un hilo esperando al líder.
+     */
+    public Mono<String> executeReactive(PromptKey key, Supplier<Mono<String>> call) {
+        if (!properties.isEnabledFor(key.operation())) {
+            return Mono.defer(call);
+        }
+
+        return Mono.defer(() -> {
+            var shared = new AtomicReference<Mono<String>>();
+            shared.set(Mono.defer(call)
+                    .doFinally(signal -> inFlightReactive.remove(key, shared.get()))
+                    .share());
+
+            var existing = inFlightReactive.putIfAbsent(key, shared.get());
+            if (existing != null) {
+                record(key.operation(), "follower");
+                logger.debug("Petición agrupada con una llamada en curso ({})", key.operation());
+                return existing;
+            }
+
+            record(key.operation(), "leader");
+            return shared.get();
+        });
+    }
+
+    /**
+     * Espera interrumpible: si se cancela la petición de la seguidora, su hilo no queda
+     * colgado del líder.
+     */
+    private Optional<String> await(CompletableFuture<Optional<String>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera de la llamada compartida interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void record(String operation, String role) {
+        meterRegistry.counter(REQUESTS_METRIC, "operation", operation, "role", role).increment();
+    }
+}
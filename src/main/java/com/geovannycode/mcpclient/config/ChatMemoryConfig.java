@@ -0,0 +1,37 @@
+package com.geovannycode.mcpclient.config;
+
+import com.geovannycode.mcpclient.memory.ConversationMemoryProperties;
+import com.geovannycode.mcpclient.memory.FileSessionRepository;
+import com.geovannycode.mcpclient.memory.InMemorySessionRepository;
+import com.geovannycode.mcpclient.memory.TokenBudgetChatMemory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sustituye la memoria por ventana de mensajes que autoconfigura Spring AI por sesiones
+ * con presupuesto de tokens, en heap o en disco según {@code assistant.memory.store}.
+ */
+@Configuration
+public class ChatMemoryConfig {
+
+    @Bean
+    public ChatMemoryRepository chatMemoryRepository(ConversationMemoryProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        return switch (properties.store()) {
+            case FILE -> new FileSessionRepository(properties, meterRegistry);
+            case MEMORY -> new InMemorySessionRepository(properties, meterRegistry);
+        };
+    }
+
+    @Bean
+    public ChatMemory chatMemory(ChatMemoryRepository chatMemoryRepository,
+                                 TokenCountEstimator tokenCountEstimator,
+                                 ConversationMemoryProperties properties,
+                                 MeterRegistry meterRegistry) {
+        return new TokenBudgetChatMemory(chatMemoryRepository, tokenCountEstimator, properties, meterRegistry);
+    }
+}
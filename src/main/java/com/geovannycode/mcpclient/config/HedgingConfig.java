@@ -0,0 +1,39 @@
+package com.geovannycode.mcpclient.config;
+
+import com.geovannycode.mcpclient.concurrency.HedgedExecutor;
+import com.geovannycode.mcpclient.concurrency.HedgingProperties;
+import com.geovannycode.mcpclient.concurrency.LlmConcurrencyLimiter;
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.util.List;
+
+@Configuration
+public class HedgingConfig {
+
+    /**
+     * Los intentos corren fuera del hilo de la petición: se propagan los tiempos de la
+     * petición y la observación en curso para que la llamada al modelo siga colgando
+     * de {@code chat.service}.
+     */
+    @Bean
+    public HedgedExecutor hedgedExecutor(HedgingProperties properties,
+                                         MeterRegistry meterRegistry,
+                                         LlmConcurrencyLimiter concurrencyLimiter,
+                                         Environment environment) {
+        var executor = new SimpleAsyncTaskExecutor("llm-attempt-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.<TaskDecorator>of(
+                RequestTimings::propagate, new ContextPropagatingTaskDecorator())));
+
+        return new HedgedExecutor(properties, executor, meterRegistry, concurrencyLimiter);
+    }
+}
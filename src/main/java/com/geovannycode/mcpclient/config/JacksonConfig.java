@@ -0,0 +1,104 @@
+package com.geovannycode.mcpclient.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.geovannycode.mcpclient.model.ResponseJsonModule;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Configuration
+public class JacksonConfig {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Spring Boot registra los módulos declarados como beans en el ObjectMapper que usan
+     * tanto Spring MVC como WebFlux.
+     */
+    @Bean
+    public ResponseJsonModule responseJsonModule() {
+        return new ResponseJsonModule();
+    }
+
+    /**
+     * CBOR ({@code application/cbor}) y Smile ({@code application/x-jackson-smile}) para
+     * los clientes que los pidan en {@code Accept} o los envíen en {@code Content-Type}.
+     * Los mappers salen del mismo builder que el de JSON, así que llevan
+     * {@link ResponseJsonModule} y el mismo formato de fechas. Spring MVC sustituye con
+     * estos beans sus convertidores por defecto y JSON sigue siendo el primero.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Equivalente en WebFlux: Smile sustituye al códec por defecto (que no lleva la
+     * configuración de Spring Boot) y CBOR, que WebFlux no registra, se añade. Los códecs
+     * propios se consultan antes que los de Spring, así que el de JSON se repite delante
+     * para que siga siendo la respuesta a {@code Accept: *}{@code /*}.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer binaryFormatsCodecCustomizer(Jackson2ObjectMapperBuilder builder, ObjectMapper objectMapper) {
+        // Sin tipos MIME explícitos los códecs de Jackson asumen los de JSON
+        var cbor = builder.factory(new CBORFactory()).build();
+        var smile = builder.factory(new SmileFactory()).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, SMILE));
+            configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().register(new SingleValueCborEncoder(cbor));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    /**
+     * {@link Jackson2CborEncoder} rechaza {@code encode} incluso con un {@link Mono}, que es
+     * como WebFlux escribe cualquier cuerpo; un único valor se codifica con
+     * {@code encodeValue}. Los streams (SSE, NDJSON) nunca se negocian en CBOR.
+     */
+    static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(v -> encodeValue(v, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
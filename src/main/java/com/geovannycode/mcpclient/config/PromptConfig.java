@@ -0,0 +1,19 @@
+package com.geovannycode.mcpclient.config;
+
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PromptConfig {
+
+    /**
+     * Tokenizador local (cl100k_base) compartido por la memoria de sesiones y el
+     * ensamblado de contexto; la codificación se carga una sola vez.
+     */
+    @Bean
+    public TokenCountEstimator tokenCountEstimator() {
+        return new JTokkitTokenCountEstimator();
+    }
+}
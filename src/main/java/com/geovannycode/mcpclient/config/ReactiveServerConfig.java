@@ -0,0 +1,32 @@
+package com.geovannycode.mcpclient.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Con {@code spring-boot-starter-web} en el classpath, Boot arranca WebFlux sobre Tomcat.
+ * El perfil {@code reactive} declara el servidor Netty con un event loop propio y de
+ * tamaño fijo: ningún handler bloquea mientras espera al modelo, así que unos pocos
+ * hilos atienden todas las conexiones.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(
+            @Value("${assistant.reactive.event-loop-threads:2}") int eventLoopThreads) {
+        return LoopResources.create("reactive-http", 1, eventLoopThreads, true);
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(LoopResources serverLoopResources) {
+        var factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(serverLoopResources));
+        return factory;
+    }
+}
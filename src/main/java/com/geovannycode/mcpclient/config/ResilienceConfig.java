@@ -0,0 +1,37 @@
+package com.geovannycode.mcpclient.config;
+
+import com.geovannycode.mcpclient.resilience.HttpUpstreamGuard;
+import com.geovannycode.mcpclient.resilience.Upstreams;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+
+/**
+ * Registra el circuito del modelo en los clientes HTTP que crea Spring Boot, que son
+ * los que usa la autoconfiguración de OpenAI (RestClient para llamadas, WebClient para
+ * streaming).
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public HttpUpstreamGuard modelUpstreamGuard(
+            Upstreams upstreams,
+            @Value("${spring.ai.openai.base-url:https://api.openai.com}") String baseUrl) {
+        return new HttpUpstreamGuard(URI.create(baseUrl), upstreams.guard(Upstreams.MODEL));
+    }
+
+    @Bean
+    public RestClientCustomizer modelUpstreamRestClientCustomizer(HttpUpstreamGuard modelUpstreamGuard) {
+        return builder -> builder.requestInterceptor(modelUpstreamGuard);
+    }
+
+    @Bean
+    public WebClientCustomizer modelUpstreamWebClientCustomizer(HttpUpstreamGuard modelUpstreamGuard) {
+        return builder -> builder.filter(modelUpstreamGuard);
+    }
+}
@@ -0,0 +1,34 @@
+package com.geovannycode.mcpclient.config;
+
+import com.geovannycode.mcpclient.logging.LogContext;
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import com.geovannycode.mcpclient.routing.ModelRouter;
+import com.geovannycode.mcpclient.routing.RoutingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+
+import java.util.List;
+
+@Configuration
+public class RoutingConfig {
+
+    @Bean
+    public ModelRouter modelRouter(RoutingProperties properties,
+                                   TokenCountEstimator tokenCountEstimator,
+                                   MeterRegistry meterRegistry,
+                                   Environment environment) {
+        var executor = new SimpleAsyncTaskExecutor("llm-route-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.<TaskDecorator>of(
+                RequestTimings::propagate, LogContext::propagate)));
+
+        return new ModelRouter(properties, tokenCountEstimator, executor, meterRegistry);
+    }
+}
@@ -1,19 +1,40 @@
 package com.geovannycode.mcpclient.config;
 
+import com.geovannycode.mcpclient.security.AuthenticationCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.server.SecurityWebFilterChain;
 
+/**
+ * Las mismas reglas de acceso para la pila servlet y la reactiva; sólo se activa la
+ * configuración del tipo de aplicación web en uso.
+ * <p>
+ * Con {@code assistant.auth-cache.enabled} HTTP Basic verifica cada credencial una vez
+ * y sirve las siguientes peticiones desde {@link AuthenticationCache}. El gestor se
+ * construye aquí y no como bean para no desactivar el usuario que configura Spring Boot.
+ */
 @Configuration
-@EnableWebSecurity
 public class SecurityConfig {
 
     private static final String ACTUATOR_PATH = "/actuator/**";
     private static final String ACTUATOR_HEALTH_PATH = "/actuator/health";
+    private static final String ACTUATOR_LIVENESS_PATH = "/actuator/health/liveness";
+    private static final String ACTUATOR_READINESS_PATH = "/actuator/health/readiness";
     private static final String ACTUATOR_INFO_PATH = "/actuator/info";
     private static final String CHAT_PATH = "/chat/**";
     private static final String HR_ASSISTANT_PATH = "/hr-assistant/**";
@@ -22,30 +43,89 @@ public class SecurityConfig {
     private static final String ROLE_USER = "USER";
 
 
-    @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        return http
-                .authorizeHttpRequests(this::configureAuthorization)
-                .httpBasic(httpBasic -> {})
-                .csrf(AbstractHttpConfigurer::disable)
-                .build();
+    @Configuration
+    @EnableWebSecurity
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletSecurityConfig {
+
+        @Bean
+        public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationCache authenticationCache,
+                                               ObjectProvider<UserDetailsService> userDetailsService,
+                                               ObjectProvider<PasswordEncoder> passwordEncoder) throws Exception {
+            var users = userDetailsService.getIfUnique();
+            if (authenticationCache.isEnabled() && users != null) {
+                var provider = new DaoAuthenticationProvider(users);
+                passwordEncoder.ifUnique(provider::setPasswordEncoder);
+                http.authenticationManager(authenticationCache.wrap(new ProviderManager(provider)));
+            }
+
+            return http
+                    .authorizeHttpRequests(this::configureAuthorization)
+                    .httpBasic(httpBasic -> {})
+                    .csrf(AbstractHttpConfigurer::disable)
+                    .build();
+        }
+
+
+        private void configureAuthorization(
+                org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer
+                        <HttpSecurity>.AuthorizationManagerRequestMatcherRegistry authz) {
+
+            authz
+                    .requestMatchers(ACTUATOR_HEALTH_PATH, ACTUATOR_LIVENESS_PATH, ACTUATOR_READINESS_PATH,
+                            ACTUATOR_INFO_PATH).permitAll()
+                    .requestMatchers(HttpMethod.GET, CHAT_PATH).permitAll()
+
+
+                    .requestMatchers(HR_ASSISTANT_PATH).authenticated()
+                    .requestMatchers(HttpMethod.POST, CHAT_PATH).authenticated()
+
+                    .requestMatchers(ACTUATOR_PATH).hasRole(ROLE_ADMIN)
+
+                    .anyRequest().authenticated();
+        }
     }
 
 
-    private void configureAuthorization(
-            org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer
-                    <HttpSecurity>.AuthorizationManagerRequestMatcherRegistry authz) {
+    @Configuration
+    @EnableWebFluxSecurity
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveSecurityConfig {
+
+        @Bean
+        public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                             AuthenticationCache authenticationCache,
+                                                             ObjectProvider<ReactiveUserDetailsService> userDetailsService,
+                                                             ObjectProvider<PasswordEncoder> passwordEncoder) {
+            var users = userDetailsService.getIfUnique();
+            if (authenticationCache.isEnabled() && users != null) {
+                var delegate = new UserDetailsRepositoryReactiveAuthenticationManager(users);
+                passwordEncoder.ifUnique(delegate::setPasswordEncoder);
+                http.authenticationManager(authenticationCache.wrap(delegate));
+            }
+
+            return http
+                    .authorizeExchange(this::configureAuthorization)
+                    .httpBasic(httpBasic -> {})
+                    .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                    .build();
+        }
+
+
+        private void configureAuthorization(ServerHttpSecurity.AuthorizeExchangeSpec exchanges) {
 
-        authz
-                .requestMatchers(ACTUATOR_HEALTH_PATH, ACTUATOR_INFO_PATH).permitAll()
-                .requestMatchers(HttpMethod.GET, CHAT_PATH).permitAll()
+            exchanges
+                    .pathMatchers(ACTUATOR_HEALTH_PATH, ACTUATOR_LIVENESS_PATH, ACTUATOR_READINESS_PATH,
+                            ACTUATOR_INFO_PATH).permitAll()
+                    .pathMatchers(HttpMethod.GET, CHAT_PATH).permitAll()
 
 
-                .requestMatchers(HR_ASSISTANT_PATH).authenticated()
-                .requestMatchers(HttpMethod.POST, CHAT_PATH).authenticated()
+                    .pathMatchers(HR_ASSISTANT_PATH).authenticated()
+                    .pathMatchers(HttpMethod.POST, CHAT_PATH).authenticated()
 
-                .requestMatchers(ACTUATOR_PATH).hasRole(ROLE_ADMIN)
+                    .pathMatchers(ACTUATOR_PATH).hasRole(ROLE_ADMIN)
 
-                .anyRequest().authenticated();
+                    .anyExchange().authenticated();
+        }
     }
 }
@@ -0,0 +1,51 @@
+package com.geovannycode.mcpclient.config;
+
+import com.geovannycode.mcpclient.mcp.PooledStdioMcpClients;
+import com.geovannycode.mcpclient.mcp.StdioMcpClientPool;
+import com.geovannycode.mcpclient.mcp.StdioPoolProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Modo de transporte STDIO con pool de procesos. Las conexiones definidas en
+ * {@code assistant.mcp.stdio-pool.connections} sustituyen a las de
+ * {@code spring.ai.mcp.client.stdio.connections}, que deben retirarse para no
+ * arrancar el mismo servidor dos veces.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "assistant.mcp.stdio-pool", name = "enabled", havingValue = "true")
+public class StdioPoolConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public PooledStdioMcpClients pooledStdioMcpClients(
+            StdioPoolProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${spring.ai.mcp.client.name:mcp-client-example}") String clientName,
+            @Value("${spring.ai.mcp.client.version:1.0.0}") String clientVersion) {
+
+        var clientInfo = new McpSchema.Implementation(clientName, clientVersion);
+        var scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            var thread = new Thread(runnable, "mcp-stdio-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        var pools = properties.connections().entrySet().stream()
+                .map(connection -> new StdioMcpClientPool(
+                        connection.getKey(),
+                        connection.getValue(),
+                        properties,
+                        clientInfo,
+                        scheduler,
+                        meterRegistry))
+                .toList();
+
+        return new PooledStdioMcpClients(pools, scheduler);
+    }
+}
@@ -0,0 +1,75 @@
+package com.geovannycode.mcpclient.config;
+
+import com.geovannycode.mcpclient.logging.LogContext;
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import com.geovannycode.mcpclient.tool.McpToolCallbacks;
+import com.geovannycode.mcpclient.tool.McpToolsAdvisor;
+import com.geovannycode.mcpclient.tool.ParallelToolCallingManager;
+import com.geovannycode.mcpclient.tool.ToolExecutionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.client.ChatClientCustomizer;
+import org.springframework.ai.model.tool.DefaultToolCallingManager;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.DelegatingToolCallbackResolver;
+import org.springframework.ai.tool.resolution.SpringBeanToolCallbackResolver;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+
+import java.util.List;
+
+@Configuration
+public class ToolCallbackConfig {
+
+    /**
+     * Las herramientas MCP se añaden por petición y no al construir el ChatClient, de
+     * modo que su descubrimiento no retrasa el arranque (ver {@code McpToolsInitializer}).
+     */
+    @Bean
+    public ChatClientCustomizer mcpToolCallbacksCustomizer(McpToolCallbacks mcpToolCallbacks) {
+        return builder -> builder.defaultAdvisors(new McpToolsAdvisor(mcpToolCallbacks));
+    }
+
+    /**
+     * Sustituye al resolver por defecto de Spring AI, que lista las herramientas de todos
+     * los proveedores al crearse y con ello inicializa las conexiones MCP en el arranque.
+     */
+    @Bean
+    public ToolCallbackResolver toolCallbackResolver(GenericApplicationContext applicationContext,
+                                                     McpToolCallbacks mcpToolCallbacks) {
+        return new DelegatingToolCallbackResolver(List.of(
+                toolName -> mcpToolCallbacks.find(toolName).orElse(null),
+                SpringBeanToolCallbackResolver.builder().applicationContext(applicationContext).build()));
+    }
+
+    @Bean
+    public ToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver,
+                                                 ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
+                                                 ObjectProvider<ObservationRegistry> observationRegistry,
+                                                 ToolExecutionProperties properties,
+                                                 MeterRegistry meterRegistry,
+                                                 Environment environment) {
+        var delegate = DefaultToolCallingManager.builder()
+                .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                .toolCallbackResolver(toolCallbackResolver)
+                .toolExecutionExceptionProcessor(toolExecutionExceptionProcessor)
+                .build();
+
+        var executor = new SimpleAsyncTaskExecutor("mcp-tool-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setConcurrencyLimit(properties.maxConcurrency());
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.<TaskDecorator>of(
+                RequestTimings::propagate, LogContext::propagate)));
+
+        return new ParallelToolCallingManager(delegate, executor, properties, meterRegistry);
+    }
+}
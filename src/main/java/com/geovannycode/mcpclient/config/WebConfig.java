@@ -0,0 +1,23 @@
+package com.geovannycode.mcpclient.config;
+
+import com.geovannycode.mcpclient.observability.RequestTimingsInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RequestTimingsInterceptor requestTimingsInterceptor;
+
+    public WebConfig(RequestTimingsInterceptor requestTimingsInterceptor) {
+        this.requestTimingsInterceptor = requestTimingsInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestTimingsInterceptor);
+    }
+}
@@ -1,25 +1,42 @@
 package com.geovannycode.mcpclient.controller;
 
+import com.geovannycode.mcpclient.service.ChatOperation;
 import com.geovannycode.mcpclient.service.ChatService;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/chat")
 public final class ChatController {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatController.class);
     private static final String ERROR_MESSAGE = "Error al procesar el mensaje";
     private static final String EMPTY_MESSAGE_ERROR = "El mensaje no puede estar vacío";
+    private static final String INVALID_SESSION_ERROR = "El identificador de sesión no puede superar 128 caracteres";
+    private static final int MAX_SESSION_ID_LENGTH = 128;
+    private static final Map<String, String> HEALTH = Map.of(
+            "status", "UP",
+            "service", "MCP Chat Client",
+            "version", "1.0.0"
+    );
 
     private final ChatService chatService;
 
@@ -28,20 +45,33 @@ public final class ChatController {
     }
 
     @GetMapping
-    public ResponseEntity<String> chatGet(@RequestParam String message) {
-        logger.info("GET request recibido: {}", message);
+    public ResponseEntity<String> chatGet(@RequestParam String message,
+                                          @RequestParam(required = false) @Size(max = MAX_SESSION_ID_LENGTH) String sessionId) {
+        logger.info("GET request recibido");
 
-        return chatService.processMessage(message)
+        return chatService.processMessage(ChatOperation.CHAT, message, sessionId)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity
                         .internalServerError()
                         .body(ERROR_MESSAGE));
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> chatStream(@RequestParam String message) {
+        logger.info("GET stream request recibido");
+
+        if (message.isBlank()) {
+            return Flux.just(StreamEvents.error(EMPTY_MESSAGE_ERROR));
+        }
+
+        return StreamEvents.from(chatService.streamMessage(message), ERROR_MESSAGE);
+    }
+
     @PostMapping
-    public ResponseEntity<Map<String, Object>> chatPost(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> chatPost(@RequestBody Map<String, String> request) {
         var message = request.get("message");
-        logger.info("POST request recibido: {}", message);
+        var sessionId = request.get("sessionId");
+        logger.info("POST request recibido");
 
         if (message == null || message.isBlank()) {
             return ResponseEntity
@@ -49,21 +79,31 @@ public final class ChatController {
                     .body(chatService.createErrorResponse(EMPTY_MESSAGE_ERROR));
         }
 
-        return chatService.processMessage(message)
+        if (sessionId != null && sessionId.length() > MAX_SESSION_ID_LENGTH) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(chatService.createErrorResponse(INVALID_SESSION_ERROR));
+        }
+
+        return chatService.processMessage(ChatOperation.CHAT, message, sessionId)
                 .map(chatService::createSuccessResponse)
-                .map(ResponseEntity::ok)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity
                         .internalServerError()
                         .body(chatService.createErrorResponse(ERROR_MESSAGE)));
     }
 
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<Void> deleteSession(@PathVariable String sessionId, Authentication authentication) {
+        logger.info("Eliminando sesión: {}", sessionId);
+
+        return chatService.clearSession(authentication, sessionId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
-        var status = Map.of(
-                "status", "UP",
-                "service", "MCP Chat Client",
-                "version", "1.0.0"
-        );
-        return ResponseEntity.ok(status);
+        return ResponseEntity.ok(HEALTH);
     }
 }
\ No newline at end of file
@@ -1,76 +1,181 @@
 package com.geovannycode.mcpclient.controller;
 
+import com.geovannycode.mcpclient.job.Job;
+import com.geovannycode.mcpclient.job.JobService;
+import com.geovannycode.mcpclient.model.BatchQueryResult;
+import com.geovannycode.mcpclient.model.QueryMetadata;
 import com.geovannycode.mcpclient.model.QueryRequest;
 import com.geovannycode.mcpclient.model.QueryResponse;
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import com.geovannycode.mcpclient.service.BatchProperties;
 import com.geovannycode.mcpclient.service.HRAssistantService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/hr-assistant")
 public final class HRAssistantController {
 
     private static final Logger logger = LoggerFactory.getLogger(HRAssistantController.class);
 
+    private static final Map<String, String> POLICY_ERROR = Map.of("error", "Error al consultar la política");
+    private static final Map<String, String> EMPLOYEE_ERROR =
+            Map.of("error", "Error al consultar información del empleado");
+    private static final Map<String, String> BENEFITS_ERROR = Map.of("error", "Error al consultar beneficios");
+
     private final HRAssistantService hrAssistantService;
+    private final BatchProperties batchProperties;
+    private final JobService jobService;
 
-    public HRAssistantController(HRAssistantService hrAssistantService) {
+    public HRAssistantController(HRAssistantService hrAssistantService, BatchProperties batchProperties,
+                                 JobService jobService) {
         this.hrAssistantService = hrAssistantService;
+        this.batchProperties = batchProperties;
+        this.jobService = jobService;
     }
 
     @PostMapping("/query")
-    public ResponseEntity<QueryResponse> handleQuery(@Valid @RequestBody QueryRequest request) {
-        logger.info("HR Query received - Employee: {}, Query: {}",
-                request.employeeId(), request.query());
+    public ResponseEntity<QueryResponse> handleQuery(
+            @Valid @RequestBody QueryRequest request,
+            @RequestHeader(value = RequestTimings.DEBUG_HEADER, defaultValue = "false") boolean debugTimings) {
+        logger.info("HR Query received - Employee: {}", request.employeeId());
 
         return hrAssistantService.processQuery(request)
+                .map(response -> debugTimings ? withTimings(response) : response)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.internalServerError()
                         .body(QueryResponse.error("Error al procesar la consulta")));
     }
 
 
+    @PostMapping(value = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> handleQueryStream(@Valid @RequestBody QueryRequest request) {
+        logger.info("HR streaming query received - Employee: {}", request.employeeId());
+
+        return StreamEvents.from(hrAssistantService.streamQuery(request), "Error al procesar la consulta");
+    }
+
+
+    @PostMapping(value = "/query/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchQueryResult> handleBatchQuery(@RequestBody List<QueryRequest> requests) {
+        logger.info("HR batch query received - Items: {}", requests.size());
+
+        if (requests.isEmpty() || requests.size() > batchProperties.maxItems()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El lote debe contener entre 1 y " + batchProperties.maxItems() + " consultas");
+        }
+
+        return hrAssistantService.processBatch(requests);
+    }
+
+
+    @PostMapping("/jobs")
+    public ResponseEntity<Job> submitJob(
+            @Valid @RequestBody QueryRequest request,
+            @RequestParam(defaultValue = "interactive") String priority,
+            Authentication authentication) {
+        logger.info("HR job received - Employee: {}, Priority: {}", request.employeeId(), priority);
+
+        var job = jobService.submit(request, Job.Priority.parse(priority)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Prioridad desconocida: " + priority)), authentication);
+        return ResponseEntity.accepted()
+                .location(URI.create("/hr-assistant/jobs/" + job.id()))
+                .body(job);
+    }
+
+
+    /**
+     * Con {@code wait} (segundos) espera a que el trabajo termine antes de responder, sin
+     * ocupar el hilo de la petición.
+     */
+    @GetMapping("/jobs/{id}")
+    public CompletableFuture<ResponseEntity<Job>> getJob(@PathVariable String id,
+                                                         @RequestParam(defaultValue = "0") long wait,
+                                                         Authentication authentication) {
+        return jobService.await(id, authentication, Duration.ofSeconds(wait))
+                .thenApply(job -> job.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+
     @GetMapping("/policies")
-    public ResponseEntity<Map<String, Object>> getPolicyInfo(@RequestParam String policyName) {
+    public ResponseEntity<?> getPolicyInfo(@RequestParam String policyName) {
         logger.info("Policy query for: {}", policyName);
 
         return hrAssistantService.getPolicyInformation(policyName)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.internalServerError()
-                        .body(Map.of("error", "Error al consultar la política")));
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.internalServerError().body(POLICY_ERROR));
     }
 
 
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<Map<String, Object>> getEmployeeInfo(@PathVariable String employeeId) {
+    public ResponseEntity<?> getEmployeeInfo(@PathVariable String employeeId) {
         logger.info("Employee info query for: {}", employeeId);
 
         return hrAssistantService.getEmployeeInformation(employeeId)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.internalServerError()
-                        .body(Map.of("error", "Error al consultar información del empleado")));
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.internalServerError().body(EMPLOYEE_ERROR));
     }
 
 
     @GetMapping("/benefits")
-    public ResponseEntity<Map<String, Object>> getBenefits(
+    public ResponseEntity<?> getBenefits(
             @RequestParam(required = false) String employeeId) {
         logger.info("Benefits query for employee: {}", employeeId);
 
         return hrAssistantService.getBenefitsInformation(employeeId)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.internalServerError()
-                        .body(Map.of("error", "Error al consultar beneficios")));
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.internalServerError().body(BENEFITS_ERROR));
+    }
+
+
+    /**
+     * Añade a {@code metadata.timings} el desglose de latencia de la petición en curso.
+     */
+    private static QueryResponse withTimings(QueryResponse response) {
+        return RequestTimings.current()
+                .map(timings -> response.withMetadata(response.metadataOptional()
+                        .orElseGet(() -> QueryMetadata.of(null, null))
+                        .withTimings(timings.toMap())))
+                .orElse(response);
+    }
+
+
+    /**
+     * Con el circuito abierto la respuesta mantiene el formato {@link QueryResponse} del
+     * resto de errores del asistente.
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<QueryResponse> handleUpstreamUnavailable(UpstreamUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(QueryResponse.error(e.getMessage()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.geovannycode.mcpclient.controller;
+
+import com.geovannycode.mcpclient.service.ChatOperation;
+import com.geovannycode.mcpclient.service.ChatService;
+import jakarta.validation.constraints.Size;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Mismas rutas que {@link ChatController} para la pila WebFlux (perfil {@code reactive}):
+ * ningún handler bloquea el event loop mientras espera al modelo.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/chat")
+public final class ReactiveChatController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveChatController.class);
+    private static final String ERROR_MESSAGE = "Error al procesar el mensaje";
+    private static final String EMPTY_MESSAGE_ERROR = "El mensaje no puede estar vacío";
+    private static final String INVALID_SESSION_ERROR = "El identificador de sesión no puede superar 128 caracteres";
+    private static final int MAX_SESSION_ID_LENGTH = 128;
+    private static final Map<String, String> HEALTH = Map.of(
+            "status", "UP",
+            "service", "MCP Chat Client",
+            "version", "1.0.0"
+    );
+
+    private final ChatService chatService;
+
+    public ReactiveChatController(ChatService chatService) {
+        this.chatService = chatService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<String>> chatGet(@RequestParam String message,
+                                                @RequestParam(required = false) @Size(max = MAX_SESSION_ID_LENGTH) String sessionId) {
+        logger.info("GET request recibido");
+
+        return chatService.processMessageReactive(ChatOperation.CHAT, message, sessionId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity
+                        .internalServerError()
+                        .body(ERROR_MESSAGE));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> chatStream(@RequestParam String message) {
+        logger.info("GET stream request recibido");
+
+        if (message.isBlank()) {
+            return Flux.just(StreamEvents.error(EMPTY_MESSAGE_ERROR));
+        }
+
+        return StreamEvents.from(chatService.streamMessage(message), ERROR_MESSAGE);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> chatPost(@RequestBody Map<String, String> request) {
+        var message = request.get("message");
+        var sessionId = request.get("sessionId");
+        logger.info("POST request recibido");
+
+        if (message == null || message.isBlank()) {
+            return Mono.just(ResponseEntity
+                    .badRequest()
+                    .body(chatService.createErrorResponse(EMPTY_MESSAGE_ERROR)));
+        }
+
+        if (sessionId != null && sessionId.length() > MAX_SESSION_ID_LENGTH) {
+            return Mono.just(ResponseEntity
+                    .badRequest()
+                    .body(chatService.createErrorResponse(INVALID_SESSION_ERROR)));
+        }
+
+        return chatService.processMessageReactive(ChatOperation.CHAT, message, sessionId)
+                .map(chatService::createSuccessResponse)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity
+                        .internalServerError()
+                        .body(chatService.createErrorResponse(ERROR_MESSAGE)));
+    }
+
+    /**
+     * El repositorio de sesiones puede escribir en disco, por lo que el borrado se hace
+     * fuera del event loop.
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    public Mono<ResponseEntity<Void>> deleteSession(@PathVariable String sessionId, Authentication authentication) {
+        logger.info("Eliminando sesión: {}", sessionId);
+
+        return Mono.fromCallable(() -> chatService.clearSession(authentication, sessionId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(cleared -> cleared
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    @GetMapping("/health")
+    public Mono<ResponseEntity<Map<String, String>>> health() {
+        return Mono.just(ResponseEntity.ok(HEALTH));
+    }
+}
@@ -0,0 +1,163 @@
+package com.geovannycode.mcpclient.controller;
+
+import com.geovannycode.mcpclient.job.Job;
+import com.geovannycode.mcpclient.job.JobService;
+import com.geovannycode.mcpclient.model.BatchQueryResult;
+import com.geovannycode.mcpclient.model.QueryRequest;
+import com.geovannycode.mcpclient.model.QueryResponse;
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import com.geovannycode.mcpclient.service.BatchProperties;
+import com.geovannycode.mcpclient.service.HRAssistantService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mismas rutas que {@link HRAssistantController} para la pila WebFlux (perfil
+ * {@code reactive}). El desglose de latencias ({@code X-Debug-Timings}) sólo está
+ * disponible en la pila servlet, ya que se apoya en el hilo de la petición.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/hr-assistant")
+public final class ReactiveHRAssistantController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveHRAssistantController.class);
+
+    private static final Map<String, String> POLICY_ERROR = Map.of("error", "Error al consultar la política");
+    private static final Map<String, String> EMPLOYEE_ERROR =
+            Map.of("error", "Error al consultar información del empleado");
+    private static final Map<String, String> BENEFITS_ERROR = Map.of("error", "Error al consultar beneficios");
+
+    private final HRAssistantService hrAssistantService;
+    private final BatchProperties batchProperties;
+    private final JobService jobService;
+
+    public ReactiveHRAssistantController(HRAssistantService hrAssistantService, BatchProperties batchProperties,
+                                         JobService jobService) {
+        this.hrAssistantService = hrAssistantService;
+        this.batchProperties = batchProperties;
+        this.jobService = jobService;
+    }
+
+    @PostMapping("/query")
+    public Mono<ResponseEntity<QueryResponse>> handleQuery(@Valid @RequestBody QueryRequest request) {
+        logger.info("HR Query received - Employee: {}", request.employeeId());
+
+        return hrAssistantService.processQueryReactive(request)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.internalServerError()
+                        .body(QueryResponse.error("Error al procesar la consulta")));
+    }
+
+
+    @PostMapping(value = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> handleQueryStream(@Valid @RequestBody QueryRequest request) {
+        logger.info("HR streaming query received - Employee: {}", request.employeeId());
+
+        return StreamEvents.from(hrAssistantService.streamQuery(request), "Error al procesar la consulta");
+    }
+
+
+    @PostMapping(value = "/query/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchQueryResult> handleBatchQuery(@RequestBody List<QueryRequest> requests) {
+        logger.info("HR batch query received - Items: {}", requests.size());
+
+        if (requests.isEmpty() || requests.size() > batchProperties.maxItems()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El lote debe contener entre 1 y " + batchProperties.maxItems() + " consultas");
+        }
+
+        return hrAssistantService.processBatchReactive(requests);
+    }
+
+
+    @PostMapping("/jobs")
+    public ResponseEntity<Job> submitJob(
+            @Valid @RequestBody QueryRequest request,
+            @RequestParam(defaultValue = "interactive") String priority,
+            Authentication authentication) {
+        logger.info("HR job received - Employee: {}, Priority: {}", request.employeeId(), priority);
+
+        var job = jobService.submit(request, Job.Priority.parse(priority)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Prioridad desconocida: " + priority)), authentication);
+        return ResponseEntity.accepted()
+                .location(URI.create("/hr-assistant/jobs/" + job.id()))
+                .body(job);
+    }
+
+
+    /**
+     * Con {@code wait} (segundos) espera a que el trabajo termine antes de responder.
+     */
+    @GetMapping("/jobs/{id}")
+    public Mono<ResponseEntity<Job>> getJob(@PathVariable String id,
+                                            @RequestParam(defaultValue = "0") long wait,
+                                            Authentication authentication) {
+        return Mono.fromFuture(jobService.await(id, authentication, Duration.ofSeconds(wait)))
+                .map(job -> job.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+
+    @GetMapping("/policies")
+    public Mono<ResponseEntity<?>> getPolicyInfo(@RequestParam String policyName) {
+        logger.info("Policy query for: {}", policyName);
+
+        return hrAssistantService.getPolicyInformationReactive(policyName)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.internalServerError().body(POLICY_ERROR));
+    }
+
+
+    @GetMapping("/employee/{employeeId}")
+    public Mono<ResponseEntity<?>> getEmployeeInfo(@PathVariable String employeeId) {
+        logger.info("Employee info query for: {}", employeeId);
+
+        return hrAssistantService.getEmployeeInformationReactive(employeeId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.internalServerError().body(EMPLOYEE_ERROR));
+    }
+
+
+    @GetMapping("/benefits")
+    public Mono<ResponseEntity<?>> getBenefits(
+            @RequestParam(required = false) String employeeId) {
+        logger.info("Benefits query for employee: {}", employeeId);
+
+        return hrAssistantService.getBenefitsInformationReactive(employeeId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.internalServerError().body(BENEFITS_ERROR));
+    }
+
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<QueryResponse> handleUpstreamUnavailable(UpstreamUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(QueryResponse.error(e.getMessage()));
+    }
+}
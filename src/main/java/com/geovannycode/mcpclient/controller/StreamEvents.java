@@ -0,0 +1,42 @@
+package com.geovannycode.mcpclient.controller;
+
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+final class StreamEvents {
+
+    static final String TOKEN_EVENT = "token";
+    static final String DONE_EVENT = "done";
+    static final String ERROR_EVENT = "error";
+
+    private StreamEvents() {
+    }
+
+    static Flux<ServerSentEvent<String>> from(Flux<String> tokens, String errorMessage) {
+        return tokens
+                .map(StreamEvents::token)
+                .concatWith(Flux.just(done()))
+                .onErrorResume(e -> Flux.just(error(UpstreamUnavailableException.causeOf(e)
+                        .map(Throwable::getMessage)
+                        .orElse(errorMessage))));
+    }
+
+    static ServerSentEvent<String> token(String token) {
+        return ServerSentEvent.builder(token)
+                .event(TOKEN_EVENT)
+                .build();
+    }
+
+    static ServerSentEvent<String> done() {
+        return ServerSentEvent.builder("")
+                .event(DONE_EVENT)
+                .build();
+    }
+
+    static ServerSentEvent<String> error(String errorMessage) {
+        return ServerSentEvent.builder(errorMessage)
+                .event(ERROR_EVENT)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.geovannycode.mcpclient.job;
+
+import com.geovannycode.mcpclient.model.QueryResponse;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Estado de una consulta asíncrona. {@code result} sólo está presente en
+ * {@link Status#SUCCEEDED} y {@code error} en {@link Status#FAILED}. {@code owner} es el
+ * usuario que la envió, el único que puede consultarla.
+ */
+public record Job(
+        String id,
+        String owner,
+        Priority priority,
+        Status status,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        QueryResponse result,
+        String error
+) {
+
+    public static Job queued(String id, String owner, Priority priority, Instant now) {
+        return new Job(id, owner, priority, Status.QUEUED, now, null, null, null, null);
+    }
+
+    public Job running(Instant now) {
+        return new Job(id, owner, priority, Status.RUNNING, submittedAt, now, null, null, null);
+    }
+
+    public Job succeeded(QueryResponse result, Instant now) {
+        return new Job(id, owner, priority, Status.SUCCEEDED, submittedAt, startedAt, now, result, null);
+    }
+
+    public Job failed(String error, Instant now) {
+        return new Job(id, owner, priority, Status.FAILED, submittedAt, startedAt, now, null, error);
+    }
+
+    public boolean done() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    /**
+     * Las consultas interactivas (un usuario esperando) se atienden antes que las masivas.
+     */
+    public enum Priority {
+        INTERACTIVE,
+        BULK;
+
+        public static Optional<Priority> parse(String value) {
+            return Arrays.stream(values())
+                    .filter(priority -> priority.name().equalsIgnoreCase(value.trim()))
+                    .findFirst();
+        }
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
@@ -0,0 +1,38 @@
+package com.geovannycode.mcpclient.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Consultas asíncronas de RRHH: trabajadores, capacidad de la cola y almacén de
+ * resultados ({@code memory} o {@code file} para conservarlos entre reinicios).
+ */
+@ConfigurationProperties(prefix = "assistant.jobs")
+public record JobProperties(
+        int workers,
+        int queueCapacity,
+        int maxResults,
+        Duration ttl,
+        Duration maxWait,
+        Store store,
+        Path directory
+) {
+
+    public JobProperties {
+        workers = workers > 0 ? workers : 4;
+        queueCapacity = queueCapacity > 0 ? queueCapacity : 500;
+        maxResults = maxResults > 0 ? maxResults : 10_000;
+        ttl = Optional.ofNullable(ttl).orElse(Duration.ofHours(1));
+        maxWait = Optional.ofNullable(maxWait).orElse(Duration.ofSeconds(30));
+        store = Optional.ofNullable(store).orElse(Store.MEMORY);
+        directory = Optional.ofNullable(directory).orElse(Path.of("data", "jobs"));
+    }
+
+    public enum Store {
+        MEMORY,
+        FILE
+    }
+}
@@ -0,0 +1,253 @@
+package com.geovannycode.mcpclient.job;
+
+import com.geovannycode.mcpclient.concurrency.ConcurrencyLimitExceededException;
+import com.geovannycode.mcpclient.model.QueryRequest;
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import com.geovannycode.mcpclient.service.HRAssistantService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consultas de RRHH en segundo plano para las que superan el timeout de inactividad del
+ * balanceador. Un pool fijo de trabajadores toma las tareas de una cola con prioridad
+ * (interactivas antes que masivas, FIFO dentro de cada prioridad) y deja el resultado en
+ * {@link JobStore}. Con la cola llena se rechaza el envío en lugar de encolar sin límite.
+ */
+@Component
+public class JobService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    private static final String ENDPOINT = "hr-jobs";
+    private static final String QUEUE_DEPTH_METRIC = "hr.jobs.queue.depth";
+    private static final String SUBMITTED_METRIC = "hr.jobs.submitted";
+    private static final String REJECTED_METRIC = "hr.jobs.rejected";
+    private static final String WAIT_METRIC = "hr.jobs.wait";
+    private static final String RUN_METRIC = "hr.jobs.run";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+    private static final String FAILED_MESSAGE = "Error al procesar la consulta";
+
+    private final HRAssistantService hrAssistantService;
+    private final JobStore store;
+    private final JobProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final ThreadPoolExecutor workers;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Job.Priority, AtomicInteger> depth = new EnumMap<>(Job.Priority.class);
+    private final Map<String, CompletableFuture<Job>> completions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobService(HRAssistantService hrAssistantService, JobStore store, JobProperties properties,
+                      MeterRegistry meterRegistry) {
+        this(hrAssistantService, store, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    JobService(HRAssistantService hrAssistantService, JobStore store, JobProperties properties,
+               MeterRegistry meterRegistry, Clock clock) {
+        this.hrAssistantService = hrAssistantService;
+        this.store = store;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+
+        var threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(properties.workers(), properties.workers(),
+                0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), runnable -> {
+                    var thread = new Thread(runnable, "hr-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        workers.prestartAllCoreThreads();
+
+        for (var priority : Job.Priority.values()) {
+            var count = new AtomicInteger();
+            depth.put(priority, count);
+            Gauge.builder(QUEUE_DEPTH_METRIC, count, AtomicInteger::get)
+                    .description("Consultas asíncronas en espera de un trabajador")
+                    .tag("priority", tag(priority))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Encola la consulta y devuelve el trabajo en estado {@link Job.Status#QUEUED}. El
+     * trabajo se ejecuta con la identidad de {@code owner} (puede ser {@code null}), a la
+     * que se descuentan los tokens consumidos.
+     *
+     * @throws ConcurrencyLimitExceededException si la cola está llena
+     */
+    public Job submit(QueryRequest request, Job.Priority priority, Authentication owner) {
+        if (queued.incrementAndGet() > properties.queueCapacity()) {
+            queued.decrementAndGet();
+            meterRegistry.counter(REJECTED_METRIC, "priority", tag(priority)).increment();
+            throw new ConcurrencyLimitExceededException(ENDPOINT, RETRY_AFTER);
+        }
+
+        var job = Job.queued(UUID.randomUUID().toString(), nameOf(owner), priority, clock.instant());
+        completions.put(job.id(), new CompletableFuture<>());
+        store.save(job);
+        depth.get(priority).incrementAndGet();
+        meterRegistry.counter(SUBMITTED_METRIC, "priority", tag(priority)).increment();
+
+        var securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(owner);
+        workers.execute(new Task(job, request, securityContext, sequence.incrementAndGet(), System.nanoTime()));
+        logger.debug("Consulta asíncrona {} encolada ({})", job.id(), priority);
+        return job;
+    }
+
+    /**
+     * El trabajo sólo existe para quien lo envió: para cualquier otro usuario está vacío.
+     */
+    public Optional<Job> find(String id, Authentication caller) {
+        return store.find(id).filter(job -> Objects.equals(job.owner(), nameOf(caller)));
+    }
+
+    /**
+     * Long polling: completa en cuanto el trabajo termina o, como tarde, tras
+     * {@code wait} (acotado por {@code max-wait}) con su estado en ese momento.
+     */
+    public CompletableFuture<Optional<Job>> await(String id, Authentication caller, Duration wait) {
+        // La señal antes que el almacén: el trabajador guarda y después la retira, así que
+        // si ya no está el almacén tiene el estado final
+        var completion = completions.get(id);
+        var job = find(id, caller);
+        if (job.isEmpty() || job.get().done() || completion == null || wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(job);
+        }
+
+        var timeout = Math.min(wait.toMillis(), properties.maxWait().toMillis());
+        return completion.copy()
+                .completeOnTimeout(null, timeout, TimeUnit.MILLISECONDS)
+                .thenApply(finished -> find(id, caller).or(() -> Optional.ofNullable(finished)));
+    }
+
+    @Override
+    public void destroy() {
+        var pending = workers.shutdownNow().size();
+        if (pending > 0) {
+            logger.warn("{} consultas asíncronas en cola descartadas al parar", pending);
+        }
+    }
+
+    private void run(Task task) {
+        var priority = task.job().priority();
+        depth.get(priority).decrementAndGet();
+        queued.decrementAndGet();
+        Timer.builder(WAIT_METRIC)
+                .description("Tiempo en cola de las consultas asíncronas")
+                .tag("priority", tag(priority))
+                .register(meterRegistry)
+                .record(System.nanoTime() - task.enqueuedNanos(), TimeUnit.NANOSECONDS);
+
+        var running = task.job().running(clock.instant());
+        store.save(running);
+
+        SecurityContextHolder.setContext(task.securityContext());
+        var start = System.nanoTime();
+        Job finished;
+        try {
+            finished = hrAssistantService.processQuery(task.request())
+                    .map(response -> running.succeeded(response, clock.instant()))
+                    .orElseGet(() -> running.failed(FAILED_MESSAGE, clock.instant()));
+        } catch (RuntimeException e) {
+            logger.warn("Consulta asíncrona {} fallida", running.id(), e);
+            finished = running.failed(UpstreamUnavailableException.userMessageOf(e, FAILED_MESSAGE), clock.instant());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        Timer.builder(RUN_METRIC)
+                .description("Tiempo de ejecución de las consultas asíncronas")
+                .tag("priority", tag(priority))
+                .tag("outcome", finished.status() == Job.Status.SUCCEEDED ? "success" : "error")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        store.save(finished);
+        var completion = completions.remove(finished.id());
+        if (completion != null) {
+            completion.complete(finished);
+        }
+    }
+
+    private static String nameOf(Authentication authentication) {
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private static String tag(Job.Priority priority) {
+        return priority.name().toLowerCase();
+    }
+
+    private final class Task implements Runnable, Comparable<Task> {
+
+        private final Job job;
+        private final QueryRequest request;
+        private final SecurityContext securityContext;
+        private final long sequence;
+        private final long enqueuedNanos;
+
+        Task(Job job, QueryRequest request, SecurityContext securityContext, long sequence, long enqueuedNanos) {
+            this.job = job;
+            this.request = request;
+            this.securityContext = securityContext;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        Job job() {
+            return job;
+        }
+
+        QueryRequest request() {
+            return request;
+        }
+
+        SecurityContext securityContext() {
+            return securityContext;
+        }
+
+        long enqueuedNanos() {
+            return enqueuedNanos;
+        }
+
+        @Override
+        public void run() {
+            JobService.this.run(this);
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            var byPriority = job.priority().compareTo(other.job.priority());
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
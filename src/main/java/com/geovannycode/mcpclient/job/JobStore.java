@@ -0,0 +1,247 @@
+package com.geovannycode.mcpclient.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estado y resultado de las consultas asíncronas: LRU acotado por {@code max-results} y
+ * TTL desde la última actualización. Con {@code store: file} los trabajos terminados se
+ * escriben también en disco, un fichero JSON por trabajo, y se recargan al arrancar; los
+ * que estaban en cola o en curso se pierden con el proceso.
+ */
+@Component
+public class JobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobStore.class);
+
+    private static final String SIZE_METRIC = "hr.jobs.store.size";
+    private static final String EVICTIONS_METRIC = "hr.jobs.store.evictions";
+    private static final String EXTENSION = ".json";
+
+    private final JobProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Path directory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> jobs;
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    @Autowired
+    public JobStore(JobProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, Clock.systemUTC());
+    }
+
+    JobStore(JobProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.directory = properties.store() == JobProperties.Store.FILE
+                ? properties.directory().toAbsolutePath()
+                : null;
+        this.jobs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                var evict = size() > properties.maxResults();
+                if (evict) {
+                    deleteFile(eldest.getKey());
+                    recordEviction("size");
+                }
+                return evict;
+            }
+        };
+
+        Gauge.builder(SIZE_METRIC, this, JobStore::size)
+                .description("Consultas asíncronas almacenadas")
+                .register(meterRegistry);
+
+        if (directory != null) {
+            load();
+        }
+    }
+
+    public void save(Job job) {
+        var entry = new Entry(job, clock.millis() + properties.ttl().toMillis());
+
+        // En disco antes de publicarlo: quien lo vea terminado ya lo encuentra tras un reinicio
+        if (directory != null && job.done()) {
+            write(job);
+        }
+
+        lock.lock();
+        try {
+            jobs.put(job.id(), entry);
+        } finally {
+            lock.unlock();
+        }
+
+        sweepIfDue();
+    }
+
+    public Optional<Job> find(String id) {
+        var now = clock.millis();
+
+        lock.lock();
+        try {
+            var entry = jobs.get(id);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (entry.isExpired(now)) {
+                jobs.remove(id);
+                deleteFile(id);
+                recordEviction("ttl");
+                return Optional.empty();
+            }
+            return Optional.of(entry.job());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return jobs.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borra los trabajos caducados de memoria y de disco.
+     */
+    void sweep() {
+        var now = clock.millis();
+        var expired = new ArrayList<String>();
+
+        lock.lock();
+        try {
+            jobs.entrySet().removeIf(entry -> {
+                var isExpired = entry.getValue().isExpired(now);
+                if (isExpired) {
+                    expired.add(entry.getKey());
+                }
+                return isExpired;
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        expired.forEach(id -> {
+            deleteFile(id);
+            recordEviction("ttl");
+        });
+    }
+
+    private void sweepIfDue() {
+        var now = clock.millis();
+        var due = nextSweep.get();
+        var interval = Math.max(1_000, properties.ttl().toMillis() / 10);
+        if (now >= due && nextSweep.compareAndSet(due, now + interval)) {
+            sweep();
+        }
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de trabajos " + directory, e);
+        }
+
+        var now = clock.millis();
+        var loaded = new ArrayList<Entry>();
+        for (var file : jobFiles()) {
+            try {
+                var job = objectMapper.readValue(file.toFile(), Job.class);
+                var expiresAt = job.finishedAt().toEpochMilli() + properties.ttl().toMillis();
+                if (expiresAt > now) {
+                    loaded.add(new Entry(job, expiresAt));
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Trabajo {} ilegible, se descarta: {}", file.getFileName(), e.getMessage());
+            }
+        }
+
+        loaded.sort((a, b) -> Long.compare(a.expiresAt(), b.expiresAt()));
+        lock.lock();
+        try {
+            loaded.forEach(entry -> jobs.put(entry.job().id(), entry));
+        } finally {
+            lock.unlock();
+        }
+
+        logger.info("Resultados de consultas asíncronas en {}: {} recuperados", directory, loaded.size());
+    }
+
+    private void write(Job job) {
+        try {
+            var temp = Files.createTempFile(directory, "job", ".tmp");
+            objectMapper.writeValue(temp.toFile(), job);
+            Files.move(temp, fileFor(job.id()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("No se pudo guardar el trabajo {}: {}", job.id(), e.getMessage());
+        }
+    }
+
+    private void deleteFile(String id) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(fileFor(id));
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar el trabajo {}: {}", id, e.getMessage());
+        }
+    }
+
+    private List<Path> jobFiles() {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Los identificadores los genera {@link JobService} (UUID), nunca el cliente.
+     */
+    private Path fileFor(String id) {
+        return directory.resolve(id + EXTENSION);
+    }
+
+    private void recordEviction(String reason) {
+        meterRegistry.counter(EVICTIONS_METRIC, "reason", reason).increment();
+    }
+
+    private record Entry(Job job, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
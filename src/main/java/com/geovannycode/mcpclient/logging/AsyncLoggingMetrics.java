@@ -0,0 +1,59 @@
+package com.geovannycode.mcpclient.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.AsyncAppenderBase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publica la ocupación de la cola de cada appender asíncrono de la configuración de
+ * Logback (perfil {@code json-logs}) y los eventos que {@link CountingAsyncAppender} ha
+ * descartado; sin appenders asíncronos no registra nada.
+ */
+@Component
+public class AsyncLoggingMetrics {
+
+    private static final String QUEUE_DEPTH_METRIC = "logging.async.queue.depth";
+    private static final String QUEUE_CAPACITY_METRIC = "logging.async.queue.capacity";
+    private static final String DROPPED_METRIC = "logging.async.dropped";
+
+    public AsyncLoggingMetrics(MeterRegistry meterRegistry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(appender -> {
+            if (!(appender instanceof AsyncAppenderBase<?> async)) {
+                return;
+            }
+            Gauge.builder(QUEUE_DEPTH_METRIC, async, AsyncAppenderBase::getNumberOfElementsInQueue)
+                    .tag("appender", async.getName())
+                    .description("Eventos de log pendientes de escribir")
+                    .register(meterRegistry);
+            Gauge.builder(QUEUE_CAPACITY_METRIC, async, AsyncAppenderBase::getQueueSize)
+                    .tag("appender", async.getName())
+                    .register(meterRegistry);
+
+            if (dropped(async) >= 0) {
+                FunctionCounter.builder(DROPPED_METRIC, async, AsyncLoggingMetrics::dropped)
+                        .tag("appender", async.getName())
+                        .description("Eventos de log descartados por la cola asíncrona")
+                        .register(meterRegistry);
+            }
+        });
+    }
+
+    /**
+     * Descartes de un {@link CountingAsyncAppender}, o -1 si el appender no los cuenta.
+     */
+    private static double dropped(AsyncAppenderBase<?> appender) {
+        var counter = appender.getContext().getObject(CountingAsyncAppender.droppedKey(appender.getName()));
+        return counter instanceof LongAdder dropped ? dropped.sum() : -1;
+    }
+}
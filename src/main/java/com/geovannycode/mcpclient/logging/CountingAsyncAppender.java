@@ -0,0 +1,40 @@
+package com.geovannycode.mcpclient.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} que cuenta los eventos descartados: los de nivel INFO o inferior
+ * cuando la cola supera el umbral de descarte y, con {@code neverBlock}, cualquiera que
+ * encuentre la cola llena. La cuenta es aproximada (se comprueba la cola justo antes de
+ * encolar).
+ * <p>
+ * El contador se guarda en el contexto de Logback ({@link #droppedKey(String)}) y no en
+ * el appender, porque con DevTools la aplicación carga sus clases con otro classloader
+ * y no vería esta instancia como {@code CountingAsyncAppender}.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    static String droppedKey(String appenderName) {
+        return CountingAsyncAppender.class.getName() + ".dropped." + appenderName;
+    }
+
+    @Override
+    public void start() {
+        getContext().putObject(droppedKey(getName()), dropped);
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted() && (isQueueBelowDiscardingThreshold() && isDiscardable(event)
+                || isNeverBlock() && getRemainingCapacity() == 0)) {
+            dropped.increment();
+        }
+        super.append(event);
+    }
+}
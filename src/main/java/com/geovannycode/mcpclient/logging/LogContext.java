@@ -0,0 +1,109 @@
+package com.geovannycode.mcpclient.logging;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.integration.Slf4jThreadLocalAccessor;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Identificadores de la petición en el MDC ({@code requestId} y {@code traceId}), que el
+ * formato JSON incluye en cada línea. El {@code traceId} se toma de la cabecera W3C
+ * {@code traceparent} si el cliente la envía y el {@code requestId} de
+ * {@code X-Request-Id}; si faltan se generan. {@code logSample} es un valor aleatorio
+ * del servidor para las decisiones de muestreo de la petición, que no puede depender de
+ * un identificador elegido por el cliente.
+ * <p>
+ * Las claves se registran en el {@link ContextRegistry}, de modo que
+ * {@code ContextPropagatingTaskDecorator} y Reactor (con propagación automática) las
+ * llevan a los hilos que continúan la petición.
+ */
+public final class LogContext {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String TRACE_ID = "traceId";
+    public static final String SAMPLE = "logSample";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(new Slf4jThreadLocalAccessor(REQUEST_ID, TRACE_ID, SAMPLE));
+    }
+
+    private LogContext() {
+    }
+
+    static Map<String, String> resolve(String requestIdHeader, String traceparentHeader) {
+        var requestId = requestIdHeader != null && VALID_REQUEST_ID.matcher(requestIdHeader).matches()
+                ? requestIdHeader
+                : hex(1);
+        return Map.of(REQUEST_ID, requestId,
+                TRACE_ID, traceIdOf(traceparentHeader).orElseGet(() -> hex(2)),
+                SAMPLE, hex(1));
+    }
+
+    static Optional<String> traceIdOf(String traceparent) {
+        if (traceparent == null) {
+            return Optional.empty();
+        }
+        var matcher = TRACEPARENT.matcher(traceparent.trim());
+        return matcher.matches() && !matcher.group(1).equals(INVALID_TRACE_ID)
+                ? Optional.of(matcher.group(1))
+                : Optional.empty();
+    }
+
+    public static Optional<String> requestId() {
+        return Optional.ofNullable(MDC.get(REQUEST_ID));
+    }
+
+    public static Optional<String> sample() {
+        return Optional.ofNullable(MDC.get(SAMPLE));
+    }
+
+    /**
+     * {@link org.springframework.core.task.TaskDecorator} que copia los identificadores
+     * del hilo que envía la tarea al que la ejecuta.
+     */
+    public static Runnable propagate(Runnable task) {
+        var requestId = MDC.get(REQUEST_ID);
+        if (requestId == null) {
+            return task;
+        }
+        var traceId = MDC.get(TRACE_ID);
+        var sample = MDC.get(SAMPLE);
+        return () -> {
+            var previous = MDC.getCopyOfContextMap();
+            MDC.put(REQUEST_ID, requestId);
+            MDC.put(TRACE_ID, traceId);
+            if (sample != null) {
+                MDC.put(SAMPLE, sample);
+            }
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+
+    private static String hex(int longs) {
+        var random = ThreadLocalRandom.current();
+        var builder = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            var value = Long.toHexString(random.nextLong());
+            builder.append("0".repeat(16 - value.length())).append(value);
+        }
+        return builder.toString();
+    }
+}
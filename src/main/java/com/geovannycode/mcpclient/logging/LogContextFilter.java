@@ -0,0 +1,42 @@
+package com.geovannycode.mcpclient.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Pone los identificadores de la petición en el MDC antes que ningún otro filtro, para
+ * que también los lleven los logs de autenticación, y devuelve el {@code X-Request-Id}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LogContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        var ids = LogContext.resolve(request.getHeader(LogContext.REQUEST_ID_HEADER),
+                request.getHeader(LogContext.TRACEPARENT_HEADER));
+        response.setHeader(LogContext.REQUEST_ID_HEADER, ids.get(LogContext.REQUEST_ID));
+
+        ids.forEach(MDC::put);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(LogContext.REQUEST_ID);
+            MDC.remove(LogContext.TRACE_ID);
+            MDC.remove(LogContext.SAMPLE);
+        }
+    }
+}
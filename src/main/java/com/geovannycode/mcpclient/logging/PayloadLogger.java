@@ -0,0 +1,84 @@
+package com.geovannycode.mcpclient.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registra prompts y respuestas sólo para una muestra de las peticiones y recortados, en
+ * lugar de volcar el texto completo de todas. La decisión se deriva del valor aleatorio
+ * {@code logSample} de la petición (no del {@code requestId}, que elige el cliente), así
+ * que el prompt y la respuesta de una misma petición se registran juntos; fuera de una
+ * petición HTTP se decide al azar en cada llamada.
+ * <p>
+ * Usa su propio logger ({@code com.geovannycode.mcpclient.payload}) a nivel INFO: se
+ * puede silenciar por completo sin tocar el resto de logs del servicio.
+ */
+@Component
+public class PayloadLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.geovannycode.mcpclient.payload");
+
+    private static final int SAMPLE_RESOLUTION = 10_000;
+
+    private final PayloadLoggingProperties properties;
+    private final int threshold;
+
+    public PayloadLogger(PayloadLoggingProperties properties) {
+        this.properties = properties;
+        this.threshold = (int) Math.round(properties.sampleRate() * SAMPLE_RESOLUTION);
+    }
+
+    public void prompt(String operation, String text) {
+        if (sampled()) {
+            logger.atInfo()
+                    .addKeyValue("operation", operation)
+                    .addKeyValue("chars", text.length())
+                    .log("Prompt ({}): {}", operation, truncate(text));
+        }
+    }
+
+    public void prompt(String operation, String text, Object context) {
+        if (sampled()) {
+            logger.atInfo()
+                    .addKeyValue("operation", operation)
+                    .addKeyValue("chars", text.length())
+                    .log("Prompt ({}): {} - {}", operation, truncate(text), truncate(String.valueOf(context)));
+        }
+    }
+
+    public void response(String operation, String text) {
+        if (sampled()) {
+            logger.atInfo()
+                    .addKeyValue("operation", operation)
+                    .addKeyValue("chars", text.length())
+                    .log("Respuesta generada ({}): {}", operation, truncate(text));
+        }
+    }
+
+    /**
+     * Texto recortado a {@code max-chars} para los logs que no pasan por el muestreo
+     * (p. ej. errores).
+     */
+    public String truncate(String text) {
+        if (text == null || text.length() <= properties.maxChars()) {
+            return text;
+        }
+        return text.substring(0, properties.maxChars()) + "… (+" + (text.length() - properties.maxChars()) + " caracteres)";
+    }
+
+    boolean sampled() {
+        if (threshold == 0 || !logger.isInfoEnabled()) {
+            return false;
+        }
+        if (threshold >= SAMPLE_RESOLUTION) {
+            return true;
+        }
+        var bucket = LogContext.sample()
+                .map(sample -> Math.floorMod(sample.hashCode(), SAMPLE_RESOLUTION))
+                .orElseGet(() -> ThreadLocalRandom.current().nextInt(SAMPLE_RESOLUTION));
+        return bucket < threshold;
+    }
+}
@@ -0,0 +1,21 @@
+package com.geovannycode.mcpclient.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Optional;
+
+/**
+ * Registro de prompts y respuestas completos: sólo la fracción {@code sample-rate} de las
+ * peticiones (0 lo desactiva, 1 las registra todas) y recortados a {@code max-chars}.
+ */
+@ConfigurationProperties(prefix = "assistant.logging.payload")
+public record PayloadLoggingProperties(
+        Double sampleRate,
+        int maxChars
+) {
+
+    public PayloadLoggingProperties {
+        sampleRate = Math.min(1, Math.max(0, Optional.ofNullable(sampleRate).orElse(0.01)));
+        maxChars = maxChars > 0 ? maxChars : 500;
+    }
+}
@@ -0,0 +1,32 @@
+package com.geovannycode.mcpclient.logging;
+
+import io.micrometer.context.integration.Slf4jThreadLocalAccessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Equivalente WebFlux de {@link LogContextFilter}: los identificadores viajan en el
+ * contexto de Reactor y llegan al MDC con {@code spring.reactor.context-propagation=auto}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveLogContextFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var headers = exchange.getRequest().getHeaders();
+        var ids = LogContext.resolve(headers.getFirst(LogContext.REQUEST_ID_HEADER),
+                headers.getFirst(LogContext.TRACEPARENT_HEADER));
+        exchange.getResponse().getHeaders().set(LogContext.REQUEST_ID_HEADER, ids.get(LogContext.REQUEST_ID));
+
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(Slf4jThreadLocalAccessor.KEY, ids));
+    }
+}
@@ -0,0 +1,35 @@
+package com.geovannycode.mcpclient.mcp;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code OUT_OF_SERVICE} hasta que termina el descubrimiento de herramientas MCP. Forma
+ * parte del grupo {@code readiness}: la instancia no recibe tráfico hasta tener sus
+ * herramientas, pero la sonda de liveness no se ve afectada.
+ */
+@Component
+public class McpHealthIndicator implements HealthIndicator {
+
+    private final McpToolsInitializer initializer;
+
+    public McpHealthIndicator(McpToolsInitializer initializer) {
+        this.initializer = initializer;
+    }
+
+    @Override
+    public Health health() {
+        var ready = initializer.ready().getNow(null);
+        if (ready != null) {
+            return Health.up()
+                    .withDetail("tools", ready.tools())
+                    .withDetail("readyAfterMs", ready.sinceJvmStart().toMillis())
+                    .build();
+        }
+
+        var builder = Health.outOfService().withDetail("attempts", initializer.attempts());
+        initializer.lastError().ifPresent(error -> builder.withDetail("lastError", error));
+        return builder.build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.geovannycode.mcpclient.mcp;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "assistant.mcp.startup")
+public record McpStartupProperties(
+        boolean background,
+        Duration retryBackoff,
+        Duration maxRetryBackoff
+) {
+
+    public McpStartupProperties {
+        retryBackoff = Optional.ofNullable(retryBackoff).orElse(Duration.ofSeconds(1));
+        maxRetryBackoff = Optional.ofNullable(maxRetryBackoff).orElse(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,140 @@
+package com.geovannycode.mcpclient.mcp;
+
+import com.geovannycode.mcpclient.tool.McpToolCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Descubre las herramientas MCP, lo que arranca los procesos STDIO y completa el
+ * handshake de cada conexión. En modo {@code background} se hace tras abrir el puerto
+ * HTTP, reintentando con backoff exponencial; hasta entonces el componente de salud
+ * {@code mcp} queda fuera de servicio y con él el grupo {@code readiness}.
+ */
+@Component
+public class McpToolsInitializer implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpToolsInitializer.class);
+
+    private final McpToolCallbacks mcpToolCallbacks;
+    private final McpStartupProperties properties;
+    private final Environment environment;
+    private final Sleeper sleeper;
+    private final CompletableFuture<Ready> ready = new CompletableFuture<>();
+
+    private volatile int attempts;
+    private volatile String lastError;
+    private volatile boolean closed;
+
+    @Autowired
+    public McpToolsInitializer(McpToolCallbacks mcpToolCallbacks,
+                               McpStartupProperties properties,
+                               Environment environment) {
+        this(mcpToolCallbacks, properties, environment, backoff -> Thread.sleep(backoff.toMillis()));
+    }
+
+    McpToolsInitializer(McpToolCallbacks mcpToolCallbacks,
+                        McpStartupProperties properties,
+                        Environment environment,
+                        Sleeper sleeper) {
+        this.mcpToolCallbacks = mcpToolCallbacks;
+        this.properties = properties;
+        this.environment = environment;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.background()) {
+            discover();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.background() || ready.isDone()) {
+            return;
+        }
+
+        var executor = new SimpleAsyncTaskExecutor("mcp-init-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setDaemon(true);
+        executor.execute(this::discoverWithRetry);
+        logger.info("Inicializando conexiones MCP en segundo plano");
+    }
+
+    public CompletableFuture<Ready> ready() {
+        return ready;
+    }
+
+    public int attempts() {
+        return attempts;
+    }
+
+    public Optional<String> lastError() {
+        return Optional.ofNullable(lastError);
+    }
+
+    private void discoverWithRetry() {
+        var backoff = properties.retryBackoff();
+
+        while (!closed) {
+            try {
+                discover();
+                return;
+            } catch (RuntimeException e) {
+                lastError = e.getMessage();
+                logger.warn("Descubrimiento de herramientas MCP fallido (intento {}), reintento en {} ms: {}",
+                        attempts, backoff.toMillis(), e.getMessage());
+            }
+
+            try {
+                sleeper.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2);
+            if (backoff.compareTo(properties.maxRetryBackoff()) > 0) {
+                backoff = properties.maxRetryBackoff();
+            }
+        }
+    }
+
+    private void discover() {
+        attempts++;
+        var tools = mcpToolCallbacks.refresh();
+        lastError = null;
+        ready.complete(new Ready(tools.size(), attempts,
+                Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime())));
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+    }
+
+    interface Sleeper {
+
+        void sleep(Duration backoff) throws InterruptedException;
+    }
+
+    /**
+     * @param sinceJvmStart tiempo desde el arranque de la JVM hasta tener las herramientas
+     */
+    public record Ready(int tools, int attempts, Duration sinceJvmStart) {
+    }
+}
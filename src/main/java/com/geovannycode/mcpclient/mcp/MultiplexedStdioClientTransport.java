@@ -0,0 +1,63 @@
+package com.geovannycode.mcpclient.mcp;
+
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.client.transport.StdioClientTransport;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transporte STDIO que admite varias peticiones en curso desde distintos hilos.
+ * <p>
+ * {@link StdioClientTransport} encola los mensajes salientes en un sink unicast que
+ * rechaza emisiones concurrentes ("Failed to enqueue message"). Serializar sólo la
+ * escritura basta: las respuestas se correlacionan por {@code id} JSON-RPC en la
+ * sesión MCP, así que varias llamadas pueden esperar respuesta a la vez sobre el
+ * mismo proceso.
+ */
+class MultiplexedStdioClientTransport extends StdioClientTransport {
+
+    private static final VarHandle PROCESS = processField();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    MultiplexedStdioClientTransport(ServerParameters params, McpJsonMapper jsonMapper) {
+        super(params, jsonMapper);
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+        writeLock.lock();
+        try {
+            return super.sendMessage(message);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Proceso lanzado por este transporte, disponible tras {@code connect}. El SDK no lo
+     * expone; si el campo no es accesible se devuelve vacío y la caída sólo se detecta
+     * con el {@code ping} periódico.
+     */
+    Optional<ProcessHandle> process() {
+        if (PROCESS == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((Process) PROCESS.getVolatile(this)).map(Process::toHandle);
+    }
+
+    private static VarHandle processField() {
+        try {
+            return MethodHandles.privateLookupIn(StdioClientTransport.class, MethodHandles.lookup())
+                    .findVarHandle(StdioClientTransport.class, "process", Process.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
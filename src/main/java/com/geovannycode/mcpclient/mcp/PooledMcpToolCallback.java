@@ -0,0 +1,44 @@
+package com.geovannycode.mcpclient.mcp;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+public class PooledMcpToolCallback implements ToolCallback {
+
+    private final StdioMcpClientPool pool;
+    private final String toolName;
+    private final ToolDefinition toolDefinition;
+
+    public PooledMcpToolCallback(StdioMcpClientPool pool, McpSchema.Tool tool) {
+        this.pool = pool;
+        this.toolName = tool.name();
+        this.toolDefinition = DefaultToolDefinition.builder()
+                .name(tool.name())
+                .description(tool.description())
+                .inputSchema(ModelOptionsUtils.toJsonString(tool.inputSchema()))
+                .build();
+    }
+
+    public String connectionName() {
+        return pool.connectionName();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return toolDefinition;
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return pool.call(toolName, toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return pool.call(toolName, toolInput, toolContext);
+    }
+}
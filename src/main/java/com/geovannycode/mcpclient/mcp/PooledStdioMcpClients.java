@@ -0,0 +1,40 @@
+package com.geovannycode.mcpclient.mcp;
+
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Expone las herramientas de todos los pools STDIO como un {@link ToolCallbackProvider},
+ * de forma que se registran en el ChatClient igual que las conexiones MCP estándar.
+ */
+public class PooledStdioMcpClients implements ToolCallbackProvider, AutoCloseable {
+
+    private final List<StdioMcpClientPool> pools;
+    private final ScheduledExecutorService scheduler;
+
+    public PooledStdioMcpClients(List<StdioMcpClientPool> pools, ScheduledExecutorService scheduler) {
+        this.pools = List.copyOf(pools);
+        this.scheduler = scheduler;
+    }
+
+    public void start() {
+        pools.forEach(StdioMcpClientPool::start);
+    }
+
+    @Override
+    public ToolCallback[] getToolCallbacks() {
+        return pools.stream()
+                .flatMap(pool -> pool.tools().stream()
+                        .map(tool -> new PooledMcpToolCallback(pool, tool)))
+                .toArray(ToolCallback[]::new);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        pools.forEach(StdioMcpClientPool::close);
+    }
+}
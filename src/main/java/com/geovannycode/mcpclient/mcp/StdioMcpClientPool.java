@@ -0,0 +1,304 @@
+package com.geovannycode.mcpclient.mcp;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.SyncMcpToolCallback;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Pool de procesos servidor STDIO para una conexión MCP.
+ * <p>
+ * Cada miembro es un proceso con su propio {@link McpSyncClient}; la sesión MCP ya
+ * multiplexa las peticiones por {@code id} JSON-RPC, así que un miembro admite varias
+ * llamadas en curso. Las llamadas se enrutan al miembro sano con menos peticiones
+ * pendientes. La caída de un proceso se detecta al terminar (o con un {@code ping}
+ * periódico si deja de responder); se reemplaza en segundo plano y el nuevo proceso sólo
+ * recibe tráfico cuando ha completado {@code initialize} y {@code tools/list}.
+ */
+public class StdioMcpClientPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StdioMcpClientPool.class);
+
+    private static final String OUTSTANDING_METRIC = "mcp.pool.outstanding";
+    private static final String HEALTHY_METRIC = "mcp.pool.healthy";
+    private static final String UTILIZATION_METRIC = "mcp.pool.utilization";
+    private static final String RESTARTS_METRIC = "mcp.pool.restarts";
+
+    private final String connectionName;
+    private final StdioPoolProperties.Connection connection;
+    private final StdioPoolProperties properties;
+    private final McpSchema.Implementation clientInfo;
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReferenceArray<Member> members;
+
+    private volatile List<McpSchema.Tool> tools = List.of();
+    private volatile boolean closed;
+
+    public StdioMcpClientPool(String connectionName,
+                              StdioPoolProperties.Connection connection,
+                              StdioPoolProperties properties,
+                              McpSchema.Implementation clientInfo,
+                              ScheduledExecutorService scheduler,
+                              MeterRegistry meterRegistry) {
+        this.connectionName = connectionName;
+        this.connection = connection;
+        this.properties = properties;
+        this.clientInfo = clientInfo;
+        this.scheduler = scheduler;
+        this.meterRegistry = meterRegistry;
+        this.members = new AtomicReferenceArray<>(properties.size());
+    }
+
+    public void start() {
+        for (int slot = 0; slot < members.length(); slot++) {
+            members.set(slot, warmUp(slot));
+            registerOutstandingGauge(slot);
+        }
+
+        Gauge.builder(HEALTHY_METRIC, this, StdioMcpClientPool::healthyMembers)
+                .description("Procesos MCP sanos en el pool")
+                .tag("connection", connectionName)
+                .register(meterRegistry);
+        Gauge.builder(UTILIZATION_METRIC, this, StdioMcpClientPool::utilization)
+                .description("Fracción de procesos MCP con peticiones en curso")
+                .tag("connection", connectionName)
+                .register(meterRegistry);
+
+        var interval = properties.healthCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+
+        logger.info("Pool STDIO '{}' iniciado con {} procesos y {} herramientas",
+                connectionName, members.length(), tools.size());
+    }
+
+    public String connectionName() {
+        return connectionName;
+    }
+
+    public List<McpSchema.Tool> tools() {
+        return tools;
+    }
+
+    /**
+     * Si el proceso muere durante la llamada, se repite en otro miembro sano: o no llegó a
+     * ejecutarse o su resultado se perdió con el proceso. Los errores de la herramienta en
+     * un proceso vivo se propagan sin reintentar.
+     */
+    public String call(String toolName, String toolInput, ToolContext toolContext) {
+        for (int attempt = 1; ; attempt++) {
+            var member = leastOutstanding();
+            try {
+                return member.call(toolName, toolInput, toolContext);
+            } catch (RuntimeException e) {
+                if (member.isAlive()) {
+                    throw e;
+                }
+                markFailed(member, "terminó");
+                if (attempt >= members.length() || healthyMembers() == 0) {
+                    throw e;
+                }
+                logger.warn("Proceso MCP {}#{} caído durante {}, reintentando en otro proceso",
+                        connectionName, member.slot, toolName);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (int slot = 0; slot < members.length(); slot++) {
+            var member = members.getAndSet(slot, null);
+            if (member != null) {
+                member.close();
+            }
+        }
+    }
+
+    private Member leastOutstanding() {
+        Member selected = null;
+        for (int slot = 0; slot < members.length(); slot++) {
+            var member = members.get(slot);
+            if (member != null && member.healthy.get()
+                    && (selected == null || member.outstanding.get() < selected.outstanding.get())) {
+                selected = member;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("No hay procesos MCP disponibles para " + connectionName);
+        }
+        return selected;
+    }
+
+    private Member warmUp(int slot) {
+        var transport = new MultiplexedStdioClientTransport(connection.toServerParameters(), McpJsonMapper.getDefault());
+        var client = McpClient.sync(transport)
+                .clientInfo(clientInfo)
+                .requestTimeout(properties.requestTimeout())
+                .build();
+
+        client.initialize();
+        var process = transport.process();
+        if (process.isEmpty()) {
+            logger.warn("Proceso MCP {}#{} sin handle: la caída se detectará con el ping", connectionName, slot);
+        }
+
+        var member = initializeMember(slot, client, process.orElse(null));
+        process.ifPresent(handle -> handle.onExit().thenRun(() -> markFailed(member, "terminó")));
+        return member;
+    }
+
+    private Member initializeMember(int slot, McpSyncClient client, ProcessHandle process) {
+        var listedTools = client.listTools().tools();
+        tools = listedTools;
+
+        var callbacks = listedTools.stream()
+                .collect(Collectors.toUnmodifiableMap(McpSchema.Tool::name, tool -> SyncMcpToolCallback.builder()
+                        .mcpClient(client)
+                        .tool(tool)
+                        .prefixedToolName(tool.name())
+                        .build()));
+
+        logger.debug("Proceso MCP {}#{} listo", connectionName, slot);
+        return new Member(slot, client, process, callbacks);
+    }
+
+    private void checkHealth() {
+        for (int slot = 0; slot < members.length(); slot++) {
+            var member = members.get(slot);
+            if (member != null && member.healthy.get() && member.outstanding.get() == 0) {
+                verify(member);
+            }
+        }
+    }
+
+    private void verify(Member member) {
+        try {
+            member.client.ping();
+        } catch (RuntimeException e) {
+            markFailed(member, "no responde");
+        }
+    }
+
+    private void markFailed(Member member, String reason) {
+        if (!closed && member.healthy.compareAndSet(true, false)) {
+            logger.warn("Proceso MCP {}#{} {}, reiniciando", connectionName, member.slot, reason);
+            scheduler.execute(() -> replace(member));
+        }
+    }
+
+    private void replace(Member failed) {
+        if (closed) {
+            return;
+        }
+        try {
+            var replacement = warmUp(failed.slot);
+            if (members.compareAndSet(failed.slot, failed, replacement)) {
+                meterRegistry.counter(RESTARTS_METRIC, "connection", connectionName).increment();
+                logger.info("Proceso MCP {}#{} reiniciado", connectionName, failed.slot);
+            } else {
+                replacement.close();
+            }
+        } catch (RuntimeException e) {
+            logger.error("No se pudo reiniciar el proceso MCP {}#{}, reintentando", connectionName, failed.slot, e);
+            scheduler.schedule(() -> replace(failed),
+                    properties.healthCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        failed.close();
+    }
+
+    private void registerOutstandingGauge(int slot) {
+        Gauge.builder(OUTSTANDING_METRIC, members, array -> {
+                    var member = array.get(slot);
+                    return member == null ? 0 : member.outstanding.get();
+                })
+                .description("Peticiones MCP en curso por proceso")
+                .tags(Tags.of("connection", connectionName, "member", String.valueOf(slot)))
+                .register(meterRegistry);
+    }
+
+    private int healthyMembers() {
+        var healthy = 0;
+        for (int slot = 0; slot < members.length(); slot++) {
+            var member = members.get(slot);
+            if (member != null && member.healthy.get()) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    private double utilization() {
+        var busy = 0;
+        for (int slot = 0; slot < members.length(); slot++) {
+            var member = members.get(slot);
+            if (member != null && member.outstanding.get() > 0) {
+                busy++;
+            }
+        }
+        return (double) busy / members.length();
+    }
+
+    private static final class Member implements AutoCloseable {
+
+        private final int slot;
+        private final McpSyncClient client;
+        private final ProcessHandle process;
+        private final Map<String, SyncMcpToolCallback> callbacks;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicBoolean healthy = new AtomicBoolean(true);
+
+        Member(int slot, McpSyncClient client, ProcessHandle process, Map<String, SyncMcpToolCallback> callbacks) {
+            this.slot = slot;
+            this.client = client;
+            this.process = process;
+            this.callbacks = callbacks;
+        }
+
+        String call(String toolName, String toolInput, ToolContext toolContext) {
+            var callback = callbacks.get(toolName);
+            if (callback == null) {
+                throw new IllegalArgumentException("Herramienta desconocida: " + toolName);
+            }
+            outstanding.incrementAndGet();
+            try {
+                return toolContext != null
+                        ? callback.call(toolInput, toolContext)
+                        : callback.call(toolInput);
+            } finally {
+                outstanding.decrementAndGet();
+            }
+        }
+
+        boolean isAlive() {
+            return process == null || process.isAlive();
+        }
+
+        @Override
+        public void close() {
+            healthy.set(false);
+            try {
+                client.closeGracefully();
+            } catch (RuntimeException e) {
+                logger.debug("Error al cerrar el proceso MCP #{}", slot, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.geovannycode.mcpclient.mcp;
+
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "assistant.mcp.stdio-pool")
+public record StdioPoolProperties(
+        boolean enabled,
+        int size,
+        Duration requestTimeout,
+        Duration healthCheckInterval,
+        Map<String, Connection> connections
+) {
+
+    public StdioPoolProperties {
+        size = size > 0 ? size : 4;
+        requestTimeout = Optional.ofNullable(requestTimeout).orElse(Duration.ofSeconds(20));
+        healthCheckInterval = Optional.ofNullable(healthCheckInterval).orElse(Duration.ofSeconds(15));
+        connections = Optional.ofNullable(connections).map(Map::copyOf).orElse(Map.of());
+    }
+
+    public record Connection(String command, List<String> args, Map<String, String> env) {
+
+        public ServerParameters toServerParameters() {
+            return ServerParameters.builder(command)
+                    .args(Optional.ofNullable(args).orElse(List.of()))
+                    .env(Optional.ofNullable(env).orElse(Map.of()))
+                    .build();
+        }
+    }
+}
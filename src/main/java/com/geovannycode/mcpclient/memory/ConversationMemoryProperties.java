@@ -0,0 +1,32 @@
+package com.geovannycode.mcpclient.memory;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "assistant.memory")
+public record ConversationMemoryProperties(
+        Store store,
+        Path directory,
+        int maxTokens,
+        int summaryMaxTokens,
+        int maxSessions,
+        Duration ttl
+) {
+
+    public ConversationMemoryProperties {
+        store = Optional.ofNullable(store).orElse(Store.MEMORY);
+        directory = Optional.ofNullable(directory).orElse(Path.of("data", "sessions"));
+        maxTokens = maxTokens > 0 ? maxTokens : 2_000;
+        summaryMaxTokens = summaryMaxTokens > 0 ? Math.min(summaryMaxTokens, maxTokens / 2) : maxTokens / 5;
+        maxSessions = maxSessions > 0 ? maxSessions : 10_000;
+        ttl = Optional.ofNullable(ttl).orElse(Duration.ofMinutes(30));
+    }
+
+    public enum Store {
+        MEMORY,
+        FILE
+    }
+}
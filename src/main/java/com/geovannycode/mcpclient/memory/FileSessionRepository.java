@@ -0,0 +1,231 @@
+package com.geovannycode.mcpclient.memory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Sesiones persistidas en disco, un fichero JSON por conversación, para que sobrevivan
+ * a reinicios sin ocupar heap. La fecha de modificación del fichero hace de último
+ * acceso: las sesiones inactivas más allá del TTL y las más antiguas por encima de
+ * {@code max-sessions} se borran en un barrido periódico.
+ */
+public class FileSessionRepository implements ChatMemoryRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSessionRepository.class);
+
+    private static final String EXTENSION = ".json";
+
+    private final ConversationMemoryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public FileSessionRepository(ConversationMemoryProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    FileSessionRepository(ConversationMemoryProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.directory = properties.directory().toAbsolutePath();
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de sesiones " + directory, e);
+        }
+
+        Gauge.builder(InMemorySessionRepository.SESSIONS_METRIC, this, repository -> repository.sessionFiles().size())
+                .description("Sesiones de conversación activas")
+                .tag("store", "file")
+                .register(meterRegistry);
+
+        logger.info("Sesiones de conversación persistidas en {}", directory);
+    }
+
+    @Override
+    public List<String> findConversationIds() {
+        return sessionFiles().stream()
+                .filter(file -> !isExpired(file))
+                .map(FileSessionRepository::conversationId)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+        var file = fileFor(conversationId);
+
+        try {
+            if (isExpired(file)) {
+                Files.deleteIfExists(file);
+                recordEviction("ttl");
+                return List.of();
+            }
+
+            var stored = objectMapper.readValue(Files.readAllBytes(file), StoredMessage[].class);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(clock.millis()));
+
+            return Stream.of(stored)
+                    .map(StoredMessage::toMessage)
+                    .flatMap(Optional::stream)
+                    .toList();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            logger.warn("Sesión {} ilegible, se descarta: {}", conversationId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+        var file = fileFor(conversationId);
+        var stored = messages.stream()
+                .map(StoredMessage::from)
+                .flatMap(Optional::stream)
+                .toList();
+
+        try {
+            var temp = Files.createTempFile(directory, "session", ".tmp");
+            objectMapper.writeValue(temp.toFile(), stored);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar la sesión " + conversationId, e);
+        }
+
+        sweepIfDue();
+    }
+
+    @Override
+    public void deleteByConversationId(String conversationId) {
+        try {
+            Files.deleteIfExists(fileFor(conversationId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo borrar la sesión " + conversationId, e);
+        }
+    }
+
+    /**
+     * Borra sesiones caducadas y, si se supera {@code max-sessions}, las de acceso más antiguo.
+     */
+    void sweep() {
+        var files = sessionFiles().stream()
+                .sorted(Comparator.comparingLong(FileSessionRepository::lastModified).reversed())
+                .toList();
+
+        for (int i = 0; i < files.size(); i++) {
+            var file = files.get(i);
+            var reason = isExpired(file) ? "ttl" : i >= properties.maxSessions() ? "size" : null;
+            if (reason != null) {
+                try {
+                    Files.deleteIfExists(file);
+                    recordEviction(reason);
+                } catch (IOException e) {
+                    logger.warn("No se pudo borrar la sesión {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void sweepIfDue() {
+        var now = clock.millis();
+        var due = nextSweep.get();
+        var interval = Math.max(1_000, properties.ttl().toMillis() / 10);
+        if (now >= due && nextSweep.compareAndSet(due, now + interval)) {
+            sweep();
+        }
+    }
+
+    private List<Path> sessionFiles() {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isExpired(Path file) {
+        var modified = lastModified(file);
+        return modified > 0 && clock.millis() - modified >= properties.ttl().toMillis();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * El identificador se codifica en Base64 URL-safe: es reversible y evita que un
+     * {@code sessionId} con separadores de ruta escape del directorio.
+     */
+    private Path fileFor(String conversationId) {
+        var encoded = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conversationId.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(encoded + EXTENSION);
+    }
+
+    private static Optional<String> conversationId(Path file) {
+        var name = file.getFileName().toString();
+        try {
+            var decoded = Base64.getUrlDecoder().decode(name.substring(0, name.length() - EXTENSION.length()));
+            return Optional.of(new String(decoded, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void recordEviction(String reason) {
+        meterRegistry.counter(InMemorySessionRepository.EVICTIONS_METRIC, "store", "file", "reason", reason).increment();
+    }
+
+    record StoredMessage(MessageType type, String text) {
+
+        static Optional<StoredMessage> from(Message message) {
+            return switch (message.getMessageType()) {
+                case USER, ASSISTANT, SYSTEM -> Optional.of(new StoredMessage(message.getMessageType(), message.getText()));
+                default -> Optional.empty();
+            };
+        }
+
+        Optional<Message> toMessage() {
+            return switch (type) {
+                case USER -> Optional.of(new UserMessage(text));
+                case ASSISTANT -> Optional.of(new AssistantMessage(text));
+                case SYSTEM -> Optional.of(new SystemMessage(text));
+                default -> Optional.empty();
+            };
+        }
+    }
+}
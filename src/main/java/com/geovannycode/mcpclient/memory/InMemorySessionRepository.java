@@ -0,0 +1,123 @@
+package com.geovannycode.mcpclient.memory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sesiones en heap con expulsión LRU (por número de sesiones) y TTL de inactividad.
+ */
+public class InMemorySessionRepository implements ChatMemoryRepository {
+
+    static final String SESSIONS_METRIC = "chat.memory.sessions";
+    static final String EVICTIONS_METRIC = "chat.memory.evictions";
+
+    private final ConversationMemoryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Session> sessions;
+
+    public InMemorySessionRepository(ConversationMemoryProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    InMemorySessionRepository(ConversationMemoryProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+                var evict = size() > properties.maxSessions();
+                if (evict) {
+                    recordEviction("size");
+                }
+                return evict;
+            }
+        };
+
+        Gauge.builder(SESSIONS_METRIC, this, repository -> repository.findConversationIds().size())
+                .description("Sesiones de conversación activas")
+                .tag("store", "memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<String> findConversationIds() {
+        var now = clock.millis();
+
+        lock.lock();
+        try {
+            return sessions.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isExpired(now, properties.ttl().toMillis()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+        var now = clock.millis();
+
+        lock.lock();
+        try {
+            var session = sessions.get(conversationId);
+            if (session == null) {
+                return List.of();
+            }
+            if (session.isExpired(now, properties.ttl().toMillis())) {
+                sessions.remove(conversationId);
+                recordEviction("ttl");
+                return List.of();
+            }
+            sessions.put(conversationId, new Session(session.messages(), now));
+            return session.messages();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+        var session = new Session(List.copyOf(messages), clock.millis());
+
+        lock.lock();
+        try {
+            sessions.put(conversationId, session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteByConversationId(String conversationId) {
+        lock.lock();
+        try {
+            sessions.remove(conversationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordEviction(String reason) {
+        meterRegistry.counter(EVICTIONS_METRIC, "store", "memory", "reason", reason).increment();
+    }
+
+    private record Session(List<Message> messages, long lastAccess) {
+
+        boolean isExpired(long now, long ttlMillis) {
+            return now - lastAccess >= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.geovannycode.mcpclient.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ChatMemory} con un presupuesto máximo de tokens por sesión. Cuando el historial
+ * lo supera, los turnos más antiguos se pliegan en un mensaje de sistema con un resumen
+ * extractivo (rol y comienzo de cada mensaje) y, si el resumen también excede su cuota,
+ * se descartan sus líneas más antiguas. El último mensaje se conserva siempre.
+ */
+public class TokenBudgetChatMemory implements ChatMemory {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBudgetChatMemory.class);
+
+    static final String SUMMARY_HEADER = "Resumen de la conversación anterior:";
+
+    private static final String COMPACTIONS_METRIC = "chat.memory.compactions";
+    private static final int SUMMARY_LINE_CHARS = 160;
+    private static final int LOCK_STRIPES = 64;
+
+    private final ChatMemoryRepository repository;
+    private final TokenCountEstimator tokenCountEstimator;
+    private final ConversationMemoryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public TokenBudgetChatMemory(ChatMemoryRepository repository,
+                                 TokenCountEstimator tokenCountEstimator,
+                                 ConversationMemoryProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.tokenCountEstimator = tokenCountEstimator;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        var lock = lockFor(conversationId);
+        lock.lock();
+        try {
+            var history = new ArrayList<>(repository.findByConversationId(conversationId));
+            history.addAll(messages);
+            repository.saveAll(conversationId, compact(conversationId, history));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        return repository.findByConversationId(conversationId);
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        repository.deleteByConversationId(conversationId);
+    }
+
+    List<Message> compact(String conversationId, List<Message> history) {
+        var summaryLines = new ArrayDeque<String>();
+        var turns = new ArrayDeque<Message>(history.size());
+
+        for (var message : history) {
+            if (isSummary(message)) {
+                message.getText().lines().skip(1).forEach(summaryLines::addLast);
+            } else {
+                turns.addLast(message);
+            }
+        }
+
+        var turnTokens = turns.stream().mapToInt(this::tokens).sum();
+        if (turnTokens + tokens(summaryLines) <= properties.maxTokens()) {
+            return history;
+        }
+
+        var folded = 0;
+        while (turns.size() > 1 && turnTokens + tokens(summaryLines) > properties.maxTokens()) {
+            var oldest = turns.removeFirst();
+            turnTokens -= tokens(oldest);
+            summaryLines.addLast(summaryLine(oldest));
+            folded++;
+
+            while (!summaryLines.isEmpty() && tokens(summaryLines) > properties.summaryMaxTokens()) {
+                summaryLines.removeFirst();
+            }
+        }
+
+        meterRegistry.counter(COMPACTIONS_METRIC).increment();
+        logger.debug("Sesión {} compactada: {} mensajes resumidos, {} tokens en turnos recientes",
+                conversationId, folded, turnTokens);
+
+        var compacted = new ArrayList<Message>(turns.size() + 1);
+        if (!summaryLines.isEmpty()) {
+            compacted.add(new SystemMessage(summaryText(summaryLines)));
+        }
+        compacted.addAll(turns);
+        return compacted;
+    }
+
+    private int tokens(Message message) {
+        var text = message.getText();
+        return text == null ? 0 : tokenCountEstimator.estimate(text);
+    }
+
+    private int tokens(Deque<String> summaryLines) {
+        return summaryLines.isEmpty() ? 0 : tokenCountEstimator.estimate(summaryText(summaryLines));
+    }
+
+    private static boolean isSummary(Message message) {
+        return message.getMessageType() == MessageType.SYSTEM
+                && message.getText() != null
+                && message.getText().startsWith(SUMMARY_HEADER);
+    }
+
+    private static String summaryText(Deque<String> summaryLines) {
+        return SUMMARY_HEADER + "\n" + String.join("\n", summaryLines);
+    }
+
+    private static String summaryLine(Message message) {
+        var role = switch (message.getMessageType()) {
+            case USER -> "usuario";
+            case SYSTEM -> "sistema";
+            default -> "asistente";
+        };
+        var text = message.getText() == null ? "" : message.getText().replaceAll("\\s+", " ").strip();
+        if (text.length() > SUMMARY_LINE_CHARS) {
+            text = text.substring(0, SUMMARY_LINE_CHARS) + "…";
+        }
+        return "- " + role + ": " + text;
+    }
+
+    private ReentrantLock lockFor(String conversationId) {
+        return locks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+    }
+}
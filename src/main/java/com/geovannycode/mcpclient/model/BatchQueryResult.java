@@ -0,0 +1,19 @@
+package com.geovannycode.mcpclient.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchQueryResult(
+        int index,
+        QueryResponse result,
+        String error
+) {
+
+    public static BatchQueryResult success(int index, QueryResponse result) {
+        return new BatchQueryResult(index, result, null);
+    }
+
+    public static BatchQueryResult failure(int index, String error) {
+        return new BatchQueryResult(index, null, error);
+    }
+}
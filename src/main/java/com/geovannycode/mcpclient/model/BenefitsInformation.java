@@ -0,0 +1,13 @@
+package com.geovannycode.mcpclient.model;
+
+import java.time.LocalDateTime;
+
+public record BenefitsInformation(
+        String benefits,
+        LocalDateTime timestamp
+) {
+
+    public static BenefitsInformation of(String benefits) {
+        return new BenefitsInformation(benefits, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,21 @@
+package com.geovannycode.mcpclient.model;
+
+/**
+ * Respuesta de {@code POST /chat}: {@code {"response", "status": "success", "timestamp"}}
+ * con el timestamp en milisegundos.
+ */
+public record ChatReply(
+        String response,
+        long timestamp
+) {
+
+    public static final String STATUS = "success";
+
+    public static ChatReply of(String response) {
+        return new ChatReply(response, System.currentTimeMillis());
+    }
+
+    public String status() {
+        return STATUS;
+    }
+}
@@ -0,0 +1,14 @@
+package com.geovannycode.mcpclient.model;
+
+import java.time.LocalDateTime;
+
+public record EmployeeSummary(
+        String employeeId,
+        String summary,
+        LocalDateTime timestamp
+) {
+
+    public static EmployeeSummary of(String employeeId, String summary) {
+        return new EmployeeSummary(employeeId, summary, LocalDateTime.now());
+    }
+}
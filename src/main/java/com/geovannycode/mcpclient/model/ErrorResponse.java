@@ -0,0 +1,21 @@
+package com.geovannycode.mcpclient.model;
+
+/**
+ * Error de la API: {@code {"status": "error", "message", "timestamp"}} con el timestamp
+ * en milisegundos.
+ */
+public record ErrorResponse(
+        String message,
+        long timestamp
+) {
+
+    public static final String STATUS = "error";
+
+    public static ErrorResponse of(String message) {
+        return new ErrorResponse(message, System.currentTimeMillis());
+    }
+
+    public String status() {
+        return STATUS;
+    }
+}
@@ -0,0 +1,19 @@
+package com.geovannycode.mcpclient.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param source {@code policy-index} si se ha respondido desde el índice local o
+ *               {@code model} si ha hecho falta el modelo
+ */
+public record PolicyInformation(
+        String policyName,
+        String information,
+        String source,
+        LocalDateTime timestamp
+) {
+
+    public static PolicyInformation of(String policyName, String information, String source) {
+        return new PolicyInformation(policyName, information, source, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.geovannycode.mcpclient.model;
+
+import java.util.Map;
+
+/**
+ * {@code sessionId} y {@code timings} sólo se incluyen en el JSON cuando tienen valor;
+ * {@code employeeId} siempre, aunque sea nulo.
+ */
+public record QueryMetadata(
+        String employeeId,
+        String sessionId,
+        Map<String, Object> timings
+) {
+
+    public static QueryMetadata of(String employeeId, String sessionId) {
+        return new QueryMetadata(employeeId, sessionId, null);
+    }
+
+    public QueryMetadata withTimings(Map<String, Object> timings) {
+        return new QueryMetadata(employeeId, sessionId, timings);
+    }
+}
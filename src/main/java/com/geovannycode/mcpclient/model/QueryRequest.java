@@ -1,6 +1,7 @@
 package com.geovannycode.mcpclient.model;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 import java.util.Map;
 
@@ -8,7 +9,9 @@ public record QueryRequest(
         @NotBlank(message = "La consulta no puede estar vacía")
         String query,
         String employeeId,
-        Map<String, Object> context
+        Map<String, Object> context,
+        @Size(max = 128, message = "El identificador de sesión no puede superar 128 caracteres")
+        String sessionId
 ) {
 
     public QueryRequest {
@@ -18,10 +21,10 @@ public record QueryRequest(
     }
 
     public static QueryRequest of(String query) {
-        return new QueryRequest(query, null, null);
+        return new QueryRequest(query, null, null, null);
     }
 
     public static QueryRequest of(String query, String employeeId) {
-        return new QueryRequest(query, employeeId, null);
+        return new QueryRequest(query, employeeId, null, null);
     }
 }
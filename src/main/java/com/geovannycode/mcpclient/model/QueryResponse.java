@@ -1,51 +1,41 @@
 package com.geovannycode.mcpclient.model;
 
-import lombok.Builder;
-import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.ToString;
-
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-@Getter
-@ToString
-@EqualsAndHashCode
-@Builder(toBuilder = true)
-public final class QueryResponse {
-
-    private final String response;
-
-    @Builder.Default
-    private final LocalDateTime timestamp = LocalDateTime.now();
-
-    private final List<String> toolsUsed;
-
+/**
+ * Respuesta de {@code /hr-assistant/query}. Se serializa con {@link ResponseJsonModule},
+ * sin reflexión; la deserialización (clientes, pruebas) usa el constructor del record.
+ */
+public record QueryResponse(
+        String response,
+        LocalDateTime timestamp,
+        List<String> toolsUsed,
+        QueryMetadata metadata
+) {
+
+    public static QueryResponse of(String response, List<String> toolsUsed, QueryMetadata metadata) {
+        return new QueryResponse(response, LocalDateTime.now(), toolsUsed, metadata);
+    }
 
-    private final Object metadata;
+    public static QueryResponse simple(String response) {
+        return new QueryResponse(response, LocalDateTime.now(), null, null);
+    }
 
+    public static QueryResponse error(String errorMessage) {
+        return simple("Error: " + errorMessage);
+    }
 
-    public Optional<List<String>> getToolsUsedOptional() {
+    public Optional<List<String>> toolsUsedOptional() {
         return Optional.ofNullable(toolsUsed);
     }
 
-
-    public Optional<Object> getMetadataOptional() {
+    public Optional<QueryMetadata> metadataOptional() {
         return Optional.ofNullable(metadata);
     }
 
-
-    public static QueryResponse simple(String response) {
-        return QueryResponse.builder()
-                .response(response)
-                .build();
-    }
-
-
-    public static QueryResponse error(String errorMessage) {
-        return QueryResponse.builder()
-                .response("Error: " + errorMessage)
-                .build();
+    public QueryResponse withMetadata(QueryMetadata metadata) {
+        return new QueryResponse(response, timestamp, toolsUsed, metadata);
     }
 }
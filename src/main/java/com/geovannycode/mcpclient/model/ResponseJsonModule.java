@@ -0,0 +1,216 @@
+package com.geovannycode.mcpclient.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serializadores escritos a mano para las respuestas de la API. Los nombres de campo
+ * están precodificados ({@link SerializedString}) y los valores se escriben directamente
+ * en el generador: en el camino de cada petición no hay introspección de propiedades, ni
+ * mapas intermedios, ni valores en caja. Las fechas se delegan en el serializador
+ * configurado para {@link LocalDateTime}, así que el formato sigue siendo el de Spring.
+ */
+public class ResponseJsonModule extends SimpleModule {
+
+    private static final SerializableString RESPONSE = new SerializedString("response");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString TOOLS_USED = new SerializedString("toolsUsed");
+    private static final SerializableString METADATA = new SerializedString("metadata");
+    private static final SerializableString EMPLOYEE_ID = new SerializedString("employeeId");
+    private static final SerializableString SESSION_ID = new SerializedString("sessionId");
+    private static final SerializableString TIMINGS = new SerializedString("timings");
+    private static final SerializableString POLICY_NAME = new SerializedString("policyName");
+    private static final SerializableString INFORMATION = new SerializedString("information");
+    private static final SerializableString SOURCE = new SerializedString("source");
+    private static final SerializableString SUMMARY = new SerializedString("summary");
+    private static final SerializableString BENEFITS = new SerializedString("benefits");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+
+    public ResponseJsonModule() {
+        super("assistant-responses");
+        addSerializer(QueryResponse.class, new QueryResponseSerializer());
+        addSerializer(QueryMetadata.class, new QueryMetadataSerializer());
+        addSerializer(PolicyInformation.class, new PolicyInformationSerializer());
+        addSerializer(EmployeeSummary.class, new EmployeeSummarySerializer());
+        addSerializer(BenefitsInformation.class, new BenefitsInformationSerializer());
+        addSerializer(ChatReply.class, new ChatReplySerializer());
+        addSerializer(ErrorResponse.class, new ErrorResponseSerializer());
+    }
+
+    private static void writeTimestamp(LocalDateTime timestamp, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeFieldName(TIMESTAMP);
+        if (timestamp == null) {
+            gen.writeNull();
+        } else {
+            provider.findValueSerializer(LocalDateTime.class).serialize(timestamp, gen, provider);
+        }
+    }
+
+    private static void writeStrings(List<String> values, JsonGenerator gen) throws IOException {
+        if (values == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(values, values.size());
+        for (var value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+
+    static final class QueryResponseSerializer extends StdSerializer<QueryResponse> {
+
+        QueryResponseSerializer() {
+            super(QueryResponse.class);
+        }
+
+        @Override
+        public void serialize(QueryResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(RESPONSE);
+            gen.writeString(value.response());
+            writeTimestamp(value.timestamp(), gen, provider);
+            gen.writeFieldName(TOOLS_USED);
+            writeStrings(value.toolsUsed(), gen);
+            gen.writeFieldName(METADATA);
+            if (value.metadata() == null) {
+                gen.writeNull();
+            } else {
+                provider.findValueSerializer(QueryMetadata.class).serialize(value.metadata(), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class QueryMetadataSerializer extends StdSerializer<QueryMetadata> {
+
+        QueryMetadataSerializer() {
+            super(QueryMetadata.class);
+        }
+
+        @Override
+        public void serialize(QueryMetadata value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(EMPLOYEE_ID);
+            gen.writeString(value.employeeId());
+            if (value.sessionId() != null) {
+                gen.writeFieldName(SESSION_ID);
+                gen.writeString(value.sessionId());
+            }
+            if (value.timings() != null) {
+                gen.writeFieldName(TIMINGS);
+                provider.defaultSerializeValue(value.timings(), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class PolicyInformationSerializer extends StdSerializer<PolicyInformation> {
+
+        PolicyInformationSerializer() {
+            super(PolicyInformation.class);
+        }
+
+        @Override
+        public void serialize(PolicyInformation value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(POLICY_NAME);
+            gen.writeString(value.policyName());
+            gen.writeFieldName(INFORMATION);
+            gen.writeString(value.information());
+            gen.writeFieldName(SOURCE);
+            gen.writeString(value.source());
+            writeTimestamp(value.timestamp(), gen, provider);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class EmployeeSummarySerializer extends StdSerializer<EmployeeSummary> {
+
+        EmployeeSummarySerializer() {
+            super(EmployeeSummary.class);
+        }
+
+        @Override
+        public void serialize(EmployeeSummary value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(EMPLOYEE_ID);
+            gen.writeString(value.employeeId());
+            gen.writeFieldName(SUMMARY);
+            gen.writeString(value.summary());
+            writeTimestamp(value.timestamp(), gen, provider);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class BenefitsInformationSerializer extends StdSerializer<BenefitsInformation> {
+
+        BenefitsInformationSerializer() {
+            super(BenefitsInformation.class);
+        }
+
+        @Override
+        public void serialize(BenefitsInformation value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(BENEFITS);
+            gen.writeString(value.benefits());
+            writeTimestamp(value.timestamp(), gen, provider);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class ChatReplySerializer extends StdSerializer<ChatReply> {
+
+        private static final SerializableString SUCCESS = new SerializedString(ChatReply.STATUS);
+
+        ChatReplySerializer() {
+            super(ChatReply.class);
+        }
+
+        @Override
+        public void serialize(ChatReply value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(RESPONSE);
+            gen.writeString(value.response());
+            gen.writeFieldName(STATUS);
+            gen.writeString(SUCCESS);
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeNumber(value.timestamp());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class ErrorResponseSerializer extends StdSerializer<ErrorResponse> {
+
+        private static final SerializableString ERROR = new SerializedString(ErrorResponse.STATUS);
+
+        ErrorResponseSerializer() {
+            super(ErrorResponse.class);
+        }
+
+        @Override
+        public void serialize(ErrorResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(STATUS);
+            gen.writeString(ERROR);
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(value.message());
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeNumber(value.timestamp());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.geovannycode.mcpclient.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Desglose de latencia de una petición HTTP: filtros (autenticación), modelo,
+ * herramientas MCP y el resto del framework, más los tokens consumidos.
+ * <p>
+ * Se asocia al hilo de la petición y se propaga a los hilos de herramientas mediante
+ * {@link #propagate(Runnable)}; todos los acumuladores son seguros entre hilos.
+ */
+public final class RequestTimings {
+
+    public static final String DEBUG_HEADER = "X-Debug-Timings";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong handlerStartNanos = new AtomicLong();
+    private final LongAdder modelNanos = new LongAdder();
+    private final LongAdder toolPhaseNanos = new LongAdder();
+    private final Map<String, LongAdder> toolNanos = new ConcurrentHashMap<>();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder completionTokens = new LongAdder();
+
+    static RequestTimings open() {
+        var timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    public static Optional<RequestTimings> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * {@link org.springframework.core.task.TaskDecorator} que traslada el desglose del
+     * hilo que envía la tarea al hilo que la ejecuta.
+     */
+    public static Runnable propagate(Runnable task) {
+        var timings = CURRENT.get();
+        if (timings == null) {
+            return task;
+        }
+        return () -> {
+            var previous = CURRENT.get();
+            CURRENT.set(timings);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    long markHandlerStart() {
+        var now = System.nanoTime();
+        handlerStartNanos.compareAndSet(0, now);
+        return now - startNanos;
+    }
+
+    public void recordModelCall(long nanos) {
+        modelNanos.add(nanos);
+    }
+
+    /**
+     * Tiempo de reloj de un turno de herramientas; con ejecución paralela es menor que la
+     * suma de las herramientas individuales.
+     */
+    public void recordToolPhase(long nanos) {
+        toolPhaseNanos.add(nanos);
+    }
+
+    public void recordTool(String toolName, long nanos) {
+        toolNanos.computeIfAbsent(toolName, name -> new LongAdder()).add(nanos);
+    }
+
+    public void recordTokens(long prompt, long completion) {
+        promptTokens.add(prompt);
+        completionTokens.add(completion);
+    }
+
+    /**
+     * Las llamadas al modelo incluyen el bucle de herramientas, por lo que el tiempo de
+     * LLM se obtiene restando la fase de herramientas. La serialización de la respuesta
+     * ocurre después y no forma parte del desglose.
+     */
+    public Map<String, Object> toMap() {
+        var now = System.nanoTime();
+        var handlerStart = handlerStartNanos.get();
+        var preHandler = handlerStart > 0 ? handlerStart - startNanos : 0;
+        var tools = toolPhaseNanos.sum();
+        var llm = Math.max(0, modelNanos.sum() - tools);
+        var total = now - startNanos;
+
+        var toolCalls = new TreeMap<String, Object>();
+        toolNanos.forEach((name, nanos) -> toolCalls.put(name, millis(nanos.sum())));
+
+        var breakdown = new LinkedHashMap<String, Object>();
+        breakdown.put("totalMs", millis(total));
+        breakdown.put("preHandlerMs", millis(preHandler));
+        breakdown.put("llmMs", millis(llm));
+        breakdown.put("toolsMs", millis(tools));
+        breakdown.put("toolCallsMs", toolCalls);
+        breakdown.put("frameworkMs", millis(Math.max(0, total - preHandler - llm - tools)));
+        breakdown.put("promptTokens", promptTokens.sum());
+        breakdown.put("completionTokens", completionTokens.sum());
+        return breakdown;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.geovannycode.mcpclient.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marca la entrada al controlador y registra el tiempo consumido antes de él
+ * (filtros, autenticación Basic y despacho de Spring MVC).
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestTimingsInterceptor implements HandlerInterceptor {
+
+    private static final String PRE_HANDLER_METRIC = "http.server.pre-handler";
+
+    private final Timer preHandlerTimer;
+
+    public RequestTimingsInterceptor(MeterRegistry meterRegistry) {
+        this.preHandlerTimer = Timer.builder(PRE_HANDLER_METRIC)
+                .description("Tiempo en filtros y autenticación antes de llegar al controlador")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTimings.current().ifPresent(timings ->
+                preHandlerTimer.record(timings.markHandlerStart(), TimeUnit.NANOSECONDS));
+        return true;
+    }
+}
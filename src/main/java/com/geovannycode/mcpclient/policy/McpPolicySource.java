@@ -0,0 +1,43 @@
+package com.geovannycode.mcpclient.policy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.mcpclient.tool.McpToolCallbacks;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lee las políticas con la herramienta MCP configurada, a través de los mismos
+ * decoradores (caché, circuito, observación) que usa el modelo.
+ */
+@Component
+public class McpPolicySource implements PolicySource {
+
+    private final McpToolCallbacks mcpToolCallbacks;
+    private final PolicyIndexProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public McpPolicySource(McpToolCallbacks mcpToolCallbacks,
+                           PolicyIndexProperties properties,
+                           ObjectMapper objectMapper) {
+        this.mcpToolCallbacks = mcpToolCallbacks;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<String> fetch(String policyName) {
+        return mcpToolCallbacks.find(properties.toolName())
+                .map(tool -> tool.call(arguments(policyName)));
+    }
+
+    private String arguments(String policyName) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(properties.argument(), policyName));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
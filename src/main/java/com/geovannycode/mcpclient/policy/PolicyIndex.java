@@ -0,0 +1,296 @@
+package com.geovannycode.mcpclient.policy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.mcpclient.cache.TextEmbedder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria de las políticas de la empresa: cada política se trocea en
+ * fragmentos con su embedding local ({@link TextEmbedder}). Una consulta por el nombre
+ * exacto de una política se responde con su texto sin llamar al modelo; el resto recibe
+ * sólo los fragmentos más parecidos en lugar de obligar al modelo a pedir la herramienta.
+ * <p>
+ * El índice se reconstruye sólo si el contenido de las políticas ha cambiado; mientras
+ * tanto se sirve la última versión construida.
+ */
+@Component
+public class PolicyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyIndex.class);
+
+    private static final String BUILD_METRIC = "policy.index.build";
+    private static final String POLICIES_METRIC = "policy.index.policies";
+    private static final String CHUNKS_METRIC = "policy.index.chunks";
+    private static final String ANSWERS_METRIC = "policy.index.answers";
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s-]+");
+
+    private final PolicyIndexProperties properties;
+    private final PolicySource policySource;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final AtomicLong directAnswers = new AtomicLong();
+    private final AtomicLong excerptAnswers = new AtomicLong();
+    private final AtomicLong modelAnswers = new AtomicLong();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile String lastError;
+
+    public PolicyIndex(PolicyIndexProperties properties,
+                       PolicySource policySource,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.policySource = policySource;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder(POLICIES_METRIC, this, index -> index.snapshot.policies().size())
+                .description("Políticas en el índice")
+                .register(meterRegistry);
+        Gauge.builder(CHUNKS_METRIC, this, index -> index.snapshot.chunks().size())
+                .description("Fragmentos en el índice")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Vuelve a leer todas las políticas y reconstruye el índice si alguna ha cambiado.
+     *
+     * @return {@code true} si se ha construido un índice nuevo
+     */
+    public boolean refresh() {
+        if (!properties.enabled() || !refreshLock.tryLock()) {
+            return false;
+        }
+        try {
+            var start = System.nanoTime();
+            var policies = fetchPolicies();
+            if (policies.isEmpty()) {
+                lastError = "No se ha podido leer ninguna política con " + properties.toolName();
+                return false;
+            }
+            lastError = null;
+
+            if (policies.equals(snapshot.policies())) {
+                logger.debug("Políticas sin cambios; se mantiene el índice de {}", snapshot.builtAt());
+                return false;
+            }
+
+            var chunks = policies.values().stream()
+                    .flatMap(policy -> chunk(policy).stream())
+                    .toList();
+            var lookup = new LinkedHashMap<String, Policy>();
+            policies.values().forEach(policy -> {
+                lookup.put(normalize(policy.key()), policy);
+                lookup.put(normalize(policy.name()), policy);
+            });
+
+            var buildTime = Duration.ofNanos(System.nanoTime() - start);
+            snapshot = new Snapshot(Collections.unmodifiableMap(policies), Map.copyOf(lookup), chunks,
+                    Instant.now(), buildTime);
+            meterRegistry.timer(BUILD_METRIC).record(buildTime);
+
+            logger.info("Índice de políticas construido: {} políticas, {} fragmentos en {} ms",
+                    policies.size(), chunks.size(), buildTime.toMillis());
+            return true;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            logger.warn("No se ha podido actualizar el índice de políticas: {}", e.getMessage());
+            return false;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Política cuyo identificador o nombre coincide con {@code policyName}, ignorando
+     * mayúsculas y separadores.
+     */
+    public Optional<Policy> find(String policyName) {
+        if (policyName == null) {
+            return Optional.empty();
+        }
+        var policy = Optional.ofNullable(snapshot.lookup().get(normalize(policyName)));
+        policy.ifPresent(found -> answered(directAnswers, "index"));
+        return policy;
+    }
+
+    /**
+     * Los {@code top-k} fragmentos más parecidos a la consulta con una puntuación mínima
+     * de {@code min-score}; vacío si ninguno se parece lo suficiente.
+     */
+    public List<Excerpt> search(String query) {
+        var chunks = snapshot.chunks();
+        if (query == null || chunks.isEmpty()) {
+            answered(modelAnswers, "model");
+            return List.of();
+        }
+
+        var embedding = TextEmbedder.embed(query.toLowerCase(Locale.ROOT));
+        var excerpts = chunks.stream()
+                .map(chunk -> new Excerpt(chunk.policy(), chunk.text(),
+                        TextEmbedder.cosine(embedding, chunk.embedding())))
+                .filter(excerpt -> excerpt.score() >= properties.minScore())
+                .sorted(Comparator.comparingDouble(Excerpt::score).reversed())
+                .limit(properties.topK())
+                .toList();
+
+        answered(excerpts.isEmpty() ? modelAnswers : excerptAnswers, excerpts.isEmpty() ? "model" : "excerpts");
+        return excerpts;
+    }
+
+    public boolean isBuilt() {
+        return !snapshot.chunks().isEmpty();
+    }
+
+    public Map<String, Object> status() {
+        var current = snapshot;
+        var status = new LinkedHashMap<String, Object>();
+        status.put("enabled", properties.enabled());
+        status.put("policies", current.policies().keySet());
+        status.put("chunks", current.chunks().size());
+        status.put("builtAt", current.builtAt());
+        status.put("buildTimeMs", current.buildTime() != null ? current.buildTime().toMillis() : null);
+        status.put("answeredWithoutModel", directAnswers.get());
+        status.put("answeredWithExcerpts", excerptAnswers.get());
+        status.put("answeredByModel", modelAnswers.get());
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private Map<String, Policy> fetchPolicies() {
+        var policies = new LinkedHashMap<String, Policy>();
+        for (var name : properties.policies()) {
+            policySource.fetch(name)
+                    .flatMap(output -> parse(name, output))
+                    .ifPresent(policy -> policies.put(name, policy));
+        }
+        return policies;
+    }
+
+    /**
+     * Spring AI entrega el resultado MCP como la lista de contenidos de la respuesta
+     * ({@code [{"type":"text","text":"{...}"}]}); las herramientas locales, directamente
+     * como el objeto JSON.
+     */
+    private Optional<Policy> parse(String key, String output) {
+        var node = readTree(output);
+        if (node != null && node.isArray()) {
+            node = node.size() > 0 && node.get(0).hasNonNull("text") ? readTree(node.get(0).get("text").asText()) : null;
+        }
+        if (node != null && node.isTextual()) {
+            node = readTree(node.asText());
+        }
+        if (node == null || !node.isObject() || node.has("error")) {
+            logger.warn("Política {} no disponible: {}", key, output);
+            return Optional.empty();
+        }
+
+        var rules = new ArrayList<String>();
+        node.path("rules").forEach(rule -> rules.add(rule.asText()));
+
+        return Optional.of(new Policy(
+                key,
+                node.path("policy_name").asText(node.path("name").asText(key)),
+                node.path("description").asText(""),
+                List.copyOf(rules)));
+    }
+
+    private JsonNode readTree(String text) {
+        try {
+            return objectMapper.readTree(text);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Un primer fragmento con la descripción y después las reglas agrupadas hasta
+     * {@code chunk-max-chars}; todos empiezan por el nombre de la política para que el
+     * fragmento tenga sentido por sí solo.
+     */
+    private List<Chunk> chunk(Policy policy) {
+        var header = policy.name() + ": ";
+        var chunks = new ArrayList<Chunk>();
+        if (!policy.description().isBlank()) {
+            chunks.add(Chunk.of(policy.key(), header + policy.description()));
+        }
+
+        var rules = new StringBuilder();
+        for (var rule : policy.rules()) {
+            if (!rules.isEmpty() && header.length() + rules.length() + rule.length() + 2 > properties.chunkMaxChars()) {
+                chunks.add(Chunk.of(policy.key(), header + rules));
+                rules.setLength(0);
+            }
+            if (!rules.isEmpty()) {
+                rules.append("; ");
+            }
+            rules.append(rule);
+        }
+        if (!rules.isEmpty()) {
+            chunks.add(Chunk.of(policy.key(), header + rules));
+        }
+        return chunks;
+    }
+
+    private void answered(AtomicLong counter, String source) {
+        counter.incrementAndGet();
+        meterRegistry.counter(ANSWERS_METRIC, "source", source).increment();
+    }
+
+    private static String normalize(String value) {
+        return SEPARATORS.matcher(value.trim().toLowerCase(Locale.ROOT)).replaceAll("_");
+    }
+
+    public record Policy(String key, String name, String description, List<String> rules) {
+
+        public String render() {
+            var text = new StringBuilder(name);
+            if (!description.isBlank()) {
+                text.append(": ").append(description);
+            }
+            rules.forEach(rule -> text.append("\n- ").append(rule));
+            return text.toString();
+        }
+    }
+
+    public record Excerpt(String policy, String text, double score) {
+    }
+
+    private record Chunk(String policy, String text, float[] embedding) {
+
+        static Chunk of(String policy, String text) {
+            return new Chunk(policy, text, TextEmbedder.embed(text.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    private record Snapshot(Map<String, Policy> policies,
+                            Map<String, Policy> lookup,
+                            List<Chunk> chunks,
+                            Instant builtAt,
+                            Duration buildTime) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), List.of(), null, null);
+    }
+}
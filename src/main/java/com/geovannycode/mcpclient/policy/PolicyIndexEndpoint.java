@@ -0,0 +1,33 @@
+package com.geovannycode.mcpclient.policy;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "policyindex")
+public class PolicyIndexEndpoint {
+
+    private final PolicyIndex policyIndex;
+
+    public PolicyIndexEndpoint(PolicyIndex policyIndex) {
+        this.policyIndex = policyIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return policyIndex.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> refresh() {
+        var status = new LinkedHashMap<String, Object>();
+        status.put("rebuilt", policyIndex.refresh());
+        status.putAll(policyIndex.status());
+        return status;
+    }
+}
@@ -0,0 +1,35 @@
+package com.geovannycode.mcpclient.policy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Índice local de las políticas de la empresa. Las políticas se leen con la herramienta
+ * MCP {@code tool-name} (argumento {@code argument}) y se trocean en fragmentos de como
+ * mucho {@code chunk-max-chars} caracteres.
+ */
+@ConfigurationProperties(prefix = "assistant.policy-index")
+public record PolicyIndexProperties(
+        boolean enabled,
+        String toolName,
+        String argument,
+        List<String> policies,
+        Duration refreshInterval,
+        int chunkMaxChars,
+        int topK,
+        double minScore
+) {
+
+    public PolicyIndexProperties {
+        toolName = Optional.ofNullable(toolName).orElse("get_company_policy");
+        argument = Optional.ofNullable(argument).orElse("policy_name");
+        policies = Optional.ofNullable(policies).map(List::copyOf).orElse(List.of());
+        refreshInterval = Optional.ofNullable(refreshInterval).orElse(Duration.ofHours(1));
+        chunkMaxChars = chunkMaxChars > 0 ? chunkMaxChars : 240;
+        topK = topK > 0 ? topK : 3;
+        minScore = minScore > 0 ? minScore : 0.2;
+    }
+}
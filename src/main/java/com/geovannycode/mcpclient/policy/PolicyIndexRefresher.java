@@ -0,0 +1,61 @@
+package com.geovannycode.mcpclient.policy;
+
+import com.geovannycode.mcpclient.mcp.McpToolsInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construye el índice en cuanto las herramientas MCP están disponibles y lo revisa cada
+ * {@code refresh-interval}. Las lecturas pasan por la caché de herramientas, así que un
+ * cambio en el servidor se detecta como tarde al expirar su TTL.
+ */
+@Component
+public class PolicyIndexRefresher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyIndexRefresher.class);
+
+    private final PolicyIndex policyIndex;
+    private final PolicyIndexProperties properties;
+    private final McpToolsInitializer mcpToolsInitializer;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "policy-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PolicyIndexRefresher(PolicyIndex policyIndex,
+                                PolicyIndexProperties properties,
+                                McpToolsInitializer mcpToolsInitializer) {
+        this.policyIndex = policyIndex;
+        this.properties = properties;
+        this.mcpToolsInitializer = mcpToolsInitializer;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.enabled() || properties.policies().isEmpty()) {
+            return;
+        }
+
+        var interval = properties.refreshInterval().toMillis();
+        mcpToolsInitializer.ready().thenRun(() -> {
+            logger.info("Índice de políticas: {} políticas, revisión cada {} s",
+                    properties.policies().size(), properties.refreshInterval().toSeconds());
+            scheduler.scheduleWithFixedDelay(policyIndex::refresh, 0, interval, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
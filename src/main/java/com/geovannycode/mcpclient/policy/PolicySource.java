@@ -0,0 +1,13 @@
+package com.geovannycode.mcpclient.policy;
+
+import java.util.Optional;
+
+/**
+ * Origen del texto de una política: la salida de la herramienta que la devuelve, vacía
+ * si la herramienta no está disponible.
+ */
+@FunctionalInterface
+public interface PolicySource {
+
+    Optional<String> fetch(String policyName);
+}
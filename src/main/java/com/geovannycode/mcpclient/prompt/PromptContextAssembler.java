@@ -0,0 +1,202 @@
+package com.geovannycode.mcpclient.prompt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construye el mensaje de usuario "Contexto: ... Consulta: ..." de forma determinista:
+ * las claves se ordenan por prioridad y después alfabéticamente y los valores
+ * compuestos se serializan con las claves ordenadas, de modo que la misma petición
+ * produce siempre el mismo texto y el prefijo del prompt es cacheable por el proveedor.
+ * <p>
+ * El contexto se limita con el tokenizador local: los valores largos se truncan a
+ * {@code field-max-tokens} y los campos de menor prioridad que no caben en
+ * {@code context-max-tokens} se descartan.
+ */
+@Component
+public class PromptContextAssembler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromptContextAssembler.class);
+
+    private static final String TOKENS_SAVED_METRIC = "chat.prompt.tokens-saved";
+    private static final String FIELDS_DROPPED_METRIC = "chat.prompt.context-fields-dropped";
+
+    private static final String CONTEXT_PREFIX = "Contexto: ";
+    private static final String SEPARATOR = ", ";
+    private static final String TRUNCATION_MARK = "…";
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final PromptProperties properties;
+    private final TokenCountEstimator tokenCountEstimator;
+    private final MeterRegistry meterRegistry;
+
+    public PromptContextAssembler(PromptProperties properties,
+                                  TokenCountEstimator tokenCountEstimator,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokenCountEstimator = tokenCountEstimator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String assemble(String operation, String message, Map<String, Object> context) {
+        if (context == null || context.isEmpty()) {
+            return message;
+        }
+
+        var fields = context.entrySet().stream()
+                .filter(entry -> entry.getKey() != null && entry.getValue() != null)
+                .map(entry -> Field.of(entry.getKey(), render(entry.getValue())))
+                .sorted(Comparator.comparingInt((Field field) -> properties.priorityOf(field.key()))
+                        .thenComparing(Field::key))
+                .toList();
+
+        if (fields.isEmpty()) {
+            return message;
+        }
+
+        var selected = withinBudget(fields) ? fields : fitToBudget(operation, fields);
+        if (selected.isEmpty()) {
+            return message;
+        }
+
+        var contextInfo = new StringBuilder(CONTEXT_PREFIX);
+        for (int i = 0; i < selected.size(); i++) {
+            if (i > 0) {
+                contextInfo.append(SEPARATOR);
+            }
+            contextInfo.append(selected.get(i).text());
+        }
+
+        return contextInfo + "\n\nConsulta: " + message;
+    }
+
+    /**
+     * El tokenizador es BPE a nivel de byte: un token codifica al menos un byte UTF-8, así
+     * que si el contexto cabe en bytes no hace falta tokenizar. Es el caso habitual y
+     * evita el coste del tokenizador; con texto CJK o emojis la cota es de hasta 3 bytes
+     * por carácter y se tokeniza antes.
+     */
+    private boolean withinBudget(List<Field> fields) {
+        var totalBytes = utf8Length(CONTEXT_PREFIX) + utf8Length(SEPARATOR) * (fields.size() - 1);
+        for (var field : fields) {
+            var bytes = utf8Length(field.text());
+            if (bytes > properties.fieldMaxTokens()) {
+                return false;
+            }
+            totalBytes += bytes;
+        }
+        return totalBytes <= properties.contextMaxTokens();
+    }
+
+    /**
+     * El presupuesto incluye el prefijo y los separadores entre campos.
+     */
+    private List<Field> fitToBudget(String operation, List<Field> fields) {
+        var selected = new ArrayList<Field>(fields.size());
+        var prefixTokens = tokenCountEstimator.estimate(CONTEXT_PREFIX);
+        var separatorTokens = tokenCountEstimator.estimate(SEPARATOR);
+        var originalTokens = prefixTokens + separatorTokens * (fields.size() - 1);
+        var usedTokens = prefixTokens;
+        var dropped = 0;
+
+        for (var field : fields) {
+            var tokens = tokenCountEstimator.estimate(field.text());
+            originalTokens += tokens;
+
+            var fitted = field;
+            var fittedTokens = tokens;
+            if (tokens > properties.fieldMaxTokens()) {
+                fitted = truncate(field, tokens);
+                fittedTokens = tokenCountEstimator.estimate(fitted.text());
+            }
+
+            var cost = fittedTokens + (selected.isEmpty() ? 0 : separatorTokens);
+            if (usedTokens + cost > properties.contextMaxTokens()) {
+                dropped++;
+                continue;
+            }
+
+            selected.add(fitted);
+            usedTokens += cost;
+        }
+
+        if (selected.isEmpty()) {
+            usedTokens = 0;
+        }
+        var saved = originalTokens - usedTokens;
+        if (saved > 0) {
+            meterRegistry.counter(TOKENS_SAVED_METRIC, "operation", operation).increment(saved);
+        }
+        if (dropped > 0) {
+            meterRegistry.counter(FIELDS_DROPPED_METRIC, "operation", operation).increment(dropped);
+        }
+
+        logger.debug("Contexto ajustado al presupuesto ({}): {} tokens ahorrados, {} campos descartados",
+                operation, saved, dropped);
+        return selected;
+    }
+
+    private Field truncate(Field field, int tokens) {
+        var value = field.value();
+        var ratio = (double) properties.fieldMaxTokens() / tokens;
+        var length = (int) (value.length() * ratio);
+
+        var truncated = Field.of(field.key(), value.substring(0, length) + TRUNCATION_MARK);
+        while (length > 0 && tokenCountEstimator.estimate(truncated.text()) > properties.fieldMaxTokens()) {
+            length = length * 9 / 10;
+            truncated = Field.of(field.key(), value.substring(0, length) + TRUNCATION_MARK);
+        }
+        return truncated;
+    }
+
+    private static int utf8Length(String text) {
+        var bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                // Cada mitad del par suma 2 de los 4 bytes del carácter
+                bytes += 2;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static String render(Object value) {
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        try {
+            return CANONICAL_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return value.toString();
+        }
+    }
+
+    private record Field(String key, String value, String text) {
+
+        static Field of(String key, String value) {
+            return new Field(key, value, key + "=" + value);
+        }
+    }
+}
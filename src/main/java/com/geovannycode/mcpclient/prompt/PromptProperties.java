@@ -0,0 +1,29 @@
+package com.geovannycode.mcpclient.prompt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Presupuesto de tokens del contexto que se antepone a la consulta. Los campos de
+ * {@code priority} se colocan primero y son los últimos en descartarse.
+ */
+@ConfigurationProperties(prefix = "assistant.prompt")
+public record PromptProperties(
+        int contextMaxTokens,
+        int fieldMaxTokens,
+        List<String> priority
+) {
+
+    public PromptProperties {
+        contextMaxTokens = contextMaxTokens > 0 ? contextMaxTokens : 400;
+        fieldMaxTokens = fieldMaxTokens > 0 ? Math.min(fieldMaxTokens, contextMaxTokens) : contextMaxTokens / 4;
+        priority = Optional.ofNullable(priority).map(List::copyOf).orElse(List.of());
+    }
+
+    public int priorityOf(String key) {
+        var index = priority.indexOf(key);
+        return index >= 0 ? index : priority.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.geovannycode.mcpclient.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Presupuesto por usuario autenticado: peticiones por segundo y tokens del modelo por
+ * minuto, cada uno con su ráfaga. {@code top-users} acota las series de
+ * {@code ratelimit.user.consumption}; el resto de usuarios se agrega en {@code other}.
+ */
+@ConfigurationProperties(prefix = "assistant.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        List<String> paths,
+        double requestsPerSecond,
+        int requestBurst,
+        long tokensPerMinute,
+        long tokenBurst,
+        int topUsers,
+        Duration metricsInterval
+) {
+
+    public RateLimitProperties {
+        paths = Optional.ofNullable(paths).map(List::copyOf).orElse(List.of("/chat", "/hr-assistant"));
+        requestsPerSecond = requestsPerSecond > 0 ? requestsPerSecond : 5;
+        requestBurst = requestBurst > 0 ? requestBurst : 20;
+        tokensPerMinute = tokensPerMinute > 0 ? tokensPerMinute : 40_000;
+        tokenBurst = tokenBurst > 0 ? tokenBurst : tokensPerMinute;
+        topUsers = topUsers > 0 ? topUsers : 10;
+        metricsInterval = Optional.ofNullable(metricsInterval).orElse(Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,84 @@
+package com.geovannycode.mcpclient.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.mcpclient.model.ErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Optional;
+
+/**
+ * Equivalente WebFlux de {@link RateLimitFilter}. Se ordena detrás de la cadena de Spring
+ * Security ({@code -100}) para que el principal ya esté resuelto, y deja la clave del
+ * presupuesto en el contexto de Reactor para descontar después los tokens.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Order(0)
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final UserRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveRateLimitFilter(UserRateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        if (!rateLimiter.appliesTo(request.getMethod().name(), request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        return exchange.getPrincipal()
+                .filter(Authentication.class::isInstance)
+                .cast(Authentication.class)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> Mono.justOrEmpty(
+                        UserRateLimiter.keyOf(authentication.orElse(null), clientAddress(request))))
+                .flatMap(key -> rateLimiter.tryAcquire(key)
+                        .map(rejection -> reject(exchange, rejection))
+                        .orElseGet(() -> chain.filter(exchange)
+                                .contextWrite(Context.of(UserRateLimiter.CONTEXT_KEY, key)))
+                        .thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(false)))
+                .then();
+    }
+
+    private static String clientAddress(ServerHttpRequest request) {
+        var remote = request.getRemoteAddress();
+        if (remote == null) {
+            return null;
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, UserRateLimiter.Rejection rejection) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(rejection.retryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        try {
+            var body = objectMapper.writeValueAsBytes(ErrorResponse.of(rejection.message()));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.geovannycode.mcpclient.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos con el algoritmo GCRA: el único estado es el instante teórico
+ * en que el cubo vuelve a estar lleno ({@code tat}), actualizado por CAS. Cada permiso lo
+ * adelanta {@code interval}; se admite mientras no supere {@code now + burst * interval}.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong tat;
+
+    TokenBucket(double permitsPerSecond, long burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / permitsPerSecond));
+        this.toleranceNanos = burst * intervalNanos;
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Toma {@code permits} si caben en la ráfaga.
+     *
+     * @return 0 si se conceden o los nanosegundos hasta que cabrían
+     */
+    long tryAcquire(long permits, long nowNanos) {
+        while (true) {
+            var current = tat.get();
+            var next = Math.max(current, nowNanos) + permits * intervalNanos;
+            var excess = next - nowNanos - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Descuenta un consumo ya producido (los tokens se conocen al terminar la llamada),
+     * aunque deje el cubo en deuda.
+     */
+    void charge(long permits, long nowNanos) {
+        tat.accumulateAndGet(nowNanos, (current, now) -> Math.max(current, now) + permits * intervalNanos);
+    }
+
+    /**
+     * Nanosegundos hasta salir de la deuda; 0 si queda algún permiso.
+     */
+    long waitNanos(long nowNanos) {
+        return Math.max(0, tat.get() - nowNanos - toleranceNanos);
+    }
+
+    boolean isFull(long nowNanos) {
+        return tat.get() <= nowNanos;
+    }
+}
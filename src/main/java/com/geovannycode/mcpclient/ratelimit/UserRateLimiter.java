@@ -0,0 +1,296 @@
+package com.geovannycode.mcpclient.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite por usuario para que un solo cliente no agote la cuota del proveedor del modelo;
+ * las peticiones anónimas comparten el presupuesto de su dirección de cliente. Cada usuario tiene dos {@link TokenBucket}: peticiones, que se toman al
+ * entrar, y tokens, que se descuentan con el uso real que informa cada llamada a
+ * {@code ChatService} y bloquean nuevas peticiones mientras el usuario está en deuda.
+ * <p>
+ * Sin bloqueos: un {@link ConcurrentHashMap} de usuarios y un CAS por cubo. Los usuarios
+ * inactivos con los cubos llenos se descartan en cada publicación de métricas.
+ */
+@Component
+public class UserRateLimiter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRateLimiter.class);
+
+    private static final String DECISIONS_METRIC = "ratelimit.decisions";
+    private static final String TOKENS_METRIC = "ratelimit.tokens.charged";
+    private static final String USERS_METRIC = "ratelimit.users";
+    private static final String CONSUMPTION_METRIC = "ratelimit.user.consumption";
+    private static final String OTHER_USERS = "other";
+    private static final String JOBS_PATH = "/hr-assistant/jobs";
+    private static final String ANONYMOUS_PREFIX = "anonymous:";
+
+    /**
+     * Clave del contexto de Reactor con la que {@code ReactiveRateLimitFilter} propaga el
+     * presupuesto de la petición.
+     */
+    public static final String CONTEXT_KEY = UserRateLimiter.class.getName() + ".key";
+
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    private final Counter allowed;
+    private final Counter rejectedRequests;
+    private final Counter rejectedTokens;
+    private final Counter tokensCharged;
+    private final MultiGauge consumption;
+
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+
+        if (properties.enabled()) {
+            var interval = properties.metricsInterval().toMillis();
+            scheduler.scheduleAtFixedRate(this::publish, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+
+        this.allowed = meterRegistry.counter(DECISIONS_METRIC, "result", "allowed", "reason", "none");
+        this.rejectedRequests = meterRegistry.counter(DECISIONS_METRIC, "result", "rejected", "reason", "requests");
+        this.rejectedTokens = meterRegistry.counter(DECISIONS_METRIC, "result", "rejected", "reason", "tokens");
+        this.tokensCharged = meterRegistry.counter(TOKENS_METRIC);
+        this.consumption = MultiGauge.builder(CONSUMPTION_METRIC)
+                .description("Consumo por usuario en el último intervalo (los de mayor consumo)")
+                .register(meterRegistry);
+
+        Gauge.builder(USERS_METRIC, budgets, Map::size)
+                .description("Usuarios con presupuesto en curso")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "rate-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Rutas que llaman al modelo. La consulta del estado de un trabajo asíncrono no cuenta:
+     * el long polling haría que esperar un resultado consumiera presupuesto.
+     */
+    public boolean appliesTo(String method, String path) {
+        if (!properties.enabled() || (HttpMethod.GET.matches(method) && path.startsWith(JOBS_PATH))) {
+            return false;
+        }
+        return properties.paths().stream().anyMatch(path::startsWith);
+    }
+
+    /**
+     * Toma una petición del presupuesto del usuario.
+     *
+     * @return el motivo y el tiempo de espera si se rechaza
+     */
+    public Optional<Rejection> tryAcquire(String user) {
+        var now = nanoClock.getAsLong();
+        var budget = budgets.computeIfAbsent(user, key -> new Budget(properties, now));
+
+        var tokenWait = budget.tokens().waitNanos(now);
+        if (tokenWait > 0) {
+            rejectedTokens.increment();
+            return Optional.of(new Rejection(Rejection.TOKENS, Duration.ofNanos(tokenWait)));
+        }
+
+        var requestWait = budget.requests().tryAcquire(1, now);
+        if (requestWait > 0) {
+            rejectedRequests.increment();
+            return Optional.of(new Rejection(Rejection.REQUESTS, Duration.ofNanos(requestWait)));
+        }
+
+        budget.requestCount().incrementAndGet();
+        allowed.increment();
+        return Optional.empty();
+    }
+
+    public void recordTokens(String user, long tokens) {
+        if (!properties.enabled() || tokens <= 0) {
+            return;
+        }
+
+        var now = nanoClock.getAsLong();
+        var budget = budgets.computeIfAbsent(user, key -> new Budget(properties, now));
+        budget.tokens().charge(tokens, now);
+        budget.tokenCount().addAndGet(tokens);
+        tokensCharged.increment(tokens);
+    }
+
+    /**
+     * Descuenta los tokens al usuario del hilo actual (pila servlet y trabajos asíncronos).
+     */
+    public void recordTokens(long tokens) {
+        currentKey().ifPresent(key -> recordTokens(key, tokens));
+    }
+
+    /**
+     * Presupuesto del hilo actual, para descontar después los tokens de un flujo que
+     * termina en otro hilo.
+     */
+    public Optional<String> currentKey() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        var address = authentication != null && authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+        return keyOf(authentication, address);
+    }
+
+    /**
+     * Descuenta los tokens al presupuesto del contexto de Reactor (pila WebFlux): el que
+     * fijó el filtro o, fuera de una petición, el del usuario autenticado.
+     */
+    public Mono<Void> recordTokensReactive(long tokens) {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.<String>getOrEmpty(CONTEXT_KEY)))
+                .switchIfEmpty(ReactiveSecurityContextHolder.getContext()
+                        .map(SecurityContext::getAuthentication)
+                        .flatMap(authentication -> Mono.justOrEmpty(userOf(authentication))))
+                .doOnNext(key -> recordTokens(key, tokens))
+                .then();
+    }
+
+    /**
+     * El usuario autenticado o, si la petición es anónima, su dirección de cliente; vacío
+     * si no se conoce ninguno de los dos.
+     */
+    public static Optional<String> keyOf(Authentication authentication, String clientAddress) {
+        return userOf(authentication)
+                .or(() -> Optional.ofNullable(clientAddress).map(address -> ANONYMOUS_PREFIX + address));
+    }
+
+    public static Optional<String> userOf(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(authentication.getName());
+    }
+
+    /**
+     * Publica el consumo del intervalo de los {@code top-users} usuarios con más tokens,
+     * agrega el resto en {@code user=other} y descarta los usuarios inactivos.
+     */
+    void publish() {
+        var now = nanoClock.getAsLong();
+        var usages = new ArrayList<Usage>();
+
+        budgets.forEach((user, budget) -> {
+            var usage = new Usage(user, budget.requestCount().getAndSet(0), budget.tokenCount().getAndSet(0));
+            if (usage.requests() > 0 || usage.tokens() > 0) {
+                usages.add(usage);
+            } else if (budget.isIdle(now)) {
+                budgets.remove(user, budget);
+            }
+        });
+
+        usages.sort(Comparator.comparingLong(Usage::tokens).thenComparingLong(Usage::requests).reversed());
+
+        var rows = new ArrayList<MultiGauge.Row<?>>();
+        var otherRequests = 0L;
+        var otherTokens = 0L;
+        for (int i = 0; i < usages.size(); i++) {
+            var usage = usages.get(i);
+            if (i < properties.topUsers()) {
+                rows.add(row(usage.user(), "requests", usage.requests()));
+                rows.add(row(usage.user(), "tokens", usage.tokens()));
+            } else {
+                otherRequests += usage.requests();
+                otherTokens += usage.tokens();
+            }
+        }
+        rows.add(row(OTHER_USERS, "requests", otherRequests));
+        rows.add(row(OTHER_USERS, "tokens", otherTokens));
+
+        consumption.register(rows, true);
+        logger.debug("Consumo por usuario publicado: {} usuarios activos", usages.size());
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private static MultiGauge.Row<?> row(String user, String type, long value) {
+        return MultiGauge.Row.of(Tags.of("user", user, "type", type), value);
+    }
+
+    /**
+     * Petición rechazada: {@code requests} (ritmo de peticiones) o {@code tokens} (cuota
+     * de tokens del modelo agotada).
+     */
+    public record Rejection(String reason, Duration retryAfter) {
+
+        static final String REQUESTS = "requests";
+        static final String TOKENS = "tokens";
+
+        public String message() {
+            return TOKENS.equals(reason)
+                    ? "Cuota de tokens del modelo agotada"
+                    : "Límite de peticiones excedido";
+        }
+
+        /**
+         * Segundos enteros para la cabecera {@code Retry-After}, como mínimo 1.
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, (retryAfter.toMillis() + 999) / 1_000);
+        }
+    }
+
+    private record Budget(TokenBucket requests, TokenBucket tokens, AtomicLong requestCount, AtomicLong tokenCount) {
+
+        Budget(RateLimitProperties properties, long now) {
+            this(new TokenBucket(properties.requestsPerSecond(), properties.requestBurst(), now),
+                    new TokenBucket(properties.tokensPerMinute() / 60d, properties.tokenBurst(), now),
+                    new AtomicLong(),
+                    new AtomicLong());
+        }
+
+        boolean isIdle(long now) {
+            return requests.isFull(now) && tokens.isFull(now);
+        }
+    }
+
+    private record Usage(String user, long requests, long tokens) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.geovannycode.mcpclient.resilience;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia AIMD. La latencia de referencia es una media móvil
+ * exponencial de las llamadas correctas, de modo que se adapta a cambios lentos del
+ * upstream y reacciona a degradaciones bruscas reduciendo el límite.
+ */
+final class AdaptiveLimiter {
+
+    private static final double LATENCY_SMOOTHING = 0.05;
+
+    private final ResilienceProperties.Limit config;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double limit;
+    private int inFlight;
+    private double averageNanos;
+
+    AdaptiveLimiter(ResilienceProperties.Limit config) {
+        this.config = config;
+        this.limit = config.initial();
+    }
+
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera el permiso sin ajustar el límite.
+     */
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long elapsedNanos, boolean failure) {
+        lock.lock();
+        try {
+            var utilized = inFlight * 2 >= (int) limit;
+            inFlight--;
+
+            var slow = !failure && config.latencyTolerance() > 0 && averageNanos > 0
+                    && elapsedNanos > averageNanos * config.latencyTolerance();
+
+            if (failure || slow) {
+                limit = Math.max(config.min(), limit * config.backoffRatio());
+            } else if (utilized) {
+                limit = Math.min(config.max(), limit + 1);
+            }
+
+            if (!failure) {
+                averageNanos = averageNanos == 0
+                        ? elapsedNanos
+                        : averageNanos + LATENCY_SMOOTHING * (elapsedNanos - averageNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.geovannycode.mcpclient.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Circuit breaker por número de llamadas: ventana circular con el resultado de las
+ * últimas llamadas; en semiabierto admite un número fijo de llamadas de prueba.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final ResilienceProperties.Breaker config;
+    private final Clock clock;
+    private final BiConsumer<State, State> onTransition;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] failures;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failed;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    CircuitBreaker(ResilienceProperties.Breaker config, Clock clock, BiConsumer<State, State> onTransition) {
+        this.config = config;
+        this.clock = clock;
+        this.onTransition = onTransition;
+        this.failures = new boolean[config.windowSize()];
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (clock.millis() - openedAt < config.openDuration().toMillis()) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialsStarted >= config.halfOpenCalls()) {
+                    return false;
+                }
+                trialsStarted++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve un permiso sin contar la llamada (p. ej. cancelada por el cliente).
+     */
+    void release() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && trialsStarted > 0) {
+                trialsStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void record(boolean failure, long elapsedNanos) {
+        var slow = config.slowCallThreshold() != null && elapsedNanos > config.slowCallThreshold().toNanos();
+        var counted = failure || slow;
+
+        lock.lock();
+        try {
+            switch (state) {
+                case HALF_OPEN -> {
+                    if (counted) {
+                        open();
+                    } else if (++trialsSucceeded >= config.halfOpenCalls()) {
+                        reset();
+                        transition(State.CLOSED);
+                    }
+                }
+                case CLOSED -> {
+                    add(counted);
+                    if (recorded >= config.minimumCalls()
+                            && (double) failed / recorded >= config.failureRateThreshold()) {
+                        open();
+                    }
+                }
+                case OPEN -> {
+                    // Llamadas iniciadas antes de abrir el circuito: no cambian el estado
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Duration retryAfter() {
+        lock.lock();
+        try {
+            if (state != State.OPEN) {
+                return Duration.ofSeconds(1);
+            }
+            var remaining = config.openDuration().toMillis() - (clock.millis() - openedAt);
+            return Duration.ofMillis(Math.max(1_000, remaining));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(boolean failure) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failed--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failed++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void open() {
+        openedAt = clock.millis();
+        reset();
+        transition(State.OPEN);
+    }
+
+    private void reset() {
+        recorded = 0;
+        next = 0;
+        failed = 0;
+        trialsStarted = 0;
+        trialsSucceeded = 0;
+    }
+
+    private void transition(State target) {
+        var previous = state;
+        state = target;
+        if (previous != target) {
+            onTransition.accept(previous, target);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.geovannycode.mcpclient.resilience;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Aplica el {@link UpstreamGuard} a las peticiones HTTP dirigidas a un host concreto,
+ * tanto con {@code RestClient} (llamadas completas) como con {@code WebClient}
+ * (streaming, hasta recibir las cabeceras de la respuesta).
+ * <p>
+ * Se protege la petición HTTP y no la llamada al {@code ChatModel} porque ésta incluye
+ * la ejecución de herramientas MCP, que tienen sus propios circuitos.
+ */
+public class HttpUpstreamGuard implements ClientHttpRequestInterceptor, ExchangeFilterFunction {
+
+    private final URI baseUrl;
+    private final UpstreamGuard guard;
+
+    public HttpUpstreamGuard(URI baseUrl, UpstreamGuard guard) {
+        this.baseUrl = baseUrl;
+        this.guard = guard;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request,
+                                        byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!targets(request.getURI())) {
+            return execution.execute(request, body);
+        }
+        return guard.execute(() -> execution.execute(request, body), HttpUpstreamGuard::isFailure);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!targets(request.url())) {
+            return next.exchange(request);
+        }
+        return guard.execute(next.exchange(request), response -> isFailure(response.statusCode()));
+    }
+
+    private boolean targets(URI uri) {
+        return baseUrl.getHost() != null && baseUrl.getHost().equalsIgnoreCase(uri.getHost());
+    }
+
+    private static boolean isFailure(ClientHttpResponse response) {
+        try {
+            return isFailure(response.getStatusCode());
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Los 4xx (salvo 429) son errores de la petición, no del upstream.
+     */
+    static boolean isFailure(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == 429;
+    }
+}
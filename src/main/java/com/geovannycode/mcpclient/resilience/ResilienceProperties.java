@@ -0,0 +1,90 @@
+package com.geovannycode.mcpclient.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Circuit breaker y límite de concurrencia adaptativo por servicio upstream: el modelo
+ * ({@code openai}) y cada conexión MCP por su nombre. Las secciones que un upstream no
+ * define se toman de {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "assistant.resilience")
+public record ResilienceProperties(
+        boolean enabled,
+        Upstream defaults,
+        Map<String, Upstream> upstreams
+) {
+
+    private static final Breaker DEFAULT_BREAKER = new Breaker(0.5, 20, 10, null, Duration.ofSeconds(30), 3);
+    private static final Limit DEFAULT_LIMIT = new Limit(20, 2, 200, 0.9, 2.5);
+
+    public ResilienceProperties {
+        defaults = Optional.ofNullable(defaults).orElse(new Upstream(null, null));
+        defaults = new Upstream(
+                Optional.ofNullable(defaults.breaker()).orElse(DEFAULT_BREAKER),
+                Optional.ofNullable(defaults.limit()).orElse(DEFAULT_LIMIT));
+        upstreams = Optional.ofNullable(upstreams).map(Map::copyOf).orElse(Map.of());
+    }
+
+    public Upstream upstreamFor(String name) {
+        var upstream = upstreams.get(name);
+        if (upstream == null) {
+            return defaults;
+        }
+        return new Upstream(
+                Optional.ofNullable(upstream.breaker()).orElse(defaults.breaker()),
+                Optional.ofNullable(upstream.limit()).orElse(defaults.limit()));
+    }
+
+    public record Upstream(Breaker breaker, Limit limit) {
+    }
+
+    /**
+     * El circuito se abre cuando, con al menos {@code minimumCalls} en la ventana de las
+     * últimas {@code windowSize} llamadas, la tasa de fallos (incluidas las llamadas más
+     * lentas que {@code slowCallThreshold}) alcanza {@code failureRateThreshold}. Tras
+     * {@code openDuration} deja pasar {@code halfOpenCalls} llamadas de prueba.
+     */
+    public record Breaker(
+            double failureRateThreshold,
+            int windowSize,
+            int minimumCalls,
+            Duration slowCallThreshold,
+            Duration openDuration,
+            int halfOpenCalls
+    ) {
+
+        public Breaker {
+            failureRateThreshold = failureRateThreshold > 0 && failureRateThreshold <= 1 ? failureRateThreshold : 0.5;
+            windowSize = windowSize > 0 ? windowSize : 20;
+            minimumCalls = minimumCalls > 0 ? Math.min(minimumCalls, windowSize) : Math.min(10, windowSize);
+            openDuration = Optional.ofNullable(openDuration).orElse(Duration.ofSeconds(30));
+            halfOpenCalls = halfOpenCalls > 0 ? halfOpenCalls : 3;
+        }
+    }
+
+    /**
+     * Límite AIMD: crece en uno cuando se usa al menos la mitad del límite y la llamada va
+     * bien, y se multiplica por {@code backoffRatio} ante un fallo o una latencia mayor que
+     * {@code latencyTolerance} veces la latencia media observada (0 desactiva este criterio).
+     */
+    public record Limit(
+            int initial,
+            int min,
+            int max,
+            double backoffRatio,
+            double latencyTolerance
+    ) {
+
+        public Limit {
+            min = Math.max(1, min);
+            max = max >= min ? max : Math.max(min, 200);
+            initial = Math.max(min, Math.min(initial > 0 ? initial : 20, max));
+            backoffRatio = backoffRatio > 0 && backoffRatio < 1 ? backoffRatio : 0.9;
+            latencyTolerance = Math.max(0, latencyTolerance);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.geovannycode.mcpclient.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Protege las llamadas a un upstream: primero el límite adaptativo y después el
+ * circuit breaker. Si cualquiera rechaza la llamada se falla de inmediato con
+ * {@link UpstreamUnavailableException} en lugar de esperar al timeout del upstream.
+ */
+public final class UpstreamGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamGuard.class);
+
+    private static final String CALLS_METRIC = "resilience.calls";
+    private static final String REJECTED_METRIC = "resilience.rejected";
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+
+        T call() throws E;
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final CircuitBreaker breaker;
+    private final AdaptiveLimiter limiter;
+    private final MeterRegistry meterRegistry;
+
+    UpstreamGuard(String name,
+                  boolean enabled,
+                  CircuitBreaker breaker,
+                  AdaptiveLimiter limiter,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = enabled;
+        this.breaker = breaker;
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public CircuitBreaker.State state() {
+        return breaker.state();
+    }
+
+    public int limit() {
+        return limiter.limit();
+    }
+
+    public int inFlight() {
+        return limiter.inFlight();
+    }
+
+    public <T, E extends Exception> T execute(Call<T, E> call, Predicate<T> isFailure) throws E {
+        if (!enabled) {
+            return call.call();
+        }
+
+        acquire();
+        var start = System.nanoTime();
+        T result;
+        try {
+            result = call.call();
+        } catch (Exception | Error e) {
+            complete(true, System.nanoTime() - start);
+            throw e;
+        }
+        complete(isFailure.test(result), System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Variante reactiva: la llamada termina con la primera señal de {@code call}; una
+     * cancelación devuelve el permiso sin contar como éxito ni como fallo.
+     */
+    public <T> Mono<T> execute(Mono<T> call, Predicate<T> isFailure) {
+        if (!enabled) {
+            return call;
+        }
+
+        return Mono.defer(() -> {
+            acquire();
+            var start = System.nanoTime();
+            var done = new AtomicBoolean(false);
+
+            return call
+                    .doOnSuccess(result -> {
+                        if (done.compareAndSet(false, true)) {
+                            complete(result != null && isFailure.test(result), System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (done.compareAndSet(false, true)) {
+                            complete(true, System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            abandon();
+                        }
+                    });
+        });
+    }
+
+    private void acquire() {
+        if (!limiter.tryAcquire()) {
+            meterRegistry.counter(REJECTED_METRIC, "upstream", name, "reason", "limit").increment();
+            logger.warn("Llamada a {} rechazada: límite de concurrencia {} alcanzado", name, limiter.limit());
+            throw UpstreamUnavailableException.saturated(name);
+        }
+        if (!breaker.tryAcquire()) {
+            limiter.release();
+            meterRegistry.counter(REJECTED_METRIC, "upstream", name, "reason", "circuit-open").increment();
+            logger.debug("Llamada a {} rechazada: circuito abierto", name);
+            throw UpstreamUnavailableException.circuitOpen(name, breaker.retryAfter());
+        }
+    }
+
+    private void complete(boolean failure, long elapsedNanos) {
+        // Una llamada interrumpida (hedge perdedor, plazo excedido) no dice nada del upstream
+        if (Thread.currentThread().isInterrupted()) {
+            abandon();
+            return;
+        }
+        breaker.record(failure, elapsedNanos);
+        limiter.release(elapsedNanos, failure);
+        meterRegistry.counter(CALLS_METRIC, "upstream", name, "outcome", failure ? "failure" : "success").increment();
+    }
+
+    private void abandon() {
+        breaker.release();
+        limiter.release();
+    }
+}
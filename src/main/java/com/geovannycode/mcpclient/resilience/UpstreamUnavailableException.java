@@ -0,0 +1,57 @@
+package com.geovannycode.mcpclient.resilience;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final String upstream;
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String upstream, String message, Duration retryAfter) {
+        super(message);
+        this.upstream = upstream;
+        this.retryAfter = retryAfter;
+    }
+
+    static UpstreamUnavailableException circuitOpen(String upstream, Duration retryAfter) {
+        return new UpstreamUnavailableException(upstream,
+                "El servicio " + upstream + " no está disponible temporalmente, inténtelo de nuevo más tarde",
+                retryAfter);
+    }
+
+    static UpstreamUnavailableException saturated(String upstream) {
+        return new UpstreamUnavailableException(upstream,
+                "El servicio " + upstream + " está saturado, inténtelo de nuevo en unos segundos",
+                Duration.ofSeconds(1));
+    }
+
+    /**
+     * Las llamadas al modelo y a las herramientas pueden envolver la excepción en otras
+     * de Spring AI; se busca en la cadena de causas.
+     */
+    public static Optional<UpstreamUnavailableException> causeOf(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamUnavailableException unavailable) {
+                return Optional.of(unavailable);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Mensaje que se puede mostrar al usuario: el de esta excepción, pensado para él, o
+     * {@code fallback} para cualquier otro error, cuyo texto no debe salir del servidor.
+     */
+    public static String userMessageOf(Throwable error, String fallback) {
+        return causeOf(error).map(Throwable::getMessage).orElse(fallback);
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
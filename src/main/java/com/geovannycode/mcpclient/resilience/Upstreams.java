@@ -0,0 +1,86 @@
+package com.geovannycode.mcpclient.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de los upstreams protegidos. Cada nombre tiene su propio circuit breaker y
+ * límite adaptativo, de modo que la degradación de una conexión MCP no corta las demás
+ * ni las llamadas al modelo.
+ */
+@Component
+public class Upstreams {
+
+    public static final String MODEL = "openai";
+
+    private static final Logger logger = LoggerFactory.getLogger(Upstreams.class);
+
+    private static final String STATE_METRIC = "resilience.circuit.state";
+    private static final String TRANSITIONS_METRIC = "resilience.circuit.transitions";
+    private static final String LIMIT_METRIC = "resilience.limit";
+    private static final String IN_FLIGHT_METRIC = "resilience.in-flight";
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public Upstreams(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    Upstreams(ResilienceProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public UpstreamGuard guard(String name) {
+        return guards.computeIfAbsent(name, this::register);
+    }
+
+    public Map<String, UpstreamGuard> all() {
+        return new TreeMap<>(guards);
+    }
+
+    private UpstreamGuard register(String name) {
+        var upstream = properties.upstreamFor(name);
+        var breaker = new CircuitBreaker(upstream.breaker(), clock, (from, to) -> {
+            logger.warn("Circuito de {}: {} -> {}", name, from, to);
+            meterRegistry.counter(TRANSITIONS_METRIC, "upstream", name, "state", tag(to)).increment();
+        });
+        var limiter = new AdaptiveLimiter(upstream.limit());
+
+        for (var state : CircuitBreaker.State.values()) {
+            Gauge.builder(STATE_METRIC, breaker, b -> b.state() == state ? 1 : 0)
+                    .description("Estado del circuit breaker del upstream (1 = estado actual)")
+                    .tag("upstream", name)
+                    .tag("state", tag(state))
+                    .register(meterRegistry);
+        }
+        Gauge.builder(LIMIT_METRIC, limiter, AdaptiveLimiter::limit)
+                .description("Límite de concurrencia adaptativo del upstream")
+                .tag("upstream", name)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limiter, AdaptiveLimiter::inFlight)
+                .description("Llamadas en curso al upstream")
+                .tag("upstream", name)
+                .register(meterRegistry);
+
+        return new UpstreamGuard(name, properties.enabled(), breaker, limiter, meterRegistry);
+    }
+
+    static String tag(CircuitBreaker.State state) {
+        return state.name().toLowerCase().replace('_', '-');
+    }
+}
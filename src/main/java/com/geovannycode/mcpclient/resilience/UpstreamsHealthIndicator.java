@@ -0,0 +1,43 @@
+package com.geovannycode.mcpclient.resilience;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Estado de los circuit breakers en {@code /actuator/health}. Un circuito abierto marca
+ * el componente como {@code DEGRADED} y no como {@code DOWN}: el upstream es compartido
+ * por todas las instancias y sacar esta del balanceador no ayudaría.
+ */
+@Component
+public class UpstreamsHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "Algún upstream tiene el circuito abierto");
+
+    private final Upstreams upstreams;
+
+    public UpstreamsHealthIndicator(Upstreams upstreams) {
+        this.upstreams = upstreams;
+    }
+
+    @Override
+    public Health health() {
+        var builder = Health.up();
+
+        for (var guard : upstreams.all().values()) {
+            var details = new LinkedHashMap<String, Object>();
+            details.put("state", guard.state());
+            details.put("limit", guard.limit());
+            details.put("inFlight", guard.inFlight());
+            builder.withDetail(guard.name(), details);
+
+            if (guard.state() == CircuitBreaker.State.OPEN) {
+                builder.status(DEGRADED);
+            }
+        }
+        return builder.build();
+    }
+}
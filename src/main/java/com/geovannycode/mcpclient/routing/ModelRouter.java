@@ -0,0 +1,234 @@
+package com.geovannycode.mcpclient.routing;
+
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.core.task.AsyncTaskExecutor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Elige el modelo de cada petición según la operación, el tamaño del mensaje y si
+ * parece necesitar herramientas, y reintenta con la ruta de respaldo cuando el modelo
+ * elegido falla o excede su tiempo límite. Un upstream no disponible no se reintenta:
+ * la ruta de respaldo pasaría por el mismo.
+ * <p>
+ * Las rutas se aplican como opciones por petición sobre el {@code ChatModel}
+ * configurado, de modo que la memoria, las herramientas y los advisors del ChatClient
+ * se mantienen en todas ellas.
+ */
+public class ModelRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelRouter.class);
+
+    private static final String LATENCY_METRIC = "chat.route.latency";
+    private static final String FALLBACKS_METRIC = "chat.route.fallbacks";
+    private static final String COST_METRIC = "chat.route.cost";
+
+    private final RoutingProperties properties;
+    private final TokenCountEstimator tokenCountEstimator;
+    private final AsyncTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final List<Pattern> toolHints;
+
+    public ModelRouter(RoutingProperties properties,
+                       TokenCountEstimator tokenCountEstimator,
+                       AsyncTaskExecutor executor,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokenCountEstimator = tokenCountEstimator;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.toolHints = properties.toolHints().stream().map(Pattern::compile).toList();
+    }
+
+    public RouteDecision route(String operation, String userMessage) {
+        if (!properties.enabled() || properties.routes().isEmpty()) {
+            return RouteDecision.defaults(operation);
+        }
+
+        var text = Optional.ofNullable(userMessage).orElse("");
+        var promptTokens = tokenCountEstimator.estimate(text);
+        var toolsLikely = toolHints.stream().anyMatch(hint -> hint.matcher(text).find());
+
+        var routeName = properties.rules().stream()
+                .filter(rule -> rule.matches(operation, promptTokens, toolsLikely))
+                .map(RoutingProperties.Rule::route)
+                .findFirst()
+                .orElse(properties.defaultRoute());
+
+        if (routeName == null) {
+            return RouteDecision.defaults(operation);
+        }
+
+        logger.debug("Ruta {} para {} ({} tokens, herramientas probables: {})",
+                routeName, operation, promptTokens, toolsLikely);
+        return decision(routeName, operation);
+    }
+
+    public ChatResponse call(RouteDecision decision, Function<ChatOptions, ChatResponse> invocation) {
+        try {
+            return attempt(decision, invocation);
+        } catch (RuntimeException e) {
+            var fallback = fallbackOf(decision);
+            if (fallback.isEmpty() || UpstreamUnavailableException.causeOf(e).isPresent()) {
+                throw e;
+            }
+
+            logger.warn("Ruta {} falló para {} ({}), usando {}",
+                    decision.name(), decision.operation(), e.getMessage(), fallback.get().name());
+            recordFallback(decision, fallback.get());
+            return attempt(fallback.get(), invocation);
+        }
+    }
+
+    /**
+     * En streaming el tiempo límite se aplica al primer token y el respaldo sólo se usa
+     * si todavía no se ha emitido nada al cliente.
+     */
+    public <T> Flux<T> stream(RouteDecision decision, Function<ChatOptions, Flux<T>> invocation) {
+        var emitted = new AtomicBoolean(false);
+        var primary = Flux.defer(() -> invocation.apply(options(decision.route())));
+
+        var timeout = decision.route() != null ? decision.route().timeout() : null;
+        if (timeout != null) {
+            primary = primary.timeout(Mono.delay(timeout), token -> Mono.never());
+        }
+
+        var fallback = fallbackOf(decision);
+        if (fallback.isEmpty()) {
+            return primary;
+        }
+
+        return primary
+                .doOnNext(token -> emitted.set(true))
+                .onErrorResume(e -> !emitted.get() && UpstreamUnavailableException.causeOf(e).isEmpty(), e -> {
+                    logger.warn("Ruta {} falló en streaming para {}, usando {}",
+                            decision.name(), decision.operation(), fallback.get().name());
+                    recordFallback(decision, fallback.get());
+                    return Flux.defer(() -> invocation.apply(options(fallback.get().route())));
+                });
+    }
+
+    private ChatResponse attempt(RouteDecision decision, Function<ChatOptions, ChatResponse> invocation) {
+        var options = options(decision.route());
+        var timeout = decision.route() != null ? decision.route().timeout() : null;
+        var start = System.nanoTime();
+        var outcome = "error";
+
+        try {
+            var response = timeout != null
+                    ? callWithTimeout(decision, timeout, () -> invocation.apply(options))
+                    : invocation.apply(options);
+            outcome = "success";
+            recordCost(decision, response);
+            return response;
+        } catch (ModelTimeoutException e) {
+            outcome = "timeout";
+            throw e;
+        } finally {
+            latencyTimer(decision, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@code submit} devuelve una {@code FutureTask}: al cancelarla se interrumpe el hilo
+     * de la llamada, que deja de esperar al modelo, y la cancelación de un hedge perdedor
+     * llega hasta ella.
+     */
+    private ChatResponse callWithTimeout(RouteDecision decision,
+                                         Duration timeout,
+                                         Callable<ChatResponse> invocation) {
+        var future = executor.submit(invocation);
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ModelTimeoutException(decision.name(), timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Llamada al modelo interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Optional<RouteDecision> fallbackOf(RouteDecision decision) {
+        return Optional.ofNullable(decision.route())
+                .map(RoutingProperties.Route::fallback)
+                .map(name -> decision(name, decision.operation()));
+    }
+
+    private RouteDecision decision(String routeName, String operation) {
+        return new RouteDecision(routeName, properties.routes().get(routeName), operation);
+    }
+
+    private static ChatOptions options(RoutingProperties.Route route) {
+        if (route == null) {
+            return null;
+        }
+        return ToolCallingChatOptions.builder()
+                .model(route.model())
+                .temperature(route.temperature())
+                .maxTokens(route.maxTokens())
+                .build();
+    }
+
+    private void recordCost(RouteDecision decision, ChatResponse response) {
+        if (decision.route() == null || response == null || response.getMetadata().getUsage() == null) {
+            return;
+        }
+
+        var usage = response.getMetadata().getUsage();
+        var promptTokens = Optional.ofNullable(usage.getPromptTokens()).orElse(0);
+        var completionTokens = Optional.ofNullable(usage.getCompletionTokens()).orElse(0);
+        var cost = promptTokens / 1_000.0 * decision.route().promptCostPer1k()
+                + completionTokens / 1_000.0 * decision.route().completionCostPer1k();
+
+        Counter.builder(COST_METRIC)
+                .description("Coste estimado de las llamadas al modelo por ruta")
+                .baseUnit("usd")
+                .tag("route", decision.name())
+                .tag("operation", decision.operation())
+                .register(meterRegistry)
+                .increment(cost);
+    }
+
+    private void recordFallback(RouteDecision from, RouteDecision to) {
+        meterRegistry.counter(FALLBACKS_METRIC,
+                "from", from.name(), "to", to.name(), "operation", from.operation()).increment();
+    }
+
+    private Timer latencyTimer(RouteDecision decision, String outcome) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Latencia de las llamadas al modelo por ruta")
+                .tag("route", decision.name())
+                .tag("operation", decision.operation())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(120))
+                .register(meterRegistry);
+    }
+}
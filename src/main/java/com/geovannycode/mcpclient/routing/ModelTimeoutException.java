@@ -0,0 +1,23 @@
+package com.geovannycode.mcpclient.routing;
+
+import java.time.Duration;
+
+public class ModelTimeoutException extends RuntimeException {
+
+    private final String route;
+    private final Duration timeout;
+
+    public ModelTimeoutException(String route, Duration timeout) {
+        super("El modelo de la ruta " + route + " no respondió en " + timeout.toMillis() + " ms");
+        this.route = route;
+        this.timeout = timeout;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
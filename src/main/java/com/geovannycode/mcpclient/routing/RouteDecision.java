@@ -0,0 +1,14 @@
+package com.geovannycode.mcpclient.routing;
+
+/**
+ * Ruta elegida para una petición; {@code route} es nulo cuando se usan las opciones
+ * por defecto del modelo.
+ */
+public record RouteDecision(String name, RoutingProperties.Route route, String operation) {
+
+    static final String DEFAULT = "default";
+
+    static RouteDecision defaults(String operation) {
+        return new RouteDecision(DEFAULT, null, operation);
+    }
+}
@@ -0,0 +1,80 @@
+package com.geovannycode.mcpclient.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Rutas de modelo y reglas de selección. Las reglas se evalúan en orden y gana la
+ * primera que coincide; si ninguna coincide se usa {@code default-route}.
+ */
+@ConfigurationProperties(prefix = "assistant.routing")
+public record RoutingProperties(
+        boolean enabled,
+        String defaultRoute,
+        Map<String, Route> routes,
+        List<Rule> rules,
+        List<String> toolHints
+) {
+
+    public RoutingProperties {
+        routes = Optional.ofNullable(routes).map(Map::copyOf).orElse(Map.of());
+        rules = Optional.ofNullable(rules).map(List::copyOf).orElse(List.of());
+        toolHints = Optional.ofNullable(toolHints).map(List::copyOf).orElse(List.of());
+
+        if (defaultRoute != null && !routes.containsKey(defaultRoute)) {
+            throw new IllegalArgumentException("La ruta por defecto no está definida: " + defaultRoute);
+        }
+        for (var rule : rules) {
+            if (!routes.containsKey(rule.route())) {
+                throw new IllegalArgumentException("Regla con ruta no definida: " + rule.route());
+            }
+        }
+        for (var route : routes.values()) {
+            if (route.fallback() != null && !routes.containsKey(route.fallback())) {
+                throw new IllegalArgumentException("Ruta de respaldo no definida: " + route.fallback());
+            }
+        }
+    }
+
+    /**
+     * Un modelo con sus opciones, el tiempo máximo de respuesta (sin límite si es nulo),
+     * la ruta de respaldo y el precio en USD por cada 1.000 tokens.
+     */
+    public record Route(
+            String model,
+            Double temperature,
+            Integer maxTokens,
+            Duration timeout,
+            String fallback,
+            double promptCostPer1k,
+            double completionCostPer1k
+    ) {
+    }
+
+    /**
+     * Condiciones vacías o nulas no restringen: {@code tools: false} sólo coincide
+     * cuando la consulta no parece requerir herramientas.
+     */
+    public record Rule(
+            String route,
+            Set<String> operations,
+            int maxPromptTokens,
+            Boolean tools
+    ) {
+
+        public Rule {
+            operations = Optional.ofNullable(operations).map(Set::copyOf).orElse(Set.of());
+        }
+
+        boolean matches(String operation, int promptTokens, boolean toolsLikely) {
+            return (operations.isEmpty() || operations.contains(operation))
+                    && (maxPromptTokens <= 0 || promptTokens <= maxPromptTokens)
+                    && (tools == null || tools == toolsLikely);
+        }
+    }
+}
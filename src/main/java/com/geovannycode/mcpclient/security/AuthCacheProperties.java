@@ -0,0 +1,23 @@
+package com.geovannycode.mcpclient.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché de credenciales HTTP Basic ya verificadas. El TTL acota cuánto tarda en
+ * aplicarse un cambio de contraseña o la baja de un usuario.
+ */
+@ConfigurationProperties(prefix = "assistant.auth-cache")
+public record AuthCacheProperties(
+        boolean enabled,
+        Duration ttl,
+        int maxSize
+) {
+
+    public AuthCacheProperties {
+        ttl = Optional.ofNullable(ttl).orElse(Duration.ofMinutes(5));
+        maxSize = maxSize > 0 ? maxSize : 10_000;
+    }
+}
@@ -0,0 +1,266 @@
+package com.geovannycode.mcpclient.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resultados de autenticación HTTP Basic ya verificados, para no repetir el hash de la
+ * contraseña (bcrypt, etc.) en cada petición.
+ * <p>
+ * La clave es un HMAC-SHA256 de usuario y contraseña con una clave aleatoria del proceso:
+ * la contraseña no se guarda y el resumen no sirve fuera de esta instancia. Sólo se cachean
+ * los éxitos; una contraseña distinta no coincide con ninguna entrada y pasa por la
+ * verificación completa. LRU acotado por tamaño y TTL.
+ */
+@Component
+public class AuthenticationCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final String REQUESTS_METRIC = "auth.cache.requests";
+    private static final String SIZE_METRIC = "auth.cache.size";
+    private static final String HIT_RATIO_METRIC = "auth.cache.hit.ratio";
+    private static final String LATENCY_METRIC = "auth.latency";
+
+    private final AuthCacheProperties properties;
+    private final Clock clock;
+    private final SecretKeySpec secretKey;
+    private final Mac prototype;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer cachedLatency;
+    private final Timer verifiedLatency;
+    private final Timer rejectedLatency;
+
+    @Autowired
+    public AuthenticationCache(AuthCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    AuthenticationCache(AuthCacheProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.secretKey = newSecretKey();
+        this.prototype = newMac(secretKey);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > properties.maxSize();
+            }
+        };
+
+        this.hits = meterRegistry.counter(REQUESTS_METRIC, "result", "hit");
+        this.misses = meterRegistry.counter(REQUESTS_METRIC, "result", "miss");
+        this.cachedLatency = latencyTimer(meterRegistry, "cached");
+        this.verifiedLatency = latencyTimer(meterRegistry, "verified");
+        this.rejectedLatency = latencyTimer(meterRegistry, "rejected");
+
+        Gauge.builder(SIZE_METRIC, this, AuthenticationCache::size)
+                .description("Credenciales verificadas en caché")
+                .register(meterRegistry);
+        Gauge.builder(HIT_RATIO_METRIC, this, AuthenticationCache::hitRatio)
+                .description("Fracción de autenticaciones resueltas desde la caché")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * {@link AuthenticationManager} que consulta la caché antes de delegar.
+     */
+    public AuthenticationManager wrap(AuthenticationManager delegate) {
+        return authentication -> {
+            var start = System.nanoTime();
+            var key = keyOf(authentication);
+            if (key == null) {
+                return delegate.authenticate(authentication);
+            }
+
+            var cached = get(key, authentication);
+            if (cached.isPresent()) {
+                cachedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return cached.get();
+            }
+
+            try {
+                var result = delegate.authenticate(authentication);
+                put(key, result);
+                verifiedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (RuntimeException e) {
+                rejectedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Variante reactiva de {@link #wrap(AuthenticationManager)}.
+     */
+    public ReactiveAuthenticationManager wrap(ReactiveAuthenticationManager delegate) {
+        return authentication -> Mono.defer(() -> {
+            var start = System.nanoTime();
+            var key = keyOf(authentication);
+            if (key == null) {
+                return delegate.authenticate(authentication);
+            }
+
+            var cached = get(key, authentication);
+            if (cached.isPresent()) {
+                cachedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Mono.just(cached.get());
+            }
+
+            return delegate.authenticate(authentication)
+                    .doOnNext(result -> {
+                        put(key, result);
+                        verifiedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    })
+                    .doOnError(e -> rejectedLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<Authentication> get(String key, Authentication request) {
+        var now = clock.millis();
+
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(key);
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        // Token nuevo por petición para no compartir los detalles (IP, sesión) de otra
+        var result = UsernamePasswordAuthenticationToken.authenticated(
+                entry.authentication().getPrincipal(), null, entry.authentication().getAuthorities());
+        result.setDetails(request.getDetails());
+        return Optional.of(result);
+    }
+
+    private void put(String key, Authentication result) {
+        if (result == null || !result.isAuthenticated()) {
+            return;
+        }
+
+        var entry = new Entry(result, clock.millis() + properties.ttl().toMillis());
+
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@code null} si la petición no es usuario/contraseña y no debe pasar por la caché.
+     */
+    private String keyOf(Authentication authentication) {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)
+                || !(authentication.getCredentials() instanceof String password)) {
+            return null;
+        }
+
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            mac = newMac(secretKey);
+        }
+        mac.update(authentication.getName().getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private double hitRatio() {
+        var total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static SecretKeySpec newSecretKey() {
+        var secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    private static Mac newMac(SecretKeySpec secretKey) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC no disponible", e);
+        }
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Tiempo de autenticación HTTP Basic")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    private record Entry(Authentication authentication, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
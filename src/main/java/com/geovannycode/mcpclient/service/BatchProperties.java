@@ -0,0 +1,15 @@
+package com.geovannycode.mcpclient.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "assistant.batch")
+public record BatchProperties(
+        int maxParallelism,
+        int maxItems
+) {
+
+    public BatchProperties {
+        maxParallelism = maxParallelism > 0 ? maxParallelism : 8;
+        maxItems = maxItems > 0 ? maxItems : 100;
+    }
+}
@@ -0,0 +1,20 @@
+package com.geovannycode.mcpclient.service;
+
+public enum ChatOperation {
+
+    CHAT("chat"),
+    HR_QUERY("hr-query"),
+    HR_POLICIES("hr-policies"),
+    HR_EMPLOYEE("hr-employee"),
+    HR_BENEFITS("hr-benefits");
+
+    private final String key;
+
+    ChatOperation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -1,140 +1,758 @@
 package com.geovannycode.mcpclient.service;
 
+import com.geovannycode.mcpclient.cache.PromptKey;
+import com.geovannycode.mcpclient.cache.ResponseCache;
+import com.geovannycode.mcpclient.concurrency.DeadlineExceededException;
+import com.geovannycode.mcpclient.concurrency.HedgedExecutor;
+import com.geovannycode.mcpclient.concurrency.LlmConcurrencyLimiter;
+import com.geovannycode.mcpclient.logging.PayloadLogger;
+import com.geovannycode.mcpclient.model.ChatReply;
+import com.geovannycode.mcpclient.model.ErrorResponse;
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import com.geovannycode.mcpclient.prompt.PromptContextAssembler;
+import com.geovannycode.mcpclient.ratelimit.UserRateLimiter;
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import com.geovannycode.mcpclient.routing.ModelRouter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
-import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Service
 public class ChatService {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatService.class);
 
+    private static final String TIME_TO_FIRST_TOKEN_METRIC = "chat.stream.time-to-first-token";
+    private static final String STREAM_CANCELLED_METRIC = "chat.stream.cancelled";
+    private static final String SERVICE_OBSERVATION = "chat.service";
+    private static final String TOKENS_METRIC = "chat.tokens";
+
     private final ChatClient chatClient;
+    private final MeterRegistry meterRegistry;
+    private final LlmConcurrencyLimiter concurrencyLimiter;
+    private final ResponseCache responseCache;
+    private final ObservationRegistry observationRegistry;
+    private final ChatMemory chatMemory;
+    private final PromptContextAssembler contextAssembler;
+    private final ModelRouter modelRouter;
+    private final HedgedExecutor hedgedExecutor;
+    private final UserRateLimiter rateLimiter;
+    private final PayloadLogger payloads;
 
-    public ChatService(ChatClient.Builder chatClientBuilder) {
+    public ChatService(ChatClient.Builder chatClientBuilder,
+                       MeterRegistry meterRegistry,
+                       LlmConcurrencyLimiter concurrencyLimiter,
+                       ResponseCache responseCache,
+                       ObservationRegistry observationRegistry,
+                       ChatMemory chatMemory,
+                       PromptContextAssembler contextAssembler,
+                       ModelRouter modelRouter,
+                       HedgedExecutor hedgedExecutor,
+                       UserRateLimiter rateLimiter,
+                       PayloadLogger payloads) {
         this.chatClient = chatClientBuilder.build();
+        this.meterRegistry = meterRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.responseCache = responseCache;
+        this.observationRegistry = observationRegistry;
+        this.chatMemory = chatMemory;
+        this.contextAssembler = contextAssembler;
+        this.modelRouter = modelRouter;
+        this.hedgedExecutor = hedgedExecutor;
+        this.rateLimiter = rateLimiter;
+        this.payloads = payloads;
     }
 
 
     public Optional<String> processMessage(String message) {
+        return processMessage(ChatOperation.CHAT, message);
+    }
+
+
+    public Optional<String> processMessage(ChatOperation operation, String message) {
+        return processMessage(operation, message, null);
+    }
+
+
+    /**
+     * Con {@code sessionId} el historial de la sesión se añade al prompt y la respuesta
+     * no pasa por la caché, ya que depende de los turnos anteriores.
+     */
+    public Optional<String> processMessage(ChatOperation operation, String message, String sessionId) {
         if (message == null || message.isBlank()) {
             logger.warn("Intento de procesar mensaje vacío o nulo");
             return Optional.empty();
         }
 
-        logger.debug("Procesando mensaje: {}", message);
+        payloads.prompt(operation.key(), message);
 
-        try {
-            var responseText = chatClient
-                    .prompt(message)
-                    .call()
-                    .content();
+        var key = PromptKey.of(operation.key(), null, message, null);
 
-            logger.debug("Respuesta generada: {}", responseText);
-            return Optional.ofNullable(responseText)
-                    .filter(text -> !text.isBlank());
-        } catch (Exception e) {
-            logger.error("Error al procesar mensaje: {}", message, e);
-            return Optional.empty();
-        }
+        return call("processMessage", key, conversationId(sessionId), "Error al procesar mensaje", null,
+                () -> message);
     }
 
 
     public Optional<String> processMessageWithContext(String message, Map<String, Object> context) {
+        return processMessageWithContext(ChatOperation.CHAT, message, context);
+    }
+
+
+    public Optional<String> processMessageWithContext(ChatOperation operation,
+                                                      String message,
+                                                      Map<String, Object> context) {
+        return processMessageWithContext(operation, null, message, context, null);
+    }
+
+
+    /**
+     * El system prompt va primero y el contexto se serializa de forma determinista, de
+     * modo que peticiones equivalentes comparten el prefijo que cachea el proveedor.
+     */
+    public Optional<String> processMessageWithContext(ChatOperation operation,
+                                                      String systemMessage,
+                                                      String message,
+                                                      Map<String, Object> context,
+                                                      String sessionId) {
         if (message == null || message.isBlank()) {
             logger.warn("Intento de procesar mensaje vacío o nulo");
             return Optional.empty();
         }
 
-        logger.debug("Procesando mensaje con contexto: {} - {}", message, context);
+        payloads.prompt(operation.key(), message, context);
 
-        try {
-            // Construir el mensaje enriquecido con contexto
-            var enrichedMessage = buildEnrichedMessage(message, context);
-            var userMessage = new UserMessage(enrichedMessage);
-            var prompt = new Prompt(List.of(userMessage));
+        var key = PromptKey.of(operation.key(), systemMessage, message, context);
 
-            var responseText = chatClient
-                    .prompt(prompt)
-                    .call()
-                    .content();
+        return call("processMessageWithContext", key, conversationId(sessionId),
+                "Error al procesar mensaje con contexto",
+                systemMessage, () -> buildEnrichedMessage(operation, message, context));
+    }
 
-            logger.debug("Respuesta generada con contexto: {}", responseText);
-            return Optional.ofNullable(responseText)
-                    .filter(text -> !text.isBlank());
-        } catch (Exception e) {
-            logger.error("Error al procesar mensaje con contexto: {}", message, e);
+    public Optional<String> processMessageWithSystemPrompt(String message, String systemMessage) {
+        return processMessageWithSystemPrompt(ChatOperation.CHAT, message, systemMessage);
+    }
+
+    public Optional<String> processMessageWithSystemPrompt(ChatOperation operation,
+                                                           String message,
+                                                           String systemMessage) {
+        if (message == null || message.isBlank()) {
+            logger.warn("Intento de procesar mensaje vacío o nulo");
             return Optional.empty();
         }
+
+        payloads.prompt(operation.key(), message);
+
+        var key = PromptKey.of(operation.key(), systemMessage, message, null);
+
+        return call("processMessageWithSystemPrompt", key, null, "Error al procesar mensaje con system prompt",
+                systemMessage, () -> message);
     }
 
-    public Optional<String> processMessageWithSystemPrompt(String message, String systemMessage) {
+
+    /**
+     * Variantes no bloqueantes para la pila reactiva: misma caché, limitador, rutas y
+     * hedging que las síncronas, pero la respuesta se obtiene del stream del modelo y se
+     * agrega sin ocupar un hilo mientras se espera.
+     */
+    public Mono<String> processMessageReactive(ChatOperation operation, String message, String sessionId) {
         if (message == null || message.isBlank()) {
             logger.warn("Intento de procesar mensaje vacío o nulo");
-            return Optional.empty();
+            return Mono.empty();
         }
 
-        logger.debug("Procesando mensaje con system prompt: {}", message);
+        payloads.prompt(operation.key(), message);
 
-        try {
-            var responseText = chatClient.prompt()
-                    .system(systemMessage)
-                    .user(message)
-                    .call()
-                    .content();
+        var key = PromptKey.of(operation.key(), null, message, null);
 
-            logger.debug("Respuesta generada con system prompt: {}", responseText);
-            return Optional.ofNullable(responseText)
-                    .filter(text -> !text.isBlank());
-        } catch (Exception e) {
-            logger.error("Error al procesar mensaje con system prompt: {}", message, e);
-            return Optional.empty();
+        return conversationIdReactive(sessionId).flatMap(conversationId -> callReactive("processMessage", key,
+                conversationId.orElse(null), "Error al procesar mensaje", null, () -> message));
+    }
+
+
+    public Mono<String> processMessageWithContextReactive(ChatOperation operation,
+                                                          String systemMessage,
+                                                          String message,
+                                                          Map<String, Object> context,
+                                                          String sessionId) {
+        if (message == null || message.isBlank()) {
+            logger.warn("Intento de procesar mensaje vacío o nulo");
+            return Mono.empty();
         }
+
+        payloads.prompt(operation.key(), message, context);
+
+        var key = PromptKey.of(operation.key(), systemMessage, message, context);
+
+        return conversationIdReactive(sessionId).flatMap(conversationId -> callReactive("processMessageWithContext",
+                key, conversationId.orElse(null), "Error al procesar mensaje con contexto",
+                systemMessage, () -> buildEnrichedMessage(operation, message, context)));
     }
 
 
-    private String buildEnrichedMessage(String message, Map<String, Object> context) {
-        if (context == null || context.isEmpty()) {
-            return message;
+    public Mono<String> processMessageWithSystemPromptReactive(ChatOperation operation,
+                                                               String message,
+                                                               String systemMessage) {
+        if (message == null || message.isBlank()) {
+            logger.warn("Intento de procesar mensaje vacío o nulo");
+            return Mono.empty();
         }
 
-        var contextInfo = new StringBuilder();
-        contextInfo.append("Contexto: ");
+        payloads.prompt(operation.key(), message);
+
+        var key = PromptKey.of(operation.key(), systemMessage, message, null);
 
-        context.forEach((key, value) ->
-                contextInfo.append(key).append("=").append(value).append(", ")
-        );
+        return callReactive("processMessageWithSystemPrompt", key, null,
+                "Error al procesar mensaje con system prompt", systemMessage, () -> message);
+    }
 
-        // Remover la última coma y espacio
-        if (contextInfo.length() > 10) {
-            contextInfo.setLength(contextInfo.length() - 2);
+
+    public void invalidateCache(ChatOperation operation) {
+        responseCache.invalidate(operation.key());
+    }
+
+
+    /**
+     * Borra la sesión del usuario autenticado.
+     *
+     * @return {@code false} si el usuario no tiene una sesión con ese identificador,
+     *         aunque otro usuario sí la tenga
+     */
+    public boolean clearSession(Authentication authentication, String sessionId) {
+        var conversationId = conversationId(authentication, sessionId);
+        if (chatMemory.get(conversationId).isEmpty()) {
+            return false;
         }
+        chatMemory.clear(conversationId);
+        return true;
+    }
+
+
+    /**
+     * El historial se guarda bajo el usuario autenticado y el {@code sessionId} del
+     * cliente: conocer el identificador de la sesión de otro usuario no da acceso a ella.
+     * Las sesiones requieren autenticación.
+     */
+    static String conversationId(Authentication authentication, String sessionId) {
+        var user = UserRateLimiter.userOf(authentication)
+                .orElseThrow(() -> new AccessDeniedException("Las sesiones requieren un usuario autenticado"));
+        return URLEncoder.encode(user, StandardCharsets.UTF_8) + ":" + sessionId;
+    }
+
+
+    private static String conversationId(String sessionId) {
+        return hasSession(sessionId)
+                ? conversationId(SecurityContextHolder.getContext().getAuthentication(), sessionId)
+                : null;
+    }
+
+
+    /**
+     * En la pila servlet el usuario está en el hilo que recibe la petición; en WebFlux,
+     * en el contexto de Reactor.
+     */
+    private static Mono<Optional<String>> conversationIdReactive(String sessionId) {
+        if (!hasSession(sessionId)) {
+            return Mono.just(Optional.empty());
+        }
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            return Mono.just(Optional.of(conversationId(authentication, sessionId)));
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .map(current -> Optional.of(conversationId(current, sessionId)))
+                .switchIfEmpty(Mono.fromSupplier(() -> Optional.of(conversationId(null, sessionId))));
+    }
+
+
+    private ChatClient.ChatClientRequestSpec prompt(String systemMessage,
+                                                    String userMessage,
+                                                    List<Message> history,
+                                                    ChatOptions options) {
+        var request = chatClient.prompt();
+        if (systemMessage != null) {
+            request.system(systemMessage);
+        }
+        if (options != null) {
+            request.options(options);
+        }
+        return request.messages(history).user(userMessage);
+    }
+
+
+    /**
+     * La memoria de la sesión se lee una vez por petición y sólo se escribe con la
+     * respuesta que llega al cliente: un intento descartado por tiempo límite o repetido
+     * con la ruta de respaldo no deja turnos duplicados en la sesión.
+     */
+    private List<Message> history(String conversationId) {
+        return hasSession(conversationId) ? chatMemory.get(conversationId) : List.of();
+    }
+
+
+    private void remember(String conversationId, String userMessage, String response) {
+        if (hasSession(conversationId) && response != null) {
+            chatMemory.add(conversationId, List.of(new UserMessage(userMessage), new AssistantMessage(response)));
+        }
+    }
+
+
+    /**
+     * El repositorio de sesiones puede leer y escribir en disco, así que en la pila
+     * reactiva se accede a él fuera del event loop.
+     */
+    private Mono<List<Message>> historyReactive(String conversationId) {
+        return hasSession(conversationId)
+                ? Mono.fromCallable(() -> history(conversationId)).subscribeOn(Schedulers.boundedElastic())
+                : Mono.just(List.of());
+    }
+
+
+    private Mono<Void> rememberReactive(String conversationId, String userMessage, String response) {
+        return hasSession(conversationId)
+                ? Mono.<Void>fromRunnable(() -> remember(conversationId, userMessage, response))
+                        .subscribeOn(Schedulers.boundedElastic())
+                : Mono.empty();
+    }
+
+
+    private static boolean hasSession(String sessionId) {
+        return sessionId != null && !sessionId.isBlank();
+    }
+
+
+    /**
+     * El mensaje de usuario se construye dentro del limitador y sólo en caso de fallo de
+     * caché; con él se elige la ruta de modelo de la petición. Las peticiones con sesión
+     * no pasan por la caché ni se duplican con hedges.
+     */
+    private Optional<String> call(String method,
+                                  PromptKey key,
+                                  String conversationId,
+                                  String errorMessage,
+                                  String systemMessage,
+                                  Supplier<String> userMessage) {
+        Supplier<Optional<String>> limited = () ->
+                concurrencyLimiter.execute(key.operation(), () -> {
+                    try {
+                        var userText = userMessage.get();
+                        var decision = modelRouter.route(key.operation(), userText);
+
+                        var history = history(conversationId);
+
+                        var start = System.nanoTime();
+                        var chatResponse = hedgedExecutor.call(key.operation(), !hasSession(conversationId), () ->
+                                modelRouter.call(decision, options ->
+                                        prompt(systemMessage, userText, history, options)
+                                                .call()
+                                                .chatResponse()));
+                        var elapsed = System.nanoTime() - start;
+                        RequestTimings.current().ifPresent(timings -> timings.recordModelCall(elapsed));
+
+                        var responseText = content(key.operation(), chatResponse);
+
+                        if (responseText != null) {
+                            payloads.response(key.operation(), responseText);
+                            remember(conversationId, userText, responseText);
+                        }
+                        return Optional.ofNullable(responseText)
+                                .filter(text -> !text.isBlank());
+                    } catch (DeadlineExceededException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        var unavailable = UpstreamUnavailableException.causeOf(e);
+                        if (unavailable.isPresent()) {
+                            logger.warn("{}: {}", errorMessage, unavailable.get().getMessage());
+                            throw unavailable.get();
+                        }
+                        logger.error("{}: {}", errorMessage, payloads.truncate(key.message()), e);
+                        return Optional.empty();
+                    }
+                });
+
+        return observe(method, key.operation(), () -> hasSession(conversationId)
+                ? limited.get()
+                : responseCache.getOrCompute(key, limited));
+    }
+
+
+    private Mono<String> callReactive(String method,
+                                      PromptKey key,
+                                      String conversationId,
+                                      String errorMessage,
+                                      String systemMessage,
+                                      Supplier<String> userMessage) {
+        var operation = key.operation();
+
+        var limited = concurrencyLimiter.executeMono(operation, () -> {
+                    var userText = userMessage.get();
+                    var decision = modelRouter.route(operation, userText);
+
+                    return historyReactive(conversationId).flatMap(history ->
+                            hedgedExecutor.mono(operation, !hasSession(conversationId), () ->
+                                    aggregate(operation, modelRouter.stream(decision, options ->
+                                            prompt(systemMessage, userText, history, options)
+                                                    .stream()
+                                                    .chatResponse())))
+                                    .flatMap(text -> rememberReactive(conversationId, userText, text)
+                                            .thenReturn(text)));
+                })
+                .filter(text -> !text.isBlank())
+                .doOnNext(text -> payloads.response(operation, text))
+                .onErrorResume(e -> !(e instanceof DeadlineExceededException), e -> {
+                    var unavailable = UpstreamUnavailableException.causeOf(e);
+                    if (unavailable.isPresent()) {
+                        logger.warn("{}: {}", errorMessage, unavailable.get().getMessage());
+                        return Mono.error(unavailable.get());
+                    }
+                    logger.error("{}: {}", errorMessage, payloads.truncate(key.message()), e);
+                    return Mono.empty();
+                });
+
+        return observeReactive(method, operation, hasSession(conversationId)
+                ? limited
+                : responseCache.getOrCompute(key, limited));
+    }
+
+
+    /**
+     * Concatena el texto de los fragmentos y registra los tokens con el uso que el
+     * proveedor informa en el último de ellos; también se descuentan al usuario.
+     */
+    private Mono<String> aggregate(String operation, Flux<ChatResponse> responses) {
+        return Mono.defer(() -> {
+            var text = new StringBuilder();
+            var withUsage = new AtomicReference<ChatResponse>();
+
+            return responses
+                    .doOnNext(response -> {
+                        text.append(textOf(response));
+                        if (hasUsage(response)) {
+                            withUsage.set(response);
+                        }
+                    })
+                    .then(Mono.defer(() -> chargeUsage(operation, withUsage.get())))
+                    .then(Mono.fromSupplier(text::toString));
+        });
+    }
+
+
+    private Mono<Void> chargeUsage(String operation, ChatResponse withUsage) {
+        if (withUsage == null) {
+            return Mono.empty();
+        }
+        recordUsage(operation, withUsage);
+        return rateLimiter.recordTokensReactive(totalTokens(withUsage));
+    }
+
+
+    private static String textOf(ChatResponse response) {
+        if (response.getResult() == null || response.getResult().getOutput().getText() == null) {
+            return "";
+        }
+        return response.getResult().getOutput().getText();
+    }
+
+
+    private static boolean hasUsage(ChatResponse response) {
+        var usage = response.getMetadata().getUsage();
+        return usage != null && usage.getTotalTokens() != null && usage.getTotalTokens() > 0;
+    }
+
+
+    /**
+     * Observación {@code chat.service} por método y operación; con el handler de métricas
+     * de Spring Boot genera además el timer homónimo.
+     */
+    private Optional<String> observe(String method, String operation, Supplier<Optional<String>> call) {
+        var observation = Observation.createNotStarted(SERVICE_OBSERVATION, observationRegistry)
+                .contextualName("chat " + method)
+                .lowCardinalityKeyValue("method", method)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        var outcome = "error";
+
+        try (var scope = observation.openScope()) {
+            var response = call.get();
+            outcome = response.isPresent() ? "success" : "empty";
+            return response;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+    }
+
+
+    private Mono<String> observeReactive(String method, String operation, Mono<String> call) {
+        return Mono.defer(() -> {
+            var observation = Observation.createNotStarted(SERVICE_OBSERVATION, observationRegistry)
+                    .contextualName("chat " + method)
+                    .lowCardinalityKeyValue("method", method)
+                    .lowCardinalityKeyValue("operation", operation)
+                    .start();
+            var outcome = new AtomicReference<>("empty");
+
+            return call
+                    .doOnNext(response -> outcome.set("success"))
+                    .doOnError(e -> {
+                        outcome.set("error");
+                        observation.error(e);
+                    })
+                    .doFinally(signal -> observation
+                            .lowCardinalityKeyValue("outcome", signal == SignalType.CANCEL ? "cancelled" : outcome.get())
+                            .stop())
+                    .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+
+    private String content(String operation, ChatResponse chatResponse) {
+        if (chatResponse == null || chatResponse.getResult() == null) {
+            return null;
+        }
+
+        recordUsage(operation, chatResponse);
+        rateLimiter.recordTokens(totalTokens(chatResponse));
+        return chatResponse.getResult().getOutput().getText();
+    }
+
+
+    private void recordUsage(String operation, ChatResponse chatResponse) {
+        var usage = chatResponse.getMetadata().getUsage();
+        if (usage != null) {
+            var promptTokens = Optional.ofNullable(usage.getPromptTokens()).orElse(0);
+            var completionTokens = Optional.ofNullable(usage.getCompletionTokens()).orElse(0);
+
+            tokensSummary(operation, "prompt").record(promptTokens);
+            tokensSummary(operation, "completion").record(completionTokens);
+            RequestTimings.current().ifPresent(timings -> timings.recordTokens(promptTokens, completionTokens));
+
+            if (usage.getNativeUsage() instanceof OpenAiApi.Usage openAiUsage
+                    && openAiUsage.promptTokensDetails() != null
+                    && openAiUsage.promptTokensDetails().cachedTokens() != null) {
+                tokensSummary(operation, "cached").record(openAiUsage.promptTokensDetails().cachedTokens());
+            }
+        }
+    }
+
+
+    private static long totalTokens(ChatResponse chatResponse) {
+        var usage = chatResponse.getMetadata().getUsage();
+        if (usage == null) {
+            return 0;
+        }
+        return Optional.ofNullable(usage.getTotalTokens())
+                .map(Integer::longValue)
+                .orElseGet(() -> (long) Optional.ofNullable(usage.getPromptTokens()).orElse(0)
+                        + Optional.ofNullable(usage.getCompletionTokens()).orElse(0));
+    }
+
+
+    private DistributionSummary tokensSummary(String operation, String type) {
+        return DistributionSummary.builder(TOKENS_METRIC)
+                .description("Tokens consumidos por llamada al modelo")
+                .baseUnit("tokens")
+                .tag("operation", operation)
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+
+    public Flux<String> streamMessage(String message) {
+        if (message == null || message.isBlank()) {
+            logger.warn("Intento de procesar mensaje vacío o nulo");
+            return Flux.empty();
+        }
+
+        payloads.prompt(ChatOperation.CHAT.key(), message);
+
+        return chargedToCaller(instrumentStream("streamMessage", ChatOperation.CHAT, null, message, null));
+    }
+
+
+    public Flux<String> streamMessageWithContext(ChatOperation operation,
+                                                 String message,
+                                                 Map<String, Object> context) {
+        return streamMessageWithContext(operation, null, message, context, null);
+    }
+
+
+    public Flux<String> streamMessageWithContext(ChatOperation operation,
+                                                 String systemMessage,
+                                                 String message,
+                                                 Map<String, Object> context,
+                                                 String sessionId) {
+        if (message == null || message.isBlank()) {
+            logger.warn("Intento de procesar mensaje vacío o nulo");
+            return Flux.empty();
+        }
+
+        payloads.prompt(operation.key(), message, context);
+
+        var enrichedMessage = buildEnrichedMessage(operation, message, context);
+
+        return chargedToCaller(conversationIdReactive(sessionId).flatMapMany(conversationId -> instrumentStream(
+                "streamMessageWithContext", operation, systemMessage, enrichedMessage, conversationId.orElse(null))));
+    }
+
+
+    public Flux<String> streamMessageWithSystemPrompt(ChatOperation operation,
+                                                      String message,
+                                                      String systemMessage) {
+        if (message == null || message.isBlank()) {
+            logger.warn("Intento de procesar mensaje vacío o nulo");
+            return Flux.empty();
+        }
+
+        payloads.prompt(operation.key(), message);
+
+        return chargedToCaller(
+                instrumentStream("streamMessageWithSystemPrompt", operation, systemMessage, message, null));
+    }
+
+
+    /**
+     * En la pila servlet el flujo termina fuera del hilo de la petición: el presupuesto al
+     * que se descuentan los tokens se fija al construirlo.
+     */
+    private Flux<String> chargedToCaller(Flux<String> stream) {
+        return rateLimiter.currentKey()
+                .map(key -> stream.contextWrite(Context.of(UserRateLimiter.CONTEXT_KEY, key)))
+                .orElse(stream);
+    }
+
+
+    /**
+     * Envuelve el flujo de tokens del modelo midiendo el tiempo hasta el primer token.
+     * La suscripción es diferida: la generación upstream sólo empieza cuando el cliente
+     * se suscribe y se cancela cuando el cliente se desconecta.
+     */
+    private Flux<String> instrumentStream(String method,
+                                          ChatOperation operation,
+                                          String systemMessage,
+                                          String userMessage,
+                                          String conversationId) {
+        var operationKey = operation.key();
+
+        return concurrencyLimiter.executeStream(operationKey, () -> {
+            var sample = Timer.start(meterRegistry);
+            var firstToken = new AtomicBoolean(false);
+            var observation = Observation.createNotStarted(SERVICE_OBSERVATION, observationRegistry)
+                    .contextualName("chat " + method)
+                    .lowCardinalityKeyValue("method", method)
+                    .lowCardinalityKeyValue("operation", operationKey)
+                    .start();
+
+            var decision = modelRouter.route(operationKey, userMessage);
+            var streamed = new StringBuilder();
+            var withUsage = new AtomicReference<ChatResponse>();
+
+            return historyReactive(conversationId).flatMapMany(history ->
+                            hedgedExecutor.stream(operationKey, !hasSession(conversationId), () ->
+                                    modelRouter.stream(decision, options ->
+                                            prompt(systemMessage, userMessage, history, options)
+                                                    .stream()
+                                                    .chatResponse())))
+                    .doOnNext(response -> {
+                        if (hasUsage(response)) {
+                            withUsage.set(response);
+                        }
+                    })
+                    .map(ChatService::textOf)
+                    .filter(token -> !token.isEmpty())
+                    .doOnNext(token -> {
+                        if (firstToken.compareAndSet(false, true)) {
+                            sample.stop(timeToFirstTokenTimer(operationKey));
+                        }
+                        if (hasSession(conversationId)) {
+                            streamed.append(token);
+                        }
+                    })
+                    .concatWith(Mono.defer(() -> rememberReactive(conversationId, userMessage, streamed.toString()))
+                            .then(Mono.defer(() -> chargeUsage(operationKey, withUsage.get())))
+                            .then(Mono.empty()))
+                    .doOnCancel(() -> {
+                        logger.debug("Streaming cancelado por el cliente ({})", operationKey);
+                        meterRegistry.counter(STREAM_CANCELLED_METRIC, "operation", operationKey).increment();
+                    })
+                    .doOnError(e -> {
+                        logger.error("Error en streaming ({})", operationKey, e);
+                        observation.error(e);
+                    })
+                    .doFinally(signal -> observation
+                            .lowCardinalityKeyValue("outcome", streamOutcome(signal))
+                            .stop());
+        });
+    }
+
+
+    private static String streamOutcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case CANCEL -> "cancelled";
+            default -> "error";
+        };
+    }
+
+
+    private Timer timeToFirstTokenTimer(String operation) {
+        return Timer.builder(TIME_TO_FIRST_TOKEN_METRIC)
+                .description("Tiempo hasta el primer token recibido del modelo")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
 
-        return contextInfo + "\n\nConsulta: " + message;
+    String buildEnrichedMessage(ChatOperation operation, String message, Map<String, Object> context) {
+        return contextAssembler.assemble(operation.key(), message, context);
     }
 
 
-    public Map<String, Object> createSuccessResponse(String response) {
-        return Map.of(
-                "response", response,
-                "status", "success",
-                "timestamp", System.currentTimeMillis()
-        );
+    public ChatReply createSuccessResponse(String response) {
+        return ChatReply.of(response);
     }
 
 
-    public Map<String, Object> createErrorResponse(String errorMessage) {
-        return Map.of(
-                "status", "error",
-                "message", errorMessage,
-                "timestamp", System.currentTimeMillis()
-        );
+    public ErrorResponse createErrorResponse(String errorMessage) {
+        return ErrorResponse.of(errorMessage);
     }
 }
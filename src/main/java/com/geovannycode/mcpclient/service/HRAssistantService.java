@@ -1,16 +1,42 @@
 package com.geovannycode.mcpclient.service;
 
+import com.geovannycode.mcpclient.cache.PromptKey;
+import com.geovannycode.mcpclient.concurrency.RequestCoalescer;
+import com.geovannycode.mcpclient.logging.LogContext;
+import com.geovannycode.mcpclient.model.BatchQueryResult;
+import com.geovannycode.mcpclient.model.BenefitsInformation;
+import com.geovannycode.mcpclient.model.EmployeeSummary;
+import com.geovannycode.mcpclient.model.PolicyInformation;
+import com.geovannycode.mcpclient.model.QueryMetadata;
 import com.geovannycode.mcpclient.model.QueryRequest;
 import com.geovannycode.mcpclient.model.QueryResponse;
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import com.geovannycode.mcpclient.policy.PolicyIndex;
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 @Service
 public class HRAssistantService {
@@ -37,31 +63,212 @@ public class HRAssistantService {
             "benefitsSystem"
     );
 
+    private static final String POLICY_SOURCE_INDEX = "policy-index";
+    private static final String POLICY_SOURCE_MODEL = "model";
+    private static final String QUERY_ERROR = "Error al procesar la consulta";
+
     private final ChatService chatService;
+    private final RequestCoalescer coalescer;
+    private final BatchProperties batchProperties;
+    private final PolicyIndex policyIndex;
+    private final Scheduler batchScheduler;
+
+    @Autowired
+    public HRAssistantService(ChatService chatService,
+                              RequestCoalescer coalescer,
+                              BatchProperties batchProperties,
+                              PolicyIndex policyIndex,
+                              Environment environment) {
+        this(chatService, coalescer, batchProperties, policyIndex, batchExecutor(environment));
+    }
 
-    public HRAssistantService(ChatService chatService) {
+    HRAssistantService(ChatService chatService,
+                       RequestCoalescer coalescer,
+                       BatchProperties batchProperties,
+                       PolicyIndex policyIndex,
+                       Executor batchExecutor) {
         this.chatService = chatService;
+        this.coalescer = coalescer;
+        this.batchProperties = batchProperties;
+        this.policyIndex = policyIndex;
+        this.batchScheduler = Schedulers.fromExecutor(batchExecutor);
         logger.info("HR Assistant Service initialized");
     }
 
+    /**
+     * Un hilo virtual por consulta del lote: el límite es {@code max-parallelism}, no el
+     * tamaño de {@code boundedElastic}.
+     */
+    private static Executor batchExecutor(Environment environment) {
+        var executor = new SimpleAsyncTaskExecutor("hr-batch-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.<TaskDecorator>of(
+                RequestTimings::propagate, LogContext::propagate)));
+        return executor;
+    }
+
     public Optional<QueryResponse> processQuery(QueryRequest request) {
         var context = buildContext(request);
 
-        return chatService.processMessageWithContext(request.query(), context)
-                .map(response -> buildSuccessResponse(response, request.employeeId()));
+        var sessionId = request.sessionId();
+
+        if (sessionId != null && !sessionId.isBlank()) {
+            return chatService.processMessageWithContext(
+                            ChatOperation.HR_QUERY, SYSTEM_MESSAGE, request.query(), context, sessionId)
+                    .map(response -> buildSuccessResponse(response, request.employeeId(), sessionId));
+        }
+
+        var key = PromptKey.of(ChatOperation.HR_QUERY.key(), SYSTEM_MESSAGE, request.query(), context);
+
+        return coalescer.execute(key, () -> chatService.processMessageWithContext(
+                        ChatOperation.HR_QUERY, SYSTEM_MESSAGE, request.query(), context, null))
+                .map(response -> buildSuccessResponse(response, request.employeeId(), null));
+    }
+
+    public Mono<QueryResponse> processQueryReactive(QueryRequest request) {
+        var context = buildContext(request);
+
+        var sessionId = request.sessionId();
+
+        if (sessionId != null && !sessionId.isBlank()) {
+            return chatService.processMessageWithContextReactive(
+                            ChatOperation.HR_QUERY, SYSTEM_MESSAGE, request.query(), context, sessionId)
+                    .map(response -> buildSuccessResponse(response, request.employeeId(), sessionId));
+        }
+
+        var key = PromptKey.of(ChatOperation.HR_QUERY.key(), SYSTEM_MESSAGE, request.query(), context);
+
+        return coalescer.executeReactive(key, () -> chatService.processMessageWithContextReactive(
+                        ChatOperation.HR_QUERY, SYSTEM_MESSAGE, request.query(), context, null))
+                .map(response -> buildSuccessResponse(response, request.employeeId(), null));
+    }
+
+    /**
+     * Ejecuta un lote de consultas con paralelismo acotado. Las entradas idénticas se
+     * procesan una sola vez y cada resultado se emite en cuanto está disponible, con el
+     * índice de la entrada original.
+     */
+    public Flux<BatchQueryResult> processBatch(List<QueryRequest> requests) {
+        // Las consultas se suscriben desde hilos del lote: el usuario se fija aquí para
+        // descontarle los tokens de cada una
+        var securityContext = SecurityContextHolder.getContext();
+        return processBatch(requests, request -> Mono.fromCallable(DelegatingSecurityContextCallable.create(
+                        () -> processQuery(request).orElse(null), securityContext))
+                .subscribeOn(batchScheduler));
+    }
+
+    public Flux<BatchQueryResult> processBatchReactive(List<QueryRequest> requests) {
+        return processBatch(requests, this::processQueryReactive);
+    }
+
+    private Flux<BatchQueryResult> processBatch(List<QueryRequest> requests,
+                                                Function<QueryRequest, Mono<QueryResponse>> query) {
+        var indexesByRequest = new LinkedHashMap<QueryRequest, List<Integer>>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByRequest.computeIfAbsent(requests.get(i), request -> new ArrayList<>()).add(i);
+        }
+
+        logger.info("HR batch: {} consultas, {} únicas", requests.size(), indexesByRequest.size());
+
+        return Flux.fromIterable(indexesByRequest.entrySet())
+                .flatMap(entry -> processBatchEntry(entry.getKey(), entry.getValue(), query),
+                        batchProperties.maxParallelism());
+    }
+
+    private Flux<BatchQueryResult> processBatchEntry(QueryRequest request,
+                                                     List<Integer> indexes,
+                                                     Function<QueryRequest, Mono<QueryResponse>> query) {
+        if (request == null || request.query() == null || request.query().isBlank()) {
+            return Flux.fromIterable(indexes)
+                    .map(index -> BatchQueryResult.failure(index, "La consulta no puede estar vacía"));
+        }
+
+        return query.apply(request)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(response -> Flux.fromIterable(indexes)
+                        .map(index -> response
+                                .map(result -> BatchQueryResult.success(index, result))
+                                .orElseGet(() -> BatchQueryResult.failure(index, QUERY_ERROR))))
+                .onErrorResume(e -> {
+                    // Como en /hr-assistant/query: sólo el mensaje de un upstream no disponible llega al cliente
+                    logger.warn("Consulta del lote fallida (posiciones {})", indexes, e);
+                    var message = UpstreamUnavailableException.userMessageOf(e, QUERY_ERROR);
+                    return Flux.fromIterable(indexes).map(index -> BatchQueryResult.failure(index, message));
+                });
+    }
+
+    public Flux<String> streamQuery(QueryRequest request) {
+        return chatService.streamMessageWithContext(
+                ChatOperation.HR_QUERY, SYSTEM_MESSAGE, request.query(), buildContext(request), request.sessionId());
+    }
+
+    /**
+     * Las consultas por el nombre de una política se responden desde el índice; el resto
+     * llega al modelo con los fragmentos de política más relevantes ya en el prompt.
+     */
+    public Optional<PolicyInformation> getPolicyInformation(String policyName) {
+        var indexed = policyIndex.find(policyName);
+        if (indexed.isPresent()) {
+            return indexed.map(policy -> PolicyInformation.of(policyName, policy.render(), POLICY_SOURCE_INDEX));
+        }
+
+        var query = buildPolicyQuery(policyName);
+
+        var key = PromptKey.of(ChatOperation.HR_POLICIES.key(), SYSTEM_MESSAGE, query, null);
+
+        return coalescer.execute(key, () ->
+                        chatService.processMessageWithSystemPrompt(ChatOperation.HR_POLICIES, query, SYSTEM_MESSAGE))
+                .map(information -> PolicyInformation.of(policyName, information, POLICY_SOURCE_MODEL));
     }
 
-    public Optional<Map<String, Object>> getPolicyInformation(String policyName) {
+    public Optional<EmployeeSummary> getEmployeeInformation(String employeeId) {
         var query = String.format(
-                "¿Puedes explicarme la política de la empresa sobre: %s?",
-                policyName
+                "¿Puedes proporcionarme un resumen de la información del empleado con ID: %s?",
+                employeeId
         );
 
-        return chatService.processMessageWithSystemPrompt(query, SYSTEM_MESSAGE)
-                .map(information -> buildPolicyResponse(policyName, information));
+        var context = Map.of("employeeId", (Object) employeeId);
+
+        var key = PromptKey.of(ChatOperation.HR_EMPLOYEE.key(), SYSTEM_MESSAGE, query, context);
+
+        return coalescer.execute(key, () -> chatService.processMessageWithContext(
+                        ChatOperation.HR_EMPLOYEE, SYSTEM_MESSAGE, query, context, null))
+                .map(summary -> EmployeeSummary.of(employeeId, summary));
     }
 
-    public Optional<Map<String, Object>> getEmployeeInformation(String employeeId) {
+    public Optional<BenefitsInformation> getBenefitsInformation(String employeeId) {
+        var query = employeeId != null
+                ? String.format("¿Qué beneficios están disponibles para el empleado %s?", employeeId)
+                : "¿Cuáles son los beneficios disponibles en la empresa?";
+
+        var context = employeeId != null
+                ? Map.of("employeeId", (Object) employeeId)
+                : Map.<String, Object>of();
+
+        var key = PromptKey.of(ChatOperation.HR_BENEFITS.key(), SYSTEM_MESSAGE, query, context);
+
+        return coalescer.execute(key, () -> chatService.processMessageWithContext(
+                        ChatOperation.HR_BENEFITS, SYSTEM_MESSAGE, query, context, null))
+                .map(BenefitsInformation::of);
+    }
+
+    public Mono<PolicyInformation> getPolicyInformationReactive(String policyName) {
+        var indexed = policyIndex.find(policyName);
+        if (indexed.isPresent()) {
+            return Mono.just(PolicyInformation.of(policyName, indexed.get().render(), POLICY_SOURCE_INDEX));
+        }
+
+        var query = buildPolicyQuery(policyName);
+
+        var key = PromptKey.of(ChatOperation.HR_POLICIES.key(), SYSTEM_MESSAGE, query, null);
+
+        return coalescer.executeReactive(key, () -> chatService.processMessageWithSystemPromptReactive(
+                        ChatOperation.HR_POLICIES, query, SYSTEM_MESSAGE))
+                .map(information -> PolicyInformation.of(policyName, information, POLICY_SOURCE_MODEL));
+    }
+
+    public Mono<EmployeeSummary> getEmployeeInformationReactive(String employeeId) {
         var query = String.format(
                 "¿Puedes proporcionarme un resumen de la información del empleado con ID: %s?",
                 employeeId
@@ -69,11 +276,14 @@ public class HRAssistantService {
 
         var context = Map.of("employeeId", (Object) employeeId);
 
-        return chatService.processMessageWithContext(query, context)
-                .map(summary -> buildEmployeeResponse(employeeId, summary));
+        var key = PromptKey.of(ChatOperation.HR_EMPLOYEE.key(), SYSTEM_MESSAGE, query, context);
+
+        return coalescer.executeReactive(key, () -> chatService.processMessageWithContextReactive(
+                        ChatOperation.HR_EMPLOYEE, SYSTEM_MESSAGE, query, context, null))
+                .map(summary -> EmployeeSummary.of(employeeId, summary));
     }
 
-    public Optional<Map<String, Object>> getBenefitsInformation(String employeeId) {
+    public Mono<BenefitsInformation> getBenefitsInformationReactive(String employeeId) {
         var query = employeeId != null
                 ? String.format("¿Qué beneficios están disponibles para el empleado %s?", employeeId)
                 : "¿Cuáles son los beneficios disponibles en la empresa?";
@@ -82,8 +292,11 @@ public class HRAssistantService {
                 ? Map.of("employeeId", (Object) employeeId)
                 : Map.<String, Object>of();
 
-        return chatService.processMessageWithContext(query, context)
-                .map(this::buildBenefitsResponse);
+        var key = PromptKey.of(ChatOperation.HR_BENEFITS.key(), SYSTEM_MESSAGE, query, context);
+
+        return coalescer.executeReactive(key, () -> chatService.processMessageWithContextReactive(
+                        ChatOperation.HR_BENEFITS, SYSTEM_MESSAGE, query, context, null))
+                .map(BenefitsInformation::of);
     }
 
     private Map<String, Object> buildContext(QueryRequest request) {
@@ -100,35 +313,23 @@ public class HRAssistantService {
         return context;
     }
 
-    private QueryResponse buildSuccessResponse(String response, String employeeId) {
-        return QueryResponse.builder()
-                .response(response)
-                .timestamp(LocalDateTime.now())
-                .toolsUsed(DEFAULT_TOOLS)
-                .metadata(Map.of("employeeId", employeeId))
-                .build();
+    private QueryResponse buildSuccessResponse(String response, String employeeId, String sessionId) {
+        return QueryResponse.of(response, DEFAULT_TOOLS, QueryMetadata.of(employeeId, sessionId));
     }
 
-    private Map<String, Object> buildPolicyResponse(String policyName, String information) {
-        var response = new HashMap<String, Object>();
-        response.put("policyName", policyName);
-        response.put("information", information);
-        response.put("timestamp", LocalDateTime.now());
-        return response;
-    }
+    private String buildPolicyQuery(String policyName) {
+        var question = String.format(
+                "¿Puedes explicarme la política de la empresa sobre: %s?",
+                policyName
+        );
 
-    private Map<String, Object> buildEmployeeResponse(String employeeId, String summary) {
-        var response = new HashMap<String, Object>();
-        response.put("employeeId", employeeId);
-        response.put("summary", summary);
-        response.put("timestamp", LocalDateTime.now());
-        return response;
-    }
+        var excerpts = policyIndex.search(policyName);
+        if (excerpts.isEmpty()) {
+            return question;
+        }
 
-    private Map<String, Object> buildBenefitsResponse(String benefits) {
-        var response = new HashMap<String, Object>();
-        response.put("benefits", benefits);
-        response.put("timestamp", LocalDateTime.now());
-        return response;
+        var query = new StringBuilder("Fragmentos de las políticas de la empresa:\n");
+        excerpts.forEach(excerpt -> query.append("- ").append(excerpt.text()).append('\n'));
+        return query.append("\nResponde a partir de estos fragmentos. ").append(question).toString();
     }
 }
@@ -0,0 +1,62 @@
+package com.geovannycode.mcpclient.tool;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link ToolCallback} que sirve resultados desde {@link ToolResultCache}.
+ * Los errores (excepciones o resultados con campo {@code error}) nunca se almacenan.
+ */
+public class CachingToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final String toolName;
+    private final ToolResultCache cache;
+
+    public CachingToolCallback(ToolCallback delegate, String toolName, ToolResultCache cache) {
+        this.delegate = delegate;
+        this.toolName = toolName;
+        this.cache = cache;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return cached(toolInput, () -> delegate.call(toolInput));
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return cached(toolInput, () -> delegate.call(toolInput, toolContext));
+    }
+
+    private String cached(String toolInput, Supplier<String> invocation) {
+        var arguments = ToolArguments.canonicalize(toolInput);
+
+        var cached = cache.get(toolName, arguments);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        var start = System.nanoTime();
+        var result = invocation.get();
+
+        if (!ToolArguments.isErrorResult(result)) {
+            cache.put(toolName, arguments, result, System.nanoTime() - start);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.geovannycode.mcpclient.tool;
+
+import com.geovannycode.mcpclient.resilience.UpstreamGuard;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * Pasa las llamadas a la herramienta por el circuito de su conexión MCP. Sólo las
+ * excepciones cuentan como fallo: un resultado con {@code isError} es una respuesta
+ * válida del servidor (p. ej. empleado inexistente).
+ */
+public class GuardedToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final UpstreamGuard guard;
+
+    public GuardedToolCallback(ToolCallback delegate, UpstreamGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return guard.execute(() -> delegate.call(toolInput), result -> false);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return guard.execute(() -> delegate.call(toolInput, toolContext), result -> false);
+    }
+}
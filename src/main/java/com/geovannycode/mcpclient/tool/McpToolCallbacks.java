@@ -0,0 +1,122 @@
+package com.geovannycode.mcpclient.tool;
+
+import com.geovannycode.mcpclient.mcp.PooledMcpToolCallback;
+import com.geovannycode.mcpclient.resilience.Upstreams;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.AsyncMcpToolCallback;
+import org.springframework.ai.mcp.SyncMcpToolCallback;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Punto único donde se obtienen las herramientas MCP (las registradas por Spring AI y
+ * las del pool STDIO) y se envuelven con los decoradores de la aplicación antes de entregarlas al ChatClient.
+ * El nombre del bean evita chocar con el proveedor {@code mcpToolCallbacks} de Spring AI.
+ */
+@Component("decoratedMcpToolCallbacks")
+public class McpToolCallbacks {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpToolCallbacks.class);
+
+    private final ObjectProvider<ToolCallbackProvider> toolCallbackProviders;
+    private final ToolResultCache toolResultCache;
+    private final ObservationRegistry observationRegistry;
+    private final McpToolConnections toolConnections;
+    private final Upstreams upstreams;
+
+    private volatile List<ToolCallback> current = List.of();
+    private volatile boolean discovered;
+
+    public McpToolCallbacks(ObjectProvider<ToolCallbackProvider> toolCallbackProviders,
+                            ToolResultCache toolResultCache,
+                            ObjectProvider<ObservationRegistry> observationRegistry,
+                            McpToolConnections toolConnections,
+                            Upstreams upstreams) {
+        this.toolCallbackProviders = toolCallbackProviders;
+        this.toolResultCache = toolResultCache;
+        this.observationRegistry = observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP);
+        this.toolConnections = toolConnections;
+        this.upstreams = upstreams;
+    }
+
+    /**
+     * Herramientas descubiertas en el último {@link #refresh()}; vacío mientras las
+     * conexiones MCP se inicializan.
+     */
+    public List<ToolCallback> current() {
+        return current;
+    }
+
+    /**
+     * Si ya terminó un {@link #refresh()}, aunque no devolviera herramientas.
+     */
+    public boolean isDiscovered() {
+        return discovered;
+    }
+
+    public Optional<ToolCallback> find(String name) {
+        return current.stream()
+                .filter(callback -> callback.getToolDefinition().name().equals(name))
+                .findFirst();
+    }
+
+    /**
+     * Consulta las herramientas a los proveedores (lo que inicializa las conexiones MCP
+     * pendientes) y sustituye la lista actual. Se ordenan por nombre: OpenAI incluye sus
+     * definiciones en el prefijo cacheable del prompt, que sólo se reutiliza si el orden
+     * es estable.
+     */
+    public List<ToolCallback> refresh() {
+        var callbacks = toolCallbackProviders.orderedStream()
+                .flatMap(provider -> Arrays.stream(provider.getToolCallbacks()))
+                .sorted(Comparator.comparing(callback -> callback.getToolDefinition().name()))
+                .map(this::decorate)
+                .toList();
+
+        current = callbacks;
+        discovered = true;
+        logger.info("Herramientas MCP registradas: {}", callbacks.size());
+        return callbacks;
+    }
+
+    /**
+     * Orden de los decoradores: caché, observación y circuito de la conexión, de modo que
+     * los aciertos de caché no pasan por el circuito y los rechazos sí quedan observados.
+     */
+    private ToolCallback decorate(ToolCallback callback) {
+        var toolName = toolName(callback);
+        var guarded = new GuardedToolCallback(callback, upstreams.guard(connectionName(callback)));
+        ToolCallback observed = new ObservedToolCallback(guarded, toolName, observationRegistry);
+
+        if (toolResultCache.isCacheable(toolName)) {
+            return new CachingToolCallback(observed, toolName, toolResultCache);
+        }
+        return observed;
+    }
+
+    private String connectionName(ToolCallback callback) {
+        if (callback instanceof PooledMcpToolCallback pooled) {
+            return pooled.connectionName();
+        }
+        return toolConnections.connectionOf(callback.getToolDefinition().name()).orElse("mcp");
+    }
+
+    static String toolName(ToolCallback callback) {
+        if (callback instanceof SyncMcpToolCallback mcpCallback) {
+            return mcpCallback.getOriginalToolName();
+        }
+        if (callback instanceof AsyncMcpToolCallback mcpCallback) {
+            return mcpCallback.getOriginalToolName();
+        }
+        return callback.getToolDefinition().name();
+    }
+}
@@ -0,0 +1,36 @@
+package com.geovannycode.mcpclient.tool;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.ai.mcp.DefaultMcpToolNamePrefixGenerator;
+import org.springframework.ai.mcp.McpConnectionInfo;
+import org.springframework.ai.mcp.McpToolNamePrefixGenerator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Genera los nombres de herramienta igual que Spring AI y además recuerda de qué
+ * conexión MCP viene cada una, dato que {@code SyncMcpToolCallback} no expone. La
+ * autoconfiguración guarda el nombre de la conexión en {@code clientInfo.title}.
+ */
+@Component
+public class McpToolConnections implements McpToolNamePrefixGenerator {
+
+    private final McpToolNamePrefixGenerator delegate = new DefaultMcpToolNamePrefixGenerator();
+    private final Map<String, String> connections = new ConcurrentHashMap<>();
+
+    @Override
+    public String prefixedToolName(McpConnectionInfo connectionInfo, McpSchema.Tool tool) {
+        var name = delegate.prefixedToolName(connectionInfo, tool);
+        Optional.ofNullable(connectionInfo.clientInfo())
+                .map(clientInfo -> clientInfo.title() != null ? clientInfo.title() : clientInfo.name())
+                .ifPresent(connection -> connections.put(name, connection));
+        return name;
+    }
+
+    public Optional<String> connectionOf(String toolName) {
+        return Optional.ofNullable(connections.get(toolName));
+    }
+}
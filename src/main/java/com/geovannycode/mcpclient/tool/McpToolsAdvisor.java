@@ -0,0 +1,66 @@
+package com.geovannycode.mcpclient.tool;
+
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.AdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.BaseAdvisor;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+/**
+ * Añade en cada petición las herramientas MCP disponibles en ese momento. Registrarlas
+ * como herramientas por defecto del ChatClient obligaría a descubrirlas al construirlo,
+ * es decir, a arrancar los servidores MCP antes de abrir el puerto HTTP.
+ * <p>
+ * Hasta el primer descubrimiento las peticiones fallan con 503: una respuesta generada
+ * sin herramientas no debe guardarse en la caché de respuestas ni compartirse con las
+ * peticiones coalescidas.
+ */
+public class McpToolsAdvisor implements BaseAdvisor {
+
+    private static final String UPSTREAM = "mcp";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final McpToolCallbacks mcpToolCallbacks;
+
+    public McpToolsAdvisor(McpToolCallbacks mcpToolCallbacks) {
+        this.mcpToolCallbacks = mcpToolCallbacks;
+    }
+
+    @Override
+    public ChatClientRequest before(ChatClientRequest request, AdvisorChain advisorChain) {
+        if (!mcpToolCallbacks.isDiscovered()) {
+            throw new UpstreamUnavailableException(UPSTREAM,
+                    "Las herramientas MCP se están inicializando, inténtelo de nuevo en unos segundos", RETRY_AFTER);
+        }
+
+        var tools = mcpToolCallbacks.current();
+        if (tools.isEmpty() || !(request.prompt().getOptions() instanceof ToolCallingChatOptions options)) {
+            return request;
+        }
+
+        var callbacks = new ArrayList<>(tools);
+        callbacks.addAll(options.getToolCallbacks());
+
+        var withTools = (ToolCallingChatOptions) options.copy();
+        withTools.setToolCallbacks(callbacks);
+
+        return request.mutate()
+                .prompt(request.prompt().mutate().chatOptions(withTools).build())
+                .build();
+    }
+
+    @Override
+    public ChatClientResponse after(ChatClientResponse response, AdvisorChain advisorChain) {
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
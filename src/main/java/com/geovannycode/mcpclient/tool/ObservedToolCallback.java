@@ -0,0 +1,75 @@
+package com.geovannycode.mcpclient.tool;
+
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link ToolCallback} que publica una observación {@code mcp.tool.invocation}
+ * por cada llamada real al servidor MCP, etiquetada con la herramienta y el resultado
+ * ({@code success} o {@code error}).
+ */
+public class ObservedToolCallback implements ToolCallback {
+
+    static final String OBSERVATION_NAME = "mcp.tool.invocation";
+
+    private final ToolCallback delegate;
+    private final String toolName;
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedToolCallback(ToolCallback delegate, String toolName, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.toolName = toolName;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return observed(() -> delegate.call(toolInput));
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return observed(() -> delegate.call(toolInput, toolContext));
+    }
+
+    private String observed(Supplier<String> invocation) {
+        var observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName("mcp tool " + toolName)
+                .lowCardinalityKeyValue("tool", toolName)
+                .start();
+        var start = System.nanoTime();
+        var outcome = "error";
+
+        try (var scope = observation.openScope()) {
+            var result = invocation.get();
+            if (!ToolArguments.isErrorResult(result)) {
+                outcome = "success";
+            }
+            return result;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            var elapsed = System.nanoTime() - start;
+            RequestTimings.current().ifPresent(timings -> timings.recordTool(toolName, elapsed));
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+    }
+}
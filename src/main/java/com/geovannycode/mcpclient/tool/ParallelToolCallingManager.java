@@ -0,0 +1,208 @@
+package com.geovannycode.mcpclient.tool;
+
+import com.geovannycode.mcpclient.observability.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link ToolCallingManager} que ejecuta en paralelo las llamadas a herramientas que el
+ * modelo solicita en un mismo turno. Cada llamada se delega individualmente al gestor
+ * estándar de Spring AI (resolución, observaciones y tratamiento de excepciones) y las
+ * respuestas se devuelven en el mismo orden en que el modelo las pidió.
+ * <p>
+ * Con una sola llamada o con {@code parallel: false} las herramientas se ejecutan una
+ * tras otra, pero igualmente en el ejecutor y con su plazo; sólo sin plazo configurado
+ * se llama directamente al gestor estándar.
+ */
+public class ParallelToolCallingManager implements ToolCallingManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelToolCallingManager.class);
+
+    private static final String SAVED_TIME_METRIC = "mcp.tool.parallel.saved-time";
+    private static final String TIMEOUTS_METRIC = "mcp.tool.timeouts";
+
+    private final ToolCallingManager delegate;
+    private final AsyncTaskExecutor executor;
+    private final ToolExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ParallelToolCallingManager(ToolCallingManager delegate,
+                                      AsyncTaskExecutor executor,
+                                      ToolExecutionProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        var start = System.nanoTime();
+        try {
+            return dispatch(prompt, chatResponse);
+        } finally {
+            var elapsed = System.nanoTime() - start;
+            RequestTimings.current().ifPresent(timings -> timings.recordToolPhase(elapsed));
+        }
+    }
+
+    private ToolExecutionResult dispatch(Prompt prompt, ChatResponse chatResponse) {
+        var assistantMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(AssistantMessage::hasToolCalls)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No se encontraron llamadas a herramientas"));
+
+        var toolCalls = assistantMessage.getToolCalls();
+        var concurrent = properties.parallel() && toolCalls.size() > 1;
+        if (!concurrent && toolCalls.stream().noneMatch(toolCall -> properties.hasTimeout(toolCall.name()))) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        var outcomes = concurrent
+                ? executeConcurrently(prompt, assistantMessage, toolCalls)
+                : executeSequentially(prompt, assistantMessage, toolCalls);
+
+        var responses = new ArrayList<ToolResponseMessage.ToolResponse>(toolCalls.size());
+        var returnDirect = true;
+        for (var outcome : outcomes) {
+            responses.addAll(outcome.responses());
+            returnDirect &= outcome.returnDirect();
+        }
+
+        List<Message> conversationHistory = new ArrayList<>(prompt.copy().getInstructions());
+        conversationHistory.add(assistantMessage);
+        conversationHistory.add(new ToolResponseMessage(responses));
+
+        return ToolExecutionResult.builder()
+                .conversationHistory(conversationHistory)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    private List<Outcome> executeConcurrently(Prompt prompt,
+                                              AssistantMessage assistantMessage,
+                                              List<AssistantMessage.ToolCall> toolCalls) {
+        // FutureTask (no CompletableFuture) para que cancel(true) interrumpa la herramienta
+        var start = System.nanoTime();
+        var executions = toolCalls.stream()
+                .map(toolCall -> executor.submit(() -> execute(prompt, assistantMessage, toolCall)))
+                .toList();
+
+        var outcomes = new ArrayList<Outcome>(toolCalls.size());
+        long sequentialNanos = 0;
+        try {
+            for (int i = 0; i < toolCalls.size(); i++) {
+                var outcome = await(toolCalls.get(i), executions.get(i), start);
+                outcomes.add(outcome);
+                sequentialNanos += outcome.elapsedNanos();
+            }
+        } catch (RuntimeException e) {
+            executions.forEach(execution -> execution.cancel(true));
+            throw e;
+        }
+
+        var savedNanos = Math.max(0, sequentialNanos - (System.nanoTime() - start));
+        Timer.builder(SAVED_TIME_METRIC)
+                .description("Tiempo de reloj ahorrado por turno al ejecutar herramientas en paralelo")
+                .register(meterRegistry)
+                .record(savedNanos, TimeUnit.NANOSECONDS);
+
+        logger.debug("{} herramientas ejecutadas en paralelo, ahorro de {} ms",
+                toolCalls.size(), Duration.ofNanos(savedNanos).toMillis());
+        return outcomes;
+    }
+
+    private List<Outcome> executeSequentially(Prompt prompt,
+                                              AssistantMessage assistantMessage,
+                                              List<AssistantMessage.ToolCall> toolCalls) {
+        var outcomes = new ArrayList<Outcome>(toolCalls.size());
+        for (var toolCall : toolCalls) {
+            var start = System.nanoTime();
+            var execution = executor.submit(() -> execute(prompt, assistantMessage, toolCall));
+            outcomes.add(await(toolCall, execution, start));
+        }
+        return outcomes;
+    }
+
+    private Outcome execute(Prompt prompt, AssistantMessage assistantMessage, AssistantMessage.ToolCall toolCall) {
+        var start = System.nanoTime();
+        var single = AssistantMessage.builder()
+                .content(assistantMessage.getText())
+                .properties(assistantMessage.getMetadata())
+                .toolCalls(List.of(toolCall))
+                .build();
+        var result = delegate.executeToolCalls(prompt, new ChatResponse(List.of(new Generation(single))));
+
+        var history = result.conversationHistory();
+        var responses = history.get(history.size() - 1) instanceof ToolResponseMessage toolResponse
+                ? toolResponse.getResponses()
+                : List.<ToolResponseMessage.ToolResponse>of();
+
+        return new Outcome(responses, result.returnDirect(), System.nanoTime() - start);
+    }
+
+    /**
+     * El plazo de cada herramienta cuenta desde el envío de todas, no desde que se
+     * recoge su resultado: N herramientas lentas no suman N plazos.
+     */
+    private Outcome await(AssistantMessage.ToolCall toolCall, Future<Outcome> execution, long dispatchedNanos) {
+        var timeout = properties.timeoutFor(toolCall.name());
+        try {
+            if (!properties.hasTimeout(toolCall.name())) {
+                return execution.get();
+            }
+            var remaining = dispatchedNanos + timeout.toNanos() - System.nanoTime();
+            return execution.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            execution.cancel(true);
+            meterRegistry.counter(TIMEOUTS_METRIC, "tool", toolCall.name()).increment();
+            logger.warn("La herramienta {} excedió el tiempo límite de {}", toolCall.name(), timeout);
+            return failed(toolCall, "la herramienta excedió el tiempo límite de " + timeout.toMillis() + " ms", timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            execution.cancel(true);
+            return failed(toolCall, "ejecución interrumpida", Duration.ZERO);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Outcome failed(AssistantMessage.ToolCall toolCall, String reason, Duration elapsed) {
+        var response = new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), "Error: " + reason);
+        return new Outcome(List.of(response), false, elapsed.toNanos());
+    }
+
+    private record Outcome(List<ToolResponseMessage.ToolResponse> responses, boolean returnDirect, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.geovannycode.mcpclient.tool;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Utilidades sobre los argumentos y resultados JSON de las herramientas MCP.
+ */
+final class ToolArguments {
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private ToolArguments() {
+    }
+
+    /**
+     * Serializa los argumentos con las claves ordenadas y sin espacios para que
+     * {@code {"b":1, "a":2}} y {@code {"a":2,"b":1}} produzcan la misma clave.
+     */
+    static String canonicalize(String arguments) {
+        if (arguments == null || arguments.isBlank()) {
+            return "{}";
+        }
+        try {
+            var value = CANONICAL_MAPPER.readValue(arguments, Object.class);
+            return CANONICAL_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return arguments.strip();
+        }
+    }
+
+    /**
+     * Detecta resultados de error: {@code isError: true} del protocolo MCP o un objeto
+     * con campo {@code error}, como los que devuelve {@code simple_mcp_server.py}
+     * (p. ej. "Employee not found"), también cuando viene embebido como texto.
+     */
+    static boolean isErrorResult(String result) {
+        if (result == null || result.isBlank()) {
+            return true;
+        }
+        try {
+            return containsError(CANONICAL_MAPPER.readTree(result));
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private static boolean containsError(JsonNode node) {
+        if (node.isObject()) {
+            if (node.has("error") || node.path("isError").asBoolean(false)) {
+                return true;
+            }
+        }
+        if (node.isTextual()) {
+            var text = node.asText().strip();
+            if (text.startsWith("{") || text.startsWith("[")) {
+                try {
+                    return containsError(CANONICAL_MAPPER.readTree(text));
+                } catch (JsonProcessingException e) {
+                    return false;
+                }
+            }
+            return false;
+        }
+        for (var child : node) {
+            if (containsError(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
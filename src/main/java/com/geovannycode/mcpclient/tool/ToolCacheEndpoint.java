@@ -0,0 +1,36 @@
+package com.geovannycode.mcpclient.tool;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "toolcache")
+public class ToolCacheEndpoint {
+
+    private final ToolResultCache toolResultCache;
+
+    public ToolCacheEndpoint(ToolResultCache toolResultCache) {
+        this.toolResultCache = toolResultCache;
+    }
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> entries() {
+        return toolResultCache.entries();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> flushAll() {
+        return Map.of("invalidated", toolResultCache.invalidateAll());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> flush(@Selector String tool) {
+        return Map.of("tool", tool, "invalidated", toolResultCache.invalidate(tool));
+    }
+}
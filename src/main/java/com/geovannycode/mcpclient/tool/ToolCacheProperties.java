@@ -0,0 +1,41 @@
+package com.geovannycode.mcpclient.tool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "assistant.tool-cache")
+public record ToolCacheProperties(
+        boolean enabled,
+        Policy defaults,
+        Map<String, Policy> tools
+) {
+
+    private static final Policy DEFAULT_POLICY = new Policy(Duration.ofMinutes(1), 200);
+
+    public ToolCacheProperties {
+        defaults = Optional.ofNullable(defaults).orElse(DEFAULT_POLICY);
+        tools = Optional.ofNullable(tools).map(Map::copyOf).orElse(Map.of());
+    }
+
+    public Policy policyFor(String toolName) {
+        return tools.getOrDefault(toolName, defaults);
+    }
+
+    /**
+     * Un TTL de cero desactiva la caché para la herramienta.
+     */
+    public record Policy(Duration ttl, int maxSize) {
+
+        public Policy {
+            ttl = Optional.ofNullable(ttl).orElse(Duration.ZERO);
+            maxSize = Math.max(maxSize, 0);
+        }
+
+        public boolean isCacheable() {
+            return !ttl.isZero() && !ttl.isNegative() && maxSize > 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.geovannycode.mcpclient.tool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Un plazo de cero (o negativo) deja la herramienta sin límite.
+ */
+@ConfigurationProperties(prefix = "assistant.tool-execution")
+public record ToolExecutionProperties(
+        boolean parallel,
+        int maxConcurrency,
+        Duration defaultTimeout,
+        Map<String, Duration> timeouts
+) {
+
+    public ToolExecutionProperties {
+        maxConcurrency = maxConcurrency > 0 ? maxConcurrency : 16;
+        defaultTimeout = Optional.ofNullable(defaultTimeout).orElse(Duration.ofSeconds(15));
+        timeouts = Optional.ofNullable(timeouts).map(Map::copyOf).orElse(Map.of());
+    }
+
+    public Duration timeoutFor(String toolName) {
+        return timeouts.getOrDefault(toolName, defaultTimeout);
+    }
+
+    public boolean hasTimeout(String toolName) {
+        var timeout = timeoutFor(toolName);
+        return !timeout.isZero() && !timeout.isNegative();
+    }
+}
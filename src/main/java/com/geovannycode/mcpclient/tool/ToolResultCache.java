@@ -0,0 +1,170 @@
+package com.geovannycode.mcpclient.tool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resultados de herramientas MCP indexados por nombre de herramienta y argumentos
+ * canónicos. Cada herramienta tiene su propio segmento LRU con TTL y tamaño máximo.
+ */
+@Component
+public class ToolResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolResultCache.class);
+
+    private static final String REQUESTS_METRIC = "mcp.tool.cache.requests";
+    private static final String SAVED_LATENCY_METRIC = "mcp.tool.cache.saved-latency";
+
+    private final ToolCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ToolResultCache(ToolCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ToolResultCache(ToolCacheProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public boolean isCacheable(String toolName) {
+        return properties.enabled() && properties.policyFor(toolName).isCacheable();
+    }
+
+    public Optional<String> get(String toolName, String arguments) {
+        var entry = segment(toolName).get(arguments, clock.millis());
+
+        if (entry.isEmpty()) {
+            meterRegistry.counter(REQUESTS_METRIC, "tool", toolName, "result", "miss").increment();
+            return Optional.empty();
+        }
+
+        meterRegistry.counter(REQUESTS_METRIC, "tool", toolName, "result", "hit").increment();
+        savedLatencyTimer(toolName).record(entry.get().latencyNanos(), TimeUnit.NANOSECONDS);
+        return Optional.of(entry.get().result());
+    }
+
+    public void put(String toolName, String arguments, String result, long latencyNanos) {
+        segment(toolName).put(arguments, new Entry(result, latencyNanos, clock.millis()));
+    }
+
+    public int invalidate(String toolName) {
+        var segment = segments.get(toolName);
+        var removed = segment == null ? 0 : segment.clear();
+        logger.info("Caché de herramientas invalidada para {}: {} entradas", toolName, removed);
+        return removed;
+    }
+
+    public int invalidateAll() {
+        var removed = segments.values().stream().mapToInt(Segment::clear).sum();
+        logger.info("Caché de herramientas invalidada: {} entradas", removed);
+        return removed;
+    }
+
+    public Map<String, List<Map<String, Object>>> entries() {
+        var snapshot = new LinkedHashMap<String, List<Map<String, Object>>>();
+        segments.forEach((tool, segment) -> snapshot.put(tool, segment.describe()));
+        return snapshot;
+    }
+
+    private Segment segment(String toolName) {
+        return segments.computeIfAbsent(toolName, name -> new Segment(properties.policyFor(name)));
+    }
+
+    private Timer savedLatencyTimer(String toolName) {
+        return Timer.builder(SAVED_LATENCY_METRIC)
+                .description("Latencia ahorrada al servir un resultado de herramienta desde caché")
+                .tag("tool", toolName)
+                .register(meterRegistry);
+    }
+
+    private record Entry(String result, long latencyNanos, long createdAt) {
+    }
+
+    private static final class Segment {
+
+        private final ToolCacheProperties.Policy policy;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries;
+
+        Segment(ToolCacheProperties.Policy policy) {
+            this.policy = policy;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > policy.maxSize();
+                }
+            };
+        }
+
+        Optional<Entry> get(String arguments, long now) {
+            lock.lock();
+            try {
+                var entry = entries.get(arguments);
+                if (entry != null && now - entry.createdAt() >= policy.ttl().toMillis()) {
+                    entries.remove(arguments);
+                    return Optional.empty();
+                }
+                return Optional.ofNullable(entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String arguments, Entry entry) {
+            lock.lock();
+            try {
+                entries.put(arguments, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int clear() {
+            lock.lock();
+            try {
+                var removed = entries.size();
+                entries.clear();
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Map<String, Object>> describe() {
+            lock.lock();
+            try {
+                var description = new ArrayList<Map<String, Object>>(entries.size());
+                entries.forEach((arguments, entry) -> description.add(Map.of(
+                        "arguments", arguments,
+                        "cachedAt", Instant.ofEpochMilli(entry.createdAt()).toString(),
+                        "expiresAt", Instant.ofEpochMilli(entry.createdAt()).plus(policy.ttl()).toString(),
+                        "latencyMs", Duration.ofNanos(entry.latencyNanos()).toMillis()
+                )));
+                return description;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
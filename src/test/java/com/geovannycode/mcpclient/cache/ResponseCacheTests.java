@@ -0,0 +1,133 @@
+package com.geovannycode.mcpclient.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTests {
+
+	private static final String POLICIES = "hr-policies";
+	private static final String SYSTEM = "Eres un asistente de RRHH";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void normalizedPromptsShareTheSameEntry() {
+		var cache = cache(10, Duration.ofMinutes(5), false, Clock.systemUTC());
+
+		cache.put(PromptKey.of(POLICIES, SYSTEM, "¿Política de  vacation?", Map.of("b", 2, "a", 1)), "respuesta");
+
+		var hit = cache.get(PromptKey.of(POLICIES, SYSTEM, "  ¿política de vacation? ", Map.of("a", 1, "b", 2)));
+
+		assertThat(hit).contains("respuesta");
+		assertThat(meterRegistry.counter("chat.cache.hits", "operation", POLICIES, "tier", "exact").count()).isEqualTo(1);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedAndExpiredEntries() {
+		var clock = new MutableClock();
+		var cache = cache(2, Duration.ofSeconds(10), false, clock);
+
+		cache.put(key("uno"), "1");
+		cache.put(key("dos"), "2");
+		cache.get(key("uno"));
+		cache.put(key("tres"), "3");
+
+		assertThat(cache.get(key("dos"))).isEmpty();
+		assertThat(cache.get(key("uno"))).contains("1");
+
+		clock.advance(Duration.ofSeconds(11));
+
+		assertThat(cache.get(key("uno"))).isEmpty();
+		assertThat(meterRegistry.counter("chat.cache.evictions", "operation", POLICIES, "reason", "size").count()).isEqualTo(1);
+		assertThat(meterRegistry.counter("chat.cache.evictions", "operation", POLICIES, "reason", "expired").count()).isEqualTo(1);
+	}
+
+	@Test
+	void semanticTierMatchesRephrasedQuestionsInTheSameScope() {
+		var cache = cache(10, Duration.ofMinutes(5), true, Clock.systemUTC());
+
+		cache.put(key("¿Puedes explicarme la política de la empresa sobre: vacaciones?"), "respuesta");
+
+		assertThat(cache.get(key("¿Puedes explicarme la política de la empresa sobre vacaciones?"))).contains("respuesta");
+		assertThat(cache.get(PromptKey.of("hr-benefits", SYSTEM,
+				"¿Puedes explicarme la política de la empresa sobre vacaciones?", null))).isEmpty();
+	}
+
+	@Test
+	void semanticTierDoesNotMatchQuestionsWithDifferentNumbers() {
+		var cache = cache(10, Duration.ofMinutes(5), true, Clock.systemUTC());
+
+		cache.put(key("¿Cuántos días de vacaciones le quedan al empleado EMP001?"), "EMP001");
+		cache.put(key("¿Qué pasa si pido 5 días de permiso sin sueldo?"), "5 días");
+
+		assertThat(TextEmbedder.cosine(
+				TextEmbedder.embed("¿Cuántos días de vacaciones le quedan al empleado EMP001?"),
+				TextEmbedder.embed("¿Cuántos días de vacaciones le quedan al empleado EMP002?"))).isGreaterThan(0.92);
+		assertThat(cache.get(key("¿Cuántos días de vacaciones le quedan al empleado EMP002?"))).isEmpty();
+		assertThat(cache.get(key("¿Qué pasa si pido 15 días de permiso sin sueldo?"))).isEmpty();
+		assertThat(cache.get(key("¿Qué pasa si pido 5 días de permiso sin sueldo"))).contains("5 días");
+	}
+
+	@Test
+	void skipsOperationsThatDidNotOptIn() {
+		var cache = cache(10, Duration.ofMinutes(5), false, Clock.systemUTC());
+		var key = PromptKey.of("chat", null, "hola", null);
+
+		cache.getOrCompute(key, () -> Optional.of("uno"));
+
+		assertThat(cache.getOrCompute(key, () -> Optional.of("dos"))).contains("dos");
+	}
+
+	@Test
+	void invalidatesByOperation() {
+		var cache = cache(10, Duration.ofMinutes(5), false, Clock.systemUTC());
+		cache.put(key("uno"), "1");
+
+		assertThat(cache.invalidate(POLICIES)).isEqualTo(1);
+		assertThat(cache.get(key("uno"))).isEmpty();
+	}
+
+	private ResponseCache cache(int maxSize, Duration ttl, boolean semantic, Clock clock) {
+		var properties = new ResponseCacheProperties(true, maxSize, ttl, Set.of(POLICIES),
+				new ResponseCacheProperties.Semantic(semantic, 0.9, 100));
+		return new ResponseCache(properties, meterRegistry, clock);
+	}
+
+	private static PromptKey key(String message) {
+		return PromptKey.of(POLICIES, SYSTEM, message, null);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package com.geovannycode.mcpclient.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZstdCompressionFilterTests {
+
+	private static final byte[] LARGE_JSON = ("{\"response\":\"" + "Tienes 15 días de vacaciones. ".repeat(100) + "\"}")
+			.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] SMALL_JSON = "{\"response\":\"Hola\"}".getBytes(StandardCharsets.UTF_8);
+
+	private final ZstdCompressionFilter filter = new ZstdCompressionFilter(serverProperties(),
+			new ZstdCompressionProperties(true, 3));
+
+	@Test
+	void compressesResponsesOverTheThreshold() throws Exception {
+		var response = send("gzip, deflate, br, zstd", "application/json", LARGE_JSON);
+
+		assertThat(response.getHeader("Content-Encoding")).isEqualTo("zstd");
+		assertThat(response.getHeader("Content-Length")).isNull();
+		assertThat(response.getHeaders("Vary")).contains("Accept-Encoding");
+		assertThat(response.getContentAsByteArray()).hasSizeLessThan(LARGE_JSON.length / 10);
+		try (var in = new ZstdInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertThat(in.readAllBytes()).isEqualTo(LARGE_JSON);
+		}
+	}
+
+	@Test
+	void sendsSmallOrStreamingResponsesAsTheyAre() throws Exception {
+		var small = send("zstd", "application/json", SMALL_JSON);
+		assertThat(small.getHeader("Content-Encoding")).isNull();
+		assertThat(small.getContentLength()).isEqualTo(SMALL_JSON.length);
+		assertThat(small.getContentAsByteArray()).isEqualTo(SMALL_JSON);
+
+		var events = send("zstd", "text/event-stream", LARGE_JSON);
+		assertThat(events.getHeader("Content-Encoding")).isNull();
+		assertThat(events.getContentAsByteArray()).isEqualTo(LARGE_JSON);
+
+		var gzipOnly = send("gzip", "application/json", LARGE_JSON);
+		assertThat(gzipOnly.getHeader("Content-Encoding")).isNull();
+		assertThat(gzipOnly.getContentAsByteArray()).isEqualTo(LARGE_JSON);
+	}
+
+	@Test
+	void asyncResponsesAreNotCompressed() throws Exception {
+		var request = new MockHttpServletRequest("GET", "/chat/stream");
+		request.setAsyncSupported(true);
+		request.addHeader("Accept-Encoding", "zstd");
+		var response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> {
+			req.startAsync();
+			res.setContentType("application/json");
+			res.getOutputStream().write(LARGE_JSON);
+		});
+
+		assertThat(response.getHeader("Content-Encoding")).isNull();
+		assertThat(response.getContentAsByteArray()).isEqualTo(LARGE_JSON);
+	}
+
+	@Test
+	void nonBlockingWritesUseTheContainerStream() throws Exception {
+		var listener = new AtomicReference<WriteListener>();
+		var container = new ServletOutputStream() {
+
+			@Override
+			public boolean isReady() {
+				return false;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				listener.set(writeListener);
+			}
+
+			@Override
+			public void write(int b) {
+			}
+		};
+		var response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+
+			@Override
+			public ServletOutputStream getOutputStream() {
+				return container;
+			}
+		};
+		var wrapper = new ZstdResponseWrapper(new MockHttpServletRequest(), response, 1024, type -> true, 3);
+		var writeListener = new WriteListener() {
+
+			@Override
+			public void onWritePossible() {
+			}
+
+			@Override
+			public void onError(Throwable t) {
+			}
+		};
+
+		var out = wrapper.getOutputStream();
+		assertThat(out.isReady()).as("lo retenido en memoria siempre admite escritura").isTrue();
+		out.setWriteListener(writeListener);
+
+		assertThat(listener).hasValue(writeListener);
+		assertThat(out.isReady()).isFalse();
+	}
+
+	@Test
+	void reactiveFilterCompressesWholeBodies() {
+		var reactiveFilter = new ReactiveZstdCompressionFilter(serverProperties(), new ZstdCompressionProperties(true, 3));
+		var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/hr-assistant/query")
+				.header("Accept-Encoding", "gzip, zstd"));
+
+		reactiveFilter.filter(exchange, filtered -> {
+			var response = filtered.getResponse();
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			response.getHeaders().setContentLength(LARGE_JSON.length);
+			return response.writeWith(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(LARGE_JSON)));
+		}).block();
+
+		var response = exchange.getResponse();
+		var joined = DataBufferUtils.join(response.getBody()).block();
+		var body = new byte[joined.readableByteCount()];
+		joined.read(body);
+		assertThat(response.getHeaders().getFirst("Content-Encoding")).isEqualTo("zstd");
+		assertThat(response.getHeaders().getContentLength()).isEqualTo(body.length);
+		assertThat(Zstd.decompress(body, LARGE_JSON.length)).isEqualTo(LARGE_JSON);
+	}
+
+	@Test
+	void readsAcceptEncoding() {
+		assertThat(ZstdCompression.accepted("gzip, zstd")).isTrue();
+		assertThat(ZstdCompression.accepted("br, ZSTD;q=0.5")).isTrue();
+		assertThat(ZstdCompression.accepted("zstd;q=0, gzip")).isFalse();
+		assertThat(ZstdCompression.accepted("gzip")).isFalse();
+		assertThat(ZstdCompression.accepted(null)).isFalse();
+	}
+
+	private MockHttpServletResponse send(String acceptEncoding, String contentType, byte[] body) throws Exception {
+		var request = new MockHttpServletRequest("POST", "/hr-assistant/query");
+		request.addHeader("Accept-Encoding", acceptEncoding);
+		var response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> {
+			res.setContentType(contentType);
+			res.setContentLength(body.length);
+			var out = res.getOutputStream();
+			out.write(body, 0, body.length / 2);
+			out.write(body, body.length / 2, body.length - body.length / 2);
+			out.flush();
+		});
+		return response;
+	}
+
+	private static ServerProperties serverProperties() {
+		var server = new ServerProperties();
+		server.getCompression().setMinResponseSize(DataSize.ofKilobytes(1));
+		server.getCompression().setMimeTypes(new String[] {"application/json", "application/cbor"});
+		return server;
+	}
+}
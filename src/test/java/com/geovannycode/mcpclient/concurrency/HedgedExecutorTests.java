@@ -0,0 +1,175 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedExecutorTests {
+
+	private static final int MIN_SAMPLES = 5;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AtomicInteger launches = new AtomicInteger();
+
+	/**
+	 * Orden en que se lanzó el intento que corre en el hilo actual: con una sola CPU el
+	 * hilo del hedge puede arrancar antes que el del intento original.
+	 */
+	private final ThreadLocal<Integer> launch = new ThreadLocal<>();
+
+	private final LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(
+			new ConcurrencyProperties(null, Map.of("chat", new ConcurrencyProperties.Limit(2, Duration.ZERO))),
+			meterRegistry);
+
+	private final HedgedExecutor executor = new HedgedExecutor(
+			new HedgingProperties(true, 50, MIN_SAMPLES, 0.5, 1, null, Map.of(
+					"chat", new HedgingProperties.Policy(Duration.ofMillis(500), null, true, 0.95,
+							Duration.ofMillis(50), Duration.ofMillis(200)))),
+			attemptExecutor(),
+			meterRegistry,
+			limiter);
+
+	@Test
+	void hedgeWinsAndCancelsStalledAttempt() throws Exception {
+		warmUp();
+		var primary = launches.get() + 1;
+		var cancelled = new CountDownLatch(1);
+
+		var start = System.nanoTime();
+		var result = executor.call("chat", true, () -> {
+			if (launch.get() == primary) {
+				try {
+					Thread.sleep(5_000);
+				} catch (InterruptedException e) {
+					cancelled.countDown();
+				}
+				return "lenta";
+			}
+			return "rápida";
+		});
+
+		assertThat(result).isEqualTo("rápida");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+		assertThat(cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(meterRegistry.counter("chat.hedge.fired", "operation", "chat", "mode", "call").count()).isEqualTo(1);
+		assertThat(meterRegistry.counter("chat.hedge.wins", "operation", "chat", "winner", "hedge").count()).isEqualTo(1);
+		awaitInFlight(0);
+	}
+
+	@Test
+	void hedgeIsSkippedWithoutAFreePermit() {
+		warmUp();
+		var other = limiter.tryAcquire("chat").orElseThrow();
+
+		var result = limiter.execute("chat", () -> executor.call("chat", true, () -> {
+			sleep(Duration.ofMillis(300));
+			return "ok";
+		}));
+
+		assertThat(result).isEqualTo("ok");
+		assertThat(meterRegistry.find("chat.hedge.fired").counter()).isNull();
+		assertThat(meterRegistry.counter("chat.hedge.bulkhead-full", "operation", "chat", "mode", "call").count()).isEqualTo(1);
+		assertThat(meterRegistry.find("chat.hedge.budget-exhausted").counter()).isNull();
+
+		other.run();
+		other.run();
+		awaitInFlight(0);
+	}
+
+	@Test
+	void failsWhenDeadlineIsExceeded() {
+		assertThatThrownBy(() -> executor.call("chat", false, () -> {
+			sleep(Duration.ofSeconds(2));
+			return "tarde";
+		})).isInstanceOf(DeadlineExceededException.class);
+
+		assertThat(meterRegistry.counter("chat.deadline.exceeded", "operation", "chat").count()).isEqualTo(1);
+		assertThat(meterRegistry.find("chat.hedge.fired").counter()).isNull();
+	}
+
+	@Test
+	void budgetCapsHedges() {
+		warmUp();
+
+		for (var i = 0; i < 4; i++) {
+			executor.call("chat", true, () -> {
+				sleep(Duration.ofMillis(300));
+				return "ok";
+			});
+		}
+
+		var fired = meterRegistry.counter("chat.hedge.fired", "operation", "chat", "mode", "call").count();
+		var exhausted = meterRegistry.counter("chat.hedge.budget-exhausted", "operation", "chat", "mode", "call").count();
+		assertThat(fired).isEqualTo(2);
+		assertThat(exhausted).isEqualTo(2);
+	}
+
+	@Test
+	void reactiveHedgeWinsAndAttemptErrorsArePropagated() {
+		warmUp();
+		var attempts = new AtomicInteger();
+
+		var result = executor.mono("chat", true, () -> attempts.incrementAndGet() == 1
+				? Mono.delay(Duration.ofSeconds(5)).thenReturn("lenta")
+				: Mono.just("rápida")).block();
+
+		assertThat(result).isEqualTo("rápida");
+		assertThat(meterRegistry.counter("chat.hedge.wins", "operation", "chat", "winner", "hedge").count()).isEqualTo(1);
+		awaitInFlight(0);
+
+		assertThatThrownBy(() -> executor.mono("chat", true, () -> Mono.<String>error(new IllegalStateException("fallo")))
+				.block())
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("fallo");
+	}
+
+	private SimpleAsyncTaskExecutor attemptExecutor() {
+		var attemptExecutor = new SimpleAsyncTaskExecutor("test-attempt-");
+		attemptExecutor.setTaskDecorator(task -> {
+			var order = launches.incrementAndGet();
+			return () -> {
+				launch.set(order);
+				task.run();
+			};
+		});
+		return attemptExecutor;
+	}
+
+	private void warmUp() {
+		for (var i = 0; i < MIN_SAMPLES; i++) {
+			executor.call("chat", true, () -> "ok");
+		}
+	}
+
+	/**
+	 * El permiso del hedge se libera cuando su hilo termina, que puede ser justo después
+	 * de devolver el resultado.
+	 */
+	private void awaitInFlight(double expected) {
+		var inFlight = meterRegistry.get("llm.concurrency.in-flight").tag("endpoint", "chat").gauge();
+		var until = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+		while (inFlight.value() != expected && System.nanoTime() < until) {
+			sleep(Duration.ofMillis(10));
+		}
+		assertThat(inFlight.value()).isEqualTo(expected);
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
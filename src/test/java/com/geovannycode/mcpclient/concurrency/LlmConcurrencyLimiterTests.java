@@ -0,0 +1,148 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmConcurrencyLimiterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(
+			new ConcurrencyProperties(null, Map.of("chat", new ConcurrencyProperties.Limit(1, Duration.ofMillis(50)))),
+			meterRegistry);
+
+	@Test
+	void rejectsWhenEndpointIsSaturated() throws Exception {
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var executor = Executors.newSingleThreadExecutor();
+
+		try {
+			executor.submit(() -> limiter.execute("chat", () -> {
+				started.countDown();
+				await(release);
+				return "ok";
+			}));
+			assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(() -> limiter.execute("chat", () -> "rechazada"))
+					.isInstanceOf(ConcurrencyLimitExceededException.class);
+			assertThat(meterRegistry.counter("llm.concurrency.rejected", "endpoint", "chat").count()).isEqualTo(1);
+
+			assertThat(limiter.execute("hr-query", () -> "ok")).isEqualTo("ok");
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void releasesPermitWhenCallFails() {
+		assertThatThrownBy(() -> limiter.execute("chat", () -> {
+			throw new IllegalStateException("fallo");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(limiter.execute("chat", () -> "ok")).isEqualTo("ok");
+	}
+
+	@Test
+	void tryAcquireNeverWaitsAndReleasesOnce() {
+		var permit = limiter.tryAcquire("chat").orElseThrow();
+		assertThat(limiter.tryAcquire("chat")).isEmpty();
+
+		permit.run();
+		permit.run();
+
+		var again = limiter.tryAcquire("chat").orElseThrow();
+		assertThat(limiter.tryAcquire("chat")).isEmpty();
+		again.run();
+		assertThat(meterRegistry.get("llm.concurrency.in-flight").tag("endpoint", "chat").gauge().value()).isZero();
+	}
+
+	@Test
+	void reactiveCallsRejectWithoutHoldingThePermit() {
+		var holder = limiter.executeMono("chat", () -> Mono.delay(Duration.ofMillis(300)).thenReturn("ok")).toFuture();
+
+		assertThatThrownBy(() -> limiter.executeMono("chat", () -> Mono.just("rechazada")).block())
+				.isInstanceOf(ConcurrencyLimitExceededException.class);
+
+		assertThat(holder.join()).isEqualTo("ok");
+		assertThat(limiter.executeMono("chat", () -> Mono.just("ok")).block()).isEqualTo("ok");
+	}
+
+	@Test
+	void waitersGetThePermitInArrivalOrder() {
+		var limiter = limiter(Duration.ofSeconds(5));
+		var release = Sinks.empty();
+		var holder = limiter.executeMono("chat", () -> release.asMono().thenReturn("ok")).toFuture();
+
+		var order = new CopyOnWriteArrayList<Integer>();
+		var waiters = IntStream.range(0, 5)
+				.mapToObj(i -> limiter.executeMono("chat", () -> Mono.fromCallable(() -> order.add(i))).toFuture())
+				.toList();
+		release.tryEmitEmpty();
+
+		assertThat(holder.join()).isEqualTo("ok");
+		waiters.forEach(CompletableFuture::join);
+		assertThat(order).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	void lateArrivalsDoNotOvertakeWaiters() {
+		var limiter = limiter(Duration.ofSeconds(5));
+		var release = Sinks.empty();
+		limiter.executeMono("chat", () -> release.asMono().thenReturn("ok")).subscribe();
+
+		var order = new CopyOnWriteArrayList<String>();
+		var waiting = limiter.executeMono("chat", () -> Mono.fromCallable(() -> order.add("en espera"))).toFuture();
+		release.tryEmitEmpty();
+		var late = limiter.executeMono("chat", () -> Mono.fromCallable(() -> order.add("tardía"))).toFuture();
+
+		CompletableFuture.allOf(waiting, late).join();
+		assertThat(order).containsExactly("en espera", "tardía");
+	}
+
+	@Test
+	void cancelledWaitersGiveUpTheirTurn() {
+		var limiter = limiter(Duration.ofSeconds(5));
+		var release = Sinks.empty();
+		var holder = limiter.executeMono("chat", () -> release.asMono().thenReturn("ok")).toFuture();
+
+		var cancelled = limiter.executeMono("chat", () -> Mono.just("cancelada")).subscribe();
+		var waiting = limiter.executeMono("chat", () -> Mono.just("ok")).toFuture();
+		cancelled.dispose();
+		release.tryEmitEmpty();
+
+		assertThat(holder.join()).isEqualTo("ok");
+		assertThat(waiting.join()).isEqualTo("ok");
+		assertThat(meterRegistry.get("llm.concurrency.in-flight").tag("endpoint", "chat").gauge().value()).isZero();
+	}
+
+	private LlmConcurrencyLimiter limiter(Duration maxWait) {
+		return new LlmConcurrencyLimiter(
+				new ConcurrencyProperties(null, Map.of("chat", new ConcurrencyProperties.Limit(1, maxWait))),
+				meterRegistry);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.geovannycode.mcpclient.concurrency;
+
+import com.geovannycode.mcpclient.cache.PromptKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTests {
+
+	private static final int CALLERS = 8;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final RequestCoalescer coalescer = new RequestCoalescer(
+			new CoalescingProperties(true, Set.of("hr-policies")), meterRegistry);
+
+	@Test
+	void concurrentIdenticalRequestsShareOneUpstreamCall() throws Exception {
+		var upstreamCalls = new AtomicInteger();
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var executor = Executors.newFixedThreadPool(CALLERS, runnable -> {
+			var thread = new Thread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		});
+		Callable<Optional<String>> caller = () -> coalescer.execute(key(), () -> {
+			upstreamCalls.incrementAndGet();
+			started.countDown();
+			await(release);
+			return Optional.of("vacaciones");
+		});
+
+		try {
+			var results = new ArrayList<Future<Optional<String>>>();
+			results.add(executor.submit(caller));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+			// El líder no termina hasta que todas las seguidoras se han unido a su llamada
+			for (int i = 1; i < CALLERS; i++) {
+				results.add(executor.submit(caller));
+			}
+			awaitFollowers(CALLERS - 1);
+			release.countDown();
+
+			for (var result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).contains("vacaciones");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(upstreamCalls).hasValue(1);
+	}
+
+	@Test
+	void concurrentReactiveRequestsShareOneUpstreamCall() {
+		var upstreamCalls = new AtomicInteger();
+
+		var results = Flux.range(0, CALLERS)
+				.flatMap(i -> coalescer.executeReactive(key(), () -> Mono.fromCallable(upstreamCalls::incrementAndGet)
+						.delayElement(Duration.ofMillis(200))
+						.map(call -> "vacaciones")))
+				.collectList()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(results).hasSize(CALLERS).containsOnly("vacaciones");
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(meterRegistry.counter("hr.coalescing.requests", "operation", "hr-policies", "role", "follower").count())
+				.isEqualTo(CALLERS - 1);
+	}
+
+	@Test
+	void sequentialRequestsAreNotCoalesced() {
+		var upstreamCalls = new AtomicInteger();
+
+		coalescer.execute(key(), () -> Optional.of(String.valueOf(upstreamCalls.incrementAndGet())));
+		var second = coalescer.execute(key(), () -> Optional.of(String.valueOf(upstreamCalls.incrementAndGet())));
+
+		assertThat(second).contains("2");
+	}
+
+	private static PromptKey key() {
+		return PromptKey.of("hr-policies", "system", "¿Política de vacaciones?", null);
+	}
+
+	private void awaitFollowers(int expected) {
+		var followers = meterRegistry.counter("hr.coalescing.requests", "operation", "hr-policies", "role", "follower");
+		var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (followers.count() < expected && System.nanoTime() < deadline) {
+			Thread.yield();
+		}
+		assertThat(followers.count()).isEqualTo(expected);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
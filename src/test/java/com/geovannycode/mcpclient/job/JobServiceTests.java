@@ -0,0 +1,194 @@
+package com.geovannycode.mcpclient.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.geovannycode.mcpclient.concurrency.ConcurrencyLimitExceededException;
+import com.geovannycode.mcpclient.model.QueryRequest;
+import com.geovannycode.mcpclient.model.QueryResponse;
+import com.geovannycode.mcpclient.model.ResponseJsonModule;
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import com.geovannycode.mcpclient.service.HRAssistantService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobServiceTests {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.modulesToInstall(new ResponseJsonModule())
+			.build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final List<JobService> services = new CopyOnWriteArrayList<>();
+
+	@TempDir
+	Path directory;
+
+	@AfterEach
+	void tearDown() {
+		services.forEach(JobService::destroy);
+	}
+
+	@Test
+	void longPollReturnsTheResultOnceTheJobFinishes() throws Exception {
+		var release = new CountDownLatch(1);
+		var service = service(properties(1, 10, JobProperties.Store.MEMORY), request -> {
+			await(release);
+			return Optional.of(QueryResponse.simple("Tienes 15 días"));
+		});
+
+		var job = service.submit(QueryRequest.of("¿Cuántos días de vacaciones tengo?"), Job.Priority.INTERACTIVE, null);
+		assertThat(job.status()).isEqualTo(Job.Status.QUEUED);
+
+		var pending = service.await(job.id(), null, Duration.ofSeconds(5));
+		assertThat(service.await(job.id(), null, Duration.ofMillis(50)).get(1, TimeUnit.SECONDS))
+				.get().extracting(Job::done).isEqualTo(false);
+
+		release.countDown();
+
+		var finished = pending.get(5, TimeUnit.SECONDS).orElseThrow();
+		assertThat(finished.status()).isEqualTo(Job.Status.SUCCEEDED);
+		assertThat(finished.result().response()).isEqualTo("Tienes 15 días");
+		assertThat(service.find(job.id(), null)).contains(finished);
+		assertThat(meterRegistry.timer("hr.jobs.run", "priority", "interactive", "outcome", "success").count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void interactiveJobsRunBeforeQueuedBulkJobs() throws Exception {
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var order = new CopyOnWriteArrayList<String>();
+		var service = service(properties(1, 10, JobProperties.Store.MEMORY), request -> {
+			if (request.query().equals("bloqueo")) {
+				started.countDown();
+				await(release);
+			}
+			order.add(request.query());
+			return Optional.of(QueryResponse.simple(request.query()));
+		});
+
+		service.submit(QueryRequest.of("bloqueo"), Job.Priority.BULK, null);
+		await(started);
+		var bulk = service.submit(QueryRequest.of("masiva"), Job.Priority.BULK, null);
+		service.submit(QueryRequest.of("interactiva"), Job.Priority.INTERACTIVE, null);
+
+		assertThat(meterRegistry.get("hr.jobs.queue.depth").tag("priority", "bulk").gauge().value())
+				.isEqualTo(1);
+		release.countDown();
+		service.await(bulk.id(), null, Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+
+		assertThat(order).containsExactly("bloqueo", "interactiva", "masiva");
+	}
+
+	@Test
+	void rejectsSubmissionsWhenTheQueueIsFullAndRecordsFailures() throws Exception {
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var service = service(properties(1, 1, JobProperties.Store.MEMORY), request -> {
+			started.countDown();
+			await(release);
+			throw new IllegalStateException("Connection reset by peer: api.openai.com");
+		});
+
+		var job = service.submit(QueryRequest.of("primera"), Job.Priority.INTERACTIVE, null);
+		await(started);
+		service.submit(QueryRequest.of("segunda"), Job.Priority.INTERACTIVE, null);
+
+		assertThatThrownBy(() -> service.submit(QueryRequest.of("tercera"), Job.Priority.BULK, null))
+				.isInstanceOf(ConcurrencyLimitExceededException.class);
+
+		release.countDown();
+		var failed = service.await(job.id(), null, Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS).orElseThrow();
+		assertThat(failed.status()).isEqualTo(Job.Status.FAILED);
+		assertThat(failed.error()).isEqualTo("Error al procesar la consulta");
+		assertThat(meterRegistry.counter("hr.jobs.rejected", "priority", "bulk").count()).isEqualTo(1);
+	}
+
+	@Test
+	void unavailableUpstreamsKeepTheirUserFacingMessage() throws Exception {
+		var service = service(properties(1, 10, JobProperties.Store.MEMORY), request -> {
+			throw new IllegalStateException("fallo en la llamada",
+					new UpstreamUnavailableException("openai", "El servicio openai está saturado", Duration.ofSeconds(1)));
+		});
+
+		var job = service.submit(QueryRequest.of("¿Cuántos días tengo?"), Job.Priority.INTERACTIVE, null);
+		var failed = service.await(job.id(), null, Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS).orElseThrow();
+
+		assertThat(failed.error()).isEqualTo("El servicio openai está saturado");
+	}
+
+	@Test
+	void onlyTheOwnerCanReadAJob() throws Exception {
+		var service = service(properties(1, 10, JobProperties.Store.MEMORY),
+				request -> Optional.of(QueryResponse.simple("Ana tiene 15 días")));
+		var ana = new TestingAuthenticationToken("ana", "secreto", "USER");
+		var luis = new TestingAuthenticationToken("luis", "secreto", "USER");
+
+		var job = service.submit(QueryRequest.of("¿Cuántos días tengo?"), Job.Priority.INTERACTIVE, ana);
+		var finished = service.await(job.id(), ana, Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+
+		assertThat(finished).get().extracting(Job::owner).isEqualTo("ana");
+		assertThat(service.await(job.id(), luis, Duration.ofSeconds(5)).get(1, TimeUnit.SECONDS)).isEmpty();
+		assertThat(service.find(job.id(), luis)).isEmpty();
+		assertThat(service.find(job.id(), null)).isEmpty();
+	}
+
+	@Test
+	void finishedJobsSurviveARestartWithTheFileStore() throws Exception {
+		var properties = properties(1, 10, JobProperties.Store.FILE);
+		var service = service(properties, request -> Optional.of(QueryResponse.simple("Seguro médico")));
+
+		var job = service.submit(QueryRequest.of("¿Qué beneficios tengo?"), Job.Priority.BULK, null);
+		var finished = service.await(job.id(), null, Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS).orElseThrow();
+
+		var restarted = new JobStore(properties, objectMapper, new SimpleMeterRegistry());
+
+		assertThat(restarted.find(job.id())).contains(finished);
+		assertThat(restarted.find("desconocido")).isEmpty();
+	}
+
+	private JobService service(JobProperties properties, Function<QueryRequest, Optional<QueryResponse>> query) {
+		var hrAssistantService = new HRAssistantService(null, null, null, null, new StandardEnvironment()) {
+			@Override
+			public Optional<QueryResponse> processQuery(QueryRequest request) {
+				return query.apply(request);
+			}
+		};
+		var service = new JobService(hrAssistantService, new JobStore(properties, objectMapper, meterRegistry),
+				properties, meterRegistry);
+		services.add(service);
+		return service;
+	}
+
+	private JobProperties properties(int workers, int queueCapacity, JobProperties.Store store) {
+		return new JobProperties(workers, queueCapacity, 100, Duration.ofMinutes(5), Duration.ofSeconds(10),
+				store, directory);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
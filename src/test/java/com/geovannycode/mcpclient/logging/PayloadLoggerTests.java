@@ -0,0 +1,85 @@
+package com.geovannycode.mcpclient.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadLoggerTests {
+
+	@AfterEach
+	void clearMdc() {
+		MDC.clear();
+	}
+
+	@Test
+	void truncatesLongPayloadsAndReportsTheRemainder() {
+		var payloads = new PayloadLogger(new PayloadLoggingProperties(1.0, 5));
+
+		assertThat(payloads.truncate("corto")).isEqualTo("corto");
+		assertThat(payloads.truncate("demasiado largo")).isEqualTo("demas… (+10 caracteres)");
+		assertThat(payloads.truncate(null)).isNull();
+	}
+
+	@Test
+	void samplesTheSameRequestConsistently() {
+		var payloads = new PayloadLogger(new PayloadLoggingProperties(0.5, 500));
+
+		var decisions = IntStream.range(0, 200).mapToObj(i -> {
+			// El cliente repite siempre el mismo X-Request-Id: no decide el muestreo
+			LogContext.resolve("elegido-por-el-cliente", null).forEach(MDC::put);
+			var first = payloads.sampled();
+			assertThat(payloads.sampled()).isEqualTo(first);
+			return first;
+		}).toList();
+
+		assertThat(decisions).contains(true, false);
+	}
+
+	@Test
+	void sampleRateBoundsSwitchLoggingOffAndOn() {
+		MDC.put(LogContext.REQUEST_ID, "req-1");
+
+		assertThat(new PayloadLogger(new PayloadLoggingProperties(0.0, 500)).sampled()).isFalse();
+		assertThat(new PayloadLogger(new PayloadLoggingProperties(1.0, 500)).sampled()).isTrue();
+		assertThat(new PayloadLoggingProperties(null, 0))
+				.isEqualTo(new PayloadLoggingProperties(0.01, 500));
+	}
+
+	@Test
+	void takesTheTraceIdFromTraceparentAndGeneratesMissingIds() {
+		var traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+		var ids = LogContext.resolve("abc-123", traceparent);
+		assertThat(ids).containsEntry(LogContext.REQUEST_ID, "abc-123")
+				.containsEntry(LogContext.TRACE_ID, "4bf92f3577b34da6a3ce929d0e0e4736");
+
+		var generated = LogContext.resolve("no válido", "00-" + "0".repeat(32) + "-00f067aa0ba902b7-01");
+		assertThat(generated.get(LogContext.REQUEST_ID)).matches("[0-9a-f]{16}");
+		assertThat(generated.get(LogContext.TRACE_ID)).matches("[0-9a-f]{32}").isNotEqualTo("0".repeat(32));
+		assertThat(ids.get(LogContext.SAMPLE)).matches("[0-9a-f]{16}")
+				.isNotEqualTo(LogContext.resolve("abc-123", traceparent).get(LogContext.SAMPLE));
+	}
+
+	@Test
+	void propagatesRequestIdsToTheExecutingThread() throws InterruptedException {
+		MDC.put(LogContext.REQUEST_ID, "req-7");
+		MDC.put(LogContext.TRACE_ID, "4bf92f3577b34da6a3ce929d0e0e4736");
+		MDC.put(LogContext.SAMPLE, "00f067aa0ba902b7");
+		var seen = new String[3];
+
+		var task = LogContext.propagate(() -> {
+			seen[0] = MDC.get(LogContext.REQUEST_ID);
+			seen[1] = MDC.get(LogContext.TRACE_ID);
+			seen[2] = MDC.get(LogContext.SAMPLE);
+		});
+		var thread = new Thread(task);
+		thread.start();
+		thread.join();
+
+		assertThat(seen).containsExactly("req-7", "4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7");
+	}
+}
@@ -0,0 +1,109 @@
+package com.geovannycode.mcpclient.mcp;
+
+import com.geovannycode.mcpclient.tool.McpToolCallbacks;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpToolsInitializerTests {
+
+	private final AtomicInteger refreshes = new AtomicInteger();
+
+	private final List<Duration> backoffs = new CopyOnWriteArrayList<>();
+
+	private McpToolsInitializer initializer;
+
+	@AfterEach
+	void close() {
+		if (initializer != null) {
+			initializer.destroy();
+		}
+	}
+
+	@Test
+	void retriesWithExponentialBackoffCappedAtTheMaximum() throws Exception {
+		initializer = new McpToolsInitializer(failingTimes(5), properties(true), new StandardEnvironment(),
+				backoffs::add);
+
+		initializer.onApplicationReady();
+		var ready = initializer.ready().get(5, TimeUnit.SECONDS);
+
+		assertThat(backoffs).containsExactly(Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(300),
+				Duration.ofMillis(300), Duration.ofMillis(300));
+		assertThat(ready.attempts()).isEqualTo(6);
+		assertThat(ready.tools()).isZero();
+		assertThat(initializer.lastError()).isEmpty();
+	}
+
+	@Test
+	void discoversDuringStartupWhenNotInBackground() {
+		initializer = new McpToolsInitializer(failingTimes(0), properties(false), new StandardEnvironment(),
+				backoffs::add);
+
+		initializer.afterSingletonsInstantiated();
+		initializer.onApplicationReady();
+
+		assertThat(initializer.ready()).isCompleted();
+		assertThat(refreshes).hasValue(1);
+	}
+
+	@Test
+	void healthIsOutOfServiceUntilDiscoverySucceeds() throws Exception {
+		var sleeping = new CountDownLatch(1);
+		var retry = new CountDownLatch(1);
+		initializer = new McpToolsInitializer(failingTimes(1), properties(true), new StandardEnvironment(),
+				backoff -> {
+					sleeping.countDown();
+					retry.await(5, TimeUnit.SECONDS);
+				});
+		var health = new McpHealthIndicator(initializer);
+
+		assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+		initializer.onApplicationReady();
+		assertThat(sleeping.await(5, TimeUnit.SECONDS)).isTrue();
+		var failed = health.health();
+		assertThat(failed.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+		assertThat(failed.getDetails()).containsEntry("attempts", 1).containsEntry("lastError", "servidor MCP no disponible");
+
+		retry.countDown();
+		initializer.ready().get(5, TimeUnit.SECONDS);
+		var up = health.health();
+		assertThat(up.getStatus()).isEqualTo(Status.UP);
+		assertThat(up.getDetails()).containsEntry("tools", 0).containsKey("readyAfterMs");
+	}
+
+	private static McpStartupProperties properties(boolean background) {
+		return new McpStartupProperties(background, Duration.ofMillis(100), Duration.ofMillis(300));
+	}
+
+	/**
+	 * Herramientas MCP cuyo descubrimiento falla las primeras {@code failures} veces.
+	 */
+	private McpToolCallbacks failingTimes(int failures) {
+		var observationRegistry = new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class);
+		return new McpToolCallbacks(null, null, observationRegistry, null, null) {
+
+			@Override
+			public List<ToolCallback> refresh() {
+				if (refreshes.incrementAndGet() <= failures) {
+					throw new IllegalStateException("servidor MCP no disponible");
+				}
+				return List.of();
+			}
+		};
+	}
+}
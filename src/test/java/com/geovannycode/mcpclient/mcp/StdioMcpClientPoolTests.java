@@ -0,0 +1,117 @@
+package com.geovannycode.mcpclient.mcp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Arranca procesos reales de {@link StdioTestServer} con la JVM y el classpath de los tests.
+ */
+class StdioMcpClientPoolTests {
+
+	private static final Pattern PID = Pattern.compile("\\d+");
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+	private StdioMcpClientPool pool;
+
+	@TempDir
+	Path directory;
+
+	@AfterEach
+	void tearDown() {
+		if (pool != null) {
+			pool.close();
+		}
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	void startsEveryMemberAndListsTheirTools() {
+		pool = start(2);
+
+		assertThat(pool.tools()).extracting(McpSchema.Tool::name).containsExactlyInAnyOrder("pid", "crash_once");
+		assertThat(meterRegistry.get("mcp.pool.healthy").gauge().value()).isEqualTo(2);
+		assertThat(pid(pool.call("pid", "{}", null))).isPositive();
+		assertThatThrownBy(() -> pool.call("desconocida", "{}", null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void retriesOnAnotherMemberWhenTheProcessDies() {
+		pool = start(2);
+
+		assertThat(pool.call("crash_once", "{}", null)).contains("recuperado");
+
+		awaitRestarts(1);
+		assertThat(meterRegistry.get("mcp.pool.healthy").gauge().value()).isEqualTo(2);
+	}
+
+	@Test
+	void replacesTheMemberWhoseOwnProcessExited() {
+		pool = start(2);
+		var children = ProcessHandle.current().children().count();
+
+		var pid = pid(pool.call("pid", "{}", null));
+		ProcessHandle.of(pid).orElseThrow().destroyForcibly();
+
+		awaitRestarts(1);
+		var pids = new HashSet<Long>();
+		for (int i = 0; i < 10; i++) {
+			pids.add(pid(pool.call("pid", "{}", null)));
+		}
+		assertThat(pids).doesNotContain(pid);
+		assertThat(ProcessHandle.current().children().count()).isEqualTo(children);
+	}
+
+	private StdioMcpClientPool start(int size) {
+		var command = ProcessHandle.current().info().command().orElse("java");
+		var connection = new StdioPoolProperties.Connection(command,
+				List.of("-cp", System.getProperty("java.class.path"), StdioTestServer.class.getName(),
+						directory.resolve("crashed").toString()),
+				Map.of());
+		var properties = new StdioPoolProperties(true, size, Duration.ofSeconds(10), Duration.ofMillis(200),
+				Map.of("test", connection));
+
+		var started = new StdioMcpClientPool("test", connection, properties,
+				new McpSchema.Implementation("tests", "1.0.0"), scheduler, meterRegistry);
+		started.start();
+		return started;
+	}
+
+	private void awaitRestarts(int expected) {
+		var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (restarts() < expected && System.nanoTime() < deadline) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+		}
+		assertThat(restarts()).isEqualTo(expected);
+	}
+
+	private double restarts() {
+		var counter = meterRegistry.find("mcp.pool.restarts").counter();
+		return counter == null ? 0 : counter.count();
+	}
+
+	private static long pid(String result) {
+		var matcher = PID.matcher(result);
+		assertThat(matcher.find()).isTrue();
+		return Long.parseLong(matcher.group());
+	}
+}
@@ -0,0 +1,65 @@
+package com.geovannycode.mcpclient.mcp;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.transport.StdioServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Servidor MCP por STDIO para {@link StdioMcpClientPoolTests}. {@code pid} devuelve el
+ * PID del proceso; {@code crash_once} termina el primer proceso que lo recibe (el que
+ * crea el fichero marcador) y responde con normalidad en los demás.
+ */
+public final class StdioTestServer {
+
+	private StdioTestServer() {
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		// stdout es el canal del protocolo: los logs van a stderr
+		var protocol = System.out;
+		System.setOut(System.err);
+		var marker = Path.of(args[0]);
+
+		var transport = new StdioServerTransportProvider(McpJsonMapper.getDefault(), System.in, protocol);
+		McpServer.sync(transport)
+				.serverInfo("stdio-test", "1.0.0")
+				.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+				.tools(tool("pid", () -> String.valueOf(ProcessHandle.current().pid())),
+						tool("crash_once", () -> crashOnce(marker)))
+				.build();
+
+		Thread.currentThread().join();
+	}
+
+	private static String crashOnce(Path marker) {
+		try {
+			Files.createFile(marker);
+		} catch (FileAlreadyExistsException e) {
+			return "recuperado";
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		Runtime.getRuntime().halt(1);
+		return null;
+	}
+
+	private static McpServerFeatures.SyncToolSpecification tool(String name, Supplier<String> result) {
+		var tool = McpSchema.Tool.builder()
+				.name(name)
+				.description(name)
+				.inputSchema(McpJsonMapper.getDefault(), "{\"type\": \"object\", \"properties\": {}}")
+				.build();
+		return McpServerFeatures.SyncToolSpecification.builder()
+				.tool(tool)
+				.callHandler((exchange, request) -> new McpSchema.CallToolResult(result.get(), false))
+				.build();
+	}
+}
@@ -0,0 +1,118 @@
+package com.geovannycode.mcpclient.memory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBudgetChatMemoryTests {
+
+	private static final String SESSION = "sesion-1";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final JTokkitTokenCountEstimator estimator = new JTokkitTokenCountEstimator();
+
+	@Test
+	void historyStaysWithinTokenBudget() {
+		var properties = properties(ConversationMemoryProperties.Store.MEMORY, null, Duration.ofMinutes(30));
+		var memory = new TokenBudgetChatMemory(
+				new InMemorySessionRepository(properties, meterRegistry), estimator, properties, meterRegistry);
+
+		for (int i = 0; i < 30; i++) {
+			memory.add(SESSION, List.of(
+					new UserMessage("Pregunta " + i + " sobre la política de vacaciones y los días disponibles"),
+					new AssistantMessage("Respuesta " + i + ": tienes quince días de vacaciones según tu antigüedad")));
+		}
+
+		var history = memory.get(SESSION);
+
+		assertThat(history.stream().mapToInt(message -> estimator.estimate(message.getText())).sum())
+				.isLessThanOrEqualTo(properties.maxTokens());
+		assertThat(history.get(0).getMessageType()).isEqualTo(MessageType.SYSTEM);
+		assertThat(history.get(0).getText()).startsWith(TokenBudgetChatMemory.SUMMARY_HEADER);
+		assertThat(history.get(history.size() - 1).getText()).startsWith("Respuesta 29");
+	}
+
+	@Test
+	void repeatedTurnsAreKept() {
+		var properties = properties(ConversationMemoryProperties.Store.MEMORY, null, Duration.ofMinutes(30));
+		var memory = new TokenBudgetChatMemory(
+				new InMemorySessionRepository(properties, meterRegistry), estimator, properties, meterRegistry);
+
+		for (int i = 0; i < 2; i++) {
+			memory.add(SESSION, List.of(new UserMessage("Sí"), new AssistantMessage("Solicitud enviada")));
+		}
+
+		assertThat(memory.get(SESSION)).extracting(Message::getText)
+				.containsExactly("Sí", "Solicitud enviada", "Sí", "Solicitud enviada");
+	}
+
+	@Test
+	void idleSessionsExpire() {
+		var clock = new MutableClock();
+		var properties = properties(ConversationMemoryProperties.Store.MEMORY, null, Duration.ofMinutes(5));
+		var repository = new InMemorySessionRepository(properties, meterRegistry, clock);
+
+		repository.saveAll(SESSION, List.of(new UserMessage("hola")));
+		clock.advance(Duration.ofMinutes(6));
+
+		assertThat(repository.findByConversationId(SESSION)).isEmpty();
+	}
+
+	@Test
+	void fileStoreSurvivesRestart(@TempDir Path directory) {
+		var properties = properties(ConversationMemoryProperties.Store.FILE, directory, Duration.ofMinutes(30));
+		var messages = List.<Message>of(new UserMessage("¿Cuántos días me quedan?"), new AssistantMessage("Te quedan 15"));
+
+		new FileSessionRepository(properties, meterRegistry).saveAll("usuario/../sesion", messages);
+		var restarted = new FileSessionRepository(properties, new SimpleMeterRegistry());
+
+		assertThat(restarted.findConversationIds()).containsExactly("usuario/../sesion");
+		assertThat(restarted.findByConversationId("usuario/../sesion"))
+				.extracting(Message::getText)
+				.containsExactly("¿Cuántos días me quedan?", "Te quedan 15");
+	}
+
+	private static ConversationMemoryProperties properties(ConversationMemoryProperties.Store store,
+														   Path directory,
+														   Duration ttl) {
+		return new ConversationMemoryProperties(store, directory, 200, 60, 100, ttl);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2025-01-15T10:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.geovannycode.mcpclient.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseJsonModuleTests {
+
+	private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 15, 10, 30, 5);
+
+	/**
+	 * Mismos valores por defecto que el ObjectMapper de Spring Boot.
+	 */
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.modulesToInstall(new ResponseJsonModule())
+			.build();
+
+	@Test
+	void writesQueryResponsesWithTheSameShapeAsBefore() throws Exception {
+		var response = new QueryResponse("Tienes 15 días", TIMESTAMP, List.of("employeeData"),
+				QueryMetadata.of(null, null));
+
+		assertThat(objectMapper.writeValueAsString(response)).isEqualTo("""
+				{"response":"Tienes 15 días","timestamp":"2025-01-15T10:30:05","toolsUsed":["employeeData"],\
+				"metadata":{"employeeId":null}}""");
+
+		var withTimings = response.withMetadata(QueryMetadata.of("EMP001", "s-1")
+				.withTimings(Map.of("totalMs", 12.5)));
+		assertThat(objectMapper.writeValueAsString(withTimings)).endsWith("""
+				"metadata":{"employeeId":"EMP001","sessionId":"s-1","timings":{"totalMs":12.5}}}""");
+
+		assertThat(objectMapper.readValue(objectMapper.writeValueAsBytes(withTimings), QueryResponse.class))
+				.isEqualTo(withTimings);
+	}
+
+	@Test
+	void writesErrorsAndNullFields() throws Exception {
+		assertThat(objectMapper.writeValueAsString(new QueryResponse("Error: x", null, null, null)))
+				.isEqualTo("{\"response\":\"Error: x\",\"timestamp\":null,\"toolsUsed\":null,\"metadata\":null}");
+		assertThat(objectMapper.writeValueAsString(new ErrorResponse("Límite \"excedido\"", 42)))
+				.isEqualTo("{\"status\":\"error\",\"message\":\"Límite \\\"excedido\\\"\",\"timestamp\":42}");
+		assertThat(objectMapper.writeValueAsString(new ChatReply("Hola", 7)))
+				.isEqualTo("{\"response\":\"Hola\",\"status\":\"success\",\"timestamp\":7}");
+	}
+
+	@Test
+	void writesHrInformationRecords() throws Exception {
+		assertThat(objectMapper.readValue(objectMapper.writeValueAsString(
+				new PolicyInformation("vacation", "15 días", "policy-index", TIMESTAMP)),
+				new TypeReference<Map<String, Object>>() { }))
+				.containsEntry("policyName", "vacation")
+				.containsEntry("information", "15 días")
+				.containsEntry("source", "policy-index")
+				.containsEntry("timestamp", "2025-01-15T10:30:05");
+		assertThat(objectMapper.writeValueAsString(new EmployeeSummary("EMP001", "Ana", TIMESTAMP)))
+				.isEqualTo("{\"employeeId\":\"EMP001\",\"summary\":\"Ana\",\"timestamp\":\"2025-01-15T10:30:05\"}");
+		assertThat(objectMapper.writeValueAsString(new BenefitsInformation("Seguro médico", TIMESTAMP)))
+				.isEqualTo("{\"benefits\":\"Seguro médico\",\"timestamp\":\"2025-01-15T10:30:05\"}");
+	}
+
+	@Test
+	void binaryFormatsRoundTripWithTheSameModule() throws Exception {
+		var response = new QueryResponse("Tienes 15 días", TIMESTAMP, List.of("employeeData"),
+				QueryMetadata.of("EMP001", "s-1").withTimings(Map.of("totalMs", 12.5)));
+		var request = new QueryRequest("¿Cuántos días me quedan?", "EMP001", Map.of("department", "IT"), "s-1");
+		var json = objectMapper.writeValueAsBytes(response);
+
+		for (var factory : List.of(new CBORFactory(), new SmileFactory())) {
+			var mapper = Jackson2ObjectMapperBuilder.json()
+					.factory(factory)
+					.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+					.modulesToInstall(new ResponseJsonModule())
+					.build();
+
+			var binary = mapper.writeValueAsBytes(response);
+			assertThat(binary).hasSizeLessThan(json.length);
+			assertThat(mapper.readValue(binary, QueryResponse.class)).isEqualTo(response);
+			assertThat(mapper.readTree(binary)).isEqualTo(objectMapper.readTree(json));
+			assertThat(mapper.readValue(mapper.writeValueAsBytes(request), QueryRequest.class)).isEqualTo(request);
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.geovannycode.mcpclient.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingsTests {
+
+	@AfterEach
+	void tearDown() {
+		RequestTimings.close();
+	}
+
+	@Test
+	void llmTimeExcludesToolPhase() {
+		var timings = RequestTimings.open();
+
+		timings.recordModelCall(TimeUnit.MILLISECONDS.toNanos(900));
+		timings.recordToolPhase(TimeUnit.MILLISECONDS.toNanos(300));
+		timings.recordTool("get_employee_info", TimeUnit.MILLISECONDS.toNanos(250));
+		timings.recordTool("get_time_off_balance", TimeUnit.MILLISECONDS.toNanos(280));
+		timings.recordTokens(120, 30);
+
+		var breakdown = timings.toMap();
+
+		assertThat(breakdown)
+				.containsEntry("llmMs", 600.0)
+				.containsEntry("toolsMs", 300.0)
+				.containsEntry("promptTokens", 120L)
+				.containsEntry("completionTokens", 30L);
+		assertThat(breakdown.get("toolCallsMs")).isEqualTo(Map.of(
+				"get_employee_info", 250.0,
+				"get_time_off_balance", 280.0));
+	}
+
+	@Test
+	void propagatesToWorkerThreads() throws Exception {
+		var timings = RequestTimings.open();
+		var task = RequestTimings.propagate(() -> RequestTimings.current()
+				.ifPresent(current -> current.recordTool("get_company_policy", 1_000_000)));
+
+		var worker = new Thread(task);
+		worker.start();
+		worker.join();
+
+		assertThat(timings.toMap().get("toolCallsMs")).isEqualTo(Map.of("get_company_policy", 1.0));
+	}
+}
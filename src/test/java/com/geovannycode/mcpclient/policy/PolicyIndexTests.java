@@ -0,0 +1,106 @@
+package com.geovannycode.mcpclient.policy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicyIndexTests {
+
+	private static final String VACATION = """
+			{"policy_name":"Política de Vacaciones",\
+			"description":"Los empleados tienen derecho a días de vacaciones pagadas según su antigüedad",\
+			"rules":["0-2 años: 15 días por año","3-5 años: 20 días por año","5+ años: 25 días por año"]}""";
+
+	private static final String REMOTE_WORK = """
+			{"policy_name":"Política de Trabajo Remoto",\
+			"description":"Los empleados pueden trabajar remotamente con aprobación",\
+			"rules":["Máximo 3 días por semana","Requiere aprobación del manager"]}""";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final Map<String, String> outputs = new HashMap<>();
+
+	private final PolicyIndex index = new PolicyIndex(
+			new PolicyIndexProperties(true, null, null, List.of("vacation", "remote_work"), null, 0, 2, 0),
+			policyName -> Optional.ofNullable(outputs.get(policyName)),
+			objectMapper,
+			meterRegistry);
+
+	@Test
+	void answersExactPolicyNamesFromTheIndex() throws Exception {
+		outputs.put("vacation", mcpContent(VACATION));
+		outputs.put("remote_work", REMOTE_WORK);
+
+		assertThat(index.refresh()).isTrue();
+
+		assertThat(index.find("vacation")).hasValueSatisfying(policy -> assertThat(policy.render())
+				.startsWith("Política de Vacaciones: Los empleados")
+				.contains("\n- 3-5 años: 20 días por año"));
+		assertThat(index.find("Remote Work")).map(PolicyIndex.Policy::key).hasValue("remote_work");
+		assertThat(index.find("política de trabajo remoto")).isPresent();
+		assertThat(index.find("bonus")).isEmpty();
+
+		assertThat(index.status())
+				.containsEntry("chunks", 4)
+				.containsEntry("answeredWithoutModel", 3L);
+		assertThat(meterRegistry.counter("policy.index.answers", "source", "index").count()).isEqualTo(3);
+	}
+
+	@Test
+	void returnsOnlyTheMostRelevantChunksForFreeTextQueries() {
+		outputs.put("vacation", VACATION);
+		outputs.put("remote_work", REMOTE_WORK);
+		index.refresh();
+
+		var excerpts = index.search("días de vacaciones por antigüedad");
+
+		assertThat(excerpts).hasSize(2);
+		assertThat(excerpts.get(0).policy()).isEqualTo("vacation");
+		assertThat(excerpts.get(0).score()).isGreaterThanOrEqualTo(excerpts.get(1).score());
+		assertThat(index.search("xyzzy")).isEmpty();
+		assertThat(index.status())
+				.containsEntry("answeredWithExcerpts", 1L)
+				.containsEntry("answeredByModel", 1L);
+	}
+
+	@Test
+	void rebuildsOnlyWhenThePoliciesChange() {
+		outputs.put("vacation", VACATION);
+		outputs.put("remote_work", REMOTE_WORK);
+
+		assertThat(index.refresh()).isTrue();
+		assertThat(index.refresh()).isFalse();
+
+		outputs.put("remote_work", REMOTE_WORK.replace("Máximo 3 días", "Máximo 2 días"));
+		assertThat(index.refresh()).isTrue();
+		assertThat(index.find("remote_work")).hasValueSatisfying(policy ->
+				assertThat(policy.rules()).contains("Máximo 2 días por semana"));
+	}
+
+	@Test
+	void keepsTheLastIndexWhenTheToolIsUnavailable() {
+		outputs.put("vacation", VACATION);
+		index.refresh();
+
+		outputs.clear();
+		outputs.put("vacation", "{\"error\":\"Policy not found\"}");
+
+		assertThat(index.refresh()).isFalse();
+		assertThat(index.isBuilt()).isTrue();
+		assertThat(index.find("vacation")).isPresent();
+		assertThat(index.status().get("lastError")).asString().contains("get_company_policy");
+	}
+
+	private String mcpContent(String json) throws Exception {
+		return objectMapper.writeValueAsString(List.of(Map.of("type", "text", "text", json)));
+	}
+}
@@ -0,0 +1,75 @@
+package com.geovannycode.mcpclient.prompt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptContextAssemblerTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final JTokkitTokenCountEstimator estimator = new JTokkitTokenCountEstimator();
+
+	private final PromptContextAssembler assembler = new PromptContextAssembler(
+			new PromptProperties(60, 20, List.of("employeeId")), estimator, meterRegistry);
+
+	@Test
+	void contextIsSerializedInStableOrder() {
+		var first = new LinkedHashMap<String, Object>();
+		first.put("region", "norte");
+		first.put("preferencias", Map.of("idioma", "es", "canal", "email"));
+		first.put("employeeId", "EMP001");
+
+		var second = new HashMap<String, Object>();
+		second.put("employeeId", "EMP001");
+		second.put("preferencias", new LinkedHashMap<>(Map.of("canal", "email", "idioma", "es")));
+		second.put("region", "norte");
+
+		var message = assembler.assemble("hr-query", "¿Cuántos días me quedan?", first);
+
+		assertThat(message).isEqualTo(assembler.assemble("hr-query", "¿Cuántos días me quedan?", second));
+		assertThat(message).isEqualTo("""
+				Contexto: employeeId=EMP001, preferencias={"canal":"email","idioma":"es"}, region=norte
+
+				Consulta: ¿Cuántos días me quedan?""");
+	}
+
+	@Test
+	void oversizedContextIsTrimmedToBudget() {
+		var context = new LinkedHashMap<String, Object>();
+		context.put("historial", "solicitud de vacaciones aprobada en marzo ".repeat(40));
+		context.put("employeeId", "EMP001");
+		for (int i = 0; i < 20; i++) {
+			context.put("campo" + i, "valor del campo número " + i);
+		}
+
+		var message = assembler.assemble("hr-query", "¿Cuántos días me quedan?", context);
+		var contextLine = message.substring(0, message.indexOf("\n\nConsulta:"));
+
+		assertThat(contextLine).startsWith("Contexto: employeeId=EMP001");
+		assertThat(estimator.estimate(contextLine)).isLessThanOrEqualTo(60);
+		assertThat(meterRegistry.counter("chat.prompt.tokens-saved", "operation", "hr-query").count()).isPositive();
+	}
+
+	@Test
+	void multiByteContextIsTokenizedEvenIfItFitsInCharacters() {
+		var context = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < 4; i++) {
+			context.put("nota" + i, "鬱鬱鬱鬱");
+		}
+
+		var message = assembler.assemble("hr-query", "¿Cuántos días me quedan?", context);
+		var contextLine = message.substring(0, message.indexOf("\n\nConsulta:"));
+
+		assertThat(contextLine.length()).isLessThanOrEqualTo(60);
+		assertThat(estimator.estimate(contextLine)).isLessThanOrEqualTo(60);
+		assertThat(meterRegistry.counter("chat.prompt.context-fields-dropped", "operation", "hr-query").count())
+				.isPositive();
+	}
+}
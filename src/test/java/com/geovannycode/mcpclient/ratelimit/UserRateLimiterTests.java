@@ -0,0 +1,146 @@
+package com.geovannycode.mcpclient.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRateLimiterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AtomicLong now = new AtomicLong();
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void rejectsRequestsBeyondTheBurstUntilTheBucketRefills() {
+		var limiter = limiter(new RateLimitProperties(true, null, 2, 3, 0, 0, 0, null));
+
+		assertThat(limiter.tryAcquire("ana")).isEmpty();
+		assertThat(limiter.tryAcquire("ana")).isEmpty();
+		assertThat(limiter.tryAcquire("ana")).isEmpty();
+
+		var rejection = limiter.tryAcquire("ana").orElseThrow();
+		assertThat(rejection.reason()).isEqualTo("requests");
+		assertThat(rejection.retryAfter()).isEqualTo(Duration.ofMillis(500));
+		assertThat(rejection.retryAfterSeconds()).isEqualTo(1);
+		assertThat(limiter.tryAcquire("luis")).as("cada usuario tiene su propio cubo").isEmpty();
+
+		advance(Duration.ofMillis(500));
+
+		assertThat(limiter.tryAcquire("ana")).isEmpty();
+		assertThat(meterRegistry.counter("ratelimit.decisions", "result", "rejected", "reason", "requests").count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void blocksUsersWhoseReportedTokenUsageExceedsTheBudget() {
+		var limiter = limiter(new RateLimitProperties(true, null, 100, 100, 6_000, 1_000, 0, null));
+
+		limiter.recordTokens("ana", 900);
+		assertThat(limiter.tryAcquire("ana")).isEmpty();
+
+		limiter.recordTokens("ana", 1_100);
+		var rejection = limiter.tryAcquire("ana").orElseThrow();
+
+		assertThat(rejection.reason()).isEqualTo("tokens");
+		assertThat(rejection.retryAfter()).isEqualTo(Duration.ofSeconds(10));
+
+		advance(Duration.ofSeconds(10));
+
+		assertThat(limiter.tryAcquire("ana")).isEmpty();
+		assertThat(meterRegistry.counter("ratelimit.tokens.charged").count()).isEqualTo(2_000);
+	}
+
+	@Test
+	void publishesTheTopConsumersAndAggregatesTheRest() {
+		var limiter = limiter(new RateLimitProperties(true, null, 100, 100, 60_000, 60_000, 2, null));
+
+		for (var user : List.of("ana", "luis", "marta")) {
+			limiter.tryAcquire(user);
+		}
+		limiter.recordTokens("ana", 300);
+		limiter.recordTokens("luis", 200);
+		limiter.recordTokens("marta", 100);
+
+		limiter.publish();
+
+		assertThat(consumption("ana", "tokens")).isEqualTo(300);
+		assertThat(consumption("luis", "tokens")).isEqualTo(200);
+		assertThat(consumption("other", "tokens")).isEqualTo(100);
+		assertThat(consumption("other", "requests")).isEqualTo(1);
+		assertThat(meterRegistry.find("ratelimit.user.consumption").tag("user", "marta").gauge()).isNull();
+
+		advance(Duration.ofMinutes(5));
+		limiter.publish();
+		limiter.publish();
+
+		assertThat(meterRegistry.get("ratelimit.users").gauge().value()).isZero();
+	}
+
+	@Test
+	void anonymousCallersAreLimitedByClientAddress() {
+		var limiter = limiter(new RateLimitProperties(true, null, 100, 100, 6_000, 1_000, 0, null));
+		var anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+		anonymous.setDetails(new WebAuthenticationDetails("10.0.0.7", null));
+		SecurityContextHolder.getContext().setAuthentication(anonymous);
+
+		assertThat(UserRateLimiter.keyOf(anonymous, "10.0.0.7")).contains("anonymous:10.0.0.7");
+		assertThat(UserRateLimiter.keyOf(null, null)).isEmpty();
+		assertThat(UserRateLimiter.keyOf(UsernamePasswordAuthenticationToken.authenticated("ana", null, List.of()),
+				"10.0.0.7")).contains("ana");
+		assertThat(limiter.currentKey()).contains("anonymous:10.0.0.7");
+
+		limiter.recordTokens(1_100);
+		assertThat(limiter.tryAcquire("anonymous:10.0.0.7").orElseThrow().reason()).isEqualTo("tokens");
+		assertThat(limiter.tryAcquire("anonymous:10.0.0.8")).isEmpty();
+
+		limiter.recordTokensReactive(1_100)
+				.contextWrite(Context.of(UserRateLimiter.CONTEXT_KEY, "anonymous:10.0.0.8"))
+				.block();
+		assertThat(limiter.tryAcquire("anonymous:10.0.0.8").orElseThrow().reason()).isEqualTo("tokens");
+	}
+
+	@Test
+	void onlyAuthenticatedUsersHaveABudget() {
+		var limiter = limiter(new RateLimitProperties(true, null, 0, 0, 0, 0, 0, null));
+		var anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+		assertThat(UserRateLimiter.userOf(anonymous)).isEmpty();
+		assertThat(UserRateLimiter.userOf(UsernamePasswordAuthenticationToken.unauthenticated("ana", "x"))).isEmpty();
+		assertThat(UserRateLimiter.userOf(UsernamePasswordAuthenticationToken.authenticated("ana", null, List.of())))
+				.contains("ana");
+		assertThat(limiter.appliesTo("POST", "/chat")).isTrue();
+		assertThat(limiter.appliesTo("GET", "/hr-assistant/jobs/42")).isFalse();
+		assertThat(limiter.appliesTo("GET", "/actuator/health")).isFalse();
+	}
+
+	private UserRateLimiter limiter(RateLimitProperties properties) {
+		return new UserRateLimiter(properties, meterRegistry, now::get);
+	}
+
+	private double consumption(String user, String type) {
+		return meterRegistry.get("ratelimit.user.consumption").tag("user", user).tag("type", type).gauge().value();
+	}
+
+	private void advance(Duration duration) {
+		now.addAndGet(duration.toNanos());
+	}
+}
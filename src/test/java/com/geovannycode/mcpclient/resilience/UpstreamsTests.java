@@ -0,0 +1,109 @@
+package com.geovannycode.mcpclient.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamsTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MutableClock clock = new MutableClock();
+
+	private final Upstreams upstreams = new Upstreams(
+			new ResilienceProperties(true, null, Map.of("localTool", new ResilienceProperties.Upstream(
+					new ResilienceProperties.Breaker(0.5, 10, 4, null, Duration.ofSeconds(30), 2),
+					new ResilienceProperties.Limit(1, 1, 4, 0.5, 0)))),
+			meterRegistry,
+			clock);
+
+	@Test
+	void opensCircuitAndFailsFastUntilTrialCallsSucceed() {
+		var guard = upstreams.guard("localTool");
+
+		for (var i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> guard.execute(() -> {
+				throw new IllegalStateException("servidor MCP caído");
+			}, result -> false)).isInstanceOf(IllegalStateException.class);
+		}
+		assertThat(guard.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		assertThatThrownBy(() -> guard.execute(() -> "no se llama", result -> false))
+				.isInstanceOf(UpstreamUnavailableException.class)
+				.satisfies(e -> assertThat(((UpstreamUnavailableException) e).getRetryAfter())
+						.isEqualTo(Duration.ofSeconds(30)));
+		assertThat(meterRegistry.counter("resilience.rejected", "upstream", "localTool", "reason", "circuit-open").count())
+				.isEqualTo(1);
+
+		clock.advance(Duration.ofSeconds(31));
+		guard.execute(() -> "ok", result -> false);
+		assertThat(guard.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		guard.execute(() -> "ok", result -> false);
+		assertThat(guard.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(meterRegistry.get("resilience.circuit.state")
+				.tags("upstream", "localTool", "state", "closed").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void adaptiveLimitRejectsExcessConcurrencyAndGrowsWhenSaturated() throws Exception {
+		var guard = upstreams.guard("localTool");
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var executor = Executors.newSingleThreadExecutor();
+
+		try {
+			var inFlight = executor.submit(() -> guard.execute(() -> {
+				started.countDown();
+				release.await();
+				return "ok";
+			}, result -> false));
+			assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(() -> guard.execute(() -> "rechazada", result -> false))
+					.isInstanceOf(UpstreamUnavailableException.class);
+
+			release.countDown();
+			inFlight.get(1, TimeUnit.SECONDS);
+			assertThat(guard.limit()).isEqualTo(2);
+			assertThat(guard.inFlight()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2025-01-15T10:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.geovannycode.mcpclient.routing;
+
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelRouterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ModelRouter router = new ModelRouter(
+			new RoutingProperties(true, "full",
+					Map.of(
+							"fast", new RoutingProperties.Route("gpt-4o-mini", 0.3, null, Duration.ofMillis(200), "full", 0.00015, 0.0006),
+							"full", new RoutingProperties.Route("gpt-4", 0.7, null, null, null, 0.03, 0.06)),
+					List.of(
+							new RoutingProperties.Rule("fast", Set.of("hr-policies"), 50, null),
+							new RoutingProperties.Rule("fast", Set.of("chat"), 20, false)),
+					List.of("(?i)\\bEMP\\d{3,}\\b")),
+			new JTokkitTokenCountEstimator(),
+			new SimpleAsyncTaskExecutor("test-route-"),
+			meterRegistry);
+
+	@Test
+	void routesByOperationLengthAndToolHints() {
+		assertThat(router.route("hr-policies", "¿Cuál es la política de vacaciones?").name()).isEqualTo("fast");
+		assertThat(router.route("chat", "Hola").name()).isEqualTo("fast");
+		assertThat(router.route("chat", "¿Cuántos días tiene EMP001?").name()).isEqualTo("full");
+		assertThat(router.route("hr-query", "Hola").name()).isEqualTo("full");
+	}
+
+	@Test
+	void fallsBackWhenCheapModelTimesOut() {
+		var models = new ArrayList<String>();
+
+		var response = router.call(router.route("chat", "Hola"), options -> {
+			models.add(options.getModel());
+			if ("gpt-4o-mini".equals(options.getModel())) {
+				sleep(Duration.ofSeconds(2));
+			}
+			return response(options);
+		});
+
+		assertThat(models).containsExactly("gpt-4o-mini", "gpt-4");
+		assertThat(response.getResult().getOutput().getText()).isEqualTo("gpt-4");
+		assertThat(meterRegistry.counter("chat.route.fallbacks",
+				"from", "fast", "to", "full", "operation", "chat").count()).isEqualTo(1);
+	}
+
+	@Test
+	void interruptsTheAttemptThatTimedOut() throws InterruptedException {
+		var interrupted = new CountDownLatch(1);
+
+		router.call(router.route("chat", "Hola"), options -> {
+			if ("gpt-4o-mini".equals(options.getModel())) {
+				try {
+					Thread.sleep(Duration.ofSeconds(30).toMillis());
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+			}
+			return response(options);
+		});
+
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void fallsBackWhenCheapModelFails() {
+		var response = router.call(router.route("hr-policies", "Política de vacaciones"), options -> {
+			if ("gpt-4o-mini".equals(options.getModel())) {
+				throw new IllegalStateException("429 Too Many Requests");
+			}
+			return response(options);
+		});
+
+		assertThat(response.getResult().getOutput().getText()).isEqualTo("gpt-4");
+	}
+
+	@Test
+	void doesNotFallBackWhenTheUpstreamIsUnavailable() {
+		var models = new ArrayList<String>();
+
+		assertThatThrownBy(() -> router.call(router.route("chat", "Hola"), options -> {
+			models.add(options.getModel());
+			throw new UpstreamUnavailableException("mcp", "Las herramientas MCP se están inicializando",
+					Duration.ofSeconds(5));
+		})).isInstanceOf(UpstreamUnavailableException.class);
+
+		assertThat(models).containsExactly("gpt-4o-mini");
+	}
+
+	private static ChatResponse response(ChatOptions options) {
+		return new ChatResponse(List.of(new Generation(new AssistantMessage(options.getModel()))));
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.geovannycode.mcpclient.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthenticationCacheTests {
+
+	private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder(4);
+	private static final UserDetails ANA = User.withUsername("ana")
+			.password(ENCODER.encode("secreto"))
+			.roles("USER")
+			.build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger verifications = new AtomicInteger();
+
+	@Test
+	void verifiesEachCredentialOnceAndServesRepeatsFromTheCache() {
+		var manager = cache(10, Duration.ofMinutes(5), Clock.systemUTC()).wrap(countingManager());
+
+		var first = manager.authenticate(credentials("ana", "secreto"));
+		var second = manager.authenticate(credentials("ana", "secreto"));
+
+		assertThat(verifications).hasValue(1);
+		assertThat(second.isAuthenticated()).isTrue();
+		assertThat(second.getName()).isEqualTo("ana");
+		assertThat(second.getCredentials()).isNull();
+		assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+		assertThat(meterRegistry.counter("auth.cache.requests", "result", "hit").count()).isEqualTo(1);
+		assertThat(meterRegistry.get("auth.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+	}
+
+	@Test
+	void wrongPasswordsAreNeverServedFromTheCache() {
+		var manager = cache(10, Duration.ofMinutes(5), Clock.systemUTC()).wrap(countingManager());
+
+		manager.authenticate(credentials("ana", "secreto"));
+
+		assertThatThrownBy(() -> manager.authenticate(credentials("ana", "otro")))
+				.isInstanceOf(BadCredentialsException.class);
+		assertThatThrownBy(() -> manager.authenticate(credentials("ana", "otro")))
+				.isInstanceOf(BadCredentialsException.class);
+		assertThat(verifications).hasValue(3);
+		assertThat(meterRegistry.timer("auth.latency", "path", "rejected").count()).isEqualTo(2);
+	}
+
+	@Test
+	void expiredEntriesAreVerifiedAgain() {
+		var clock = new MutableClock();
+		var cache = cache(10, Duration.ofSeconds(30), clock);
+		var manager = cache.wrap(countingManager());
+
+		manager.authenticate(credentials("ana", "secreto"));
+		clock.advance(Duration.ofSeconds(31));
+		manager.authenticate(credentials("ana", "secreto"));
+
+		assertThat(verifications).hasValue(2);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void reactiveManagerSharesTheCache() {
+		var cache = cache(10, Duration.ofMinutes(5), Clock.systemUTC());
+		var delegate = new UserDetailsRepositoryReactiveAuthenticationManager(new MapReactiveUserDetailsService(ANA));
+		delegate.setPasswordEncoder(ENCODER);
+		var manager = cache.wrap(delegate);
+
+		assertThat(manager.authenticate(credentials("ana", "secreto")).block().isAuthenticated()).isTrue();
+		assertThat(manager.authenticate(credentials("ana", "secreto")).block().getName()).isEqualTo("ana");
+		assertThat(meterRegistry.counter("auth.cache.requests", "result", "hit").count()).isEqualTo(1);
+		assertThat(meterRegistry.timer("auth.latency", "path", "verified").count()).isEqualTo(1);
+	}
+
+	private AuthenticationManager countingManager() {
+		var provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(ANA));
+		provider.setPasswordEncoder(ENCODER);
+		var delegate = new ProviderManager(provider);
+		return authentication -> {
+			verifications.incrementAndGet();
+			return delegate.authenticate(authentication);
+		};
+	}
+
+	private AuthenticationCache cache(int maxSize, Duration ttl, Clock clock) {
+		return new AuthenticationCache(new AuthCacheProperties(true, ttl, maxSize), meterRegistry, clock);
+	}
+
+	private static UsernamePasswordAuthenticationToken credentials(String username, String password) {
+		return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2025-01-15T10:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
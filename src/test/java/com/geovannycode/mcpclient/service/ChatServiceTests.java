@@ -0,0 +1,40 @@
+package com.geovannycode.mcpclient.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatServiceTests {
+
+	@Test
+	void conversationsAreScopedToTheAuthenticatedUser() {
+		var ana = ChatService.conversationId(user("ana"), "sesion-1");
+		var luis = ChatService.conversationId(user("luis"), "sesion-1");
+
+		assertThat(ana).isNotEqualTo(luis);
+		assertThat(ChatService.conversationId(user("ana"), "sesion-1")).isEqualTo(ana);
+		// El separador del usuario no puede fabricar la clave de otro
+		assertThat(ChatService.conversationId(user("ana:x"), "y"))
+				.isNotEqualTo(ChatService.conversationId(user("ana"), "x:y"));
+	}
+
+	@Test
+	void sessionsRequireAnAuthenticatedUser() {
+		var anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+		assertThatThrownBy(() -> ChatService.conversationId(anonymous, "sesion-1"))
+				.isInstanceOf(AccessDeniedException.class);
+		assertThatThrownBy(() -> ChatService.conversationId(null, "sesion-1"))
+				.isInstanceOf(AccessDeniedException.class);
+	}
+
+	private static TestingAuthenticationToken user(String name) {
+		return new TestingAuthenticationToken(name, "secreto", "USER");
+	}
+}
@@ -0,0 +1,131 @@
+package com.geovannycode.mcpclient.service;
+
+import com.geovannycode.mcpclient.model.BatchQueryResult;
+import com.geovannycode.mcpclient.model.QueryRequest;
+import com.geovannycode.mcpclient.model.QueryResponse;
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HRAssistantServiceTests {
+
+	private static final int MAX_PARALLELISM = 12;
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void batchRunsUpToMaxParallelismQueriesAtOnceAsTheCaller() {
+		var inFlight = new AtomicInteger();
+		var maxInFlight = new AtomicInteger();
+		var full = new CountDownLatch(MAX_PARALLELISM);
+		var users = ConcurrentHashMap.<String>newKeySet();
+		var service = service(request -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			users.add(SecurityContextHolder.getContext().getAuthentication().getName());
+			// Las primeras consultas esperan a que el lote alcance su paralelismo máximo
+			full.countDown();
+			await(full);
+			inFlight.decrementAndGet();
+			return Optional.of(QueryResponse.simple(request.query()));
+		});
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", "secreto", "USER"));
+
+		var requests = IntStream.range(0, 30).mapToObj(i -> QueryRequest.of("Consulta " + i)).toList();
+		var results = service.processBatch(requests).collectList().block(Duration.ofSeconds(10));
+
+		assertThat(results).hasSize(30).allSatisfy(result -> assertThat(result.error()).isNull());
+		assertThat(maxInFlight).hasValue(MAX_PARALLELISM);
+		assertThat(users).containsExactly("ana");
+	}
+
+	@Test
+	void batchIsolatesFailuresPerItem() {
+		var calls = new AtomicInteger();
+		var service = service(request -> {
+			calls.incrementAndGet();
+			return switch (request.query()) {
+				case "falla" -> throw new IllegalStateException("Connection refused: localhost/127.0.0.1:8081");
+				case "saturado" -> throw new UpstreamUnavailableException("openai", "El servicio openai está saturado",
+						Duration.ofSeconds(1));
+				case "vacía" -> Optional.empty();
+				default -> Optional.of(QueryResponse.simple("Tienes 15 días"));
+			};
+		});
+
+		var results = sorted(service.processBatch(List.of(
+				QueryRequest.of("vacaciones"), QueryRequest.of("falla"), QueryRequest.of(" "),
+				QueryRequest.of("vacía"), QueryRequest.of("vacaciones"), QueryRequest.of("saturado")))
+				.collectList().block(Duration.ofSeconds(10)));
+
+		assertThat(results).extracting(BatchQueryResult::index).containsExactly(0, 1, 2, 3, 4, 5);
+		assertThat(results.get(0).result().response()).isEqualTo("Tienes 15 días");
+		assertThat(results.get(1).error()).as("el detalle del error no sale del servidor")
+				.isEqualTo("Error al procesar la consulta");
+		assertThat(results.get(2).error()).isEqualTo("La consulta no puede estar vacía");
+		assertThat(results.get(3).error()).isEqualTo("Error al procesar la consulta");
+		assertThat(results.get(4).result().response()).isEqualTo("Tienes 15 días");
+		assertThat(results.get(5).error()).isEqualTo("El servicio openai está saturado");
+		assertThat(calls).hasValue(4);
+	}
+
+	@Test
+	void reactiveBatchIsolatesFailuresPerItem() {
+		var service = new HRAssistantService(null, null, new BatchProperties(MAX_PARALLELISM, 100), null,
+				new SimpleAsyncTaskExecutor("hr-batch-test-")) {
+			@Override
+			public Mono<QueryResponse> processQueryReactive(QueryRequest request) {
+				return "falla".equals(request.query())
+						? Mono.error(new IllegalStateException("Servidor MCP no disponible"))
+						: Mono.just(QueryResponse.simple("Tienes 15 días"));
+			}
+		};
+
+		var results = sorted(service.processBatchReactive(List.of(QueryRequest.of("falla"), QueryRequest.of("vacaciones")))
+				.collectList().block(Duration.ofSeconds(10)));
+
+		assertThat(results.get(0).error()).isEqualTo("Error al procesar la consulta");
+		assertThat(results.get(1).result().response()).isEqualTo("Tienes 15 días");
+	}
+
+	private static HRAssistantService service(Function<QueryRequest, Optional<QueryResponse>> query) {
+		return new HRAssistantService(null, null, new BatchProperties(MAX_PARALLELISM, 100), null,
+				new SimpleAsyncTaskExecutor("hr-batch-test-")) {
+			@Override
+			public Optional<QueryResponse> processQuery(QueryRequest request) {
+				return query.apply(request);
+			}
+		};
+	}
+
+	private static List<BatchQueryResult> sorted(List<BatchQueryResult> results) {
+		return results.stream().sorted(Comparator.comparingInt(BatchQueryResult::index)).toList();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
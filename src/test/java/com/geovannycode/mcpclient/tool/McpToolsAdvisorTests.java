@@ -0,0 +1,92 @@
+package com.geovannycode.mcpclient.tool;
+
+import com.geovannycode.mcpclient.resilience.UpstreamUnavailableException;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class McpToolsAdvisorTests {
+
+	@Test
+	void rejectsRequestsUntilToolsAreDiscovered() {
+		var advisor = new McpToolsAdvisor(mcpToolCallbacks(false, List.of()));
+
+		assertThatThrownBy(() -> advisor.before(request(List.of()), null))
+				.isInstanceOfSatisfying(UpstreamUnavailableException.class, e -> {
+					assertThat(e.getUpstream()).isEqualTo("mcp");
+					assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(5));
+				});
+	}
+
+	@Test
+	void mergesDiscoveredToolsIntoTheRequestOptions() {
+		var own = tool("lookup_policy");
+		var request = request(List.of(own));
+		var advisor = new McpToolsAdvisor(mcpToolCallbacks(true,
+				List.of(tool("get_employee_info"), tool("get_vacation_balance"))));
+
+		var advised = advisor.before(request, null);
+
+		assertThat(advised.prompt().getOptions()).isInstanceOfSatisfying(ToolCallingChatOptions.class, options ->
+				assertThat(options.getToolCallbacks())
+						.extracting(callback -> callback.getToolDefinition().name())
+						.containsExactly("get_employee_info", "get_vacation_balance", "lookup_policy"));
+		assertThat(((ToolCallingChatOptions) request.prompt().getOptions()).getToolCallbacks()).containsExactly(own);
+	}
+
+	@Test
+	void leavesTheRequestAloneWhenNoToolsWereFound() {
+		var request = request(List.of());
+
+		assertThat(new McpToolsAdvisor(mcpToolCallbacks(true, List.of())).before(request, null)).isSameAs(request);
+	}
+
+	private static ChatClientRequest request(List<ToolCallback> toolCallbacks) {
+		var options = ToolCallingChatOptions.builder().toolCallbacks(toolCallbacks).build();
+		return ChatClientRequest.builder().prompt(new Prompt("hola", options)).build();
+	}
+
+	private static McpToolCallbacks mcpToolCallbacks(boolean discovered, List<ToolCallback> tools) {
+		var observationRegistry = new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class);
+		return new McpToolCallbacks(null, null, observationRegistry, null, null) {
+
+			@Override
+			public List<ToolCallback> current() {
+				return tools;
+			}
+
+			@Override
+			public boolean isDiscovered() {
+				return discovered;
+			}
+		};
+	}
+
+	private static ToolCallback tool(String name) {
+		var definition = DefaultToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				return name;
+			}
+		};
+	}
+}
@@ -0,0 +1,215 @@
+package com.geovannycode.mcpclient.tool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelToolCallingManagerTests {
+
+	private static final Duration TIMEOUT = Duration.ofMillis(300);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void returnsResponsesInRequestOrderWhileRunningConcurrently() {
+		var secondDone = new CountDownLatch(1);
+		var manager = manager(Map.of(
+				"get_employee_info", () -> {
+					// Sólo termina si la segunda herramienta se ejecuta a la vez
+					await(secondDone);
+					return "Ana";
+				},
+				"get_vacation_balance", () -> {
+					secondDone.countDown();
+					return "15 días";
+				}));
+
+		var result = manager.executeToolCalls(new Prompt("hola"),
+				toolCalls("get_employee_info", "get_vacation_balance"));
+
+		assertThat(responses(result)).extracting(ToolResponseMessage.ToolResponse::name)
+				.containsExactly("get_employee_info", "get_vacation_balance");
+		assertThat(responses(result)).extracting(ToolResponseMessage.ToolResponse::responseData)
+				.containsExactly("Ana", "15 días");
+		assertThat(result.conversationHistory().get(result.conversationHistory().size() - 2))
+				.isInstanceOfSatisfying(AssistantMessage.class, message -> assertThat(message.getToolCalls()).hasSize(2));
+	}
+
+	@Test
+	void timesOutEveryToolFromDispatchAndInterruptsIt() throws Exception {
+		var interrupted = new CountDownLatch(3);
+		var manager = manager(Map.of(
+				"get_employee_info", () -> blockUntilInterrupted(interrupted),
+				"get_vacation_balance", () -> blockUntilInterrupted(interrupted),
+				"get_company_policies", () -> blockUntilInterrupted(interrupted)));
+
+		var start = System.nanoTime();
+		var result = manager.executeToolCalls(new Prompt("hola"),
+				toolCalls("get_employee_info", "get_vacation_balance", "get_company_policies"));
+		var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		assertThat(elapsed).isLessThan(TIMEOUT.multipliedBy(3));
+		assertThat(responses(result)).hasSize(3).allSatisfy(response ->
+				assertThat(response.responseData()).startsWith("Error: la herramienta excedió el tiempo límite"));
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(meterRegistry.counter("mcp.tool.timeouts", "tool", "get_vacation_balance").count()).isEqualTo(1);
+	}
+
+	@Test
+	void propagatesToolErrorsAndCancelsTheRest() throws Exception {
+		var started = new CountDownLatch(1);
+		var interrupted = new CountDownLatch(1);
+		var manager = manager(Map.of(
+				"get_employee_info", () -> {
+					// Falla cuando la otra herramienta ya está en curso
+					await(started);
+					throw new IllegalStateException("Servidor MCP no disponible");
+				},
+				"get_vacation_balance", () -> {
+					started.countDown();
+					return blockUntilInterrupted(interrupted);
+				}));
+
+		assertThatThrownBy(() -> manager.executeToolCalls(new Prompt("hola"),
+				toolCalls("get_employee_info", "get_vacation_balance")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Servidor MCP no disponible");
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void timesOutASingleSlowTool() throws Exception {
+		var interrupted = new CountDownLatch(1);
+		var manager = manager(new ToolExecutionProperties(true, 8, TIMEOUT, Map.of()),
+				Map.of("get_employee_info", () -> blockUntilInterrupted(interrupted)));
+
+		var start = System.nanoTime();
+		var result = manager.executeToolCalls(new Prompt("hola"), toolCalls("get_employee_info"));
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(TIMEOUT.multipliedBy(3));
+		assertThat(responses(result)).singleElement().satisfies(response ->
+				assertThat(response.responseData()).startsWith("Error: la herramienta excedió el tiempo límite"));
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void sequentialToolsEachGetTheirOwnTimeout() {
+		var manager = manager(new ToolExecutionProperties(false, 8, TIMEOUT, Map.of()), Map.of(
+				"get_employee_info", () -> {
+					sleep(TIMEOUT.dividedBy(2));
+					return "Ana";
+				},
+				"get_vacation_balance", () -> blockUntilInterrupted(new CountDownLatch(1))));
+
+		var result = manager.executeToolCalls(new Prompt("hola"),
+				toolCalls("get_employee_info", "get_vacation_balance"));
+
+		assertThat(responses(result)).extracting(ToolResponseMessage.ToolResponse::responseData)
+				.containsExactly("Ana", "Error: la herramienta excedió el tiempo límite de 300 ms");
+	}
+
+	@Test
+	void callsTheDelegateDirectlyWithoutATimeout() {
+		var manager = manager(new ToolExecutionProperties(true, 8, Duration.ZERO, Map.of()),
+				Map.of("get_employee_info", () -> Thread.currentThread().getName()));
+
+		var result = manager.executeToolCalls(new Prompt("hola"), toolCalls("get_employee_info"));
+
+		assertThat(responses(result)).singleElement()
+				.extracting(ToolResponseMessage.ToolResponse::responseData)
+				.isEqualTo(Thread.currentThread().getName());
+	}
+
+	private ParallelToolCallingManager manager(Map<String, Supplier<String>> tools) {
+		return manager(new ToolExecutionProperties(true, 8, TIMEOUT, Map.of()), tools);
+	}
+
+	private ParallelToolCallingManager manager(ToolExecutionProperties properties, Map<String, Supplier<String>> tools) {
+		return new ParallelToolCallingManager(new ScriptedToolCallingManager(tools), new SimpleAsyncTaskExecutor("tool-"),
+				properties, meterRegistry);
+	}
+
+	private static String blockUntilInterrupted(CountDownLatch interrupted) {
+		try {
+			Thread.sleep(Duration.ofSeconds(30).toMillis());
+			return "demasiado tarde";
+		} catch (InterruptedException e) {
+			interrupted.countDown();
+			throw new IllegalStateException("interrumpida", e);
+		}
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static ChatResponse toolCalls(String... names) {
+		var calls = new ArrayList<AssistantMessage.ToolCall>();
+		for (int i = 0; i < names.length; i++) {
+			calls.add(new AssistantMessage.ToolCall("call-" + i, "function", names[i], "{}"));
+		}
+		return new ChatResponse(List.of(new Generation(AssistantMessage.builder().content("").toolCalls(calls).build())));
+	}
+
+	private static List<ToolResponseMessage.ToolResponse> responses(ToolExecutionResult result) {
+		var history = result.conversationHistory();
+		return ((ToolResponseMessage) history.get(history.size() - 1)).getResponses();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Gestor delegado: ejecuta la única llamada que recibe con el resultado de {@code tools}.
+	 */
+	private record ScriptedToolCallingManager(Map<String, Supplier<String>> tools) implements ToolCallingManager {
+
+		@Override
+		public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+			return List.of();
+		}
+
+		@Override
+		public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+			var message = chatResponse.getResult().getOutput();
+			var toolCall = message.getToolCalls().get(0);
+			var response = new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(),
+					tools.get(toolCall.name()).get());
+
+			List<Message> history = new ArrayList<>(prompt.getInstructions());
+			history.add(message);
+			history.add(new ToolResponseMessage(List.of(response)));
+			return ToolExecutionResult.builder().conversationHistory(history).build();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.geovannycode.mcpclient.tool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToolResultCacheTests {
+
+	private static final String EMPLOYEE_INFO = "get_employee_info";
+	private static final String VACATION_BALANCE = "get_vacation_balance";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MutableClock clock = new MutableClock();
+
+	private final ToolResultCache cache = new ToolResultCache(new ToolCacheProperties(true,
+			new ToolCacheProperties.Policy(Duration.ofMinutes(10), 100),
+			Map.of(VACATION_BALANCE, new ToolCacheProperties.Policy(Duration.ofSeconds(30), 100))),
+			meterRegistry, clock);
+
+	@Test
+	void errorResultsAreNeverCached() {
+		var tool = new ScriptedTool(EMPLOYEE_INFO,
+				"{\"error\": \"Employee not found\"}",
+				"\"{\\\"error\\\": \\\"Employee not found\\\"}\"",
+				"{\"content\": [{\"type\": \"text\", \"text\": \"timeout\"}], \"isError\": true}",
+				"",
+				"{\"name\": \"Ana\"}");
+		var callback = new CachingToolCallback(tool, EMPLOYEE_INFO, cache);
+
+		for (int i = 0; i < 5; i++) {
+			callback.call("{\"employee_id\": \"EMP001\"}");
+		}
+
+		assertThat(tool.calls()).hasValue(5);
+		assertThat(callback.call("{\"employee_id\": \"EMP001\"}")).isEqualTo("{\"name\": \"Ana\"}");
+		assertThat(tool.calls()).hasValue(5);
+	}
+
+	@Test
+	void exceptionsAreNotCached() {
+		var tool = new ScriptedTool(EMPLOYEE_INFO);
+		var callback = new CachingToolCallback(tool, EMPLOYEE_INFO, cache);
+
+		assertThatThrownBy(() -> callback.call("{\"employee_id\": \"EMP001\"}")).isInstanceOf(IllegalStateException.class);
+		assertThat(cache.get(EMPLOYEE_INFO, "{\"employee_id\":\"EMP001\"}")).isEmpty();
+	}
+
+	@Test
+	void equivalentArgumentsShareTheSameEntry() {
+		var tool = new ScriptedTool(EMPLOYEE_INFO, "{\"name\": \"Ana\"}", "{\"name\": \"Luis\"}");
+		var callback = new CachingToolCallback(tool, EMPLOYEE_INFO, cache);
+
+		callback.call("{\"employee_id\": \"EMP001\", \"fields\": [\"name\"]}");
+		var cached = callback.call("  {\"fields\":[\"name\"],\"employee_id\":\"EMP001\"} ");
+
+		assertThat(cached).isEqualTo("{\"name\": \"Ana\"}");
+		assertThat(tool.calls()).hasValue(1);
+		assertThat(ToolArguments.canonicalize(null)).isEqualTo("{}");
+		assertThat(ToolArguments.canonicalize("no es json ")).isEqualTo("no es json");
+		assertThat(meterRegistry.counter("mcp.tool.cache.requests", "tool", EMPLOYEE_INFO, "result", "hit").count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void honoursTheTtlOfEachTool() {
+		cache.put(EMPLOYEE_INFO, "{}", "empleado", 0);
+		cache.put(VACATION_BALANCE, "{}", "saldo", 0);
+
+		clock.advance(Duration.ofSeconds(31));
+
+		assertThat(cache.get(VACATION_BALANCE, "{}")).isEmpty();
+		assertThat(cache.get(EMPLOYEE_INFO, "{}")).contains("empleado");
+
+		clock.advance(Duration.ofMinutes(10));
+
+		assertThat(cache.get(EMPLOYEE_INFO, "{}")).isEmpty();
+	}
+
+	@Test
+	void endpointListsAndInvalidatesEntries() {
+		var endpoint = new ToolCacheEndpoint(cache);
+		cache.put(EMPLOYEE_INFO, "{\"employee_id\":\"EMP001\"}", "Ana", 0);
+		cache.put(EMPLOYEE_INFO, "{\"employee_id\":\"EMP002\"}", "Luis", 0);
+		cache.put(VACATION_BALANCE, "{}", "saldo", 0);
+
+		assertThat(endpoint.entries()).containsOnlyKeys(EMPLOYEE_INFO, VACATION_BALANCE);
+		assertThat(endpoint.entries().get(EMPLOYEE_INFO)).hasSize(2);
+
+		assertThat(endpoint.flush(EMPLOYEE_INFO)).containsEntry("invalidated", 2);
+		assertThat(cache.get(EMPLOYEE_INFO, "{\"employee_id\":\"EMP001\"}")).isEmpty();
+		assertThat(cache.get(VACATION_BALANCE, "{}")).contains("saldo");
+
+		assertThat(endpoint.flush("desconocida")).containsEntry("invalidated", 0);
+		assertThat(endpoint.flushAll()).containsEntry("invalidated", 1);
+		assertThat(cache.get(VACATION_BALANCE, "{}")).isEmpty();
+	}
+
+	/**
+	 * Devuelve los resultados en orden; sin resultados pendientes falla.
+	 */
+	private static final class ScriptedTool implements ToolCallback {
+
+		private final ToolDefinition definition;
+		private final Deque<String> results;
+		private final AtomicInteger calls = new AtomicInteger();
+
+		ScriptedTool(String name, String... results) {
+			this.definition = DefaultToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+			this.results = new ArrayDeque<>(List.of(results));
+		}
+
+		AtomicInteger calls() {
+			return calls;
+		}
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return definition;
+		}
+
+		@Override
+		public String call(String toolInput) {
+			calls.incrementAndGet();
+			if (results.isEmpty()) {
+				throw new IllegalStateException("Servidor MCP no disponible");
+			}
+			return results.poll();
+		}
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}